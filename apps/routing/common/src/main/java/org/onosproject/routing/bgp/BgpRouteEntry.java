@@ -32,10 +32,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public class BgpRouteEntry extends RouteEntry {
     private final BgpSession bgpSession; // The BGP Session the route was
                                          // received on
-    private final byte origin;          // Route ORIGIN: IGP, EGP, INCOMPLETE
-    private final AsPath asPath;        // The AS Path
-    private final long localPref;       // The local preference for the route
-    private long multiExitDisc = BgpConstants.Update.MultiExitDisc.LOWEST_MULTI_EXIT_DISC;
+    private PathAttributes attributes;  // The (possibly shared) attributes
 
     /**
      * Class constructor.
@@ -50,11 +47,28 @@ public class BgpRouteEntry extends RouteEntry {
     public BgpRouteEntry(BgpSession bgpSession, IpPrefix prefix,
                          IpAddress nextHop, byte origin,
                          BgpRouteEntry.AsPath asPath, long localPref) {
+        this(bgpSession, prefix, nextHop,
+             new PathAttributes(origin, asPath, localPref,
+                                BgpConstants.Update.MultiExitDisc.LOWEST_MULTI_EXIT_DISC));
+    }
+
+    /**
+     * Class constructor.
+     * <p>
+     * The path attributes are referenced as is, so all routes received
+     * with the same attributes can share a single instance.
+     * </p>
+     *
+     * @param bgpSession the BGP Session the route was received on
+     * @param prefix the prefix of the route
+     * @param nextHop the next hop of the route
+     * @param attributes the path attributes of the route
+     */
+    BgpRouteEntry(BgpSession bgpSession, IpPrefix prefix,
+                  IpAddress nextHop, PathAttributes attributes) {
         super(prefix, nextHop);
         this.bgpSession = checkNotNull(bgpSession);
-        this.origin = origin;
-        this.asPath = checkNotNull(asPath);
-        this.localPref = localPref;
+        this.attributes = checkNotNull(attributes);
     }
 
     /**
@@ -72,7 +86,7 @@ public class BgpRouteEntry extends RouteEntry {
      * @return the route origin: 0=IGP, 1=EGP, 2=INCOMPLETE
      */
     public byte getOrigin() {
-        return origin;
+        return attributes.origin;
     }
 
     /**
@@ -81,7 +95,7 @@ public class BgpRouteEntry extends RouteEntry {
      * @return the route AS path
      */
     public BgpRouteEntry.AsPath getAsPath() {
-        return asPath;
+        return attributes.asPath;
     }
 
     /**
@@ -90,7 +104,7 @@ public class BgpRouteEntry extends RouteEntry {
      * @return the route local preference
      */
     public long getLocalPref() {
-        return localPref;
+        return attributes.localPref;
     }
 
     /**
@@ -99,7 +113,16 @@ public class BgpRouteEntry extends RouteEntry {
      * @return the route MED (Multi-Exit Discriminator)
      */
     public long getMultiExitDisc() {
-        return multiExitDisc;
+        return attributes.multiExitDisc;
+    }
+
+    /**
+     * Gets the route path attributes.
+     *
+     * @return the route path attributes
+     */
+    PathAttributes getPathAttributes() {
+        return attributes;
     }
 
     /**
@@ -108,7 +131,10 @@ public class BgpRouteEntry extends RouteEntry {
      * @param multiExitDisc the route MED (Multi-Exit Discriminator) to set
      */
     void setMultiExitDisc(long multiExitDisc) {
-        this.multiExitDisc = multiExitDisc;
+        this.attributes = new PathAttributes(attributes.origin,
+                                             attributes.asPath,
+                                             attributes.localPref,
+                                             multiExitDisc);
     }
 
     /**
@@ -126,7 +152,7 @@ public class BgpRouteEntry extends RouteEntry {
         PathSegment firstPathSegment = null;
 
         // Find the first Path Segment by ignoring the AS_CONFED_* segments
-        for (PathSegment pathSegment : asPath.getPathSegments()) {
+        for (PathSegment pathSegment : getAsPath().getPathSegments()) {
             if ((pathSegment.getType() == BgpConstants.Update.AsPath.AS_SET) ||
                 (pathSegment.getType() == BgpConstants.Update.AsPath.AS_SEQUENCE)) {
                 firstPathSegment = pathSegment;
@@ -161,7 +187,7 @@ public class BgpRouteEntry extends RouteEntry {
         }
 
         // Find the first Path Segment by ignoring the AS_CONFED_* segments
-        for (PathSegment pathSegment : asPath.getPathSegments()) {
+        for (PathSegment pathSegment : getAsPath().getPathSegments()) {
             if ((pathSegment.getType() == BgpConstants.Update.AsPath.AS_SET) ||
                 (pathSegment.getType() == BgpConstants.Update.AsPath.AS_SEQUENCE)) {
                 firstPathSegment = pathSegment;
@@ -191,14 +217,7 @@ public class BgpRouteEntry extends RouteEntry {
      * @return true if the AS Path contains a loop, otherwise false
      */
     boolean hasAsPathLoop(long localAsNumber) {
-        for (PathSegment pathSegment : asPath.getPathSegments()) {
-            for (Long asNumber : pathSegment.getSegmentAsNumbers()) {
-                if (asNumber.equals(localAsNumber)) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        return attributes.hasAsPathLoop(localAsNumber);
     }
 
     /**
@@ -432,6 +451,85 @@ public class BgpRouteEntry extends RouteEntry {
         }
     }
 
+    /**
+     * A class to represent the path attributes of a route.
+     * <p>
+     * Instances are immutable, so the routes of an UPDATE message and
+     * identical routes from other peers can share (intern) one instance.
+     * </p>
+     */
+    static final class PathAttributes {
+        private final byte origin;      // Route ORIGIN: IGP, EGP, INCOMPLETE
+        private final AsPath asPath;    // The AS Path
+        private final long localPref;   // The local preference for the route
+        private final long multiExitDisc;   // The route MED
+
+        /**
+         * Constructor.
+         *
+         * @param origin the route origin: 0=IGP, 1=EGP, 2=INCOMPLETE
+         * @param asPath the AS path
+         * @param localPref the route local preference
+         * @param multiExitDisc the route MED (Multi-Exit Discriminator)
+         */
+        PathAttributes(byte origin, AsPath asPath, long localPref,
+                       long multiExitDisc) {
+            this.origin = origin;
+            this.asPath = checkNotNull(asPath);
+            this.localPref = localPref;
+            this.multiExitDisc = multiExitDisc;
+        }
+
+        /**
+         * Tests whether the AS Path contains a loop.
+         *
+         * @param localAsNumber the local AS number to compare against
+         * @return true if the AS Path contains a loop, otherwise false
+         */
+        boolean hasAsPathLoop(long localAsNumber) {
+            for (PathSegment pathSegment : asPath.getPathSegments()) {
+                for (Long asNumber : pathSegment.getSegmentAsNumbers()) {
+                    if (asNumber == localAsNumber) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+
+            if (!(other instanceof PathAttributes)) {
+                return false;
+            }
+
+            PathAttributes otherAttributes = (PathAttributes) other;
+            return (this.origin == otherAttributes.origin) &&
+                Objects.equals(this.asPath, otherAttributes.asPath) &&
+                (this.localPref == otherAttributes.localPref) &&
+                (this.multiExitDisc == otherAttributes.multiExitDisc);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(origin, asPath, localPref, multiExitDisc);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(getClass())
+                .add("origin", BgpConstants.Update.Origin.typeToString(origin))
+                .add("asPath", asPath)
+                .add("localPref", localPref)
+                .add("multiExitDisc", multiExitDisc)
+                .toString();
+        }
+    }
+
     /**
      * Compares whether two objects are equal.
      * <p>
@@ -460,10 +558,7 @@ public class BgpRouteEntry extends RouteEntry {
 
         // NOTE: The bgpSession field is excluded from the comparison
         BgpRouteEntry otherRoute = (BgpRouteEntry) other;
-        return (this.origin == otherRoute.origin) &&
-            Objects.equals(this.asPath, otherRoute.asPath) &&
-            (this.localPref == otherRoute.localPref) &&
-            (this.multiExitDisc == otherRoute.multiExitDisc);
+        return Objects.equals(this.attributes, otherRoute.attributes);
     }
 
     /**
@@ -485,10 +580,10 @@ public class BgpRouteEntry extends RouteEntry {
             .add("prefix", prefix())
             .add("nextHop", nextHop())
             .add("bgpId", bgpSession.remoteInfo().bgpId())
-            .add("origin", BgpConstants.Update.Origin.typeToString(origin))
-            .add("asPath", asPath)
-            .add("localPref", localPref)
-            .add("multiExitDisc", multiExitDisc)
+            .add("origin", BgpConstants.Update.Origin.typeToString(getOrigin()))
+            .add("asPath", getAsPath())
+            .add("localPref", getLocalPref())
+            .add("multiExitDisc", getMultiExitDisc())
             .toString();
     }
 }
@@ -22,18 +22,33 @@ import org.onosproject.routeservice.Route;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Class to receive and process the BGP routes from each BGP Session/Peer.
+ * <p>
+ * The prefixes are spread over a fixed number of shards, each guarded by its
+ * own lock, so that the updates received from different peers are processed
+ * concurrently unless they affect prefixes of the same shard. The best route
+ * changes of a shard are published while holding its lock, which keeps the
+ * changes of a given prefix in order.
  */
 class BgpRouteSelector {
     private static final Logger log =
         LoggerFactory.getLogger(BgpRouteSelector.class);
 
+    private static final int NUM_SHARDS = 64;
+
     private BgpSessionManager bgpSessionManager;
     private ClusterService clusterService;
+    private final Lock[] shardLocks = new Lock[NUM_SHARDS];
 
     /**
      * Constructor.
@@ -44,6 +59,9 @@ class BgpRouteSelector {
     BgpRouteSelector(BgpSessionManager bgpSessionManager, ClusterService clusterService) {
         this.bgpSessionManager = bgpSessionManager;
         this.clusterService = clusterService;
+        for (int i = 0; i < NUM_SHARDS; i++) {
+            shardLocks[i] = new ReentrantLock();
+        }
     }
 
     /**
@@ -53,34 +71,105 @@ class BgpRouteSelector {
      * @param addedBgpRouteEntries the added/updated route entries to process
      * @param deletedBgpRouteEntries the deleted route entries to process
      */
-    synchronized void routeUpdates(
-                        Collection<BgpRouteEntry> addedBgpRouteEntries,
-                        Collection<BgpRouteEntry> deletedBgpRouteEntries) {
-
-        Collection<Route> updates = new LinkedList<>();
-        Collection<Route> withdraws = new LinkedList<>();
-
-        RouteUpdate routeUpdate;
+    void routeUpdates(Collection<BgpRouteEntry> addedBgpRouteEntries,
+                      Collection<BgpRouteEntry> deletedBgpRouteEntries) {
 
         if (bgpSessionManager.isShutdown()) {
             return;         // Ignore any leftover updates if shutdown
         }
+
+        List<List<BgpRouteEntry>> deletedPerShard = partition(deletedBgpRouteEntries);
+        List<List<BgpRouteEntry>> addedPerShard = partition(addedBgpRouteEntries);
+
+        for (int shard = 0; shard < NUM_SHARDS; shard++) {
+            List<BgpRouteEntry> deleted = deletedPerShard.get(shard);
+            List<BgpRouteEntry> added = addedPerShard.get(shard);
+            if (deleted == null && added == null) {
+                continue;
+            }
+            shardLocks[shard].lock();
+            try {
+                if (bgpSessionManager.isShutdown()) {
+                    return;
+                }
+                processShard(added, deleted);
+            } finally {
+                shardLocks[shard].unlock();
+            }
+        }
+    }
+
+    /**
+     * Processes the route entries of a shard and publishes the resulting
+     * best route changes. Must be called holding the shard lock.
+     *
+     * @param added the added/updated route entries of the shard, or null
+     * @param deleted the deleted route entries of the shard, or null
+     */
+    private void processShard(List<BgpRouteEntry> added,
+                              List<BgpRouteEntry> deleted) {
+        // Only the last change of each prefix needs to be published
+        Map<IpPrefix, RouteUpdate> changes = new LinkedHashMap<>();
+
         // Process the deleted route entries
-        for (BgpRouteEntry bgpRouteEntry : deletedBgpRouteEntries) {
-            routeUpdate = processDeletedRoute(bgpRouteEntry);
-            convertRouteUpdateToRoute(routeUpdate, updates, withdraws);
+        if (deleted != null) {
+            for (BgpRouteEntry bgpRouteEntry : deleted) {
+                RouteUpdate routeUpdate = processDeletedRoute(bgpRouteEntry);
+                if (routeUpdate != null) {
+                    changes.put(bgpRouteEntry.prefix(), routeUpdate);
+                }
+            }
         }
 
         // Process the added/updated route entries
-        for (BgpRouteEntry bgpRouteEntry : addedBgpRouteEntries) {
-            routeUpdate = processAddedRoute(bgpRouteEntry);
-            convertRouteUpdateToRoute(routeUpdate, updates, withdraws);
+        if (added != null) {
+            for (BgpRouteEntry bgpRouteEntry : added) {
+                RouteUpdate routeUpdate = processAddedRoute(bgpRouteEntry);
+                if (routeUpdate != null) {
+                    changes.put(bgpRouteEntry.prefix(), routeUpdate);
+                }
+            }
         }
 
+        if (changes.isEmpty()) {
+            return;
+        }
+        Collection<Route> updates = new LinkedList<>();
+        Collection<Route> withdraws = new LinkedList<>();
+        changes.values().forEach(routeUpdate ->
+                convertRouteUpdateToRoute(routeUpdate, updates, withdraws));
+
         bgpSessionManager.withdraw(withdraws);
         bgpSessionManager.update(updates);
     }
 
+    /**
+     * Splits the route entries according to the shard of their prefix.
+     *
+     * @param bgpRouteEntries the route entries to split
+     * @return the route entries of each shard, null for the shards without entries
+     */
+    private List<List<BgpRouteEntry>> partition(Collection<BgpRouteEntry> bgpRouteEntries) {
+        List<List<BgpRouteEntry>> shards = new ArrayList<>(NUM_SHARDS);
+        for (int i = 0; i < NUM_SHARDS; i++) {
+            shards.add(null);
+        }
+        for (BgpRouteEntry bgpRouteEntry : bgpRouteEntries) {
+            int shard = shardOf(bgpRouteEntry.prefix());
+            List<BgpRouteEntry> entries = shards.get(shard);
+            if (entries == null) {
+                entries = new ArrayList<>();
+                shards.set(shard, entries);
+            }
+            entries.add(bgpRouteEntry);
+        }
+        return shards;
+    }
+
+    private static int shardOf(IpPrefix prefix) {
+        return Math.floorMod(prefix.hashCode(), NUM_SHARDS);
+    }
+
     private void convertRouteUpdateToRoute(RouteUpdate routeUpdate,
                                            Collection<Route> updates,
                                            Collection<Route> withdraws) {
@@ -21,7 +21,6 @@ import org.jboss.netty.channel.ChannelHandlerContext;
 import org.jboss.netty.channel.ChannelStateEvent;
 import org.jboss.netty.channel.ExceptionEvent;
 import org.jboss.netty.channel.SimpleChannelHandler;
-import org.jboss.netty.util.HashedWheelTimer;
 import org.jboss.netty.util.Timeout;
 import org.jboss.netty.util.Timer;
 import org.jboss.netty.util.TimerTask;
@@ -29,11 +28,10 @@ import org.onlab.packet.Ip4Address;
 import org.onlab.packet.Ip4Prefix;
 import org.onlab.packet.Ip6Prefix;
 import org.onlab.packet.IpPrefix;
+import org.onlab.util.Counter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import static org.onlab.util.Tools.groupedThreads;
-
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.util.Collection;
@@ -61,7 +59,7 @@ public class BgpSession extends SimpleChannelHandler {
     private final BgpSessionInfo remoteInfo;    // BGP session remote info
 
     // Timers state
-    private Timer timer = new HashedWheelTimer(groupedThreads("BgpSession", "timer-%d", log));
+    private final Timer timer;                  // Shared by all sessions
     private volatile Timeout keepaliveTimeout;  // Periodic KEEPALIVE
     private volatile Timeout sessionTimeout;    // Session timeout
 
@@ -71,6 +69,10 @@ public class BgpSession extends SimpleChannelHandler {
     private ConcurrentMap<Ip6Prefix, BgpRouteEntry> bgpRibIn6 =
         new ConcurrentHashMap<>();
 
+    // Received UPDATE messages and prefixes from this peer
+    private final Counter rxUpdateMessages = new Counter();
+    private final Counter rxUpdatePrefixes = new Counter();
+
     /**
      * Constructor for a given BGP Session Manager.
      *
@@ -80,6 +82,7 @@ public class BgpSession extends SimpleChannelHandler {
         this.bgpSessionManager = bgpSessionManager;
         this.localInfo = new BgpSessionInfo();
         this.remoteInfo = new BgpSessionInfo();
+        this.timer = bgpSessionManager.getTimer();
 
         // NOTE: We support only BGP4
         this.localInfo.setBgpVersion(BgpConstants.BGP_VERSION);
@@ -132,6 +135,24 @@ public class BgpSession extends SimpleChannelHandler {
             localInfo.as4OctetCapability();
     }
 
+    /**
+     * Gets the counter of UPDATE messages received from the peer.
+     *
+     * @return the received UPDATE messages counter
+     */
+    public Counter rxUpdateMessages() {
+        return rxUpdateMessages;
+    }
+
+    /**
+     * Gets the counter of prefixes announced or withdrawn by the peer.
+     *
+     * @return the received UPDATE prefixes counter
+     */
+    public Counter rxUpdatePrefixes() {
+        return rxUpdatePrefixes;
+    }
+
     /**
      * Gets the IPv4 BGP RIB-IN routing entries.
      *
@@ -257,10 +278,23 @@ public class BgpSession extends SimpleChannelHandler {
      * @param ctx the Channel Handler Context
      */
     void closeSession(ChannelHandlerContext ctx) {
-        timer.stop();
+        cancelTimers();
         closeChannel(ctx);
     }
 
+    /**
+     * Cancels the session timers. The timer itself is shared with the
+     * other sessions and is not stopped.
+     */
+    private void cancelTimers() {
+        if (keepaliveTimeout != null) {
+            keepaliveTimeout.cancel();
+        }
+        if (sessionTimeout != null) {
+            sessionTimeout.cancel();
+        }
+    }
+
     /**
      * Closes the Netty channel.
      *
@@ -338,6 +372,8 @@ public class BgpSession extends SimpleChannelHandler {
      * Processes the channel being disconnected.
      */
     private void processChannelDisconnected() {
+        cancelTimers();
+
         //
         // Withdraw the routes advertised by this BGP peer
         //
@@ -33,6 +33,8 @@ import org.jboss.netty.channel.Channels;
 import org.jboss.netty.channel.group.ChannelGroup;
 import org.jboss.netty.channel.group.DefaultChannelGroup;
 import org.jboss.netty.channel.socket.nio.NioServerSocketChannelFactory;
+import org.jboss.netty.util.HashedWheelTimer;
+import org.jboss.netty.util.Timer;
 import org.onlab.packet.Ip4Address;
 import org.onlab.packet.Ip4Prefix;
 import org.onlab.packet.Ip6Prefix;
@@ -78,6 +80,9 @@ public class BgpSessionManager implements BgpInfoService {
             new ConcurrentHashMap<>();
     private Ip4Address myBgpId;        // Same BGP ID for all peers
 
+    // Timer shared by the KEEPALIVE and Hold timers of all BGP sessions
+    private HashedWheelTimer timer;
+
     private BgpRouteSelector bgpRouteSelector;
     private ConcurrentMap<Ip4Prefix, BgpRouteEntry> bgpRoutes4 =
             new ConcurrentHashMap<>();
@@ -285,6 +290,15 @@ public class BgpSessionManager implements BgpInfoService {
         return myBgpId;
     }
 
+    /**
+     * Gets the timer shared by all BGP sessions.
+     *
+     * @return the shared BGP session timer
+     */
+    Timer getTimer() {
+        return timer;
+    }
+
     /**
      * Gets the BGP Route Selector.
      *
@@ -317,6 +331,7 @@ public class BgpSessionManager implements BgpInfoService {
         log.debug("BGP Session Manager start.");
         isShutdown = false;
 
+        timer = new HashedWheelTimer(groupedThreads("onos/bgp", "timer-%d", log));
         ChannelFactory channelFactory = new NioServerSocketChannelFactory(
                 newCachedThreadPool(groupedThreads("onos/bgp", "sm-boss-%d", log)),
                 newCachedThreadPool(groupedThreads("onos/bgp", "sm-worker-%d", log)));
@@ -354,5 +369,6 @@ public class BgpSessionManager implements BgpInfoService {
         isShutdown = true;
         allChannels.close().awaitUninterruptibly();
         serverBootstrap.releaseExternalResources();
+        timer.stop();
     }
 }
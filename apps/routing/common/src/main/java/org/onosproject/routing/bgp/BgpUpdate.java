@@ -16,6 +16,8 @@
 
 package org.onosproject.routing.bgp;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import org.apache.commons.lang3.tuple.Pair;
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
@@ -38,6 +40,15 @@ import java.util.Map;
 final class BgpUpdate {
     private static final Logger log = LoggerFactory.getLogger(BgpUpdate.class);
 
+    // Most routes share their AS Path with many other prefixes, both within
+    // a single UPDATE and across peers, so keep only one copy of each.
+    private static final Interner<BgpRouteEntry.AsPath> AS_PATH_INTERNER =
+        Interners.newWeakInterner();
+    // The same holds for the whole set of path attributes: every route of
+    // an UPDATE references a single, interned instance.
+    private static final Interner<BgpRouteEntry.PathAttributes>
+        PATH_ATTRIBUTES_INTERNER = Interners.newWeakInterner();
+
     /**
      * Default constructor.
      * <p>
@@ -150,6 +161,13 @@ final class BgpUpdate {
             bgpSession.addBgpRoute(bgpRouteEntry);
         }
 
+        bgpSession.rxUpdateMessages().add(1);
+        bgpSession.rxUpdatePrefixes().add(
+                decodedBgpRoutes.addedUnicastRoutes4.size() +
+                decodedBgpRoutes.deletedUnicastRoutes4.size() +
+                decodedBgpRoutes.addedUnicastRoutes6.size() +
+                decodedBgpRoutes.deletedUnicastRoutes6.size());
+
         //
         // Push the updates to the BGP Merged RIB
         //
@@ -421,16 +439,22 @@ final class BgpUpdate {
         // Generate the added routes
         //
         mpNlriReachList.add(legacyNlri);
+        if (mpNlriReachList.stream()
+                .allMatch(n -> n.nlri4.isEmpty() && n.nlri6.isEmpty())) {
+            return;             // Withdrawals only: no attributes to share
+        }
+        BgpRouteEntry.PathAttributes attributes =
+            PATH_ATTRIBUTES_INTERNER.intern(
+                new BgpRouteEntry.PathAttributes(origin.byteValue(), asPath,
+                                                 localPref, multiExitDisc));
+        boolean asPathLoop =
+            attributes.hasAsPathLoop(bgpSession.localInfo().asNumber());
         for (MpNlri mpNlri : mpNlriReachList) {
             BgpRouteEntry bgpRouteEntry;
 
             // The added IPv4 routes
             for (Ip4Prefix prefix : mpNlri.nlri4) {
-                bgpRouteEntry =
-                    new BgpRouteEntry(bgpSession, prefix, mpNlri.nextHop4,
-                                      origin.byteValue(), asPath, localPref);
-                bgpRouteEntry.setMultiExitDisc(multiExitDisc);
-                if (bgpRouteEntry.hasAsPathLoop(bgpSession.localInfo().asNumber())) {
+                if (asPathLoop) {
                     log.debug("BGP RX UPDATE message IGNORED from {}: {} " +
                               "nextHop {}: contains AS Path loop",
                               bgpSession.remoteInfo().address(), prefix,
@@ -441,6 +465,9 @@ final class BgpUpdate {
                               bgpSession.remoteInfo().address(), prefix,
                               mpNlri.nextHop4);
                 }
+                bgpRouteEntry =
+                    new BgpRouteEntry(bgpSession, prefix, mpNlri.nextHop4,
+                                      attributes);
                 // Remove from the collection of deleted routes
                 decodedBgpRoutes.deletedUnicastRoutes4.remove(prefix);
                 decodedBgpRoutes.addedUnicastRoutes4.put(prefix,
@@ -449,11 +476,7 @@ final class BgpUpdate {
 
             // The added IPv6 routes
             for (Ip6Prefix prefix : mpNlri.nlri6) {
-                bgpRouteEntry =
-                    new BgpRouteEntry(bgpSession, prefix, mpNlri.nextHop6,
-                                      origin.byteValue(), asPath, localPref);
-                bgpRouteEntry.setMultiExitDisc(multiExitDisc);
-                if (bgpRouteEntry.hasAsPathLoop(bgpSession.localInfo().asNumber())) {
+                if (asPathLoop) {
                     log.debug("BGP RX UPDATE message IGNORED from {}: {} " +
                               "nextHop {}: contains AS Path loop",
                               bgpSession.remoteInfo().address(), prefix,
@@ -464,6 +487,9 @@ final class BgpUpdate {
                               bgpSession.remoteInfo().address(), prefix,
                               mpNlri.nextHop6);
                 }
+                bgpRouteEntry =
+                    new BgpRouteEntry(bgpSession, prefix, mpNlri.nextHop6,
+                                      attributes);
                 // Remove from the collection of deleted routes
                 decodedBgpRoutes.deletedUnicastRoutes6.remove(prefix);
                 decodedBgpRoutes.addedUnicastRoutes6.put(prefix,
@@ -789,7 +815,7 @@ final class BgpUpdate {
             pathSegments.add(pathSegment);
         }
 
-        return new BgpRouteEntry.AsPath(pathSegments);
+        return AS_PATH_INTERNER.intern(new BgpRouteEntry.AsPath(pathSegments));
     }
 
     /**
@@ -1232,21 +1258,25 @@ final class BgpUpdate {
             return result;
         }
 
-        // Parse the data
-        byte[] buffer = new byte[Ip4Address.BYTE_LENGTH];
+        // Parse the data straight from the buffer, without a scratch copy
         int dataEnd = message.readerIndex() + totalLength;
         while (message.readerIndex() < dataEnd) {
             int prefixBitlen = message.readUnsignedByte();
             int prefixBytelen = (prefixBitlen + 7) / 8;     // Round-up
-            if (message.readerIndex() + prefixBytelen > dataEnd) {
+            if ((prefixBytelen > Ip4Address.BYTE_LENGTH) ||
+                (message.readerIndex() + prefixBytelen > dataEnd)) {
                 String errorMsg = "Malformed Network Prefixes";
                 throw new BgpMessage.BgpParseException(errorMsg);
             }
 
-            message.readBytes(buffer, 0, prefixBytelen);
-            Ip4Prefix prefix = Ip4Prefix.valueOf(Ip4Address.valueOf(buffer),
-                                                 prefixBitlen);
-            result.add(prefix);
+            int address = 0;
+            for (int i = 0; i < Ip4Address.BYTE_LENGTH; i++) {
+                address <<= 8;
+                if (i < prefixBytelen) {
+                    address |= message.readUnsignedByte();
+                }
+            }
+            result.add(Ip4Prefix.valueOf(address, prefixBitlen));
         }
 
         return result;
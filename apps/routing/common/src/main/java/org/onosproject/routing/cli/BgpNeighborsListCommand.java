@@ -51,6 +51,8 @@ public class BgpNeighborsListCommand extends AbstractShellCommand {
         "  Local  AFI/SAFI IPv4 Unicast %s Multicast %s, IPv6 Unicast %s Multicast %s";
     private static final String FORMAT_NEIGHBOR_LINE6 =
         "  4 Octet AS Capability: %s %s";
+    private static final String FORMAT_NEIGHBOR_LINE7 =
+        "  Received UPDATE messages %d (avg %.1f/s), prefixes %d (avg %.1f/s) since session start";
 
     @Override
     protected void execute() {
@@ -129,6 +131,11 @@ public class BgpNeighborsListCommand extends AbstractShellCommand {
                   bgpSession.localInfo().as4OctetCapability() ? "Advertised" : "",
                   bgpSession.remoteInfo().as4OctetCapability() ? "Received" : "");
         }
+        print(FORMAT_NEIGHBOR_LINE7,
+              bgpSession.rxUpdateMessages().total(),
+              bgpSession.rxUpdateMessages().throughput(),
+              bgpSession.rxUpdatePrefixes().total(),
+              bgpSession.rxUpdatePrefixes().throughput());
     }
 
     /**
@@ -178,6 +185,9 @@ public class BgpNeighborsListCommand extends AbstractShellCommand {
         result.put("localIpv4Multicast", bgpSession.localInfo().ipv4Multicast());
         result.put("localIpv6Unicast", bgpSession.localInfo().ipv6Unicast());
         result.put("localIpv6Multicast", bgpSession.localInfo().ipv6Multicast());
+        //
+        result.put("rxUpdateMessages", bgpSession.rxUpdateMessages().total());
+        result.put("rxUpdatePrefixes", bgpSession.rxUpdatePrefixes().total());
 
         return result;
     }
@@ -16,6 +16,9 @@
 
 package org.onosproject.routing.fpm;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Timer.Context;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import org.apache.felix.scr.annotations.Activate;
@@ -39,11 +42,16 @@ import org.jboss.netty.channel.group.DefaultChannelGroup;
 import org.jboss.netty.channel.socket.nio.NioServerSocketChannelFactory;
 import org.jboss.netty.handler.timeout.IdleStateHandler;
 import org.jboss.netty.util.HashedWheelTimer;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.packet.Ip4Address;
 import org.onlab.packet.Ip6Address;
 import org.onlab.packet.IpAddress;
 import org.onlab.packet.IpPrefix;
+import org.onlab.util.AbstractAccumulator;
 import org.onlab.util.KryoNamespace;
+import org.onlab.util.SlidingWindowCounter;
 import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterEvent;
@@ -84,16 +92,22 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Set;
+import java.util.Timer;
+import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static java.util.concurrent.Executors.newCachedThreadPool;
+import static org.onlab.metrics.MetricsUtil.startTimer;
+import static org.onlab.metrics.MetricsUtil.stopTimer;
 import static org.onlab.util.Tools.groupedThreads;
 
 /**
@@ -109,6 +123,19 @@ public class FpmManager implements FpmInfoService {
     private static final int IDLE_TIMEOUT_SECS = 5;
     private static final String LOCK_NAME = "fpm-manager-lock";
 
+    // Route changes are pushed to the route service in batches
+    private static final int MAX_BATCH_ITEMS = 10000;
+    private static final int MAX_BATCH_MILLIS = 100;
+    private static final int MAX_IDLE_MILLIS = 10;
+    private static final int RATE_WINDOW_SECS = 10;
+    private static final long STOP_BATCHING_TIMEOUT_MILLIS = 5000;
+
+    private static final String METRICS_COMPONENT = "FpmManager";
+    private static final String METRICS_FEATURE = "routeChanges";
+    private static final String RATE_METRIC = "rate";
+    private static final String BATCH_SIZE_METRIC = "batchSize";
+    private static final String PUSH_TIME_METRIC = "pushTime";
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected CoreService coreService;
 
@@ -127,6 +154,9 @@ public class FpmManager implements FpmInfoService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected InterfaceService interfaceService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
+
     @Reference(cardinality = ReferenceCardinality.OPTIONAL_UNARY,
                bind = "bindRipStore",
                unbind = "unbindRipStore",
@@ -158,6 +188,12 @@ public class FpmManager implements FpmInfoService {
     //Local cache for peers to be used in case of cluster partition.
     private Map<FpmPeer, Set<FpmConnectionInfo>> localPeers = new ConcurrentHashMap<>();
 
+    private Timer batchTimer;
+    private RouteChangeAccumulator routeChanges;
+    private SlidingWindowCounter routeChangeRate;
+    private Histogram batchSizeHistogram;
+    private com.codahale.metrics.Timer pushTimer;
+
     @Property(name = "clearRoutes", boolValue = true,
             label = "Whether to clear routes when the FPM connection goes down")
     private boolean clearRoutes = true;
@@ -227,6 +263,10 @@ public class FpmManager implements FpmInfoService {
                 .build();
 
         modified(context);
+
+        startBatching();
+        routeChangeRate = new SlidingWindowCounter(RATE_WINDOW_SECS);
+        registerMetrics();
         startServer();
 
         appId = coreService.registerApplication(APP_NAME, peers::destroy);
@@ -244,6 +284,11 @@ public class FpmManager implements FpmInfoService {
                 "distributed", "false");
 
         stopServer();
+        // push the changes still pending once the batch in flight is done
+        stopBatching();
+        routeChanges.flush();
+        removeMetrics();
+        routeChangeRate.destroy();
         fpmRoutes.clear();
         componentConfigService.unregisterProperties(getClass(), false);
 
@@ -350,6 +395,63 @@ public class FpmManager implements FpmInfoService {
         }
     }
 
+    /**
+     * Starts accumulating route changes into batches pushed by the batching
+     * timer.
+     */
+    void startBatching() {
+        batchTimer = new Timer("onos-fpm-route-batching");
+        routeChanges = new RouteChangeAccumulator();
+    }
+
+    /**
+     * Stops the batching timer, waiting for the batch it may be pushing to
+     * complete. The timer runs its tasks one at a time, so the task that
+     * cancels it only runs once the batch in flight, if any, is done.
+     */
+    void stopBatching() {
+        CountDownLatch stopped = new CountDownLatch(1);
+        batchTimer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                batchTimer.cancel();
+                stopped.countDown();
+            }
+        }, 0);
+        try {
+            if (!stopped.await(STOP_BATCHING_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                log.warn("Timed out waiting for the FPM route batch in flight");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            batchTimer.cancel();
+        }
+    }
+
+    /**
+     * Registers the route change metrics, listed by the metrics CLI command
+     * and REST API.
+     */
+    private void registerMetrics() {
+        MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+        MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+        metricsService.registerMetric(component, feature, RATE_METRIC,
+                (Gauge<Double>) () -> routeChangeRate.get(RATE_WINDOW_SECS) / (double) RATE_WINDOW_SECS);
+        batchSizeHistogram = metricsService.createHistogram(component, feature, BATCH_SIZE_METRIC);
+        pushTimer = metricsService.createTimer(component, feature, PUSH_TIME_METRIC);
+    }
+
+    private void removeMetrics() {
+        MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+        MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+        metricsService.removeMetric(component, feature, RATE_METRIC);
+        metricsService.removeMetric(component, feature, BATCH_SIZE_METRIC);
+        metricsService.removeMetric(component, feature, PUSH_TIME_METRIC);
+        batchSizeHistogram = null;
+        pushTimer = null;
+    }
+
     private void startServer() {
         HashedWheelTimer timer = new HashedWheelTimer(
                 groupedThreads("onos/fpm", "fpm-timer-%d", log));
@@ -469,9 +571,6 @@ public class FpmManager implements FpmInfoService {
             }
         }
 
-        List<Route> updates = new LinkedList<>();
-        List<Route> withdraws = new LinkedList<>();
-
         Route route;
         switch (netlink.type()) {
         case RTM_NEWROUTE:
@@ -486,9 +585,9 @@ public class FpmManager implements FpmInfoService {
 
             if (oldRoute != null) {
                 log.trace("Swapping {} with {}", oldRoute, route);
-                withdraws.add(oldRoute);
+                routeChanges.add(new RouteChange(peer, oldRoute, true));
             }
-            updates.add(route);
+            routeChanges.add(new RouteChange(peer, route, false));
             break;
         case RTM_DELROUTE:
             Route existing = fpmRoutes.get(peer).remove(prefix);
@@ -499,14 +598,12 @@ public class FpmManager implements FpmInfoService {
 
             route = new Route(Route.Source.FPM, prefix, existing.nextHop(), clusterService.getLocalNode().id());
 
-            withdraws.add(route);
+            routeChanges.add(new RouteChange(peer, route, true));
             break;
         case RTM_GETROUTE:
         default:
             break;
         }
-
-        updateRouteStore(updates, withdraws);
     }
 
     private synchronized void updateRouteStore(Collection<Route> routesToAdd, Collection<Route> routesToRemove) {
@@ -514,7 +611,52 @@ public class FpmManager implements FpmInfoService {
         routeService.update(routesToAdd);
     }
 
-    private void clearRoutes(FpmPeer peer) {
+    /**
+     * Pushes a batch of route changes to the route service. Repeated changes
+     * to the same route collapse into the last one, and updates that have
+     * since been replaced or cleared from the peer's routes are dropped.
+     *
+     * @param changes route changes in the order they were received
+     */
+    synchronized void processRouteChanges(List<RouteChange> changes) {
+        Set<Route> updates = new LinkedHashSet<>();
+        Set<Route> withdraws = new LinkedHashSet<>();
+
+        for (RouteChange change : changes) {
+            if (change.withdraw) {
+                updates.remove(change.route);
+                withdraws.add(change.route);
+            } else {
+                Route current = fpmRoutes.getOrDefault(change.peer, Collections.emptyMap())
+                        .get(change.route.prefix());
+                if (!change.route.equals(current)) {
+                    continue;
+                }
+                withdraws.remove(change.route);
+                updates.add(change.route);
+            }
+        }
+
+        Context timer = startTimer(pushTimer);
+        try {
+            updateRouteStore(updates, withdraws);
+        } finally {
+            stopTimer(timer);
+        }
+
+        routeChangeRate.incrementCount(changes.size());
+        if (batchSizeHistogram != null) {
+            batchSizeHistogram.update(changes.size());
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Pushed {} updates and {} withdraws from {} FPM route changes ({} changes/s over {}s)",
+                      updates.size(), withdraws.size(), changes.size(),
+                      String.format("%.1f", routeChangeRate.get(RATE_WINDOW_SECS) / (double) RATE_WINDOW_SECS),
+                      RATE_WINDOW_SECS);
+        }
+    }
+
+    private synchronized void clearRoutes(FpmPeer peer) {
         log.info("Clearing all routes for peer {}", peer);
         Map<IpPrefix, Route> routes = fpmRoutes.remove(peer);
         if (routes != null) {
@@ -670,6 +812,32 @@ public class FpmManager implements FpmInfoService {
                         e -> toFpmInfo(e.getKey(), e.getValue())));
     }
 
+    /**
+     * A route learned or withdrawn through an FPM peer.
+     */
+    static final class RouteChange {
+        private final FpmPeer peer;
+        private final Route route;
+        private final boolean withdraw;
+
+        RouteChange(FpmPeer peer, Route route, boolean withdraw) {
+            this.peer = peer;
+            this.route = route;
+            this.withdraw = withdraw;
+        }
+    }
+
+    private class RouteChangeAccumulator extends AbstractAccumulator<RouteChange> {
+        RouteChangeAccumulator() {
+            super(batchTimer, MAX_BATCH_ITEMS, MAX_BATCH_MILLIS, MAX_IDLE_MILLIS);
+        }
+
+        @Override
+        public void processItems(List<RouteChange> items) {
+            processRouteChanges(items);
+        }
+    }
+
     private class InternalFpmListener implements FpmListener {
         @Override
         public void fpmMessage(FpmPeer peer, FpmHeader fpmMessage) {
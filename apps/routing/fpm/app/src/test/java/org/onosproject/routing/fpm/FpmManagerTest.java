@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.routing.fpm;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.junit.TestUtils;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+import org.onlab.util.Accumulator;
+import org.onlab.util.SlidingWindowCounter;
+import org.onosproject.routeservice.Route;
+import org.onosproject.routeservice.RouteServiceAdapter;
+import org.onosproject.routing.fpm.FpmManager.RouteChange;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the batching of route changes in the FPM manager.
+ */
+public class FpmManagerTest {
+
+    private static final FpmPeer PEER = new FpmPeer(IpAddress.valueOf("10.0.0.1"), 2620);
+    private static final IpPrefix PREFIX = IpPrefix.valueOf("192.168.1.0/24");
+
+    private static final Route ROUTE1 =
+            new Route(Route.Source.FPM, PREFIX, IpAddress.valueOf("10.0.1.1"));
+    private static final Route ROUTE2 =
+            new Route(Route.Source.FPM, PREFIX, IpAddress.valueOf("10.0.2.1"));
+
+    private FpmManager fpmManager;
+    private TestRouteService routeService;
+    private SlidingWindowCounter routeChangeRate;
+    private Map<IpPrefix, Route> peerRoutes;
+
+    @Before
+    public void setUp() throws Exception {
+        fpmManager = new FpmManager();
+        routeService = new TestRouteService();
+        fpmManager.routeService = routeService;
+
+        routeChangeRate = new SlidingWindowCounter(10);
+        TestUtils.setField(fpmManager, "routeChangeRate", routeChangeRate);
+
+        Map<FpmPeer, Map<IpPrefix, Route>> fpmRoutes = TestUtils.getField(fpmManager, "fpmRoutes");
+        peerRoutes = new ConcurrentHashMap<>();
+        fpmRoutes.put(PEER, peerRoutes);
+    }
+
+    @After
+    public void tearDown() {
+        routeChangeRate.destroy();
+    }
+
+    /**
+     * Tests that a route replaced within a batch only pushes its last state.
+     */
+    @Test
+    public void testReplacedRoute() {
+        peerRoutes.put(PREFIX, ROUTE2);
+
+        fpmManager.processRouteChanges(ImmutableList.of(
+                update(ROUTE1), withdraw(ROUTE1), update(ROUTE2)));
+
+        assertEquals(ImmutableList.of(ROUTE2), routeService.updates);
+        assertEquals(ImmutableList.of(ROUTE1), routeService.withdraws);
+    }
+
+    /**
+     * Tests that a route added and deleted within a batch is only withdrawn.
+     */
+    @Test
+    public void testDeletedRoute() {
+        fpmManager.processRouteChanges(ImmutableList.of(update(ROUTE1), withdraw(ROUTE1)));
+
+        assertEquals(ImmutableList.of(), routeService.updates);
+        assertEquals(ImmutableList.of(ROUTE1), routeService.withdraws);
+    }
+
+    /**
+     * Tests that a route deleted and added back within a batch is only updated.
+     */
+    @Test
+    public void testReAddedRoute() {
+        peerRoutes.put(PREFIX, ROUTE1);
+
+        fpmManager.processRouteChanges(ImmutableList.of(withdraw(ROUTE1), update(ROUTE1)));
+
+        assertEquals(ImmutableList.of(ROUTE1), routeService.updates);
+        assertEquals(ImmutableList.of(), routeService.withdraws);
+    }
+
+    /**
+     * Tests that updates for routes cleared from the peer are dropped.
+     */
+    @Test
+    public void testStaleUpdate() {
+        fpmManager.processRouteChanges(ImmutableList.of(update(ROUTE1)));
+        assertEquals(ImmutableList.of(), routeService.updates);
+
+        // the peer has gone away altogether
+        Map<FpmPeer, Map<IpPrefix, Route>> fpmRoutes = TestUtils.getField(fpmManager, "fpmRoutes");
+        fpmRoutes.remove(PEER);
+        fpmManager.processRouteChanges(ImmutableList.of(update(ROUTE2)));
+        assertEquals(ImmutableList.of(), routeService.updates);
+    }
+
+    /**
+     * Tests that stopping the batching waits for the batch in flight and
+     * cancels the batching timer.
+     */
+    @Test
+    public void testStopBatchingWaitsForBatchInFlight() throws Exception {
+        peerRoutes.put(PREFIX, ROUTE1);
+        routeService.pushing = new CountDownLatch(1);
+        routeService.release = new CountDownLatch(1);
+
+        fpmManager.startBatching();
+        Accumulator<RouteChange> routeChanges = TestUtils.getField(fpmManager, "routeChanges");
+        routeChanges.add(update(ROUTE1));
+        assertTrue(routeService.pushing.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> stopped = CompletableFuture.runAsync(fpmManager::stopBatching);
+        Thread.sleep(100);
+        assertFalse(stopped.isDone());
+
+        routeService.release.countDown();
+        stopped.get(5, TimeUnit.SECONDS);
+        assertEquals(ImmutableList.of(ROUTE1), routeService.updates);
+
+        Timer batchTimer = TestUtils.getField(fpmManager, "batchTimer");
+        try {
+            batchTimer.schedule(new TimerTask() {
+                @Override
+                public void run() {
+                }
+            }, 0);
+            fail("batching timer should be cancelled");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    private static RouteChange update(Route route) {
+        return new RouteChange(PEER, route, false);
+    }
+
+    private static RouteChange withdraw(Route route) {
+        return new RouteChange(PEER, route, true);
+    }
+
+    /**
+     * Route service recording the routes pushed to it.
+     */
+    private static class TestRouteService extends RouteServiceAdapter {
+        private final List<Route> updates = Lists.newArrayList();
+        private final List<Route> withdraws = Lists.newArrayList();
+        private CountDownLatch pushing;
+        private CountDownLatch release;
+
+        @Override
+        public void update(Collection<Route> routes) {
+            if (pushing != null) {
+                pushing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            updates.addAll(routes);
+        }
+
+        @Override
+        public void withdraw(Collection<Route> routes) {
+            withdraws.addAll(routes);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.t3.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Maps;
+import org.onosproject.core.GroupId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.IndexTableId;
+import org.onosproject.net.flow.TableId;
+import org.onosproject.net.group.Group;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Per-device index of the flow and group tables looked up while tracing.
+ * <p>
+ * Flow entries are kept per table in decreasing priority order, so the
+ * highest priority match is the first matching entry and a lookup does not
+ * have to scan and sort the whole device table at every hop. The tables of a
+ * device are loaded on first use and never refreshed, so an index is a
+ * snapshot that should only live for the duration of a trace.
+ */
+final class DeviceTableIndex {
+
+    private static final Comparator<FlowEntry> HIGHEST_PRIORITY_FIRST =
+            Comparator.comparingInt(FlowEntry::priority).reversed();
+
+    private final Function<DeviceId, Iterable<FlowEntry>> flowLoader;
+    private final Function<DeviceId, Iterable<Group>> groupLoader;
+
+    private final Map<DeviceId, FlowTables> flowTables = Maps.newConcurrentMap();
+    private final Map<DeviceId, Map<GroupId, Group>> groupTables = Maps.newConcurrentMap();
+
+    /**
+     * Creates an index backed by the given loaders.
+     *
+     * @param flowLoader  function returning the installed flow entries of a device
+     * @param groupLoader function returning the groups of a device
+     */
+    DeviceTableIndex(Function<DeviceId, Iterable<FlowEntry>> flowLoader,
+                     Function<DeviceId, Iterable<Group>> groupLoader) {
+        this.flowLoader = flowLoader;
+        this.groupLoader = groupLoader;
+    }
+
+    /**
+     * Returns the flow entries of the given table in decreasing priority order.
+     *
+     * @param deviceId the device
+     * @param tableId  the table
+     * @return list of flow entries, empty if the table has none
+     */
+    List<FlowEntry> flows(DeviceId deviceId, TableId tableId) {
+        return flowTables(deviceId).byTable.getOrDefault(tableId, ImmutableList.of());
+    }
+
+    /**
+     * Returns the first flow entry of the lowest indexed table after the given one.
+     *
+     * @param deviceId  the device
+     * @param currentId the current table id
+     * @return flow entry, or null if there is no table after the given one
+     */
+    FlowEntry firstEntryAfterTable(DeviceId deviceId, int currentId) {
+        Map.Entry<Integer, FlowEntry> entry = flowTables(deviceId).firstByIndex.higherEntry(currentId);
+        return entry == null ? null : entry.getValue();
+    }
+
+    /**
+     * Returns the group with the given identifier.
+     *
+     * @param deviceId the device
+     * @param groupId  the group identifier
+     * @return group, or null if the device has no such group
+     */
+    Group group(DeviceId deviceId, GroupId groupId) {
+        return groupTables.computeIfAbsent(deviceId, this::loadGroups).get(groupId);
+    }
+
+    private FlowTables flowTables(DeviceId deviceId) {
+        return flowTables.computeIfAbsent(deviceId, this::loadFlows);
+    }
+
+    private FlowTables loadFlows(DeviceId deviceId) {
+        Map<TableId, List<FlowEntry>> byTable = new LinkedHashMap<>();
+        NavigableMap<Integer, FlowEntry> firstByIndex = new TreeMap<>();
+        for (FlowEntry entry : flowLoader.apply(deviceId)) {
+            byTable.computeIfAbsent(entry.table(), t -> new ArrayList<>()).add(entry);
+            if (entry.table() instanceof IndexTableId) {
+                firstByIndex.putIfAbsent(((IndexTableId) entry.table()).id(), entry);
+            }
+        }
+        ImmutableMap.Builder<TableId, List<FlowEntry>> tables = ImmutableMap.builder();
+        byTable.forEach((tableId, entries) -> {
+            // stable sort, entries with the same priority keep the table order
+            entries.sort(HIGHEST_PRIORITY_FIRST);
+            tables.put(tableId, ImmutableList.copyOf(entries));
+        });
+        return new FlowTables(tables.build(), ImmutableSortedMap.copyOfSorted(firstByIndex));
+    }
+
+    private Map<GroupId, Group> loadGroups(DeviceId deviceId) {
+        Map<GroupId, Group> groups = new LinkedHashMap<>();
+        groupLoader.apply(deviceId).forEach(group -> groups.putIfAbsent(group.id(), group));
+        return ImmutableMap.copyOf(groups);
+    }
+
+    /**
+     * Immutable snapshot of the flow tables of a device.
+     */
+    private static final class FlowTables {
+        private final Map<TableId, List<FlowEntry>> byTable;
+        private final NavigableMap<Integer, FlowEntry> firstByIndex;
+
+        private FlowTables(Map<TableId, List<FlowEntry>> byTable,
+                           NavigableMap<Integer, FlowEntry> firstByIndex) {
+            this.byTable = byTable;
+            this.firstByIndex = firstByIndex;
+        }
+    }
+}
@@ -19,7 +19,6 @@ package org.onosproject.t3.impl;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.felix.scr.annotations.Component;
@@ -46,7 +45,6 @@ import org.onosproject.net.driver.DriverService;
 import org.onosproject.net.edge.EdgePortService;
 import org.onosproject.net.flow.DefaultTrafficSelector;
 import org.onosproject.net.flow.FlowEntry;
-import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.FlowRuleService;
 import org.onosproject.net.flow.IndexTableId;
 import org.onosproject.net.flow.TableId;
@@ -80,7 +78,6 @@ import java.net.UnknownHostException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -145,27 +142,33 @@ public class TroubleshootManager implements TroubleshootService {
 
     @Override
     public List<StaticPacketTrace> pingAll(EtherType type) {
+        // All host pairs are traced against the same snapshot of the tables
+        DeviceTableIndex tableIndex = newTableIndex();
         ImmutableList.Builder<StaticPacketTrace> tracesBuilder = ImmutableList.builder();
-        hostService.getHosts().forEach(host -> {
-            List<IpAddress> ipAddresses = getIpAddresses(host, type, false);
-            if (ipAddresses.size() > 0) {
-                //check if the host has only local IPs of that ETH type
-                boolean onlyLocalSrc = ipAddresses.size() == 1 && ipAddresses.get(0).isLinkLocal();
-                hostService.getHosts().forEach(hostToPing -> {
-                    List<IpAddress> ipAddressesToPing = getIpAddresses(hostToPing, type, false);
-                    //check if the other host has only local IPs of that ETH type
-                    boolean onlyLocalDst = ipAddressesToPing.size() == 1 && ipAddressesToPing.get(0).isLinkLocal();
-                    boolean sameLocation = Sets.intersection(host.locations(), hostToPing.locations()).size() > 0;
-                    //Trace is done only if they are both local and under the same location
-                    // or not local and if they are not the same host.
-                    if (((sameLocation && onlyLocalDst && onlyLocalSrc) ||
-                            (!onlyLocalSrc && !onlyLocalDst && ipAddressesToPing.size() > 0))
-                            && !host.equals(hostToPing)) {
-                        tracesBuilder.addAll(trace(host.id(), hostToPing.id(), type));
-                    }
-                });
-            }
-        });
+        hostService.getHosts().forEach(host -> tracesBuilder.addAll(pingAllFrom(host, type, tableIndex)));
+        return tracesBuilder.build();
+    }
+
+    private List<StaticPacketTrace> pingAllFrom(Host host, EtherType type, DeviceTableIndex tableIndex) {
+        ImmutableList.Builder<StaticPacketTrace> tracesBuilder = ImmutableList.builder();
+        List<IpAddress> ipAddresses = getIpAddresses(host, type, false);
+        if (ipAddresses.size() > 0) {
+            //check if the host has only local IPs of that ETH type
+            boolean onlyLocalSrc = ipAddresses.size() == 1 && ipAddresses.get(0).isLinkLocal();
+            hostService.getHosts().forEach(hostToPing -> {
+                List<IpAddress> ipAddressesToPing = getIpAddresses(hostToPing, type, false);
+                //check if the other host has only local IPs of that ETH type
+                boolean onlyLocalDst = ipAddressesToPing.size() == 1 && ipAddressesToPing.get(0).isLinkLocal();
+                boolean sameLocation = Sets.intersection(host.locations(), hostToPing.locations()).size() > 0;
+                //Trace is done only if they are both local and under the same location
+                // or not local and if they are not the same host.
+                if (((sameLocation && onlyLocalDst && onlyLocalSrc) ||
+                        (!onlyLocalSrc && !onlyLocalDst && ipAddressesToPing.size() > 0))
+                        && !host.equals(hostToPing)) {
+                    tracesBuilder.addAll(trace(host.id(), hostToPing.id(), type, tableIndex));
+                }
+            });
+        }
         return tracesBuilder.build();
     }
 
@@ -181,6 +184,11 @@ public class TroubleshootManager implements TroubleshootService {
 
     @Override
     public Set<StaticPacketTrace> trace(HostId sourceHost, HostId destinationHost, EtherType etherType) {
+        return trace(sourceHost, destinationHost, etherType, newTableIndex());
+    }
+
+    private Set<StaticPacketTrace> trace(HostId sourceHost, HostId destinationHost, EtherType etherType,
+                                         DeviceTableIndex tableIndex) {
         Host source = hostService.getHost(sourceHost);
         Host destination = hostService.getHost(destinationHost);
 
@@ -214,7 +222,7 @@ public class TroubleshootManager implements TroubleshootService {
                 selectorBuilder.matchEthDst(destination.mac());
                 source.locations().forEach(hostLocation -> {
                     selectorBuilder.matchInPort(hostLocation.port());
-                    StaticPacketTrace trace = trace(selectorBuilder.build(), hostLocation);
+                    StaticPacketTrace trace = trace(selectorBuilder.build(), hostLocation, tableIndex);
                     trace.addEndpointHosts(Pair.of(source, destination));
                     traces.add(trace);
                 });
@@ -255,7 +263,7 @@ public class TroubleshootManager implements TroubleshootService {
             }
             source.locations().forEach(hostLocation -> {
                 selectorBuilder.matchInPort(hostLocation.port());
-                StaticPacketTrace trace = trace(selectorBuilder.build(), hostLocation);
+                StaticPacketTrace trace = trace(selectorBuilder.build(), hostLocation, tableIndex);
                 trace.addEndpointHosts(Pair.of(source, destination));
                 traces.add(trace);
             });
@@ -375,6 +383,10 @@ public class TroubleshootManager implements TroubleshootService {
 
     @Override
     public StaticPacketTrace trace(TrafficSelector packet, ConnectPoint in) {
+        return trace(packet, in, newTableIndex());
+    }
+
+    private StaticPacketTrace trace(TrafficSelector packet, ConnectPoint in, DeviceTableIndex tableIndex) {
         log.info("Tracing packet {} coming in through {}", packet, in);
         //device must exist in ONOS
         Preconditions.checkNotNull(deviceService.getDevice(in.deviceId()),
@@ -385,11 +397,24 @@ public class TroubleshootManager implements TroubleshootService {
         //FIXME this can be done recursively
         //Building output connect Points
         List<ConnectPoint> path = new ArrayList<>();
-        trace = traceInDevice(trace, packet, in, isDualHomed, path);
-        trace = getTrace(path, in, trace, isDualHomed);
+        trace = traceInDevice(trace, packet, in, isDualHomed, path, tableIndex);
+        trace = getTrace(path, in, trace, isDualHomed, tableIndex);
         return trace;
     }
 
+    /**
+     * Creates an index of the installed flows and groups of the devices.
+     * The index is a snapshot loaded lazily per device, it is meant to be
+     * used for a single trace or ping-all and then discarded.
+     *
+     * @return new table index
+     */
+    private DeviceTableIndex newTableIndex() {
+        return new DeviceTableIndex(
+                deviceId -> flowRuleService.getFlowEntriesByState(deviceId, FlowEntry.FlowEntryState.ADDED),
+                deviceId -> groupService.getGroups(deviceId));
+    }
+
     /**
      * Computes a trace for a give packet that start in the network at the given connect point.
      *
@@ -397,10 +422,11 @@ public class TroubleshootManager implements TroubleshootService {
      * @param in           the input connect point
      * @param trace        the trace to build
      * @param isDualHomed  true if the trace we are doing starts or ends in a dual homed host
+     * @param tableIndex   the flow and group tables of the devices
      * @return the build trace for that packet.
      */
     private StaticPacketTrace getTrace(List<ConnectPoint> completePath, ConnectPoint in, StaticPacketTrace trace,
-                                       boolean isDualHomed) {
+                                       boolean isDualHomed, DeviceTableIndex tableIndex) {
 
         log.debug("------------------------------------------------------------");
 
@@ -506,9 +532,9 @@ public class TroubleshootManager implements TroubleshootService {
                     updatedPacket.add(Criteria.matchInPort(dst.port()));
                     log.debug("DST Connect Point {}", dst);
                     //build the elements for that device
-                    traceInDevice(trace, updatedPacket.build(), dst, isDualHomed, completePath);
+                    traceInDevice(trace, updatedPacket.build(), dst, isDualHomed, completePath, tableIndex);
                     //continue the trace along the path
-                    getTrace(completePath, dst, trace, isDualHomed);
+                    getTrace(completePath, dst, trace, isDualHomed, tableIndex);
                 }
             } else if (edgePortService.isEdgePoint(outputPath.getOutput()) &&
                     trace.getInitialPacket().getCriterion(Criterion.Type.ETH_DST) != null &&
@@ -703,10 +729,12 @@ public class TroubleshootManager implements TroubleshootService {
      * @param in           the input connect point.
      * @param isDualHomed  true if the trace we are doing starts or ends in a dual homed host
      * @param completePath the path up until this device
+     * @param tableIndex   the flow and group tables of the devices
      * @return updated trace
      */
     private StaticPacketTrace traceInDevice(StaticPacketTrace trace, TrafficSelector packet, ConnectPoint in,
-                                            boolean isDualHomed, List<ConnectPoint> completePath) {
+                                            boolean isDualHomed, List<ConnectPoint> completePath,
+                                            DeviceTableIndex tableIndex) {
 
         boolean multipleRoutes = false;
         if (trace.getGroupOuputs(in.deviceId()) != null) {
@@ -741,7 +769,7 @@ public class TroubleshootManager implements TroubleshootService {
         List<FlowEntry> outputFlows = new ArrayList<>();
         List<Instruction> deferredInstructions = new ArrayList<>();
 
-        FlowEntry nextTableIdEntry = findNextTableIdEntry(in.deviceId(), -1);
+        FlowEntry nextTableIdEntry = findNextTableIdEntry(in.deviceId(), -1, tableIndex);
         if (nextTableIdEntry == null) {
             trace.addResultMessage("No flow rules for device " + in.deviceId() + ". Aborting");
             computePath(completePath, trace, null);
@@ -754,7 +782,7 @@ public class TroubleshootManager implements TroubleshootService {
         while (!output) {
             log.debug("Searching a Flow Entry on table {} for packet {}", tableId, packet);
             //get the rule that matches the incoming packet
-            flowEntry = matchHighestPriority(packet, in, tableId);
+            flowEntry = matchHighestPriority(packet, in, tableId, tableIndex);
             log.debug("Found Flow Entry {}", flowEntry);
 
             boolean isOfdpaHardware = TroubleshootUtils.hardwareOfdpaMap
@@ -770,7 +798,7 @@ public class TroubleshootManager implements TroubleshootService {
                 }
 
                 //Finding next table to go In case of miss
-                nextTableIdEntry = findNextTableIdEntry(in.deviceId(), ((IndexTableId) tableId).id());
+                nextTableIdEntry = findNextTableIdEntry(in.deviceId(), ((IndexTableId) tableId).id(), tableIndex);
                 log.debug("Next table id entry {}", nextTableIdEntry);
 
                 //FIXME find better solution that enable granularity greater than 0 or all rules
@@ -848,7 +876,7 @@ public class TroubleshootManager implements TroubleshootService {
                     if (entryModVlanIdInstruction != null) {
 
                         FlowEntry secondVlanFlow = getSecondFlowEntryOnTable10(packet, in,
-                                packetVlanIdCriterion, entryModVlanIdInstruction);
+                                packetVlanIdCriterion, entryModVlanIdInstruction, tableIndex);
 
                         //We found the flow that we expected
                         if (secondVlanFlow != null) {
@@ -886,12 +914,13 @@ public class TroubleshootManager implements TroubleshootService {
         //Handling groups pointed at by immediate instructions
         for (FlowEntry entry : flows) {
             getGroupsFromInstructions(trace, groups, entry.treatment().immediate(),
-                    entry.deviceId(), builder, outputPorts, in, completePath);
+                    entry.deviceId(), builder, outputPorts, in, completePath, tableIndex);
         }
 
         //If we have deferred instructions at this point we handle them.
         if (deferredInstructions.size() > 0) {
-            builder = handleDeferredActions(trace, packet, in, deferredInstructions, outputPorts, groups, completePath);
+            builder = handleDeferredActions(trace, packet, in, deferredInstructions, outputPorts, groups, completePath,
+                    tableIndex);
 
         }
         packet = builder.build();
@@ -995,22 +1024,20 @@ public class TroubleshootManager implements TroubleshootService {
      * @param in                        the input connect point
      * @param packetVlanIdCriterion     the vlan criterion from the packet
      * @param entryModVlanIdInstruction the entry vlan instruction
+     * @param tableIndex                the flow and group tables of the devices
      * @return the second flow entry that matched
      */
     private FlowEntry getSecondFlowEntryOnTable10(TrafficSelector packet, ConnectPoint in,
                                                   VlanIdCriterion packetVlanIdCriterion,
-                                                  ModVlanIdInstruction entryModVlanIdInstruction) {
+                                                  ModVlanIdInstruction entryModVlanIdInstruction,
+                                                  DeviceTableIndex tableIndex) {
         FlowEntry secondVlanFlow = null;
         //Check the packet has been update from the first rule.
         if (packetVlanIdCriterion.vlanId().equals(entryModVlanIdInstruction.vlanId())) {
             //find a rule on the same table that matches the vlan and
             // also all the other elements of the flow such as input port
-            secondVlanFlow = Lists.newArrayList(flowRuleService.getFlowEntriesByState(in.deviceId(),
-                    FlowEntry.FlowEntryState.ADDED).iterator())
+            secondVlanFlow = tableIndex.flows(in.deviceId(), IndexTableId.of(10))
                     .stream()
-                    .filter(entry -> {
-                        return entry.table().equals(IndexTableId.of(10));
-                    })
                     .filter(entry -> {
                         VlanIdCriterion criterion = (VlanIdCriterion) entry.selector()
                                 .getCriterion(Criterion.Type.VLAN_VID);
@@ -1051,23 +1078,19 @@ public class TroubleshootManager implements TroubleshootService {
     /**
      * Finds the flow entry with the minimun next table Id.
      *
-     * @param deviceId  the device to search
-     * @param currentId the current id. the search will use this as minimum
+     * @param deviceId   the device to search
+     * @param currentId  the current id. the search will use this as minimum
+     * @param tableIndex the flow and group tables of the devices
      * @return the flow entry with the minimum table Id after the given one.
      */
-    private FlowEntry findNextTableIdEntry(DeviceId deviceId, int currentId) {
-
-        final Comparator<FlowEntry> comparator = Comparator.comparing((FlowEntry f) -> ((IndexTableId) f.table()).id());
-
-        return Lists.newArrayList(flowRuleService.getFlowEntriesByState(deviceId, FlowEntry.FlowEntryState.ADDED)
-                .iterator()).stream()
-                .filter(f -> ((IndexTableId) f.table()).id() > currentId).min(comparator).orElse(null);
+    private FlowEntry findNextTableIdEntry(DeviceId deviceId, int currentId, DeviceTableIndex tableIndex) {
+        return tableIndex.firstEntryAfterTable(deviceId, currentId);
     }
 
     private Builder handleDeferredActions(StaticPacketTrace trace, TrafficSelector packet,
                                           ConnectPoint in, List<Instruction> deferredInstructions,
                                           List<PortNumber> outputPorts, List<Group> groups,
-                                          List<ConnectPoint> completePath) {
+                                          List<ConnectPoint> completePath, DeviceTableIndex tableIndex) {
 
         //Update the packet with the deferred instructions
         Builder builder = updatePacket(packet, deferredInstructions);
@@ -1090,7 +1113,7 @@ public class TroubleshootManager implements TroubleshootService {
         //If there is no output let's see if there any deferred instruction point to groups.
         if (outputFlowInstruction.size() == 0) {
             getGroupsFromInstructions(trace, groups, deferredInstructions,
-                    in.deviceId(), builder, outputPorts, in, completePath);
+                    in.deviceId(), builder, outputPorts, in, completePath, tableIndex);
         }
         return builder;
     }
@@ -1104,11 +1127,13 @@ public class TroubleshootManager implements TroubleshootService {
      * @param deviceId        the device we are considering
      * @param builder         the builder of the input packet
      * @param outputPorts     the output ports for that packet
+     * @param tableIndex      the flow and group tables of the devices
      */
     private void getGroupsFromInstructions(StaticPacketTrace trace, List<Group> groupsForDevice,
                                            List<Instruction> instructions, DeviceId deviceId,
                                            Builder builder, List<PortNumber> outputPorts,
-                                           ConnectPoint in, List<ConnectPoint> completePath) {
+                                           ConnectPoint in, List<ConnectPoint> completePath,
+                                           DeviceTableIndex tableIndex) {
         List<Instruction> groupInstructionlist = new ArrayList<>();
         for (Instruction instruction : instructions) {
             log.debug("Considering Instruction {}", instruction);
@@ -1133,9 +1158,7 @@ public class TroubleshootManager implements TroubleshootService {
         //handle all the internal instructions pointing to a group.
         for (Instruction instr : groupInstructionlist) {
             GroupInstruction groupInstruction = (GroupInstruction) instr;
-            Group group = Lists.newArrayList(groupService.getGroups(deviceId)).stream().filter(groupInternal -> {
-                return groupInternal.id().equals(groupInstruction.groupId());
-            }).findAny().orElse(null);
+            Group group = tableIndex.group(deviceId, groupInstruction.groupId());
             if (group == null) {
                 trace.addResultMessage("Null group for Instruction " + instr);
                 trace.setSuccess(false);
@@ -1157,7 +1180,7 @@ public class TroubleshootManager implements TroubleshootService {
                 }
 
                 getGroupsFromInstructions(trace, groupsForDevice, bucket.treatment().allInstructions(),
-                        deviceId, builder, outputPorts, in, completePath);
+                        deviceId, builder, outputPorts, in, completePath, tableIndex);
             }
         }
     }
@@ -1288,22 +1311,21 @@ public class TroubleshootManager implements TroubleshootService {
     /**
      * Finds the rule in the device that mathces the input packet and has the highest priority.
      *
-     * @param packet  the input packet
-     * @param in      the connect point the packet comes in from
-     * @param tableId the table to search
+     * @param packet     the input packet
+     * @param in         the connect point the packet comes in from
+     * @param tableId    the table to search
+     * @param tableIndex the flow and group tables of the devices
      * @return the flow entry
      */
-    private FlowEntry matchHighestPriority(TrafficSelector packet, ConnectPoint in, TableId tableId) {
-        //Computing the possible match rules.
-        final Comparator<FlowEntry> comparator = Comparator.comparing(FlowRule::priority);
-        return Lists.newArrayList(flowRuleService.getFlowEntriesByState(in.deviceId(), FlowEntry.FlowEntryState.ADDED)
-                .iterator()).stream()
-                .filter(flowEntry -> {
-                    return flowEntry.table().equals(tableId);
-                })
-                .filter(flowEntry -> {
-                    return match(packet, flowEntry);
-                }).max(comparator).orElse(null);
+    private FlowEntry matchHighestPriority(TrafficSelector packet, ConnectPoint in, TableId tableId,
+                                           DeviceTableIndex tableIndex) {
+        //Entries are indexed by decreasing priority, the first match is the highest priority one.
+        for (FlowEntry flowEntry : tableIndex.flows(in.deviceId(), tableId)) {
+            if (match(packet, flowEntry)) {
+                return flowEntry;
+            }
+        }
+        return null;
     }
 
     /**
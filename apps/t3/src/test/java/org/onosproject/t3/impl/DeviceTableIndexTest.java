@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.t3.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.core.GroupId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.IndexTableId;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.t3.impl.T3TestObjects.GROUP;
+import static org.onosproject.t3.impl.T3TestObjects.GROUP_FLOW_DEVICE;
+
+/**
+ * Test for the per-device table index of the Trellis Troubleshoot Toolkit.
+ */
+public class DeviceTableIndexTest {
+
+    private static final DeviceId DEVICE = DeviceId.deviceId("IndexDevice");
+
+    private static FlowEntry entry(int table, int priority, int port) {
+        return new DefaultFlowEntry(DefaultFlowEntry.builder().forDevice(DEVICE)
+                .forTable(table)
+                .withPriority(priority)
+                .withSelector(DefaultTrafficSelector.builder().matchInPort(PortNumber.portNumber(port)).build())
+                .withTreatment(DefaultTrafficTreatment.emptyTreatment())
+                .fromApp(new DefaultApplicationId(0, "TestApp"))
+                .makePermanent()
+                .build());
+    }
+
+    private static final FlowEntry LOW = entry(0, 10, 1);
+    private static final FlowEntry HIGH = entry(0, 100, 2);
+    private static final FlowEntry SAME = entry(0, 100, 3);
+    private static final FlowEntry NEXT = entry(20, 10, 1);
+
+    @Test
+    public void testFlowIndex() {
+        AtomicInteger loads = new AtomicInteger();
+        DeviceTableIndex index = new DeviceTableIndex(deviceId -> {
+            loads.incrementAndGet();
+            return ImmutableList.of(LOW, NEXT, HIGH, SAME);
+        }, deviceId -> ImmutableList.of());
+
+        List<FlowEntry> table = index.flows(DEVICE, IndexTableId.of(0));
+        assertEquals("Entries should be sorted by priority", ImmutableList.of(HIGH, SAME, LOW), table);
+        assertTrue("Unknown table should be empty", index.flows(DEVICE, IndexTableId.of(5)).isEmpty());
+
+        assertEquals("Wrong first table", LOW, index.firstEntryAfterTable(DEVICE, -1));
+        assertEquals("Wrong next table", NEXT, index.firstEntryAfterTable(DEVICE, 0));
+        assertNull("There should be no table after the last one", index.firstEntryAfterTable(DEVICE, 20));
+        assertEquals("Device tables should be loaded once", 1, loads.get());
+
+    }
+
+    @Test
+    public void testGroupIndex() {
+        DeviceTableIndex index = new DeviceTableIndex(deviceId -> ImmutableList.of(),
+                                                      deviceId -> ImmutableList.of(GROUP));
+
+        assertEquals("Wrong group", GROUP, index.group(GROUP_FLOW_DEVICE, GROUP.id()));
+        assertNull("Unknown group should be null", index.group(GROUP_FLOW_DEVICE, GroupId.valueOf(42)));
+    }
+}
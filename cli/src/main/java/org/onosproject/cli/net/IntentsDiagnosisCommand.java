@@ -17,7 +17,6 @@ package org.onosproject.cli.net;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Streams;
 import org.apache.karaf.shell.commands.Argument;
 import org.apache.karaf.shell.commands.Command;
@@ -45,7 +44,6 @@ import org.onosproject.net.intent.PointToPointIntent;
 import org.onosproject.net.intent.WorkPartitionService;
 import org.onosproject.net.statistic.FlowStatisticService;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -74,7 +72,6 @@ public class IntentsDiagnosisCommand extends AbstractShellCommand {
     private boolean dumpIntentByLink = false;
 
     private static final int MAX_INTENT_PATH = 100;
-    private static final String FIELD_INTENTS_BY_LINK = "intentsByLink";
 
     @Override
     protected void execute() {
@@ -124,21 +121,8 @@ public class IntentsDiagnosisCommand extends AbstractShellCommand {
     }
 
     private Set<Map.Entry<LinkKey, Key>> getIntentsByLinkSet(ServiceRefs svcRefs) {
-
-        try {
-
-            ObjectiveTrackerService objTracker = svcRefs.getObjectiveTrackerService();
-
-            // Utilizing reflection instead of adding new interface for getting intentsByLink
-            Field f = objTracker.getClass().getDeclaredField(FIELD_INTENTS_BY_LINK);
-            f.setAccessible(true);
-            SetMultimap<LinkKey, Key> intentsByLink = (SetMultimap<LinkKey, Key>) f.get(objTracker);
-
-            return ImmutableSet.copyOf(intentsByLink.entries());
-        } catch (NoSuchFieldException | IllegalAccessException ex) {
-            error("error: " + ex);
-            return ImmutableSet.of();
-        }
+        ObjectiveTrackerService objTracker = svcRefs.getObjectiveTrackerService();
+        return ImmutableSet.copyOf(objTracker.getIntentsByLink().entries());
     }
 
     private void diagnosisP2Pintent(PointToPointIntent intent, ServiceRefs svcRefs) {
@@ -15,6 +15,11 @@
  */
 package org.onosproject.cluster;
 
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
 /**
  * Interface for administratively manipulating leadership assignments.
  */
@@ -29,6 +34,15 @@ public interface LeadershipAdminService {
      */
     boolean transferLeadership(String topic, NodeId nodeId);
 
+    /**
+     * Attempts to assign leadership for each of the given topics to its mapped node.
+     * @param transfers mapping from leadership topic to identifier of the node to be made leader
+     * @return mapping from leadership topic to whether the transfer was successfully executed
+     */
+    default Map<String, Boolean> transferLeaderships(Map<String, NodeId> transfers) {
+        return ImmutableMap.copyOf(Maps.transformEntries(transfers, this::transferLeadership));
+    }
+
     /**
      * Make a node to be the next leader by promoting it to top of candidate list.
      * @param topic leadership topic
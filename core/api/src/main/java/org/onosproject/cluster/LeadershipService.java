@@ -85,6 +85,33 @@ public interface LeadershipService
      */
     void withdraw(String topic);
 
+    /**
+     * Enters the leadership contests for all of the given topics at once.
+     *
+     * @param topics leadership topics
+     * @return mapping from topic to leadership after the contests were entered;
+     * topics whose contest could not be entered are left out
+     */
+    default Map<String, Leadership> runForLeaderships(Set<String> topics) {
+        Map<String, Leadership> leaderships = Maps.newHashMap();
+        topics.forEach(topic -> {
+            Leadership leadership = runForLeadership(topic);
+            if (leadership != null) {
+                leaderships.put(topic, leadership);
+            }
+        });
+        return leaderships;
+    }
+
+    /**
+     * Withdraws from the leadership contests for all of the given topics at once.
+     *
+     * @param topics leadership topics
+     */
+    default void withdrawAll(Set<String> topics) {
+        topics.forEach(this::withdraw);
+    }
+
     /**
      * Returns the current leader board.
      *
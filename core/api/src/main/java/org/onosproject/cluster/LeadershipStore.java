@@ -16,6 +16,10 @@
 package org.onosproject.cluster;
 
 import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import org.onosproject.store.Store;
 
 /**
@@ -38,6 +42,38 @@ public interface LeadershipStore extends Store<LeadershipEvent, LeadershipStoreD
      */
     void removeRegistration(String topic);
 
+    /**
+     * Adds registrations for the local instance to the leadership contests
+     * for all of the given topics.
+     * <p>
+     * Implementations are expected to issue the registrations together rather
+     * than waiting for each contest in turn.
+     *
+     * @param topics leadership topics
+     * @return updated leadership of each topic after the operation is completed;
+     * topics whose registration could not be added are left out
+     */
+    default Map<String, Leadership> addRegistrations(Set<String> topics) {
+        Map<String, Leadership> leaderships = Maps.newHashMap();
+        topics.forEach(topic -> {
+            Leadership leadership = addRegistration(topic);
+            if (leadership != null) {
+                leaderships.put(topic, leadership);
+            }
+        });
+        return leaderships;
+    }
+
+    /**
+     * Unregisters the local instance from the leadership contests for all
+     * of the given topics.
+     *
+     * @param topics leadership topics
+     */
+    default void removeRegistrations(Set<String> topics) {
+        topics.forEach(this::removeRegistration);
+    }
+
     /**
      * Unregisters an instance from all leadership contests.
      *
@@ -55,6 +91,16 @@ public interface LeadershipStore extends Store<LeadershipEvent, LeadershipStoreD
      */
     boolean moveLeadership(String topic, NodeId toNodeId);
 
+    /**
+     * Updates state so that each of the given topics is led by its mapped node.
+     *
+     * @param transfers mapping from leadership topic to identifier of the desired leader
+     * @return mapping from leadership topic to whether the transfer succeeded
+     */
+    default Map<String, Boolean> moveLeaderships(Map<String, NodeId> transfers) {
+        return ImmutableMap.copyOf(Maps.transformEntries(transfers, this::moveLeadership));
+    }
+
     /**
      * Attempts to make a node the top candidate.
      *
@@ -15,9 +15,12 @@
  */
 package org.onosproject.mastership;
 
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
+import com.google.common.collect.Lists;
 import org.onlab.util.Tools;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.net.DeviceId;
@@ -52,6 +55,20 @@ public interface MastershipAdminService {
         Tools.futureGetOrElse(setRole(instance, deviceId, role), TIMEOUT_MILLIS, TimeUnit.MILLISECONDS, null);
     }
 
+    /**
+     * Applies the given mastership role for each of the given devices at
+     * once, for the controller instance mapped to the device.
+     *
+     * @param instances mapping from device identifier to controller instance identifier
+     * @param role      requested role
+     * @return future that is completed when all of the roles are set
+     */
+    default CompletableFuture<Void> setRoles(Map<DeviceId, NodeId> instances, MastershipRole role) {
+        List<CompletableFuture<Void>> futures = Lists.newArrayList();
+        instances.forEach((deviceId, instance) -> futures.add(setRole(instance, deviceId, role)));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
+    }
+
     /**
      * Balances the mastership to be shared as evenly as possibly by all
      * online instances.
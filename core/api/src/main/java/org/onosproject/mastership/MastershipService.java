@@ -18,10 +18,12 @@ package org.onosproject.mastership;
 import static org.onosproject.net.MastershipRole.MASTER;
 import static org.onosproject.net.MastershipRole.NONE;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
+import com.google.common.collect.Lists;
 import org.onlab.util.Tools;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.cluster.RoleInfo;
@@ -102,6 +104,19 @@ public interface MastershipService
                 TIMEOUT_MILLIS, TimeUnit.MILLISECONDS, null);
     }
 
+    /**
+     * Abandons mastership of each of the specified devices on the local node
+     * at once. Devices the local node is not a master for are left alone.
+     *
+     * @param deviceIds the identifiers of the devices
+     * @return future that is completed when all of the relinquishes are complete
+     */
+    default CompletableFuture<Void> relinquishMasterships(Set<DeviceId> deviceIds) {
+        List<CompletableFuture<Void>> futures = Lists.newArrayList();
+        deviceIds.forEach(deviceId -> futures.add(relinquishMastership(deviceId)));
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()]));
+    }
+
     /**
      * Returns the current master for a given device.
      *
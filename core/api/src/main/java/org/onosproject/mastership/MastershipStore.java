@@ -15,9 +15,15 @@
  */
 package org.onosproject.mastership;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
+import com.google.common.collect.Lists;
+import org.onlab.util.Tools;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.cluster.RoleInfo;
 import org.onosproject.net.DeviceId;
@@ -121,6 +127,38 @@ public interface MastershipStore extends Store<MastershipEvent, MastershipStoreD
      */
     CompletableFuture<MastershipEvent> relinquishRole(NodeId nodeId, DeviceId deviceId);
 
+    /**
+     * Sets the master of each of the given devices to its mapped controller
+     * instance at once.
+     *
+     * @param masters mapping from device identifier to the controller instance
+     *                to be made master
+     * @return the resulting mastership events
+     */
+    default CompletableFuture<List<MastershipEvent>> setMasters(Map<DeviceId, NodeId> masters) {
+        List<CompletableFuture<MastershipEvent>> futures = Lists.newArrayList();
+        masters.forEach((deviceId, nodeId) -> futures.add(setMaster(nodeId, deviceId)));
+        return Tools.allOf(futures).thenApply(events -> events.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Allows a controller instance to give up its current role for each of
+     * the given devices at once.
+     *
+     * @param nodeId    the controller instance identifier
+     * @param deviceIds devices to revoke mastership role for
+     * @return the resulting mastership events
+     */
+    default CompletableFuture<List<MastershipEvent>> relinquishRoles(NodeId nodeId, Set<DeviceId> deviceIds) {
+        List<CompletableFuture<MastershipEvent>> futures = Lists.newArrayList();
+        deviceIds.forEach(deviceId -> futures.add(relinquishRole(nodeId, deviceId)));
+        return Tools.allOf(futures).thenApply(events -> events.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+    }
+
     /**
      * Removes all the roles for the specified controller instance.
      * If the role was MASTER, another controller instance will be selected
@@ -25,4 +25,22 @@ public interface FlowRuleOperationsContext {
     // TODO we might also want to execute a method on behalf of the app
     default void onSuccess(FlowRuleOperations ops){}
     default void onError(FlowRuleOperations ops){}
+
+    /**
+     * Called each time a batch of the operations has been processed.
+     *
+     * @param ops       the operations being applied
+     * @param completed number of operations processed so far, over all stages
+     * @param total     total number of operations
+     */
+    default void onProgress(FlowRuleOperations ops, int completed, int total) {}
+
+    /**
+     * Called when all the operations of a stage have been processed.
+     *
+     * @param ops            the operations being applied
+     * @param stage          index of the completed stage, starting from 0
+     * @param durationMillis time taken by the stage, in milliseconds
+     */
+    default void onStageCompleted(FlowRuleOperations ops, int stage, long durationMillis) {}
 }
@@ -16,9 +16,11 @@
 package org.onosproject.net.intent;
 
 import com.google.common.annotations.Beta;
+import com.google.common.collect.Iterables;
 import org.onosproject.store.Store;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Manages inventory of end-station intents; not intended for direct use.
@@ -51,6 +53,22 @@ public interface IntentStore extends Store<IntentEvent, IntentStoreDelegate> {
      */
     Iterable<IntentData> getIntentData(boolean localOnly, long olderThan);
 
+    /**
+     * Returns an iterable of the intent data objects in the store which are
+     * in any of the given states.
+     *
+     * @param localOnly should only intents for which this instance is master
+     *                  be returned
+     * @param olderThan specified duration in milliseconds (0 for "now")
+     * @param states    intent states of interest
+     * @return iterable of matching intent data objects
+     */
+    default Iterable<IntentData> getIntentData(boolean localOnly, long olderThan,
+                                               Set<IntentState> states) {
+        return Iterables.filter(getIntentData(localOnly, olderThan),
+                                data -> states.contains(data.state()));
+    }
+
     /**
      * Returns the state of the specified intent.
      *
@@ -15,6 +15,9 @@
  */
 package org.onosproject.net.intent;
 
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.SetMultimap;
+import org.onosproject.net.LinkKey;
 import org.onosproject.net.NetworkResource;
 
 import java.util.Collection;
@@ -64,4 +67,13 @@ public interface ObjectiveTrackerService {
      * @param intentData intent data object to be tracked
      */
     void trackIntent(IntentData intentData);
+
+    /**
+     * Returns a snapshot of the intents tracked against each link.
+     *
+     * @return immutable multimap of link keys to the keys of intents using them
+     */
+    default SetMultimap<LinkKey, Key> getIntentsByLink() {
+        return ImmutableSetMultimap.of();
+    }
 }
@@ -15,12 +15,14 @@
  */
 package org.onosproject.net.intent;
 
+import java.util.Map;
 import java.util.function.Function;
 
 import org.onosproject.cluster.NodeId;
 import org.onosproject.event.ListenerService;
 
 import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableMap;
 
 /**
  * Service for partitioning work, represented via a unique identifier, onto cluster nodes.
@@ -50,4 +52,35 @@ public interface WorkPartitionService
      * @return the leader node identifier
      */
     <K> NodeId getLeader(K id, Function<K, Long> hasher);
+
+    /**
+     * Records a unit of work handled by this instance for the given
+     * identifier. The recorded work is used to balance the partitions by
+     * load rather than by count alone.
+     *
+     * @param id identifier of the work item
+     * @param hasher function that maps identifier to a long value
+     * @param <K> entity type
+     */
+    default <K> void recordWork(K id, Function<K, Long> hasher) {
+    }
+
+    /**
+     * Returns the recent work load last reported by each instance.
+     *
+     * @return map of instance identifier to work load
+     */
+    default Map<NodeId, Long> getWorkLoads() {
+        return ImmutableMap.of();
+    }
+
+    /**
+     * Returns how unevenly the work is spread over the active instances,
+     * as the ratio of the highest instance load to the average load.
+     *
+     * @return load imbalance; 1.0 when the load is even or there is none
+     */
+    default double getLoadImbalance() {
+        return 1.0;
+    }
 }
@@ -62,4 +62,15 @@ public interface StatisticStore {
      * @return set of current values
      */
     Set<FlowEntry> getPreviousStatistic(ConnectPoint connectPoint);
+
+    /**
+     * Fetches the aggregated current and previous observed stats values.
+     *
+     * @param connectPoint the port to fetch information for
+     * @return statistic summary
+     */
+    default StatisticSummary getStatisticSummary(ConnectPoint connectPoint) {
+        return StatisticSummary.of(getCurrentStatistic(connectPoint),
+                                   getPreviousStatistic(connectPoint));
+    }
 }
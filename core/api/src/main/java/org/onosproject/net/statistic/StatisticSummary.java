@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.statistic;
+
+import com.google.common.base.MoreObjects;
+import org.onosproject.net.flow.FlowEntry;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Aggregated view of the current and previous flow statistics observed on a
+ * connect point.
+ * <p>
+ * The summary is computed once whenever new statistics are published so that
+ * load and highest hitter queries do not need to walk the underlying flow
+ * entries.
+ */
+public final class StatisticSummary {
+
+    private static final StatisticSummary EMPTY = new StatisticSummary(0, 0, 0, 0, null);
+
+    private final long currentBytes;
+    private final long previousBytes;
+    private final int currentFlowCount;
+    private final int previousFlowCount;
+    private final FlowEntry highestHitter;
+
+    private StatisticSummary(long currentBytes, long previousBytes,
+                             int currentFlowCount, int previousFlowCount,
+                             FlowEntry highestHitter) {
+        this.currentBytes = currentBytes;
+        this.previousBytes = previousBytes;
+        this.currentFlowCount = currentFlowCount;
+        this.previousFlowCount = previousFlowCount;
+        this.highestHitter = highestHitter;
+    }
+
+    /**
+     * Returns an empty summary.
+     *
+     * @return empty summary
+     */
+    public static StatisticSummary empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a summary from the current and previous flow entry observations.
+     *
+     * @param current  current flow entries; may be null
+     * @param previous previous flow entries; may be null
+     * @return statistic summary
+     */
+    public static StatisticSummary of(Set<FlowEntry> current, Set<FlowEntry> previous) {
+        Set<FlowEntry> curr = current != null ? current : Collections.emptySet();
+        Set<FlowEntry> prev = previous != null ? previous : Collections.emptySet();
+
+        long currentBytes = 0;
+        FlowEntry max = null;
+        for (FlowEntry entry : curr) {
+            currentBytes += entry.bytes();
+            if (max == null || entry.bytes() > max.bytes()) {
+                max = entry;
+            }
+        }
+
+        long previousBytes = 0;
+        for (FlowEntry entry : prev) {
+            previousBytes += entry.bytes();
+        }
+        return new StatisticSummary(currentBytes, previousBytes, curr.size(), prev.size(), max);
+    }
+
+    /**
+     * Returns the sum of bytes of the current flow entries.
+     *
+     * @return current byte count
+     */
+    public long currentBytes() {
+        return currentBytes;
+    }
+
+    /**
+     * Returns the sum of bytes of the previous flow entries.
+     *
+     * @return previous byte count
+     */
+    public long previousBytes() {
+        return previousBytes;
+    }
+
+    /**
+     * Returns the number of current flow entries.
+     *
+     * @return current flow count
+     */
+    public int currentFlowCount() {
+        return currentFlowCount;
+    }
+
+    /**
+     * Returns the number of previous flow entries.
+     *
+     * @return previous flow count
+     */
+    public int previousFlowCount() {
+        return previousFlowCount;
+    }
+
+    /**
+     * Returns the current flow entry with the highest byte count.
+     *
+     * @return highest hitter or null if there are no current flow entries
+     */
+    public FlowEntry highestHitter() {
+        return highestHitter;
+    }
+
+    /**
+     * Indicates whether both current and previous observations are available.
+     *
+     * @return false if either of the observations is empty. Otherwise, true.
+     */
+    public boolean isValid() {
+        return currentFlowCount > 0 && previousFlowCount > 0;
+    }
+
+    /**
+     * Returns the load represented by this summary.
+     *
+     * @return load; invalid if the summary is not valid
+     */
+    public Load load() {
+        return isValid() ? new DefaultLoad(currentBytes, previousBytes) : new DefaultLoad();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(currentBytes, previousBytes, currentFlowCount,
+                            previousFlowCount, highestHitter);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof StatisticSummary)) {
+            return false;
+        }
+        final StatisticSummary other = (StatisticSummary) obj;
+        return this.currentBytes == other.currentBytes
+                && this.previousBytes == other.previousBytes
+                && this.currentFlowCount == other.currentFlowCount
+                && this.previousFlowCount == other.previousFlowCount
+                && Objects.equals(this.highestHitter, other.highestHitter);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("currentBytes", currentBytes)
+                .add("previousBytes", previousBytes)
+                .add("currentFlowCount", currentFlowCount)
+                .add("previousFlowCount", previousFlowCount)
+                .add("highestHitter", highestHitter)
+                .toString();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.onlab.packet.ChassisId;
+import org.onosproject.common.DefaultTopology;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DefaultDevice;
+import org.onosproject.net.DefaultLink;
+import org.onosproject.net.Device;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.DisjointPath;
+import org.onosproject.net.Link;
+import org.onosproject.net.Path;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.provider.ProviderId;
+import org.onosproject.net.topology.DefaultGraphDescription;
+import org.onosproject.net.topology.GraphDescription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.onosproject.net.DeviceId.deviceId;
+import static org.onosproject.net.PortNumber.portNumber;
+
+/**
+ * Micro-benchmarks for topology construction and path search over a
+ * bidirectional grid of switches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultTopologyBenchmark {
+
+    private static final ProviderId PID = new ProviderId("of", "foo");
+
+    private static final PortNumber EAST = portNumber(1);
+    private static final PortNumber WEST = portNumber(2);
+    private static final PortNumber SOUTH = portNumber(3);
+    private static final PortNumber NORTH = portNumber(4);
+
+    @Param({"10", "20"})
+    private int gridSize;
+
+    private GraphDescription description;
+    private DefaultTopology topology;
+    private DeviceId corner;
+    private DeviceId oppositeCorner;
+
+    @Setup
+    public void setUp() {
+        Set<Device> devices = Sets.newHashSet();
+        List<Link> links = Lists.newArrayList();
+        for (int row = 0; row < gridSize; row++) {
+            for (int col = 0; col < gridSize; col++) {
+                devices.add(device(row, col));
+                if (col + 1 < gridSize) {
+                    links.add(link(did(row, col), EAST, did(row, col + 1), WEST));
+                    links.add(link(did(row, col + 1), WEST, did(row, col), EAST));
+                }
+                if (row + 1 < gridSize) {
+                    links.add(link(did(row, col), SOUTH, did(row + 1, col), NORTH));
+                    links.add(link(did(row + 1, col), NORTH, did(row, col), SOUTH));
+                }
+            }
+        }
+        description = new DefaultGraphDescription(System.nanoTime(), System.currentTimeMillis(),
+                                                  devices, links);
+        topology = new DefaultTopology(PID, description);
+        corner = did(0, 0);
+        oppositeCorner = did(gridSize - 1, gridSize - 1);
+    }
+
+    private static DeviceId did(int row, int col) {
+        return deviceId(String.format("of:%08x%08x", row, col));
+    }
+
+    private static Device device(int row, int col) {
+        return new DefaultDevice(PID, did(row, col), Device.Type.SWITCH,
+                                 "mfg", "1.0", "1.1", "1234", new ChassisId());
+    }
+
+    private static Link link(DeviceId src, PortNumber srcPort,
+                             DeviceId dst, PortNumber dstPort) {
+        return DefaultLink.builder()
+                .providerId(PID)
+                .src(new ConnectPoint(src, srcPort))
+                .dst(new ConnectPoint(dst, dstPort))
+                .type(Link.Type.DIRECT)
+                .state(Link.State.ACTIVE)
+                .build();
+    }
+
+    @Benchmark
+    public DefaultTopology buildTopology() {
+        DefaultTopology newTopology = new DefaultTopology(PID, description);
+        // Force the lazily computed clusters and broadcast sets.
+        newTopology.clusterCount();
+        return newTopology;
+    }
+
+    @Benchmark
+    public Set<Path> shortestPaths() {
+        return topology.getPaths(corner, oppositeCorner);
+    }
+
+    @Benchmark
+    public long kShortestPaths() {
+        return topology.getKShortestPaths(corner, oppositeCorner).limit(4).count();
+    }
+
+    @Benchmark
+    public Set<DisjointPath> disjointPaths() {
+        return topology.getDisjointPaths(corner, oppositeCorner);
+    }
+}
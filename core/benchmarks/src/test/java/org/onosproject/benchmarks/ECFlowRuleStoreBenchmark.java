@@ -0,0 +1,224 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+import org.onosproject.cfg.ComponentConfigAdapter;
+import org.onosproject.cluster.ClusterServiceAdapter;
+import org.onosproject.cluster.ControllerNode;
+import org.onosproject.cluster.DefaultControllerNode;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.core.CoreServiceAdapter;
+import org.onosproject.mastership.MastershipInfo;
+import org.onosproject.mastership.MastershipServiceAdapter;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.MastershipRole;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.DeviceServiceAdapter;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.FlowRuleEvent;
+import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
+import org.onosproject.store.flow.impl.ECFlowRuleStore;
+import org.onosproject.store.flow.impl.ReplicaInfoManager;
+import org.onosproject.store.persistence.PersistenceServiceAdapter;
+import org.onosproject.store.service.AsyncConsistentMap;
+import org.onosproject.store.service.AsyncConsistentMapAdapter;
+import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.ConsistentMapBuilder;
+import org.onosproject.store.service.TestStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.onosproject.net.NetTestTools.APP_ID;
+
+/**
+ * Micro-benchmarks for flow entry add and lookup through the eventually
+ * consistent flow rule store and its per-device flow tables,
+ * with the local node acting as master for every device.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ECFlowRuleStoreBenchmark {
+
+    private static final NodeId LOCAL = NodeId.nodeId("1");
+    private static final DeviceId DEVICE_ID = DeviceId.deviceId("of:0000000000000001");
+
+    @Param({"1000", "10000"})
+    private int flowCount;
+
+    private ECFlowRuleStore store;
+    private List<FlowEntry> entries;
+    private int next;
+
+    private static class LocalClusterService extends ClusterServiceAdapter {
+        private final ControllerNode local =
+                new DefaultControllerNode(LOCAL, IpAddress.valueOf("127.0.0.1"));
+
+        @Override
+        public ControllerNode getLocalNode() {
+            return local;
+        }
+    }
+
+    private static class MasterOfAll extends MastershipServiceAdapter {
+        @Override
+        public MastershipRole getLocalRole(DeviceId deviceId) {
+            return MastershipRole.MASTER;
+        }
+
+        @Override
+        public boolean isLocalMaster(DeviceId deviceId) {
+            return true;
+        }
+
+        @Override
+        public NodeId getMasterFor(DeviceId deviceId) {
+            return LOCAL;
+        }
+
+        @Override
+        public MastershipInfo getMastershipFor(DeviceId deviceId) {
+            return new MastershipInfo(1, Optional.of(LOCAL),
+                                      ImmutableMap.of(LOCAL, MastershipRole.MASTER));
+        }
+    }
+
+    /**
+     * Flow rule store wired to local, in-memory service adapters.
+     */
+    private static class LocalFlowRuleStore extends ECFlowRuleStore {
+        LocalFlowRuleStore() {
+            storageService = new TestStorageService() {
+                @Override
+                public <K, V> ConsistentMapBuilder<K, V> consistentMapBuilder() {
+                    return new ConsistentMapBuilder<K, V>() {
+                        @Override
+                        public AsyncConsistentMap<K, V> buildAsyncMap() {
+                            return new AsyncConsistentMapAdapter<>();
+                        }
+
+                        @Override
+                        public ConsistentMap<K, V> build() {
+                            return null;
+                        }
+                    };
+                }
+            };
+            replicaInfoManager = new LocalReplicaInfoManager();
+            clusterService = new LocalClusterService();
+            clusterCommunicator = new ClusterCommunicationServiceAdapter();
+            mastershipService = new MasterOfAll();
+            deviceService = new DeviceServiceAdapter();
+            coreService = new CoreServiceAdapter();
+            configService = new ComponentConfigAdapter();
+            persistenceService = new PersistenceServiceAdapter();
+        }
+    }
+
+    private static class LocalReplicaInfoManager extends ReplicaInfoManager {
+        LocalReplicaInfoManager() {
+            mastershipService = new MasterOfAll();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        store = new LocalFlowRuleStore();
+        store.activate(null);
+
+        entries = Lists.newArrayListWithCapacity(flowCount);
+        for (int i = 0; i < flowCount; i++) {
+            FlowEntry entry = new DefaultFlowEntry(flowRule(i));
+            entries.add(entry);
+            store.addOrUpdateFlowRule(entry);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.deactivate(null);
+    }
+
+    private static FlowRule flowRule(int index) {
+        return DefaultFlowRule.builder()
+                .forDevice(DEVICE_ID)
+                .withSelector(DefaultTrafficSelector.builder()
+                                      .matchInPort(PortNumber.portNumber(1 + index % 48))
+                                      .matchEthType(Ethernet.TYPE_IPV4)
+                                      .matchIPDst(IpPrefix.valueOf(index << 8, 24))
+                                      .build())
+                .withTreatment(DefaultTrafficTreatment.builder()
+                                       .setOutput(PortNumber.portNumber(2))
+                                       .build())
+                .withPriority(40000)
+                .fromApp(APP_ID)
+                .makePermanent()
+                .build();
+    }
+
+    private FlowEntry nextEntry() {
+        FlowEntry entry = entries.get(next);
+        next = (next + 1) % entries.size();
+        return entry;
+    }
+
+    @Benchmark
+    public FlowRuleEvent addOrUpdate() {
+        return store.addOrUpdateFlowRule(nextEntry());
+    }
+
+    @Benchmark
+    public FlowEntry lookup() {
+        return store.getFlowEntry(nextEntry());
+    }
+
+    @Benchmark
+    public int count() {
+        return store.getFlowRuleCount(DEVICE_ID);
+    }
+
+    @Benchmark
+    public Iterable<FlowEntry> flowEntries() {
+        return store.getFlowEntries(DEVICE_ID);
+    }
+}
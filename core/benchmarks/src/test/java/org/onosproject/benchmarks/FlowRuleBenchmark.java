@@ -0,0 +1,132 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IpPrefix;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.TrafficSelector;
+import org.onosproject.net.flow.TrafficTreatment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.onosproject.net.NetTestTools.APP_ID;
+
+/**
+ * Micro-benchmarks for flow rule construction (including flow identifier
+ * generation), equality and hashing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowRuleBenchmark {
+
+    private static final DeviceId DEVICE_ID = DeviceId.deviceId("of:0000000000000001");
+
+    private TrafficSelector selector;
+    private TrafficTreatment treatment;
+    private FlowRule rule;
+    private FlowRule equalRule;
+    private FlowEntry entry;
+
+    @Setup
+    public void setUp() {
+        selector = DefaultTrafficSelector.builder()
+                .matchInPort(PortNumber.portNumber(1))
+                .matchEthType(Ethernet.TYPE_IPV4)
+                .matchIPDst(IpPrefix.valueOf("10.0.1.0/24"))
+                .build();
+        treatment = DefaultTrafficTreatment.builder()
+                .setOutput(PortNumber.portNumber(2))
+                .build();
+        rule = buildRule();
+        equalRule = buildRule();
+        entry = new DefaultFlowEntry(rule);
+    }
+
+    private FlowRule buildRule() {
+        return DefaultFlowRule.builder()
+                .forDevice(DEVICE_ID)
+                .withSelector(selector)
+                .withTreatment(treatment)
+                .withPriority(40000)
+                .fromApp(APP_ID)
+                .makePermanent()
+                .build();
+    }
+
+    @Benchmark
+    public FlowRule build() {
+        return buildRule();
+    }
+
+    @Benchmark
+    public FlowRule buildWithCookie() {
+        return DefaultFlowRule.builder()
+                .forDevice(DEVICE_ID)
+                .withSelector(selector)
+                .withTreatment(treatment)
+                .withPriority(40000)
+                .withCookie(rule.id().value())
+                .makePermanent()
+                .build();
+    }
+
+    @Benchmark
+    public FlowEntry flowEntry() {
+        return new DefaultFlowEntry(rule);
+    }
+
+    @Benchmark
+    public int ruleHashCode() {
+        return rule.hashCode();
+    }
+
+    @Benchmark
+    public boolean ruleEquals() {
+        return rule.equals(equalRule);
+    }
+
+    @Benchmark
+    public boolean ruleExactMatch() {
+        return rule.exactMatch(equalRule);
+    }
+
+    @Benchmark
+    public boolean entryEquals() {
+        return entry.equals(equalRule);
+    }
+}
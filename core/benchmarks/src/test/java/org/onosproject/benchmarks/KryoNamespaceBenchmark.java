@@ -0,0 +1,150 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IpPrefix;
+import org.onlab.util.KryoNamespace;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DefaultLink;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Link;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.provider.ProviderId;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import static org.onosproject.net.NetTestTools.APP_ID;
+
+/**
+ * Micro-benchmarks for Kryo round-trips of commonly replicated model objects
+ * using the {@link KryoNamespaces#API} namespace.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KryoNamespaceBenchmark {
+
+    private static final ProviderId PID = new ProviderId("of", "foo");
+    private static final DeviceId DID1 = DeviceId.deviceId("of:0000000000000001");
+    private static final DeviceId DID2 = DeviceId.deviceId("of:0000000000000002");
+
+    private KryoNamespace namespace;
+
+    private ConnectPoint connectPoint;
+    private Link link;
+    private FlowRule flowRule;
+    private FlowEntry flowEntry;
+
+    private byte[] connectPointBytes;
+    private byte[] linkBytes;
+    private byte[] flowRuleBytes;
+    private byte[] flowEntryBytes;
+
+    @Setup
+    public void setUp() {
+        namespace = KryoNamespaces.API;
+
+        connectPoint = new ConnectPoint(DID1, PortNumber.portNumber(1));
+        link = DefaultLink.builder()
+                .providerId(PID)
+                .src(connectPoint)
+                .dst(new ConnectPoint(DID2, PortNumber.portNumber(2)))
+                .type(Link.Type.DIRECT)
+                .state(Link.State.ACTIVE)
+                .build();
+        flowRule = DefaultFlowRule.builder()
+                .forDevice(DID1)
+                .withSelector(DefaultTrafficSelector.builder()
+                                      .matchInPort(PortNumber.portNumber(1))
+                                      .matchEthType(Ethernet.TYPE_IPV4)
+                                      .matchIPDst(IpPrefix.valueOf("10.0.1.0/24"))
+                                      .build())
+                .withTreatment(DefaultTrafficTreatment.builder()
+                                       .setOutput(PortNumber.portNumber(2))
+                                       .build())
+                .withPriority(40000)
+                .fromApp(APP_ID)
+                .makePermanent()
+                .build();
+        flowEntry = new DefaultFlowEntry(flowRule, FlowEntry.FlowEntryState.ADDED, 10, 1000, 100000);
+
+        connectPointBytes = namespace.serialize(connectPoint);
+        linkBytes = namespace.serialize(link);
+        flowRuleBytes = namespace.serialize(flowRule);
+        flowEntryBytes = namespace.serialize(flowEntry);
+    }
+
+    @Benchmark
+    public byte[] serializeConnectPoint() {
+        return namespace.serialize(connectPoint);
+    }
+
+    @Benchmark
+    public ConnectPoint deserializeConnectPoint() {
+        return namespace.deserialize(connectPointBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeLink() {
+        return namespace.serialize(link);
+    }
+
+    @Benchmark
+    public Link deserializeLink() {
+        return namespace.deserialize(linkBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeFlowRule() {
+        return namespace.serialize(flowRule);
+    }
+
+    @Benchmark
+    public FlowRule deserializeFlowRule() {
+        return namespace.deserialize(flowRuleBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeFlowEntry() {
+        return namespace.serialize(flowEntry);
+    }
+
+    @Benchmark
+    public FlowEntry deserializeFlowEntry() {
+        return namespace.deserialize(flowEntryBytes);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.IpPrefix;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.TpPort;
+import org.onlab.packet.VlanId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.TrafficSelector;
+import org.onosproject.net.flow.TrafficTreatment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro-benchmarks for construction, hashing and comparison of the default
+ * traffic selector and treatment implementations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrafficSelectorTreatmentBenchmark {
+
+    private static final MacAddress SRC_MAC = MacAddress.valueOf("00:00:00:00:00:01");
+    private static final MacAddress DST_MAC = MacAddress.valueOf("00:00:00:00:00:02");
+    private static final IpPrefix SRC_IP = IpPrefix.valueOf("10.0.0.1/32");
+    private static final IpPrefix DST_IP = IpPrefix.valueOf("10.0.1.0/24");
+
+    private TrafficSelector selector;
+    private TrafficSelector equalSelector;
+    private TrafficTreatment treatment;
+    private TrafficTreatment equalTreatment;
+
+    @Setup
+    public void setUp() {
+        selector = buildSelector();
+        equalSelector = buildSelector();
+        treatment = buildTreatment();
+        equalTreatment = buildTreatment();
+    }
+
+    private static TrafficSelector buildSelector() {
+        return DefaultTrafficSelector.builder()
+                .matchInPort(PortNumber.portNumber(1))
+                .matchEthSrc(SRC_MAC)
+                .matchEthDst(DST_MAC)
+                .matchVlanId(VlanId.vlanId((short) 100))
+                .matchEthType(Ethernet.TYPE_IPV4)
+                .matchIPProtocol(IPv4.PROTOCOL_TCP)
+                .matchIPSrc(SRC_IP)
+                .matchIPDst(DST_IP)
+                .matchTcpDst(TpPort.tpPort(80))
+                .build();
+    }
+
+    private static TrafficTreatment buildTreatment() {
+        return DefaultTrafficTreatment.builder()
+                .popVlan()
+                .setEthSrc(DST_MAC)
+                .setEthDst(SRC_MAC)
+                .setOutput(PortNumber.portNumber(2))
+                .build();
+    }
+
+    @Benchmark
+    public TrafficSelector selectorBuild() {
+        return buildSelector();
+    }
+
+    @Benchmark
+    public TrafficSelector selectorCopy() {
+        return DefaultTrafficSelector.builder(selector).build();
+    }
+
+    @Benchmark
+    public int selectorHashCode() {
+        return selector.hashCode();
+    }
+
+    @Benchmark
+    public boolean selectorEquals() {
+        return selector.equals(equalSelector);
+    }
+
+    @Benchmark
+    public TrafficTreatment treatmentBuild() {
+        return buildTreatment();
+    }
+
+    @Benchmark
+    public int treatmentHashCode() {
+        return treatment.hashCode();
+    }
+
+    @Benchmark
+    public boolean treatmentEquals() {
+        return treatment.equals(equalTreatment);
+    }
+}
@@ -18,6 +18,7 @@ package org.onosproject.cluster.impl;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
@@ -37,6 +38,7 @@ import org.onosproject.cluster.NodeId;
 import org.onosproject.event.AbstractListenerManager;
 import org.slf4j.Logger;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 
 /**
@@ -70,9 +72,8 @@ public class LeadershipManager
 
     @Deactivate
     public void deactivate() {
-        Maps.filterValues(store.getLeaderships(), v -> v.candidates().contains(localNodeId))
-            .keySet()
-            .forEach(this::withdraw);
+        withdrawAll(ImmutableSet.copyOf(
+                Maps.filterValues(store.getLeaderships(), v -> v.candidates().contains(localNodeId)).keySet()));
         store.unsetDelegate(delegate);
         eventDispatcher.removeSink(LeadershipEvent.class);
         log.info("Stopped");
@@ -93,6 +94,16 @@ public class LeadershipManager
         store.removeRegistration(topic);
     }
 
+    @Override
+    public Map<String, Leadership> runForLeaderships(Set<String> topics) {
+        return store.addRegistrations(topics);
+    }
+
+    @Override
+    public void withdrawAll(Set<String> topics) {
+        store.removeRegistrations(topics);
+    }
+
     @Override
     public Map<String, Leadership> getLeaderBoard() {
         return store.getLeaderships();
@@ -103,6 +114,11 @@ public class LeadershipManager
         return store.moveLeadership(topic, to);
     }
 
+    @Override
+    public Map<String, Boolean> transferLeaderships(Map<String, NodeId> transfers) {
+        return store.moveLeaderships(transfers);
+    }
+
     @Override
     public void unregister(NodeId nodeId) {
         store.removeRegistration(nodeId);
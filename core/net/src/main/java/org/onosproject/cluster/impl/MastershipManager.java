@@ -118,6 +118,8 @@ public class MastershipManager
 
     private NodeId localNodeId;
     private Timer requestRoleTimer;
+    private Timer balanceRolesTimer;
+    private Timer setRolesTimer;
 
     static final boolean DEFAULT_USE_REGION_FOR_BALANCE_ROLES = false;
     @Property(name = "useRegionForBalanceRoles", boolValue = DEFAULT_USE_REGION_FOR_BALANCE_ROLES,
@@ -136,6 +138,8 @@ public class MastershipManager
         modified();
 
         requestRoleTimer = createTimer("Mastership", "requestRole", "responseTime");
+        balanceRolesTimer = createTimer("Mastership", "balanceRoles", "responseTime");
+        setRolesTimer = createTimer("Mastership", "setRoles", "responseTime");
         localNodeId = clusterService.getLocalNode().id();
         upgradeService.addListener(upgradeEventListener);
         eventDispatcher.addSink(MastershipEvent.class, listenerRegistry);
@@ -189,6 +193,36 @@ public class MastershipManager
                 .thenApply(v -> null);
     }
 
+    @Override
+    public CompletableFuture<Void> setRoles(Map<DeviceId, NodeId> instances, MastershipRole role) {
+        checkNotNull(role, ROLE_NULL);
+
+        final Context timer = startTimer(setRolesTimer);
+        CompletableFuture<Void> future;
+        switch (role) {
+            case MASTER:
+                future = store.setMasters(instances).thenAccept(this::postAll);
+                break;
+            case NONE:
+                Map<NodeId, Set<DeviceId>> devicesByNode = new HashMap<>();
+                instances.forEach((deviceId, nodeId) ->
+                        devicesByNode.computeIfAbsent(nodeId, k -> new HashSet<>()).add(deviceId));
+                List<CompletableFuture<Void>> futures = Lists.newArrayList();
+                devicesByNode.forEach((nodeId, deviceIds) ->
+                        futures.add(store.relinquishRoles(nodeId, deviceIds).thenAccept(this::postAll)));
+                future = allOf(futures.toArray(new CompletableFuture[futures.size()]));
+                break;
+            default:
+                future = MastershipAdminService.super.setRoles(instances, role);
+                break;
+        }
+        return future.whenComplete((result, error) -> stopTimer(timer));
+    }
+
+    private void postAll(List<MastershipEvent> events) {
+        events.forEach(this::post);
+    }
+
     @Override
     public MastershipRole getLocalRole(DeviceId deviceId) {
         checkPermission(CLUSTER_READ);
@@ -205,6 +239,13 @@ public class MastershipManager
                 .thenApply(v -> null);
     }
 
+    @Override
+    public CompletableFuture<Void> relinquishMasterships(Set<DeviceId> deviceIds) {
+        checkPermission(CLUSTER_WRITE);
+        return store.relinquishRoles(localNodeId, deviceIds)
+                .thenAccept(this::postAll);
+    }
+
     @Override
     public CompletableFuture<MastershipRole> requestRoleFor(DeviceId deviceId) {
         checkPermission(CLUSTER_WRITE);
@@ -259,6 +300,15 @@ public class MastershipManager
 
     @Override
     public void balanceRoles() {
+        final Context timer = startTimer(balanceRolesTimer);
+        try {
+            doBalanceRoles();
+        } finally {
+            stopTimer(timer);
+        }
+    }
+
+    private void doBalanceRoles() {
         List<ControllerNode> nodes = newArrayList(clusterService.getNodes());
         Map<ControllerNode, Set<DeviceId>> controllerDevices = new HashMap<>();
         Set<DeviceId> orphanedDevices = Sets.newHashSet();
@@ -282,37 +332,64 @@ public class MastershipManager
             return;
         }
 
-        List<CompletableFuture<Void>> balanceBucketsFutures = Lists.newLinkedList();
+        Map<DeviceId, NodeId> moves = new HashMap<>();
 
         // First re-balance the buckets until they are roughly even.
-        balanceControllerNodes(controllerDevices, deviceCount, balanceBucketsFutures);
+        balanceControllerNodes(controllerDevices, deviceCount, moves);
 
         // Then attempt to distribute any orphaned devices among the buckets.
-        distributeOrphanedDevices(controllerDevices, orphanedDevices, balanceBucketsFutures);
+        distributeOrphanedDevices(controllerDevices, orphanedDevices, moves);
 
-        CompletableFuture<Void> balanceRolesFuture =
-                allOf(balanceBucketsFutures.toArray(new CompletableFuture[balanceBucketsFutures.size()]));
-
-        Futures.getUnchecked(balanceRolesFuture);
+        Futures.getUnchecked(setRoles(moves, MASTER));
     }
 
     /**
      * Balances the nodes specified in controllerDevices.
+     * <p>
+     * Each node is assigned a target share of the devices, with the nodes
+     * currently mastering the most devices keeping any remainder, so that
+     * only the devices in excess of their node's share are moved.
      *
      * @param controllerDevices controller nodes to devices map
      * @param deviceCount       number of devices mastered by controller nodes
-     * @param futures           list of setRole futures for "moved" devices
+     * @param moves             new master of each "moved" device
      */
     private void balanceControllerNodes(Map<ControllerNode, Set<DeviceId>> controllerDevices,
                                         int deviceCount,
-                                        List<CompletableFuture<Void>> futures) {
-        // Now re-balance the buckets until they are roughly even.
-        int rounds = controllerDevices.keySet().size();
-        for (int i = 0; i < rounds; i++) {
-            // Iterate over the buckets and find the smallest and the largest.
-            ControllerNode smallest = findBucket(true, controllerDevices);
-            ControllerNode largest = findBucket(false, controllerDevices);
-            futures.add(balanceBuckets(smallest, largest, controllerDevices, deviceCount));
+                                        Map<DeviceId, NodeId> moves) {
+        int bucketCount = controllerDevices.size();
+        if (bucketCount == 0) {
+            return;
+        }
+
+        List<ControllerNode> nodes = new ArrayList<>(controllerDevices.keySet());
+        nodes.sort(Comparator.comparingInt((ControllerNode node) -> controllerDevices.get(node).size())
+                           .reversed());
+
+        Map<ControllerNode, Integer> targets = new HashMap<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            int target = deviceCount / bucketCount + (i < deviceCount % bucketCount ? 1 : 0);
+            targets.put(nodes.get(i), target);
+        }
+
+        // Move the excess devices of the largest nodes to the smallest ones.
+        int from = 0;
+        for (int to = nodes.size() - 1; to > from; to--) {
+            ControllerNode toNode = nodes.get(to);
+            Set<DeviceId> toBucket = controllerDevices.get(toNode);
+            while (toBucket.size() < targets.get(toNode) && from < to) {
+                ControllerNode fromNode = nodes.get(from);
+                Set<DeviceId> fromBucket = controllerDevices.get(fromNode);
+                int count = Math.min(fromBucket.size() - targets.get(fromNode),
+                                     targets.get(toNode) - toBucket.size());
+                if (count > 0) {
+                    log.info("Attempting to move {} devices from {} to {}...", count,
+                             fromNode.id(), toNode.id());
+                    changeMastership(toNode, toBucket, fromBucket, count, moves);
+                } else {
+                    from++;
+                }
+            }
         }
     }
 
@@ -321,17 +398,17 @@ public class MastershipManager
      *
      * @param controllerDevices controller nodes to devices map
      * @param orphanedDevices   set of orphaned devices without an active master
-     * @param futures           list of completable future to track the progress of the balancing operation
+     * @param moves             new master of each "moved" device
      */
     private void distributeOrphanedDevices(Map<ControllerNode, Set<DeviceId>> controllerDevices,
                                            Set<DeviceId> orphanedDevices,
-                                           List<CompletableFuture<Void>> futures) {
+                                           Map<DeviceId, NodeId> moves) {
         // Now re-distribute the orphaned devices into buckets until they are roughly even.
         while (!orphanedDevices.isEmpty()) {
             // Iterate over the buckets and find the smallest bucket.
             ControllerNode smallest = findBucket(true, controllerDevices);
             changeMastership(smallest, controllerDevices.get(smallest),
-                             orphanedDevices, 1, futures);
+                             orphanedDevices, 1, moves);
         }
     }
 
@@ -357,56 +434,27 @@ public class MastershipManager
         return xNode;
     }
 
-    /**
-     * Balance the node buckets by moving devices from largest to smallest node.
-     *
-     * @param smallest          node that is master of the smallest number of devices
-     * @param largest           node that is master of the largest number of devices
-     * @param controllerDevices controller nodes to devices map
-     * @param deviceCount       number of devices mastered by controller nodes
-     * @return list of setRole futures for "moved" devices
-     */
-    private CompletableFuture<Void> balanceBuckets(ControllerNode smallest, ControllerNode largest,
-                                                   Map<ControllerNode, Set<DeviceId>> controllerDevices,
-                                                   int deviceCount) {
-        Collection<DeviceId> minBucket = controllerDevices.get(smallest);
-        Collection<DeviceId> maxBucket = controllerDevices.get(largest);
-        int bucketCount = controllerDevices.keySet().size();
-
-        int delta = (maxBucket.size() - minBucket.size()) / 2;
-        delta = Math.min(deviceCount / bucketCount, delta);
-
-        List<CompletableFuture<Void>> setRoleFutures = Lists.newLinkedList();
-
-        if (delta > 0) {
-            log.info("Attempting to move {} nodes from {} to {}...", delta,
-                     largest.id(), smallest.id());
-            changeMastership(smallest, minBucket, maxBucket, delta, setRoleFutures);
-        }
-
-        return allOf(setRoleFutures.toArray(new CompletableFuture[setRoleFutures.size()]));
-    }
-
     /**
      * Changes mastership for the specified number of devices in the given source
      * bucket to the specified node and ads those devices to the given target
-     * bucket. Also adds the futures for tracking the role reassignment progress.
+     * bucket. The new masters are recorded in the given moves, to be applied
+     * in a single batch.
      *
      * @param toNode     target controller node
      * @param toBucket   target bucket
      * @param fromBucket source bucket
      * @param count      number of devices
-     * @param futures    futures for tracking operation progress
+     * @param moves      new master of each "moved" device
      */
     private void changeMastership(ControllerNode toNode, Collection<DeviceId> toBucket,
                                   Collection<DeviceId> fromBucket, int count,
-                                  List<CompletableFuture<Void>> futures) {
+                                  Map<DeviceId, NodeId> moves) {
         int i = 0;
         Iterator<DeviceId> it = fromBucket.iterator();
         while (it.hasNext() && i < count) {
             DeviceId deviceId = it.next();
             log.info("Setting {} as the master for {}", toNode.id(), deviceId);
-            futures.add(setRole(toNode.id(), deviceId, MASTER));
+            moves.put(deviceId, toNode.id());
             toBucket.add(deviceId);
             it.remove();
             i++;
@@ -443,13 +491,10 @@ public class MastershipManager
                 deviceCount += allControllerDevices.get(controllerNode).size();
             }
             // Now re-balance the buckets until they are roughly even.
-            List<CompletableFuture<Void>> balanceBucketsFutures = Lists.newArrayList();
-            balanceControllerNodes(controllerDevicesNotInRegions, deviceCount, balanceBucketsFutures);
+            Map<DeviceId, NodeId> moves = new HashMap<>();
+            balanceControllerNodes(controllerDevicesNotInRegions, deviceCount, moves);
 
-            CompletableFuture<Void> balanceRolesFuture = allOf(
-                    balanceBucketsFutures.toArray(new CompletableFuture[balanceBucketsFutures.size()]));
-
-            Futures.getUnchecked(balanceRolesFuture);
+            Futures.getUnchecked(setRoles(moves, MASTER));
         }
         return true; // balancing was done using regions.
     }
@@ -485,8 +530,8 @@ public class MastershipManager
                 getRegionsPreferredMasters(region, devicesInMasters, allControllerDevices);
 
         // Now re-balance the buckets until they are roughly even.
-        List<CompletableFuture<Void>> balanceBucketsFutures = Lists.newArrayList();
-        balanceControllerNodes(regionalControllerDevices, devicesInMasters.size(), balanceBucketsFutures);
+        Map<DeviceId, NodeId> moves = new HashMap<>();
+        balanceControllerNodes(regionalControllerDevices, devicesInMasters.size(), moves);
 
         // Handle devices that are not currently mastered by the master node set
         Set<DeviceId> devicesNotMasteredWithControllers = Sets.difference(devicesInRegion, devicesInMasters);
@@ -498,16 +543,13 @@ public class MastershipManager
             int deviceIndex = 0;
             for (DeviceId deviceId : devicesNotMasteredWithControllers) {
                 ControllerNode cnode = sorted.get(deviceIndex % sorted.size());
-                balanceBucketsFutures.add(setRole(cnode.id(), deviceId, MASTER));
+                moves.put(deviceId, cnode.id());
                 regionalControllerDevices.get(cnode).add(deviceId);
                 deviceIndex++;
             }
         }
 
-        CompletableFuture<Void> balanceRolesFuture =
-                allOf(balanceBucketsFutures.toArray(new CompletableFuture[balanceBucketsFutures.size()]));
-
-        Futures.getUnchecked(balanceRolesFuture);
+        Futures.getUnchecked(setRoles(moves, MASTER));
 
         // Update the map before returning
         regionalControllerDevices.forEach((controllerNode, deviceIds) -> {
@@ -16,10 +16,12 @@
 package org.onosproject.net.flow.impl;
 
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.HashMultiset;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
+import com.google.common.collect.Multiset;
 import com.google.common.collect.Sets;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
@@ -53,6 +55,7 @@ import org.onosproject.net.flow.FlowRuleEvent;
 import org.onosproject.net.flow.FlowRuleListener;
 import org.onosproject.net.flow.FlowRuleOperation;
 import org.onosproject.net.flow.FlowRuleOperations;
+import org.onosproject.net.flow.FlowRuleOperationsContext;
 import org.onosproject.net.flow.FlowRuleProgrammable;
 import org.onosproject.net.flow.FlowRuleProvider;
 import org.onosproject.net.flow.FlowRuleProviderRegistry;
@@ -67,16 +70,21 @@ import org.onosproject.net.provider.ProviderId;
 import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
 import java.util.Dictionary;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Strings.isNullOrEmpty;
@@ -118,6 +126,16 @@ public class FlowRuleManager
             label = "Frequency (in seconds) for polling flow statistics via fallback provider")
     private int fallbackFlowPollFrequency = DEFAULT_POLL_FREQUENCY;
 
+    private static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+    @Property(name = "maxBatchSize", intValue = DEFAULT_MAX_BATCH_SIZE,
+            label = "Maximum number of flow rule operations sent to a device in a single batch")
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    private static final int DEFAULT_MAX_OUTSTANDING_BATCHES = 4;
+    @Property(name = "maxOutstandingBatches", intValue = DEFAULT_MAX_OUTSTANDING_BATCHES,
+            label = "Maximum number of uncompleted flow rule batches per device for a single operation")
+    private int maxOutstandingBatches = DEFAULT_MAX_OUTSTANDING_BATCHES;
+
     private final FlowRuleStoreDelegate delegate = new InternalStoreDelegate();
     private final DeviceListener deviceListener = new InternalDeviceListener();
 
@@ -233,6 +251,24 @@ public class FlowRuleManager
                          fallbackFlowPollFrequency);
             }
         }
+
+        Integer value = Tools.getIntegerProperty(properties, "maxBatchSize");
+        if (value == null || value <= 0) {
+            log.info("maxBatchSize is not configured or invalid, " +
+                             "using current value of {}", maxBatchSize);
+        } else {
+            maxBatchSize = value;
+            log.info("Configured. MaxBatchSize is {}", maxBatchSize);
+        }
+
+        value = Tools.getIntegerProperty(properties, "maxOutstandingBatches");
+        if (value == null || value <= 0) {
+            log.info("maxOutstandingBatches is not configured or invalid, " +
+                             "using current value of {}", maxOutstandingBatches);
+        } else {
+            maxOutstandingBatches = value;
+            log.info("Configured. MaxOutstandingBatches is {}", maxOutstandingBatches);
+        }
     }
 
     @Override
@@ -637,14 +673,15 @@ public class FlowRuleManager
 
             case BATCH_OPERATION_COMPLETED:
 
-                FlowOperationsProcessor fops = pendingFlowOperations.remove(
-                        event.subject().batchId());
+                long batchId = event.subject().batchId();
+                FlowOperationsProcessor fops = pendingFlowOperations.remove(batchId);
+                if (fops == null) {
+                    break;
+                }
                 if (event.result().isSuccess()) {
-                    if (fops != null) {
-                        fops.satisfy(event.deviceId());
-                    }
+                    fops.satisfy(event.deviceId(), batchId);
                 } else {
-                    fops.fail(event.deviceId(), event.result().failedItems());
+                    fops.fail(event.deviceId(), batchId, event.result().failedItems());
                 }
 
                 break;
@@ -668,65 +705,155 @@ public class FlowRuleManager
         }
     }
 
+    /**
+     * Processes the stages of a flow rule operation in order.
+     * <p>
+     * The operations of each stage are split per device into batches of at
+     * most {@code maxBatchSize} entries. At most {@code maxOutstandingBatches}
+     * batches per device are handed to the store at any time; the next batch
+     * for a device is submitted as soon as one of its outstanding batches
+     * completes. This bounds the size of replicated store batches and device
+     * messages for very large operations, while keeping store replication and
+     * device programming of consecutive batches pipelined.
+     * <p>
+     * The context of the operations is told about the progress after each
+     * batch and about the duration of each stage. The failures of all the
+     * batches are gathered and reported by a single call to
+     * {@code onError} once every stage has been processed; otherwise
+     * {@code onSuccess} is called.
+     */
     private class FlowOperationsProcessor implements Runnable {
         // Immutable
         private final FlowRuleOperations fops;
+        private final int batchSize;
+        private final int maxOutstanding;
+        private final int stageCount;
+        private final int totalOperations;
 
         // Mutable
         private final List<Set<FlowRuleOperation>> stages;
-        private final Set<DeviceId> pendingDevices = new HashSet<>();
+        private final Map<DeviceId, Queue<List<FlowRuleBatchEntry>>> pendingDevices = new HashMap<>();
+        private final Multiset<DeviceId> outstandingBatches = HashMultiset.create();
+        private final Map<Long, Integer> batchSizes = new HashMap<>();
+        private final Set<FlowRule> failedRules = new LinkedHashSet<>();
         private boolean hasFailed = false;
+        private long stageStart;
+        private int stageOperations;
+        private int completedOperations;
 
         FlowOperationsProcessor(FlowRuleOperations ops) {
             this.stages = Lists.newArrayList(ops.stages());
             this.fops = ops;
+            this.batchSize = maxBatchSize;
+            this.maxOutstanding = maxOutstandingBatches;
+            this.stageCount = stages.size();
+            this.totalOperations = stages.stream().mapToInt(Set::size).sum();
         }
 
         @Override
         public synchronized void run() {
+            if (stageStart != 0) {
+                long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - stageStart);
+                log.debug("Completed stage {} of {} with {} operations in {} ms",
+                          stageCount - stages.size(), stageCount, stageOperations, duration);
+                notifyContext(c -> c.onStageCompleted(fops, stageCount - stages.size() - 1, duration));
+            }
             if (!stages.isEmpty()) {
                 process(stages.remove(0));
-            } else if (!hasFailed) {
+            } else if (hasFailed) {
+                FlowRuleOperations.Builder failedOpsBuilder = FlowRuleOperations.builder();
+                failedRules.forEach(failedOpsBuilder::add);
+                fops.callback().onError(failedOpsBuilder.build());
+            } else {
                 fops.callback().onSuccess(fops);
             }
         }
 
         private void process(Set<FlowRuleOperation> ops) {
-            Multimap<DeviceId, FlowRuleBatchEntry> perDeviceBatches = ArrayListMultimap.create();
+            stageStart = System.nanoTime();
+            stageOperations = ops.size();
+
+            ListMultimap<DeviceId, FlowRuleBatchEntry> perDeviceBatches = ArrayListMultimap.create();
 
             for (FlowRuleOperation op : ops) {
                 perDeviceBatches.put(op.rule().deviceId(),
                         new FlowRuleBatchEntry(mapOperationType(op.type()), op.rule()));
             }
-            pendingDevices.addAll(perDeviceBatches.keySet());
 
             for (DeviceId deviceId : perDeviceBatches.keySet()) {
+                pendingDevices.put(deviceId,
+                                   new ArrayDeque<>(Lists.partition(perDeviceBatches.get(deviceId), batchSize)));
+            }
+
+            for (DeviceId deviceId : perDeviceBatches.keySet()) {
+                submitBatches(deviceId);
+            }
+        }
+
+        /**
+         * Submits queued batches for the given device until the limit of
+         * outstanding batches has been reached.
+         *
+         * @param deviceId device identifier
+         */
+        private void submitBatches(DeviceId deviceId) {
+            Queue<List<FlowRuleBatchEntry>> queue = pendingDevices.get(deviceId);
+            while (queue != null && !queue.isEmpty() && outstandingBatches.count(deviceId) < maxOutstanding) {
                 long id = idGenerator.getNewId();
-                final FlowRuleBatchOperation b = new FlowRuleBatchOperation(perDeviceBatches.get(deviceId),
-                                               deviceId, id);
+                final FlowRuleBatchOperation b = new FlowRuleBatchOperation(queue.remove(), deviceId, id);
                 pendingFlowOperations.put(id, this);
+                batchSizes.put(id, b.size());
+                outstandingBatches.add(deviceId);
+                log.trace("Submitting batch {} of {} operations for {}, {} batches queued",
+                          id, b.size(), deviceId, queue.size());
                 deviceInstallers.execute(() -> store.storeBatch(b));
             }
         }
 
-        synchronized void satisfy(DeviceId devId) {
-            pendingDevices.remove(devId);
-            if (pendingDevices.isEmpty()) {
-                operationsService.execute(this);
+        /**
+         * Accounts for a completed batch of the given device and either
+         * submits the next batches of the device or, once all devices are
+         * done, schedules the next stage.
+         *
+         * @param devId   device identifier
+         * @param batchId identifier of the completed batch
+         */
+        private void batchCompleted(DeviceId devId, long batchId) {
+            outstandingBatches.remove(devId);
+            Integer size = batchSizes.remove(batchId);
+            if (size != null) {
+                completedOperations += size;
+                notifyContext(c -> c.onProgress(fops, completedOperations, totalOperations));
+            }
+            Queue<List<FlowRuleBatchEntry>> queue = pendingDevices.get(devId);
+            if (queue != null && !queue.isEmpty()) {
+                submitBatches(devId);
+                return;
+            }
+            if (outstandingBatches.count(devId) == 0) {
+                pendingDevices.remove(devId);
+                if (pendingDevices.isEmpty()) {
+                    operationsService.execute(this);
+                }
             }
         }
 
-        synchronized void fail(DeviceId devId, Set<? extends FlowRule> failures) {
-            hasFailed = true;
-            pendingDevices.remove(devId);
-            if (pendingDevices.isEmpty()) {
-                operationsService.execute(this);
+        private void notifyContext(Consumer<FlowRuleOperationsContext> notification) {
+            try {
+                notification.accept(fops.callback());
+            } catch (RuntimeException e) {
+                log.warn("Exception while reporting the progress of flow rule operations", e);
             }
+        }
 
-            FlowRuleOperations.Builder failedOpsBuilder = FlowRuleOperations.builder();
-            failures.forEach(failedOpsBuilder::add);
+        synchronized void satisfy(DeviceId devId, long batchId) {
+            batchCompleted(devId, batchId);
+        }
 
-            fops.callback().onError(failedOpsBuilder.build());
+        synchronized void fail(DeviceId devId, long batchId, Set<? extends FlowRule> failures) {
+            hasFailed = true;
+            failedRules.addAll(failures);
+            batchCompleted(devId, batchId);
         }
     }
 
@@ -15,7 +15,6 @@
  */
 package org.onosproject.net.flowobjective.impl;
 
-import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -30,6 +29,9 @@ import org.apache.felix.scr.annotations.Service;
 import org.onlab.osgi.DefaultServiceDirectory;
 import org.onlab.osgi.ServiceDirectory;
 import org.onlab.util.ItemNotFoundException;
+import org.onlab.util.PredictableExecutor;
+import org.onlab.util.PredictableExecutor.PickyRunnable;
+import org.onlab.util.SharedScheduledExecutors;
 import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
@@ -66,12 +68,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Strings.isNullOrEmpty;
-import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.net.AnnotationKeys.DRIVER;
 import static org.onosproject.security.AppGuard.checkPermission;
@@ -148,13 +152,21 @@ public class FlowObjectiveManager implements FlowObjectiveService {
     // for debugging purposes
     private Map<Integer, DeviceId> nextToDevice = Maps.newConcurrentMap();
 
+    // installers parked until the pipeliner of their device becomes available;
+    // a device queue is only accessed by the worker of that device
+    private final Map<DeviceId, Queue<ObjectiveInstaller>> awaitingPipeliner =
+            Maps.newConcurrentMap();
+    // devices with a pending retry of their parked installers
+    private final Set<DeviceId> parkedRetryScheduled = Sets.newConcurrentHashSet();
+
+    // objectives are dispatched on a per-device ordered executor; objectives
+    // of different devices are processed in parallel
     ExecutorService executorService;
 
     @Activate
     protected void activate() {
         cfgService.registerProperties(getClass());
-        executorService = newFixedThreadPool(numThreads,
-                                             groupedThreads(GROUP_THREAD_NAME, WORKER_PATTERN, log));
+        executorService = newExecutor(numThreads);
         flowObjectiveStore.setDelegate(delegate);
         deviceService.addListener(deviceListener);
         driverService.addListener(driverListener);
@@ -171,6 +183,7 @@ public class FlowObjectiveManager implements FlowObjectiveService {
         pipeliners.clear();
         driverHandlers.clear();
         nextToDevice.clear();
+        awaitingPipeliner.clear();
         log.info("Stopped");
     }
 
@@ -183,8 +196,7 @@ public class FlowObjectiveManager implements FlowObjectiveService {
         if (newNumThreads != numThreads && newNumThreads > 0) {
             numThreads = newNumThreads;
             ExecutorService oldWorkerExecutor = executorService;
-            executorService = newFixedThreadPool(numThreads,
-                                                 groupedThreads(GROUP_THREAD_NAME, WORKER_PATTERN, log));
+            executorService = newExecutor(numThreads);
             if (oldWorkerExecutor != null) {
                 oldWorkerExecutor.shutdown();
             }
@@ -192,12 +204,22 @@ public class FlowObjectiveManager implements FlowObjectiveService {
         }
     }
 
+    private ExecutorService newExecutor(int threads) {
+        return new PredictableExecutor(threads, groupedThreads(GROUP_THREAD_NAME, WORKER_PATTERN, log));
+    }
+
     /**
      * Task that passes the flow objective down to the driver. The task will
      * make a few attempts to find the appropriate driver, then eventually give
      * up and report an error if no suitable driver could be found.
+     * <p>
+     * Installers of the same device are always executed by the same worker,
+     * which preserves the submission order per device. An installer never
+     * overtakes the installers parked for its device: it parks behind them
+     * while the pipeliner is missing and installs them first once it is
+     * available.
      */
-    class ObjectiveInstaller implements Runnable {
+    class ObjectiveInstaller implements PickyRunnable {
         final DeviceId deviceId;
         final Objective objective;
 
@@ -219,18 +241,11 @@ public class FlowObjectiveManager implements FlowObjectiveService {
                 Pipeliner pipeliner = getDevicePipeliner(deviceId);
 
                 if (pipeliner != null) {
-                    if (objective instanceof NextObjective) {
-                        nextToDevice.put(objective.id(), deviceId);
-                        pipeliner.next((NextObjective) objective);
-                    } else if (objective instanceof ForwardingObjective) {
-                        pipeliner.forward((ForwardingObjective) objective);
-                    } else {
-                        pipeliner.filter((FilteringObjective) objective);
-                    }
+                    installParked(deviceId, pipeliner);
+                    install(pipeliner);
                     //Attempts to check if pipeliner is null for retry attempts
                 } else if (numAttempts < INSTALL_RETRY_ATTEMPTS) {
-                    Thread.sleep(INSTALL_RETRY_INTERVAL);
-                    executorService.execute(new ObjectiveInstaller(deviceId, objective, numAttempts + 1));
+                    awaitPipeliner(this);
                 } else {
                     // Otherwise we've tried a few times and failed, report an
                     // error back to the user.
@@ -242,6 +257,146 @@ public class FlowObjectiveManager implements FlowObjectiveService {
                 log.warn("Exception while installing flow objective", e);
             }
         }
+
+        private void install(Pipeliner pipeliner) {
+            if (objective instanceof NextObjective) {
+                nextToDevice.put(objective.id(), deviceId);
+                pipeliner.next((NextObjective) objective);
+            } else if (objective instanceof ForwardingObjective) {
+                pipeliner.forward((ForwardingObjective) objective);
+            } else {
+                pipeliner.filter((FilteringObjective) objective);
+            }
+        }
+
+        @Override
+        public int hint() {
+            return deviceId.hashCode();
+        }
+    }
+
+    /**
+     * Retries the installers parked for a device. It runs on the worker of
+     * the device, so it is ordered with respect to the installers of that
+     * device.
+     */
+    private final class ParkedInstallersRetry implements PickyRunnable {
+        private final DeviceId deviceId;
+        private final boolean timedOut;
+
+        private ParkedInstallersRetry(DeviceId deviceId, boolean timedOut) {
+            this.deviceId = deviceId;
+            this.timedOut = timedOut;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Pipeliner pipeliner = getDevicePipeliner(deviceId);
+                if (pipeliner != null) {
+                    installParked(deviceId, pipeliner);
+                } else if (timedOut) {
+                    expireParked(deviceId);
+                }
+            } catch (Exception e) {
+                log.warn("Exception while installing flow objective", e);
+            }
+        }
+
+        @Override
+        public int hint() {
+            return deviceId.hashCode();
+        }
+    }
+
+    /**
+     * Parks the given installer until either the pipeliner of its device is
+     * initialized or the retry interval elapses, without holding a worker.
+     * Must be called from the worker of the device.
+     *
+     * @param installer installer waiting for the device pipeliner
+     */
+    private void awaitPipeliner(ObjectiveInstaller installer) {
+        awaitingPipeliner.computeIfAbsent(installer.deviceId, k -> new ConcurrentLinkedQueue<>())
+                .add(installer);
+        scheduleParkedRetry(installer.deviceId);
+    }
+
+    private void scheduleParkedRetry(DeviceId deviceId) {
+        // a single retry timer per device
+        if (parkedRetryScheduled.add(deviceId)) {
+            SharedScheduledExecutors.newTimeout(() -> {
+                parkedRetryScheduled.remove(deviceId);
+                executorService.execute(new ParkedInstallersRetry(deviceId, true));
+            }, INSTALL_RETRY_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Installs, in order, the objectives parked for the given device. Must be
+     * called from the worker of the device.
+     *
+     * @param deviceId  device whose pipeliner is available
+     * @param pipeliner pipeliner of the device
+     */
+    private void installParked(DeviceId deviceId, Pipeliner pipeliner) {
+        Queue<ObjectiveInstaller> waiting = awaitingPipeliner.get(deviceId);
+        if (waiting == null) {
+            return;
+        }
+        ObjectiveInstaller installer;
+        while ((installer = waiting.poll()) != null) {
+            try {
+                installer.install(pipeliner);
+            } catch (Exception e) {
+                log.warn("Exception while installing flow objective", e);
+            }
+        }
+    }
+
+    /**
+     * Accounts one more failed attempt to the installers parked for the
+     * given device, reports an error for the ones out of attempts and keeps
+     * the others parked, in order. Must be called from the worker of the
+     * device.
+     *
+     * @param deviceId device whose pipeliner is still missing
+     */
+    private void expireParked(DeviceId deviceId) {
+        Queue<ObjectiveInstaller> waiting = awaitingPipeliner.get(deviceId);
+        if (waiting == null || waiting.isEmpty()) {
+            return;
+        }
+        Queue<ObjectiveInstaller> retrying = new ConcurrentLinkedQueue<>();
+        ObjectiveInstaller installer;
+        while ((installer = waiting.poll()) != null) {
+            if (installer.numAttempts + 1 < INSTALL_RETRY_ATTEMPTS) {
+                retrying.add(new ObjectiveInstaller(deviceId, installer.objective,
+                                                    installer.numAttempts + 1));
+            } else {
+                Objective objective = installer.objective;
+                objective.context().ifPresent(
+                        c -> c.onError(objective, ObjectiveError.NOPIPELINER));
+            }
+        }
+        waiting.addAll(retrying);
+        if (!waiting.isEmpty()) {
+            scheduleParkedRetry(deviceId);
+        }
+    }
+
+    /**
+     * Installs the installers waiting for the pipeliner of the given device,
+     * from the worker of that device.
+     *
+     * @param deviceId device whose pipeliner has been initialized
+     */
+    private void wakeUpInstallers(DeviceId deviceId) {
+        Queue<ObjectiveInstaller> waiting = awaitingPipeliner.get(deviceId);
+        if (waiting == null || waiting.isEmpty()) {
+            return;
+        }
+        executorService.execute(new ParkedInstallersRetry(deviceId, false));
     }
 
     @Override
@@ -283,23 +438,21 @@ public class FlowObjectiveManager implements FlowObjectiveService {
     }
 
     boolean queueFwdObjective(DeviceId deviceId, ForwardingObjective fwd) {
-        boolean queued = false;
-        synchronized (pendingForwards) {
+        PendingFlowObjective pendfo = new PendingFlowObjective(deviceId, fwd);
+        // the mapping is computed atomically with respect to the removal done
+        // upon notification, so only objectives waiting for the same nextId
+        // contend with each other
+        Set<PendingFlowObjective> pending = pendingForwards.compute(fwd.nextId(), (id, existing) -> {
             // double check the flow objective store, because this block could run
             // after a notification arrives
-            if (flowObjectiveStore.getNextGroup(fwd.nextId()) == null) {
-                pendingForwards.compute(fwd.nextId(), (id, pending) -> {
-                    PendingFlowObjective pendfo = new PendingFlowObjective(deviceId, fwd);
-                    if (pending == null) {
-                        return Sets.newLinkedHashSet(ImmutableSet.of(pendfo));
-                    } else {
-                        pending.add(pendfo);
-                        return pending;
-                    }
-                });
-                queued = true;
+            if (flowObjectiveStore.getNextGroup(id) != null) {
+                return existing;
             }
-        }
+            Set<PendingFlowObjective> updated = existing == null ? Sets.newLinkedHashSet() : existing;
+            updated.add(pendfo);
+            return updated;
+        });
+        boolean queued = pending != null && pending.contains(pendfo);
         if (queued) {
             log.debug("Queued forwarding objective {} for nextId {} meant for device {}",
                       fwd.id(), fwd.nextId(), deviceId);
@@ -310,23 +463,18 @@ public class FlowObjectiveManager implements FlowObjectiveService {
     boolean queueNextObjective(DeviceId deviceId, NextObjective next) {
         // we need to hold off on other operations till we get notified that the
         // initial group creation has succeeded
-        boolean queued = false;
-        synchronized (pendingNexts) {
+        PendingFlowObjective pendfo = new PendingFlowObjective(deviceId, next);
+        List<PendingFlowObjective> pending = pendingNexts.compute(next.id(), (id, existing) -> {
             // double check the flow objective store, because this block could run
             // after a notification arrives
-            if (flowObjectiveStore.getNextGroup(next.id()) == null) {
-                pendingNexts.compute(next.id(), (id, pending) -> {
-                    PendingFlowObjective pendfo = new PendingFlowObjective(deviceId, next);
-                    if (pending == null) {
-                        return Lists.newArrayList(pendfo);
-                    } else {
-                        pending.add(pendfo);
-                        return pending;
-                    }
-                });
-                queued = true;
+            if (flowObjectiveStore.getNextGroup(id) != null) {
+                return existing;
             }
-        }
+            List<PendingFlowObjective> updated = existing == null ? Lists.newArrayList() : existing;
+            updated.add(pendfo);
+            return updated;
+        });
+        boolean queued = pending != null && pending.contains(pendfo);
         if (queued) {
             log.debug("Queued next objective {} with operation {} meant for device {}",
                       next.id(), next.op(), deviceId);
@@ -356,13 +504,17 @@ public class FlowObjectiveManager implements FlowObjectiveService {
      * @return the implementation of the Pipeliner behaviour
      */
     private Pipeliner getAndInitDevicePipeliner(DeviceId deviceId) {
-        return pipeliners.compute(deviceId, (deviceIdValue, pipelinerValue) -> {
+        Pipeliner pipeliner = pipeliners.compute(deviceId, (deviceIdValue, pipelinerValue) -> {
             if (pipelinerValue != null) {
                 pipelinerValue.init(deviceId, context);
                 return pipelinerValue;
             }
             return this.initPipelineHandler(deviceId);
         });
+        if (pipeliner != null) {
+            wakeUpInstallers(deviceId);
+        }
+        return pipeliner;
     }
 
     /**
@@ -535,35 +687,29 @@ public class FlowObjectiveManager implements FlowObjectiveService {
                 log.debug("Received notification of obj event {}", event);
                 Set<PendingFlowObjective> pending;
 
-                // first send all pending flows
-                synchronized (pendingForwards) {
-                    // needs to be synchronized for queueObjective lookup
-                    pending = pendingForwards.remove(event.subject());
-                }
+                // first send all pending flows; removal is atomic with
+                // respect to queueFwdObjective for the same nextId
+                pending = pendingForwards.remove(event.subject());
                 if (pending == null) {
                     log.debug("No forwarding objectives pending for this "
                             + "obj event {}", event);
                 } else {
                     log.debug("Processing {} pending forwarding objectives for nextId {}",
                               pending.size(), event.subject());
-                    pending.forEach(p -> getDevicePipeliner(p.deviceId())
-                                    .forward((ForwardingObjective) p.flowObjective()));
+                    pending.forEach(p -> executorService.execute(
+                            new ObjectiveInstaller(p.deviceId(), p.flowObjective())));
                 }
 
                 // now check for pending next-objectives
-                List<PendingFlowObjective> pendNexts;
-                synchronized (pendingNexts) {
-                    // needs to be synchronized for queueObjective lookup
-                    pendNexts = pendingNexts.remove(event.subject());
-                }
+                List<PendingFlowObjective> pendNexts = pendingNexts.remove(event.subject());
                 if (pendNexts == null) {
                     log.debug("No next objectives pending for this "
                             + "obj event {}", event);
                 } else {
                     log.debug("Processing {} pending next objectives for nextId {}",
                               pendNexts.size(), event.subject());
-                    pendNexts.forEach(p -> getDevicePipeliner(p.deviceId())
-                                    .next((NextObjective) p.flowObjective()));
+                    pendNexts.forEach(p -> executorService.execute(
+                            new ObjectiveInstaller(p.deviceId(), p.flowObjective())));
                 }
             }
         }
@@ -398,11 +398,9 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
                 log.debug("Received notification of obj event {}", event);
                 Set<PendingFlowObjective> pending;
 
-                // first send all pending flows
-                synchronized (pendingForwards) {
-                    // needs to be synchronized for queueObjective lookup
-                    pending = pendingForwards.remove(event.subject());
-                }
+                // first send all pending flows; removal is atomic with
+                // respect to queueFwdObjective for the same nextId
+                pending = pendingForwards.remove(event.subject());
                 if (pending == null) {
                     log.debug("No forwarding objectives pending for this obj event {}", event);
                 } else {
@@ -416,11 +414,7 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
                 // Note: This is still necessary despite the existence of in-order execution.
                 //       Since the in-order execution does not handle the case of
                 //       ADD_TO_EXISTING coming before ADD
-                List<PendingFlowObjective> pendNexts;
-                synchronized (pendingNexts) {
-                    // needs to be synchronized for queueObjective lookup
-                    pendNexts = pendingNexts.remove(event.subject());
-                }
+                List<PendingFlowObjective> pendNexts = pendingNexts.remove(event.subject());
                 if (pendNexts == null) {
                     log.debug("No next objectives pending for this obj event {}", event);
                 } else {
@@ -15,6 +15,8 @@
  */
 package org.onosproject.net.intent.impl;
 
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.Timer.Context;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
@@ -29,6 +31,10 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static org.onlab.metrics.MetricsUtil.startTimer;
+import static org.onlab.metrics.MetricsUtil.stopTimer;
 
 // TODO: consider a better name
 class CompilerRegistry {
@@ -36,6 +42,25 @@ class CompilerRegistry {
     private final ConcurrentMap<Class<? extends Intent>,
             IntentCompiler<? extends Intent>> compilers = new ConcurrentHashMap<>();
 
+    private final Function<Class<? extends Intent>, Timer> compileTimers;
+
+    /**
+     * Creates a compiler registry that does not time the compilations.
+     */
+    CompilerRegistry() {
+        this(cls -> null);
+    }
+
+    /**
+     * Creates a compiler registry timing the compilations of each intent type.
+     *
+     * @param compileTimers function returning the compile timer of an intent
+     *                      class, or null if it is not timed
+     */
+    CompilerRegistry(Function<Class<? extends Intent>, Timer> compileTimers) {
+        this.compileTimers = compileTimers;
+    }
+
     /**
      * Registers the specified compiler for the given intent class.
      *
@@ -87,8 +112,13 @@ class CompilerRegistry {
         while ((compiling = compileQueue.poll()) != null) {
             registerSubclassCompilerIfNeeded(compiling);
 
-            List<Intent> compiled = getCompiler(compiling)
-                                     .compile(compiling, previousInstallables);
+            List<Intent> compiled;
+            final Context timer = startTimer(compileTimers.apply(compiling.getClass()));
+            try {
+                compiled = getCompiler(compiling).compile(compiling, previousInstallables);
+            } finally {
+                stopTimer(timer);
+            }
 
             compiled.forEach(i -> {
                 if (i.isInstallable()) {
@@ -15,6 +15,7 @@
  */
 package org.onosproject.net.intent.impl;
 
+import com.google.common.collect.Sets;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
@@ -27,6 +28,7 @@ import org.onosproject.net.intent.IntentData;
 import org.onosproject.net.intent.IntentEvent;
 import org.onosproject.net.intent.IntentListener;
 import org.onosproject.net.intent.IntentService;
+import org.onosproject.net.intent.IntentState;
 import org.onosproject.net.intent.IntentStore;
 import org.onosproject.net.intent.Key;
 import org.onosproject.store.service.WallClockTimestamp;
@@ -35,6 +37,7 @@ import org.slf4j.Logger;
 
 import java.util.Dictionary;
 import java.util.Properties;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ExecutorService;
@@ -43,6 +46,10 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.onlab.util.Tools.get;
 import static org.onlab.util.Tools.groupedThreads;
+import static org.onosproject.net.intent.IntentState.CORRUPT;
+import static org.onosproject.net.intent.IntentState.FAILED;
+import static org.onosproject.net.intent.IntentState.INSTALLING;
+import static org.onosproject.net.intent.IntentState.WITHDRAWING;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -62,6 +69,10 @@ public class IntentCleanup implements Runnable, IntentListener {
     // Logical timeout for stuck Intents in INSTALLING or WITHDRAWING. The unit is seconds
     private static final int INSTALLING_WITHDRAWING_PERIOD = 120;
 
+    // States of the intents in the current map that may require a resubmit
+    private static final Set<IntentState> CLEANUP_STATES =
+            Sets.immutableEnumSet(FAILED, CORRUPT, INSTALLING, WITHDRAWING);
+
     private static final int DEFAULT_PERIOD = 5; //seconds
     private static final int DEFAULT_THRESHOLD = 5; //tries
 
@@ -228,7 +239,7 @@ public class IntentCleanup implements Runnable, IntentListener {
             pendingCount++;
         }
 
-        for (IntentData intentData : store.getIntentData(true, periodMs)) {
+        for (IntentData intentData : store.getIntentData(true, periodMs, CLEANUP_STATES)) {
             IntentData pendingIntentData = store.getPendingData(intentData.key());
             if (pendingIntentData != null) {
                 continue;
@@ -15,6 +15,7 @@
  */
 package org.onosproject.net.intent.impl;
 
+import com.codahale.metrics.Timer;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
@@ -23,10 +24,12 @@ import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.core.CoreService;
 import org.onosproject.core.IdGenerator;
+import org.onosproject.core.MetricsHelper;
 import org.onosproject.event.AbstractListenerManager;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.config.NetworkConfigService;
@@ -69,6 +72,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
@@ -92,7 +97,8 @@ import static org.slf4j.LoggerFactory.getLogger;
 @Service
 public class IntentManager
         extends AbstractListenerManager<IntentEvent, IntentListener>
-        implements IntentService, IntentExtensionService, IntentInstallCoordinator {
+        implements IntentService, IntentExtensionService, IntentInstallCoordinator,
+        MetricsHelper {
 
     private static final Logger log = getLogger(IntentManager.class);
 
@@ -146,10 +152,14 @@ public class IntentManager
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     private NetworkConfigService networkConfigService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
+
     private ExecutorService batchExecutor;
     private ExecutorService workerExecutor;
 
-    private final CompilerRegistry compilerRegistry = new CompilerRegistry();
+    private final ConcurrentMap<Class<? extends Intent>, Timer> compileTimers = new ConcurrentHashMap<>();
+    private final CompilerRegistry compilerRegistry = new CompilerRegistry(this::compileTimer);
     private final InstallerRegistry installerRegistry = new InstallerRegistry();
     private final InternalIntentProcessor processor = new InternalIntentProcessor();
     private final IntentStoreDelegate delegate = new InternalStoreDelegate();
@@ -338,6 +348,21 @@ public class IntentManager
         return compilerRegistry.getCompilers();
     }
 
+    @Override
+    public MetricsService metricsService() {
+        return metricsService;
+    }
+
+    /**
+     * Returns the timer of the compilations of the given intent type.
+     *
+     * @param cls intent class
+     * @return compile timer, or null if metrics are not available
+     */
+    private Timer compileTimer(Class<? extends Intent> cls) {
+        return compileTimers.computeIfAbsent(cls, c -> createTimer("Intent", c.getSimpleName(), "compileTime"));
+    }
+
     @Override
     public <T extends Intent> void registerInstaller(Class<T> cls, IntentInstaller<T> installer) {
         installerRegistry.registerInstaller(cls, installer);
@@ -15,8 +15,10 @@
  */
 package org.onosproject.net.intent.impl;
 
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.collect.SetMultimap;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
@@ -62,6 +64,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -69,7 +72,6 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.collect.Multimaps.synchronizedSetMultimap;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.onlab.util.Tools.groupedThreads;
@@ -91,12 +93,13 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
 
     private final Logger log = getLogger(getClass());
 
-    private final SetMultimap<LinkKey, Key> intentsByLink =
-            //TODO this could be slow as a point of synchronization
-            synchronizedSetMultimap(HashMultimap.<LinkKey, Key>create());
+    // Reverse indexes of tracked resources to intent keys; lookups do not
+    // block concurrent updates of the indexes
+    private final ConcurrentMap<LinkKey, Set<Key>> intentsByLink =
+            Maps.newConcurrentMap();
 
-    private final SetMultimap<ElementId, Key> intentsByDevice =
-            synchronizedSetMultimap(HashMultimap.<ElementId, Key>create());
+    private final ConcurrentMap<ElementId, Set<Key>> intentsByDevice =
+            Maps.newConcurrentMap();
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected TopologyService topologyService;
@@ -133,6 +136,12 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
 
     protected final AtomicBoolean updateScheduled = new AtomicBoolean(false);
 
+    // Intents affected by the change events handled since the delegate was
+    // last notified; only touched from the single event executor thread
+    private final Set<Key> pendingRecompile = new HashSet<>();
+    private boolean pendingCompileAllFailed;
+    private boolean notifyScheduled;
+
     /**
      * Hook for wiring up optional reference to a service.
      *
@@ -208,9 +217,9 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
                                     Collection<NetworkResource> resources) {
         for (NetworkResource resource : resources) {
             if (resource instanceof Link) {
-                intentsByLink.put(linkKey((Link) resource), intentKey);
+                track(intentsByLink, linkKey((Link) resource), intentKey);
             } else if (resource instanceof ElementId) {
-                intentsByDevice.put((ElementId) resource, intentKey);
+                track(intentsByDevice, (ElementId) resource, intentKey);
             }
         }
     }
@@ -220,13 +229,43 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
                                        Collection<NetworkResource> resources) {
         for (NetworkResource resource : resources) {
             if (resource instanceof Link) {
-                intentsByLink.remove(linkKey((Link) resource), intentKey);
+                untrack(intentsByLink, linkKey((Link) resource), intentKey);
             } else if (resource instanceof ElementId) {
-                intentsByDevice.remove(resource, intentKey);
+                untrack(intentsByDevice, (ElementId) resource, intentKey);
             }
         }
     }
 
+    // Adds the intent key to the keys tracked for the given resource.
+    private static <R> void track(ConcurrentMap<R, Set<Key>> index, R resource, Key intentKey) {
+        index.compute(resource, (r, keys) -> {
+            Set<Key> tracked = keys != null ? keys : Sets.newConcurrentHashSet();
+            tracked.add(intentKey);
+            return tracked;
+        });
+    }
+
+    // Removes the intent key from the keys tracked for the given resource,
+    // dropping the resource from the index once no intent uses it.
+    private static <R> void untrack(ConcurrentMap<R, Set<Key>> index, R resource, Key intentKey) {
+        index.computeIfPresent(resource, (r, keys) -> {
+            keys.remove(intentKey);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    @Override
+    public SetMultimap<LinkKey, Key> getIntentsByLink() {
+        ImmutableSetMultimap.Builder<LinkKey, Key> builder = ImmutableSetMultimap.builder();
+        intentsByLink.forEach(builder::putAll);
+        return builder.build();
+    }
+
+    // Returns the intent keys tracked for the given resource.
+    private static <R> Set<Key> tracked(ConcurrentMap<R, Set<Key>> index, R resource) {
+        return index.getOrDefault(resource, Collections.emptySet());
+    }
+
     @Override
     public void trackIntent(IntentData intentData) {
 
@@ -243,7 +282,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
         if (log.isTraceEnabled()) {
             log.trace("intent {}, old: {}, new: {}, installableCount: {}, resourceCount: {}",
                       key,
-                      intentsByDevice.values().contains(key),
+                      intentsByDevice.values().stream().anyMatch(keys -> keys.contains(key)),
                       isLocal && isInstalled,
                       installables.size(),
                       intent.resources().size() +
@@ -255,19 +294,43 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
             log.warn("Intent {} is INSTALLED with no installables", key);
         }
 
+        // Resources shared by the intent and its installables are indexed
+        // once, in a single pass over the whole set
+        Set<NetworkResource> resources = new HashSet<>(intent.resources());
+        installables.forEach(installable -> resources.addAll(installable.resources()));
+
         // FIXME Intents will be added 3 times (once directly using addTracked,
         //       then when installing and when installed)
         if (isLocal && isInstalled) {
-            addTrackedResources(key, intent.resources());
-            for (Intent installable : installables) {
-                addTrackedResources(key, installable.resources());
-            }
+            addTrackedResources(key, resources);
             // FIXME check all resources against current topo service(s); recompile if necessary
         } else {
-            removeTrackedResources(key, intent.resources());
-            for (Intent installable : installables) {
-                removeTrackedResources(key, installable.resources());
-            }
+            removeTrackedResources(key, resources);
+        }
+    }
+
+    // Queues the intents affected by a change event. Events handled back to
+    // back are reported to the delegate in a single triggerCompile call, run
+    // once the handlers already queued on the event executor are done.
+    private void queueRecompile(Collection<Key> intentKeys, boolean compileAllFailed) {
+        pendingRecompile.addAll(intentKeys);
+        pendingCompileAllFailed |= compileAllFailed;
+        if (!notifyScheduled) {
+            notifyScheduled = true;
+            executorService.execute(this::notifyDelegate);
+        }
+    }
+
+    private void notifyDelegate() {
+        notifyScheduled = false;
+        Set<Key> intentKeys = ImmutableSet.copyOf(pendingRecompile);
+        boolean compileAllFailed = pendingCompileAllFailed;
+        pendingRecompile.clear();
+        pendingCompileAllFailed = false;
+
+        TopologyChangeDelegate current = delegate;
+        if (current != null) {
+            current.triggerCompile(intentKeys, compileAllFailed);
         }
     }
 
@@ -296,7 +359,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
             }
 
             if (event.reasons() == null || event.reasons().isEmpty()) {
-                delegate.triggerCompile(Collections.emptySet(), true);
+                queueRecompile(Collections.emptySet(), true);
 
             } else {
                 Set<Key> intentsToRecompile = new HashSet<>();
@@ -308,19 +371,17 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
                     if (reason instanceof LinkEvent) {
                         LinkEvent linkEvent = (LinkEvent) reason;
                         final LinkKey linkKey = linkKey(linkEvent.subject());
-                        synchronized (intentsByLink) {
-                            Set<Key> intentKeys = intentsByLink.get(linkKey);
-                            log.debug("recompile triggered by LinkEvent {} ({}) for {}",
-                                    linkKey, linkEvent.type(), intentKeys);
-                            intentsToRecompile.addAll(intentKeys);
-                        }
+                        Set<Key> intentKeys = tracked(intentsByLink, linkKey);
+                        log.debug("recompile triggered by LinkEvent {} ({}) for {}",
+                                linkKey, linkEvent.type(), intentKeys);
+                        intentsToRecompile.addAll(intentKeys);
                         dontRecompileAllFailedIntents = dontRecompileAllFailedIntents &&
                                 (linkEvent.type() == LINK_REMOVED ||
                                 (linkEvent.type() == LINK_UPDATED &&
                                 linkEvent.subject().isExpected()));
                     }
                 }
-                delegate.triggerCompile(intentsToRecompile, !dontRecompileAllFailedIntents);
+                queueRecompile(intentsToRecompile, !dontRecompileAllFailedIntents);
             }
         }
     }
@@ -334,7 +395,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
                         return;
                     }
 
-                    delegate.triggerCompile(Collections.emptySet(), true);
+                    queueRecompile(Collections.emptySet(), true);
                 });
             }
         }
@@ -364,11 +425,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
 
             // TODO should we recompile on available==true?
 
-            final ImmutableSet<Key> snapshot;
-            synchronized (intentsByDevice) {
-                snapshot = ImmutableSet.copyOf(intentsByDevice.get(id));
-            }
-            delegate.triggerCompile(snapshot, available);
+            queueRecompile(tracked(intentsByDevice, id), available);
         }
     }
 
@@ -419,25 +476,25 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
         }
     }
 
+    // Runs on the single scheduled executor thread, so full updates never
+    // overlap; the indexes themselves need no lock
     private void doIntentUpdate() {
-        synchronized (this) {
-            updateScheduled.set(false);
-            if (intentService == null) {
-                log.warn("Intent service is not bound yet");
-                return;
-            }
-            try {
-                //FIXME very inefficient
-                for (IntentData intentData : intentService.getIntentData()) {
-                    try {
-                        trackIntent(intentData);
-                    } catch (NullPointerException npe) {
-                        log.warn("intent error {}", intentData.key(), npe);
-                    }
+        updateScheduled.set(false);
+        if (intentService == null) {
+            log.warn("Intent service is not bound yet");
+            return;
+        }
+        try {
+            //FIXME very inefficient
+            for (IntentData intentData : intentService.getIntentData()) {
+                try {
+                    trackIntent(intentData);
+                } catch (NullPointerException npe) {
+                    log.warn("intent error {}", intentData.key(), npe);
                 }
-            } catch (Exception e) {
-                log.warn("Exception caught during update task", e);
             }
+        } catch (Exception e) {
+            log.warn("Exception caught during update task", e);
         }
     }
 
@@ -215,13 +215,15 @@ public abstract class LinkCollectionCompiler<T> {
      * @param inPorts the input ports
      * @param outPorts the output ports
      * @param labels the labels for the label switching hop by hop
+     * @param filteredPoints the filtered connect points of the intent, indexed by connect point
      * @return the list of flows representations
      */
     protected List<T> createRules(LinkCollectionIntent intent,
                                   DeviceId deviceId,
                                   Set<PortNumber> inPorts,
                                   Set<PortNumber> outPorts,
-                                  Map<ConnectPoint, Identifier<?>> labels) {
+                                  Map<ConnectPoint, Identifier<?>> labels,
+                                  Map<ConnectPoint, FilteredConnectPoint> filteredPoints) {
         return null;
     }
 
@@ -234,6 +236,7 @@ public abstract class LinkCollectionCompiler<T> {
      * @param outPorts the out ports
      * @param deviceId the current device
      * @param labels the labels used by the encapsulation
+     * @param filteredPoints the filtered connect points of the intent, indexed by connect point
      * @return the forwarding instruction
      */
     protected ForwardingInstructions createForwardingInstruction(Optional<EncapsulationConstraint> encapConstraint,
@@ -241,7 +244,9 @@ public abstract class LinkCollectionCompiler<T> {
                                                                  PortNumber inPort,
                                                                  Set<PortNumber> outPorts,
                                                                  DeviceId deviceId,
-                                                                 Map<ConnectPoint, Identifier<?>> labels) {
+                                                                 Map<ConnectPoint, Identifier<?>> labels,
+                                                                 Map<ConnectPoint, FilteredConnectPoint>
+                                                                         filteredPoints) {
         ForwardingInstructions instructions = null;
         /*
          * If not encapsulation or single hop.
@@ -251,7 +256,8 @@ public abstract class LinkCollectionCompiler<T> {
                     intent,
                     inPort,
                     deviceId,
-                    outPorts
+                    outPorts,
+                    filteredPoints
             );
         /*
          * If encapsulation is present. We retrieve the labels
@@ -271,7 +277,8 @@ public abstract class LinkCollectionCompiler<T> {
                     deviceId,
                     outPorts,
                     outLabels,
-                    encapConstraint.get().encapType()
+                    encapConstraint.get().encapType(),
+                    filteredPoints
             );
         }
         return instructions;
@@ -287,6 +294,7 @@ public abstract class LinkCollectionCompiler<T> {
      * @param type the encapsulation type
      * @param preCondition the previous state
      * @param treatmentBuilder the builder to update with the ouput actions
+     * @param filteredPoints the filtered connect points of the intent, indexed by connect point
      */
     private void manageOutputPorts(Set<PortNumber> outPorts,
                                    DeviceId deviceId,
@@ -294,7 +302,8 @@ public abstract class LinkCollectionCompiler<T> {
                                    Map<ConnectPoint, Identifier<?>> outLabels,
                                    EncapsulationType type,
                                    TrafficSelector.Builder preCondition,
-                                   TrafficTreatment.Builder treatmentBuilder) {
+                                   TrafficTreatment.Builder treatmentBuilder,
+                                   Map<ConnectPoint, FilteredConnectPoint> filteredPoints) {
         /*
          * We need to order the actions. First the actions
          * related to the not-egress points. At the same time we collect
@@ -303,7 +312,7 @@ public abstract class LinkCollectionCompiler<T> {
         List<FilteredConnectPoint> egressPoints = Lists.newArrayList();
         for (PortNumber outPort : outPorts) {
             Optional<FilteredConnectPoint> filteredEgressPoint =
-                    getFilteredConnectPointFromIntent(deviceId, outPort, intent);
+                    getFilteredConnectPointFromIntent(deviceId, outPort, filteredPoints);
             if (!filteredEgressPoint.isPresent()) {
                 /*
                  * We build a temporary selector for the encapsulation.
@@ -528,12 +537,14 @@ public abstract class LinkCollectionCompiler<T> {
      * @param intent the intent to compile
      * @param deviceId the current device
      * @param outPorts the output ports of this device
+     * @param filteredPoints the filtered connect points of the intent, indexed by connect point
      */
     private void manageSpIntent(TrafficSelector.Builder selectorBuilder,
                                 TrafficTreatment.Builder treatmentBuilder,
                                 LinkCollectionIntent intent,
                                 DeviceId deviceId,
-                                Set<PortNumber> outPorts) {
+                                Set<PortNumber> outPorts,
+                                Map<ConnectPoint, FilteredConnectPoint> filteredPoints) {
         /*
          * Sanity check.
          */
@@ -563,7 +574,7 @@ public abstract class LinkCollectionCompiler<T> {
         List<FilteredConnectPoint> egressPoints = Lists.newArrayList();
         for (PortNumber outPort : outPorts) {
             Optional<FilteredConnectPoint> filteredEgressPoint =
-                    getFilteredConnectPointFromIntent(deviceId, outPort, intent);
+                    getFilteredConnectPointFromIntent(deviceId, outPort, filteredPoints);
             if (!filteredEgressPoint.isPresent()) {
                 treatmentBuilder.setOutput(outPort);
             } else {
@@ -595,13 +606,15 @@ public abstract class LinkCollectionCompiler<T> {
      * @param inPort the input port of the current device
      * @param deviceId the current device
      * @param outPorts the output ports of this device
+     * @param filteredPoints the filtered connect points of the intent, indexed by connect point
      */
     private void manageMpIntent(TrafficSelector.Builder selectorBuilder,
                                 TrafficTreatment.Builder treatmentBuilder,
                                 LinkCollectionIntent intent,
                                 PortNumber inPort,
                                 DeviceId deviceId,
-                                Set<PortNumber> outPorts) {
+                                Set<PortNumber> outPorts,
+                                Map<ConnectPoint, FilteredConnectPoint> filteredPoints) {
         /*
          * Sanity check
          */
@@ -612,7 +625,7 @@ public abstract class LinkCollectionCompiler<T> {
          * We try to understand if the device is one of the ingress points.
          */
         Optional<FilteredConnectPoint> filteredIngressPoint =
-                getFilteredConnectPointFromIntent(deviceId, inPort, intent);
+                getFilteredConnectPointFromIntent(deviceId, inPort, filteredPoints);
         /*
          * We retrieve from the Intent the unique egress points.
          */
@@ -692,12 +705,15 @@ public abstract class LinkCollectionCompiler<T> {
      * @param inPort the input port of this device
      * @param deviceId the current device
      * @param outPorts the output ports of this device
+     * @param filteredPoints the filtered connect points of the intent, indexed by connect point
      * @return the forwarding instruction object which encapsulates treatment and selector
      */
     protected ForwardingInstructions createForwardingInstructions(LinkCollectionIntent intent,
                                                                   PortNumber inPort,
                                                                   DeviceId deviceId,
-                                                                  Set<PortNumber> outPorts) {
+                                                                  Set<PortNumber> outPorts,
+                                                                  Map<ConnectPoint, FilteredConnectPoint>
+                                                                          filteredPoints) {
 
         /*
          * We build an empty treatment and we initialize the selector with
@@ -715,14 +731,16 @@ public abstract class LinkCollectionCompiler<T> {
                            intent,
                            inPort,
                            deviceId,
-                           outPorts
+                           outPorts,
+                           filteredPoints
             );
         } else {
             manageSpIntent(selectorBuilder,
                            treatmentBuilder,
                            intent,
                            deviceId,
-                           outPorts
+                           outPorts,
+                           filteredPoints
             );
         }
         /*
@@ -743,6 +761,7 @@ public abstract class LinkCollectionCompiler<T> {
      * @param outPorts the output ports of this device
      * @param outLabels the labels associated to the output port
      * @param type the encapsulation type
+     * @param filteredPoints the filtered connect points of the intent, indexed by connect point
      */
     private void manageEncapAtIngress(TrafficSelector.Builder selectorBuilder,
                                       TrafficTreatment.Builder treatmentBuilder,
@@ -751,10 +770,11 @@ public abstract class LinkCollectionCompiler<T> {
                                       DeviceId deviceId,
                                       Set<PortNumber> outPorts,
                                       Map<ConnectPoint, Identifier<?>> outLabels,
-                                      EncapsulationType type) {
+                                      EncapsulationType type,
+                                      Map<ConnectPoint, FilteredConnectPoint> filteredPoints) {
 
         Optional<FilteredConnectPoint> filteredIngressPoint =
-                getFilteredConnectPointFromIntent(deviceId, inPort, intent);
+                getFilteredConnectPointFromIntent(deviceId, inPort, filteredPoints);
         /*
          * We fill the selector builder with the intent selector.
          */
@@ -784,7 +804,8 @@ public abstract class LinkCollectionCompiler<T> {
                 outLabels,
                 type,
                 preCondition,
-                treatmentBuilder
+                treatmentBuilder,
+                filteredPoints
         );
 
     }
@@ -802,6 +823,7 @@ public abstract class LinkCollectionCompiler<T> {
      * @param outPorts the output ports of this device
      * @param outLabels the labels associated to the output port
      * @param type the encapsulation type
+     * @param filteredPoints the filtered connect points of the intent, indexed by connect point
      */
     private void manageEncapAtCoreAndEgress(TrafficSelector.Builder selectorBuilder,
                                             TrafficTreatment.Builder treatmentBuilder,
@@ -811,7 +833,8 @@ public abstract class LinkCollectionCompiler<T> {
                                             DeviceId deviceId,
                                             Set<PortNumber> outPorts,
                                             Map<ConnectPoint, Identifier<?>> outLabels,
-                                            EncapsulationType type) {
+                                            EncapsulationType type,
+                                            Map<ConnectPoint, FilteredConnectPoint> filteredPoints) {
 
         /*
          * If there are not labels, we cannot handle.
@@ -838,7 +861,8 @@ public abstract class LinkCollectionCompiler<T> {
                 outLabels,
                 type,
                 selectorBuilder,
-                treatmentBuilder
+                treatmentBuilder,
+                filteredPoints
         );
 
     }
@@ -854,6 +878,7 @@ public abstract class LinkCollectionCompiler<T> {
      * @param outPorts the output ports of this device
      * @param outLabels the labels associated to the output port
      * @param type the encapsulation type
+     * @param filteredPoints the filtered connect points of the intent, indexed by connect point
      * @return the forwarding instruction object which encapsulates treatment and selector
      */
     protected ForwardingInstructions createForwardingInstructions(LinkCollectionIntent intent,
@@ -862,7 +887,9 @@ public abstract class LinkCollectionCompiler<T> {
                                                                   DeviceId deviceId,
                                                                   Set<PortNumber> outPorts,
                                                                   Map<ConnectPoint, Identifier<?>> outLabels,
-                                                                  EncapsulationType type) {
+                                                                  EncapsulationType type,
+                                                                  Map<ConnectPoint, FilteredConnectPoint>
+                                                                          filteredPoints) {
         /*
          * We build an empty treatment and an empty selector.
          */
@@ -870,7 +897,7 @@ public abstract class LinkCollectionCompiler<T> {
         TrafficSelector.Builder selectorBuilder = DefaultTrafficSelector.builder();
         selectorBuilder.matchInPort(inPort);
         Optional<FilteredConnectPoint> filteredIngressPoint =
-                getFilteredConnectPointFromIntent(deviceId, inPort, intent);
+                getFilteredConnectPointFromIntent(deviceId, inPort, filteredPoints);
 
         if (filteredIngressPoint.isPresent()) {
             manageEncapAtIngress(selectorBuilder,
@@ -880,7 +907,8 @@ public abstract class LinkCollectionCompiler<T> {
                                  deviceId,
                                  outPorts,
                                  outLabels,
-                                 type
+                                 type,
+                                 filteredPoints
             );
         } else {
             manageEncapAtCoreAndEgress(selectorBuilder,
@@ -891,7 +919,8 @@ public abstract class LinkCollectionCompiler<T> {
                                        deviceId,
                                        outPorts,
                                        outLabels,
-                                       type);
+                                       type,
+                                       filteredPoints);
         }
         /*
          * We return selector and treatment necessary to build the flow rule
@@ -1104,18 +1133,31 @@ public abstract class LinkCollectionCompiler<T> {
      *
      * @param deviceId device Id for connect point
      * @param portNumber port number
-     * @param intent source intent
+     * @param filteredPoints the filtered connect points of the intent, indexed by connect point
      * @return filtered connetion point
      */
     private Optional<FilteredConnectPoint> getFilteredConnectPointFromIntent(DeviceId deviceId,
                                                                              PortNumber portNumber,
-                                                                             LinkCollectionIntent intent) {
-        Set<FilteredConnectPoint> filteredConnectPoints =
-                Sets.union(intent.filteredIngressPoints(), intent.filteredEgressPoints());
-        return filteredConnectPoints.stream()
-                .filter(port -> port.connectPoint().deviceId().equals(deviceId))
-                .filter(port -> port.connectPoint().port().equals(portNumber))
-                .findFirst();
+                                                                             Map<ConnectPoint, FilteredConnectPoint>
+                                                                                     filteredPoints) {
+        return Optional.ofNullable(filteredPoints.get(new ConnectPoint(deviceId, portNumber)));
+    }
+
+    /**
+     * Indexes the filtered ingress and egress points of the intent by
+     * connect point. Ingress points take precedence over egress points.
+     * The index is built once per compilation and handed down to the
+     * rule generation.
+     *
+     * @param intent source intent
+     * @return filtered connect points indexed by connect point
+     */
+    protected static Map<ConnectPoint, FilteredConnectPoint> indexFilteredConnectPoints(
+            LinkCollectionIntent intent) {
+        Map<ConnectPoint, FilteredConnectPoint> index = Maps.newHashMap();
+        Sets.union(intent.filteredIngressPoints(), intent.filteredEgressPoints())
+                .forEach(point -> index.putIfAbsent(point.connectPoint(), point));
+        return index;
     }
 
     /**
@@ -29,6 +29,7 @@ import org.onosproject.core.ApplicationId;
 import org.onosproject.core.CoreService;
 import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DeviceId;
+import org.onosproject.net.FilteredConnectPoint;
 import org.onosproject.net.PortNumber;
 import org.onosproject.net.domain.DomainService;
 import org.onosproject.net.flow.DefaultFlowRule;
@@ -108,6 +109,7 @@ public class LinkCollectionIntentCompiler
         Optional<EncapsulationConstraint> encapConstraint = this.getIntentEncapConstraint(intent);
 
         computePorts(intent, inputPorts, outputPorts);
+        Map<ConnectPoint, FilteredConnectPoint> filteredPoints = indexFilteredConnectPoints(intent);
 
         if (encapConstraint.isPresent()) {
             labels = labelAllocator.assignLabelToPorts(intent.links(),
@@ -129,7 +131,8 @@ public class LinkCollectionIntentCompiler
                         deviceId,
                         inputPorts.get(deviceId),
                         outputPorts.get(deviceId),
-                        labels)
+                        labels,
+                        filteredPoints)
                 );
             }
         }
@@ -153,7 +156,8 @@ public class LinkCollectionIntentCompiler
                                          DeviceId deviceId,
                                          Set<PortNumber> inPorts,
                                          Set<PortNumber> outPorts,
-                                         Map<ConnectPoint, Identifier<?>> labels) {
+                                         Map<ConnectPoint, Identifier<?>> labels,
+                                         Map<ConnectPoint, FilteredConnectPoint> filteredPoints) {
 
         List<FlowRule> rules = new ArrayList<>(inPorts.size());
         /*
@@ -169,7 +173,8 @@ public class LinkCollectionIntentCompiler
                         inport,
                         outPorts,
                         deviceId,
-                        labels
+                        labels,
+                        filteredPoints
                 );
 
                 if (optimizeInstructions) {
@@ -119,6 +119,7 @@ public class LinkCollectionIntentFlowObjectiveCompiler
         Optional<EncapsulationConstraint> encapConstraint = this.getIntentEncapConstraint(intent);
 
         computePorts(intent, inputPorts, outputPorts);
+        Map<ConnectPoint, FilteredConnectPoint> filteredPoints = indexFilteredConnectPoints(intent);
 
         if (encapConstraint.isPresent()) {
             labels = labelAllocator.assignLabelToPorts(intent.links(),
@@ -141,7 +142,8 @@ public class LinkCollectionIntentFlowObjectiveCompiler
                                     deviceId,
                                     inputPorts.get(deviceId),
                                     outputPorts.get(deviceId),
-                                    labels);
+                                    labels,
+                                    filteredPoints);
                 deviceObjectives.forEach(objective -> {
                     objectives.add(objective);
                     devices.add(deviceId);
@@ -168,7 +170,8 @@ public class LinkCollectionIntentFlowObjectiveCompiler
                                           DeviceId deviceId,
                                           Set<PortNumber> inPorts,
                                           Set<PortNumber> outPorts,
-                                          Map<ConnectPoint, Identifier<?>> labels) {
+                                          Map<ConnectPoint, Identifier<?>> labels,
+                                          Map<ConnectPoint, FilteredConnectPoint> filteredPoints) {
 
         List<Objective> objectives = new ArrayList<>(inPorts.size() * 2);
 
@@ -185,7 +188,8 @@ public class LinkCollectionIntentFlowObjectiveCompiler
                     inPort,
                     outPorts,
                     deviceId,
-                    labels
+                    labels,
+                    filteredPoints
             );
 
             Set<TrafficTreatment> treatmentsWithDifferentPort =
@@ -161,27 +161,11 @@ public class StatisticManager implements StatisticService {
     public FlowRule highestHitter(ConnectPoint connectPoint) {
         checkPermission(STATISTIC_READ);
 
-        Set<FlowEntry> hitters = statisticStore.getCurrentStatistic(connectPoint);
-        if (hitters.isEmpty()) {
-            return null;
-        }
-
-        FlowEntry max = hitters.iterator().next();
-        for (FlowEntry entry : hitters) {
-            if (entry.bytes() > max.bytes()) {
-                max = entry;
-            }
-        }
-        return max;
+        return statisticStore.getStatisticSummary(connectPoint).highestHitter();
     }
 
     private Load loadInternal(ConnectPoint connectPoint) {
-        Statistics stats = getStatistics(connectPoint);
-        if (!stats.isValid()) {
-            return new DefaultLoad();
-        }
-
-        return new DefaultLoad(aggregate(stats.current), aggregate(stats.previous));
+        return statisticStore.getStatisticSummary(connectPoint).load();
     }
 
     /**
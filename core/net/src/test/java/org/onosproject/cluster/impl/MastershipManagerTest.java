@@ -16,11 +16,16 @@
 package org.onosproject.cluster.impl;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import org.easymock.EasyMock;
 import org.junit.After;
 import org.junit.Before;
@@ -33,6 +38,7 @@ import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.DefaultControllerNode;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.common.event.impl.TestEventDispatcher;
+import org.onosproject.mastership.MastershipEvent;
 import org.onosproject.mastership.MastershipService;
 import org.onosproject.mastership.MastershipStore;
 import org.onosproject.mastership.MastershipTermService;
@@ -100,6 +106,7 @@ public class MastershipManagerTest {
     private TestRegionManager regionManager;
     private RegionStore regionStore;
     private TestClusterService testClusterService;
+    private TestSimpleMastershipStore testStore;
 
     @Before
     public void setUp() throws Exception {
@@ -109,7 +116,8 @@ public class MastershipManagerTest {
         testClusterService = new TestClusterService();
         mgr.clusterService = testClusterService;
         mgr.upgradeService = new UpgradeServiceAdapter();
-        mgr.store = new TestSimpleMastershipStore(mgr.clusterService);
+        testStore = new TestSimpleMastershipStore(mgr.clusterService);
+        mgr.store = testStore;
         regionStore = new DistributedRegionStore();
         TestUtils.setField(regionStore, "storageService", new TestStorageService());
         TestUtils.callMethod(regionStore, "activate",
@@ -245,6 +253,43 @@ public class MastershipManagerTest {
         assertEquals("incorrect balance for node 3", 3, mgr.getDevicesOf(NID3).size());
     }
 
+    @Test
+    public void balanceMovesOnlyExcessDevices() {
+        testClusterService.put(CNODE1, ControllerNode.State.ACTIVE);
+        testClusterService.put(CNODE2, ControllerNode.State.ACTIVE);
+        testClusterService.put(CNODE3, ControllerNode.State.ACTIVE);
+
+        // Start from a [5, 5, 0] split of ten devices
+        List<DeviceId> deviceIds = IntStream.range(0, 10)
+                .mapToObj(i -> DeviceId.deviceId("foo:b" + i))
+                .collect(Collectors.toList());
+        deviceIds.subList(0, 5).forEach(deviceId -> mgr.setRole(NID1, deviceId, MASTER));
+        deviceIds.subList(5, 10).forEach(deviceId -> mgr.setRole(NID2, deviceId, MASTER));
+
+        mgr.balanceRoles();
+
+        // Only the three devices needed by the empty node are moved, in one batch,
+        // and the remainder stays with one of the largest nodes
+        assertEquals("wrong number of batches", 1, testStore.batches);
+        assertEquals("wrong number of moves", 3, testStore.moves.size());
+        assertTrue("moved to wrong node", testStore.moves.values().stream().allMatch(NID3::equals));
+        assertEquals("incorrect balance for node 3", 3, mgr.getDevicesOf(NID3).size());
+        assertEquals("incorrect balance for nodes 1 and 2", ImmutableSet.of(3, 4),
+                     ImmutableSet.of(mgr.getDevicesOf(NID1).size(), mgr.getDevicesOf(NID2).size()));
+    }
+
+    @Test
+    public void relinquishMasterships() {
+        mgr.setRole(NID_LOCAL, DEV_MASTER, MASTER);
+        mgr.setRole(NID_OTHER, DEV_MASTER, STANDBY);
+        mgr.setRole(NID_LOCAL, DEV_OTHER, MASTER);
+
+        Futures.getUnchecked(mgr.relinquishMasterships(ImmutableSet.of(DEV_MASTER, DEV_OTHER)));
+        assertEquals("wrong master:", NID_OTHER, mgr.getMasterFor(DEV_MASTER));
+        assertNull("wrong master:", mgr.getMasterFor(DEV_OTHER));
+        assertEquals("wrong role:", NONE, mgr.getLocalRole(DEV_OTHER));
+    }
+
     private void assignRoles(NodeId nid, Set<DeviceId> deviceIds) {
         Set<DeviceId> all = ImmutableSet.of(DID1, DID2, DID3, DID4, DID5, DID6);
         for (DeviceId did : all) {
@@ -402,9 +447,21 @@ public class MastershipManagerTest {
     private final class TestSimpleMastershipStore extends SimpleMastershipStore
             implements MastershipStore {
 
+        private final Map<DeviceId, NodeId> moves = Maps.newHashMap();
+        private int batches;
+
         public TestSimpleMastershipStore(ClusterService clusterService) {
             super.clusterService = clusterService;
         }
+
+        @Override
+        public CompletableFuture<List<MastershipEvent>> setMasters(Map<DeviceId, NodeId> masters) {
+            if (!masters.isEmpty()) {
+                batches++;
+                moves.putAll(masters);
+            }
+            return super.setMasters(masters);
+        }
     }
 
     private class TestRegionManager extends RegionManager {
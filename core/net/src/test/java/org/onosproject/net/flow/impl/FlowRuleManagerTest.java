@@ -17,6 +17,7 @@ package org.onosproject.net.flow.impl;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -25,6 +26,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.onlab.junit.TestTools;
+import org.onlab.osgi.ComponentContextAdapter;
 import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.common.event.impl.TestEventDispatcher;
 import org.onosproject.core.ApplicationId;
@@ -54,6 +56,9 @@ import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.oldbatch.FlowRuleBatchOperation;
 import org.onosproject.net.flow.FlowRuleEvent;
 import org.onosproject.net.flow.FlowRuleListener;
+import org.onosproject.net.flow.FlowRuleOperation;
+import org.onosproject.net.flow.FlowRuleOperations;
+import org.onosproject.net.flow.FlowRuleOperationsContext;
 import org.onosproject.net.flow.FlowRuleProgrammable;
 import org.onosproject.net.flow.FlowRuleProvider;
 import org.onosproject.net.flow.FlowRuleProviderRegistry;
@@ -73,8 +78,10 @@ import org.onosproject.store.trivial.SimpleFlowRuleStore;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -83,6 +90,7 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 import static org.onosproject.net.NetTestTools.injectEventDispatcher;
@@ -261,6 +269,87 @@ public class FlowRuleManagerTest {
                            r3, FlowEntryState.PENDING_ADD)));
     }
 
+    @Test
+    public void applyFlowRulesInBatches() {
+        mgr.modified(new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, String> props = new Hashtable<>();
+                props.put("maxBatchSize", "2");
+                props.put("maxOutstandingBatches", "2");
+                return props;
+            }
+        });
+
+        mgr.applyFlowRules(flowRule(1, 1), flowRule(2, 2), flowRule(3, 3),
+                           flowRule(4, 4), flowRule(5, 5));
+        assertEquals("only the outstanding batches should be stored", 4, flowCount());
+        assertEquals("incorrect number of device batches", 2, provider.batches.size());
+        provider.batches.forEach(batch -> assertEquals("incorrect batch size", 2, batch.size()));
+    }
+
+    @Test
+    public void failedBatchesReportedOnce() {
+        mgr.modified(new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, String> props = new Hashtable<>();
+                props.put("maxBatchSize", "2");
+                props.put("maxOutstandingBatches", "4");
+                return props;
+            }
+        });
+
+        FlowRule r1 = flowRule(1, 1);
+        FlowRule r2 = flowRule(2, 2);
+        FlowRule r3 = flowRule(3, 3);
+        FlowRule r4 = flowRule(4, 4);
+        List<String> reports = new ArrayList<>();
+        List<FlowRuleOperations> failures = new ArrayList<>();
+        mgr.apply(FlowRuleOperations.builder().add(r1).add(r2).add(r3).add(r4)
+                          .build(new FlowRuleOperationsContext() {
+                              @Override
+                              public void onSuccess(FlowRuleOperations ops) {
+                                  reports.add("success");
+                              }
+
+                              @Override
+                              public void onError(FlowRuleOperations ops) {
+                                  reports.add("error");
+                                  failures.add(ops);
+                              }
+
+                              @Override
+                              public void onProgress(FlowRuleOperations ops, int completed, int total) {
+                                  reports.add(completed + "/" + total);
+                              }
+
+                              @Override
+                              public void onStageCompleted(FlowRuleOperations ops, int stage, long duration) {
+                                  reports.add("stage " + stage);
+                              }
+                          }));
+        assertEquals("incorrect number of device batches", 2, provider.batches.size());
+
+        // both batches fail, each with one of its rules
+        FlowRuleBatchOperation b1 = provider.batches.get(0);
+        FlowRuleBatchOperation b2 = provider.batches.get(1);
+        FlowRule failed1 = b1.getOperations().get(0).target();
+        FlowRule failed2 = b2.getOperations().get(1).target();
+        providerService.batchOperationCompleted(
+                b1.id(), new CompletedBatchOperation(false, ImmutableSet.of(failed1), DID));
+        assertEquals("no report before the last batch completes", ImmutableList.of("2/4"), reports);
+        providerService.batchOperationCompleted(
+                b2.id(), new CompletedBatchOperation(false, ImmutableSet.of(failed2), DID));
+
+        assertEquals("incorrect reports", ImmutableList.of("2/4", "4/4", "stage 0", "error"), reports);
+        assertEquals("incorrect failed operations",
+                     ImmutableSet.of(failed1, failed2),
+                     failures.get(0).stages().get(0).stream()
+                             .map(FlowRuleOperation::rule)
+                             .collect(Collectors.toSet()));
+    }
+
     @Test
     public void purgeFlowRules() {
         FlowRule f1 = addFlowRule(1);
@@ -530,9 +619,12 @@ public class FlowRuleManagerTest {
         public void removeRulesById(ApplicationId id, FlowRule... flowRules) {
         }
 
+        final List<FlowRuleBatchOperation> batches = new ArrayList<>();
+
         @Override
         public void executeBatch(FlowRuleBatchOperation batch) {
             // TODO: need to call batchOperationComplete
+            batches.add(batch);
         }
 
         private class TestInstallationFuture
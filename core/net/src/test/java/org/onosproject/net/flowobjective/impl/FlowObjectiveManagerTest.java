@@ -15,11 +15,13 @@
  */
 package org.onosproject.net.flowobjective.impl;
 
+import com.google.common.collect.ImmutableList;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.onlab.junit.TestUtils;
 import org.onlab.packet.ChassisId;
+import org.onlab.util.ItemNotFoundException;
 import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.net.DefaultAnnotations;
 import org.onosproject.net.DefaultDevice;
@@ -60,6 +62,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
@@ -86,8 +89,11 @@ public class FlowObjectiveManagerTest {
 
     List<String> filteringObjectives;
     List<String> forwardingObjectives;
+    List<Integer> forwardingPriorities;
     List<String> nextObjectives;
 
+    boolean d2DriverAvailable = true;
+
     private class TestDeviceService extends DeviceServiceAdapter {
 
         List<Device> deviceList;
@@ -160,6 +166,7 @@ public class FlowObjectiveManagerTest {
         @Override
         public void forward(ForwardingObjective forwardObjective) {
             forwardingObjectives.add(deviceId.toString());
+            forwardingPriorities.add(forwardObjective.priority());
         }
 
         @Override
@@ -171,6 +178,9 @@ public class FlowObjectiveManagerTest {
     private class TestDriverService extends DriverServiceAdapter {
         @Override
         public DriverHandler createHandler(DeviceId deviceId, String... credentials) {
+            if (deviceId.equals(id2) && !d2DriverAvailable) {
+                throw new ItemNotFoundException("No driver for " + deviceId);
+            }
             Driver driver = new TestDriver();
             return new DefaultDriverHandler(new DefaultDriverData(driver, id1));
         }
@@ -189,6 +199,7 @@ public class FlowObjectiveManagerTest {
 
         filteringObjectives = new ArrayList<>();
         forwardingObjectives = new ArrayList<>();
+        forwardingPriorities = new ArrayList<>();
         nextObjectives = new ArrayList<>();
         manager.activate();
     }
@@ -199,6 +210,7 @@ public class FlowObjectiveManagerTest {
         manager = null;
         filteringObjectives.clear();
         forwardingObjectives.clear();
+        forwardingPriorities.clear();
         nextObjectives.clear();
     }
 
@@ -369,4 +381,67 @@ public class FlowObjectiveManagerTest {
         assertThat(filteringObjectives, hasSize(0));
         assertThat(nextObjectives, hasSize(0));
     }
+
+    /**
+     * Tests that an objective waiting for the device pipeliner is installed
+     * as soon as the device comes up, rather than after the retry interval.
+     *
+     * @throws TestUtilsException if lookup of a field fails
+     */
+    @Test
+    public void awaitPipeliner() throws TestUtilsException {
+        d2DriverAvailable = false;
+        ForwardingObjective forward =
+                DefaultForwardingObjective.builder()
+                        .fromApp(NetTestTools.APP_ID)
+                        .withFlag(ForwardingObjective.Flag.SPECIFIC)
+                        .withSelector(DefaultTrafficSelector.emptySelector())
+                        .withTreatment(DefaultTrafficTreatment.emptyTreatment())
+                        .makePermanent()
+                        .add();
+        manager.forward(id2, forward);
+
+        TestTools.assertAfter(RETRY_MS, () ->
+                assertThat(forwardingObjectives, hasSize(0)));
+
+        d2DriverAvailable = true;
+        DeviceListener listener = TestUtils.getField(manager, "deviceListener");
+        listener.event(new DeviceEvent(DeviceEvent.Type.DEVICE_ADDED, d2));
+
+        TestTools.assertAfter(RETRY_MS, () ->
+                assertThat(forwardingObjectives, hasSize(1)));
+        assertThat(forwardingObjectives, hasItem("of:d2"));
+    }
+
+    /**
+     * Tests that objectives waiting for the device pipeliner are installed
+     * before a later objective which initializes the pipeliner itself.
+     */
+    @Test
+    public void awaitPipelinerKeepsOrder() {
+        d2DriverAvailable = false;
+        manager.forward(id2, forwardingObjective(1));
+
+        TestTools.assertAfter(RETRY_MS, () ->
+                assertThat(forwardingObjectives, hasSize(0)));
+
+        // the pipeliner is created by the next objective, not by a device event
+        d2DriverAvailable = true;
+        manager.forward(id2, forwardingObjective(2));
+
+        // well before the retry interval of the parked objective elapses
+        TestTools.assertAfter(RETRY_MS, () ->
+                assertThat(forwardingPriorities, is(ImmutableList.of(1, 2))));
+    }
+
+    private ForwardingObjective forwardingObjective(int priority) {
+        return DefaultForwardingObjective.builder()
+                .fromApp(NetTestTools.APP_ID)
+                .withFlag(ForwardingObjective.Flag.SPECIFIC)
+                .withSelector(DefaultTrafficSelector.emptySelector())
+                .withTreatment(DefaultTrafficTreatment.emptyTreatment())
+                .withPriority(priority)
+                .makePermanent()
+                .add();
+    }
 }
@@ -15,6 +15,7 @@
  */
 package org.onosproject.net.intent.impl;
 
+import com.codahale.metrics.Timer;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
@@ -26,6 +27,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.onlab.metrics.MetricsManager;
 import org.onosproject.TestApplicationId;
 import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.cfg.ComponentConfigService;
@@ -294,6 +296,7 @@ public class IntentManagerTest {
         manager.flowRuleService = flowRuleService;
         manager.coreService = new TestCoreManager();
         manager.configService = mock(ComponentConfigService.class);
+        manager.metricsService = new MetricsManager();
         service = manager;
         extensionService = manager;
         intentInstallCoordinator = manager;
@@ -360,6 +363,22 @@ public class IntentManagerTest {
         verifyState();
     }
 
+    /**
+     * Tests that the compilations are timed per intent type.
+     */
+    @Test
+    public void compileTimedPerIntentType() {
+        flowRuleService.setFuture(true);
+
+        listener.setLatch(1, Type.INSTALLED);
+        service.submit(new MockIntent(MockIntent.nextId()));
+        listener.await(Type.INSTALLED);
+
+        Timer compileTimer = manager.createTimer("Intent", MockIntent.class.getSimpleName(), "compileTime");
+        assertEquals(1L, compileTimer.getCount());
+        verifyState();
+    }
+
     @Test
     public void withdrawIntent() {
         flowRuleService.setFuture(true);
@@ -15,8 +15,10 @@
  */
 package org.onosproject.net.intent.impl;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
+import com.google.common.collect.SetMultimap;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -26,6 +28,7 @@ import org.onosproject.event.Event;
 import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.Link;
+import org.onosproject.net.LinkKey;
 import org.onosproject.net.NetworkResource;
 import org.onosproject.net.PortNumber;
 import org.onosproject.net.device.DeviceEvent;
@@ -45,11 +48,13 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static org.easymock.EasyMock.createMock;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.onosproject.net.LinkKey.linkKey;
 import static org.onosproject.net.NetTestTools.*;
 import static org.onosproject.net.resource.ResourceEvent.Type.RESOURCE_ADDED;
 
@@ -103,12 +108,14 @@ public class ObjectiveTrackerTest extends AbstractIntentTest {
         CountDownLatch latch = new CountDownLatch(1);
         List<Key> intentIdsFromEvent;
         boolean compileAllFailedFromEvent;
+        int triggerCount;
 
         @Override
         public void triggerCompile(Iterable<Key> intentKeys,
                                    boolean compileAllFailed) {
             intentIdsFromEvent = Lists.newArrayList(intentKeys);
             compileAllFailedFromEvent = compileAllFailed;
+            triggerCount++;
             latch.countDown();
         }
     }
@@ -316,5 +323,72 @@ public class ObjectiveTrackerTest extends AbstractIntentTest {
         assertThat(delegate.compileAllFailedFromEvent, is(true));
     }
 
+    /**
+     * Tests that link events handled back to back reach the delegate as a
+     * single recompile request.
+     *
+     * @throws InterruptedException if the latch wait fails.
+     */
+    @Test
+    public void testEventsBatched() throws Exception {
+        final Link link1 = link("src", 1, "dst", 2);
+        final Link link2 = link("src", 3, "dst", 4);
+        final Key key1 = Key.of(0x333L, APP_ID);
+        final Key key2 = Key.of(0x444L, APP_ID);
+        tracker.addTrackedResources(key1, ImmutableSet.of(link1));
+        tracker.addTrackedResources(key2, ImmutableSet.of(link2));
+
+        // hold the event executor until both events are queued
+        CountDownLatch blocker = new CountDownLatch(1);
+        ExecutorService executor = TestUtils.getField(tracker, "executorService");
+        executor.execute(() -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        listener.event(new TopologyEvent(TopologyEvent.Type.TOPOLOGY_CHANGED, topology,
+                ImmutableList.of(new LinkEvent(LinkEvent.Type.LINK_REMOVED, link1))));
+        listener.event(new TopologyEvent(TopologyEvent.Type.TOPOLOGY_CHANGED, topology,
+                ImmutableList.of(new LinkEvent(LinkEvent.Type.LINK_REMOVED, link2))));
+        blocker.countDown();
+
+        assertThat(
+                delegate.latch.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+                is(true));
+        assertThat(delegate.intentIdsFromEvent, containsInAnyOrder(key1, key2));
+        assertThat(delegate.compileAllFailedFromEvent, is(false));
+
+        // no second recompile request follows
+        executor.submit(() -> { }).get(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(delegate.triggerCount, is(1));
+    }
 
+    /**
+     * Tests the snapshot of intents tracked against links, including
+     * resources shared by an intent and its installables.
+     */
+    @Test
+    public void testIntentsByLink() {
+        final Link link1 = link("src", 1, "dst", 2);
+        final Link link2 = link("src", 3, "dst", 4);
+        final Key key1 = Key.of(0x333L, APP_ID);
+        final Key key2 = Key.of(0x444L, APP_ID);
+
+        tracker.addTrackedResources(key1, ImmutableSet.of(link1, link2));
+        tracker.addTrackedResources(key2, ImmutableSet.of(link1));
+        tracker.addTrackedResources(key2, ImmutableSet.of(link1));
+
+        SetMultimap<LinkKey, Key> intentsByLink = tracker.getIntentsByLink();
+        assertThat(intentsByLink.size(), is(3));
+        assertThat(intentsByLink.get(linkKey(link1)), containsInAnyOrder(key1, key2));
+        assertThat(intentsByLink.get(linkKey(link2)), contains(key1));
+
+        tracker.removeTrackedResources(key1, ImmutableSet.of(link1, link2));
+        intentsByLink = tracker.getIntentsByLink();
+        assertThat(intentsByLink.keySet(), contains(linkKey(link1)));
+        assertThat(intentsByLink.get(linkKey(link1)), contains(key2));
+    }
 }
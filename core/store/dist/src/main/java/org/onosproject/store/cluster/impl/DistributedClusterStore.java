@@ -15,6 +15,8 @@
  */
 package org.onosproject.store.cluster.impl;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 
@@ -27,6 +29,9 @@ import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.ReferencePolicy;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.packet.IpAddress;
 import org.onlab.util.KryoNamespace;
 import org.onosproject.cfg.ConfigProperty;
@@ -58,6 +63,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
@@ -99,6 +105,11 @@ public class DistributedClusterStore
         label = "The minimum standard deviation to take into account when computing the Phi value")
     private long minStandardDeviationMillis = DEFAULT_MIN_STANDARD_DEVIATION_MILLIS;
 
+    private static final long DEFAULT_LOCAL_PAUSE_THRESHOLD_MILLIS = 250;
+    @Property(name = "localPauseThresholdMillis", longValue = DEFAULT_LOCAL_PAUSE_THRESHOLD_MILLIS,
+        label = "The delay of the local heartbeat sender beyond which peers are not marked inactive")
+    private long localPauseThresholdMillis = DEFAULT_LOCAL_PAUSE_THRESHOLD_MILLIS;
+
     private static final Serializer SERIALIZER = Serializer.using(
             KryoNamespace.newBuilder()
                     .register(KryoNamespaces.API)
@@ -108,6 +119,10 @@ public class DistributedClusterStore
 
     private static final String INSTANCE_ID_NULL = "Instance ID cannot be null";
 
+    private static final String METRICS_COMPONENT = "Cluster";
+    private static final String INTER_ARRIVAL_METRIC = "heartbeatInterArrivalMillis";
+    private static final String PHI_METRIC = "phi";
+
     private final Map<NodeId, ControllerNode> allNodes = Maps.newConcurrentMap();
     private final Map<NodeId, State> nodeStates = Maps.newConcurrentMap();
     private final Map<NodeId, Version> nodeVersions = Maps.newConcurrentMap();
@@ -120,6 +135,15 @@ public class DistributedClusterStore
 
     private PhiAccrualFailureDetector failureDetector;
 
+    // Used to detect local stalls (e.g. GC pauses) of the heartbeat sender
+    private long lastHeartbeatMillis = -1;
+    private long suspendFailureDetectionUntil = -1;
+    LongSupplier clock = System::currentTimeMillis;
+
+    // Heartbeat inter-arrival times per peer, exported with the peer phi
+    private final Map<NodeId, Histogram> interArrivalHistograms = Maps.newConcurrentMap();
+    private Histogram heartbeatDelayHistogram;
+
     private ControllerNode localNode;
     private Version localVersion;
 
@@ -132,6 +156,9 @@ public class DistributedClusterStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected MessagingService messagingService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
+
     // This must be optional to avoid a cyclic dependency
     @Reference(cardinality = ReferenceCardinality.OPTIONAL_UNARY,
             bind = "bindComponentConfigService",
@@ -174,6 +201,11 @@ public class DistributedClusterStore
                 new HeartbeatMessageHandler(), heartBeatMessageHandler);
 
         failureDetector = new PhiAccrualFailureDetector(minStandardDeviationMillis);
+        if (metricsService != null) {
+            MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+            heartbeatDelayHistogram = metricsService.createHistogram(component,
+                    component.registerFeature("localHeartbeat"), "delayMillis");
+        }
 
         heartBeatSender.scheduleWithFixedDelay(this::heartbeat, 0,
                 heartbeatInterval, TimeUnit.MILLISECONDS);
@@ -186,6 +218,7 @@ public class DistributedClusterStore
         messagingService.unregisterHandler(HEARTBEAT_MESSAGE);
         heartBeatSender.shutdownNow();
         heartBeatMessageHandler.shutdownNow();
+        interArrivalHistograms.keySet().forEach(this::removeHeartbeatMetrics);
 
         log.info("Stopped");
     }
@@ -259,6 +292,7 @@ public class DistributedClusterStore
         if (node != null) {
             nodeStates.remove(nodeId);
             nodeVersions.remove(nodeId);
+            removeHeartbeatMetrics(nodeId);
             notifyDelegate(new ClusterEvent(ClusterEvent.Type.INSTANCE_REMOVED, node));
         }
     }
@@ -285,6 +319,7 @@ public class DistributedClusterStore
 
     private void heartbeat() {
         try {
+            boolean suspended = isLocallyPaused();
             Set<ControllerNode> peers = allNodes.values()
                     .stream()
                     .filter(node -> !(node.id().equals(localNode.id())))
@@ -296,7 +331,7 @@ public class DistributedClusterStore
                 State currentState = nodeStates.get(node.id());
                 double phi = failureDetector.phi(node.id());
                 if (phi >= phiFailureThreshold) {
-                    if (currentState.isActive()) {
+                    if (currentState.isActive() && !suspended) {
                         updateNode(node.id(), State.INACTIVE, null);
                         failureDetector.reset(node.id());
                     }
@@ -311,6 +346,31 @@ public class DistributedClusterStore
         }
     }
 
+    /**
+     * Returns whether this node has recently been unable to run its heartbeat
+     * sender on schedule. Heartbeats received during such a pause are still
+     * queued for processing, so the phi values of the peers are not reliable
+     * until the backlog has been drained.
+     *
+     * @return true if peers should not be marked inactive
+     */
+    boolean isLocallyPaused() {
+        long now = clock.getAsLong();
+        long lastHeartbeat = lastHeartbeatMillis;
+        lastHeartbeatMillis = now;
+        if (lastHeartbeat != -1) {
+            long delay = now - lastHeartbeat - heartbeatInterval;
+            if (heartbeatDelayHistogram != null) {
+                heartbeatDelayHistogram.update(Math.max(delay, 0));
+            }
+            if (delay > localPauseThresholdMillis) {
+                log.debug("Heartbeat sender was delayed by {} ms; suspending failure detection", delay);
+                suspendFailureDetectionUntil = now + delay;
+            }
+        }
+        return now < suspendFailureDetectionUntil;
+    }
+
     private void notifyChange(NodeId nodeId, State oldState, State newState, Version oldVersion, Version newVersion) {
         if (oldState != newState || !Objects.equals(oldVersion, newVersion)) {
             ControllerNode node = allNodes.get(nodeId);
@@ -345,12 +405,48 @@ public class DistributedClusterStore
                 long lastHeartbeatTime = failureDetector.getLastHeartbeatTime(hb.source().id());
                 if (heartbeatTime - lastHeartbeatTime > heartbeatInterval / 2) {
                     failureDetector.report(hb.source().id(), heartbeatTime);
+                    if (lastHeartbeatTime != -1) {
+                        Histogram histogram = interArrivalHistogram(hb.source().id());
+                        if (histogram != null) {
+                            histogram.update(heartbeatTime - lastHeartbeatTime);
+                        }
+                    }
                 }
                 updateNode(hb.source().id(), hb.state, hb.version);
             }
         }
     }
 
+    /**
+     * Returns the inter-arrival time histogram of the given peer, registering
+     * it along with a gauge of the peer phi value on first use. Both are
+     * listed by the metrics CLI command and REST API.
+     *
+     * @param nodeId peer node identifier
+     * @return histogram, or null if metrics are not available
+     */
+    private Histogram interArrivalHistogram(NodeId nodeId) {
+        if (metricsService == null) {
+            return null;
+        }
+        return interArrivalHistograms.computeIfAbsent(nodeId, id -> {
+            MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+            MetricsFeature feature = component.registerFeature(id.toString());
+            metricsService.registerMetric(component, feature, PHI_METRIC,
+                    (Gauge<Double>) () -> failureDetector.phi(id));
+            return metricsService.createHistogram(component, feature, INTER_ARRIVAL_METRIC);
+        });
+    }
+
+    private void removeHeartbeatMetrics(NodeId nodeId) {
+        if (metricsService != null && interArrivalHistograms.remove(nodeId) != null) {
+            MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+            MetricsFeature feature = component.registerFeature(nodeId.toString());
+            metricsService.removeMetric(component, feature, PHI_METRIC);
+            metricsService.removeMetric(component, feature, INTER_ARRIVAL_METRIC);
+        }
+    }
+
     private static class HeartbeatMessage {
         private ControllerNode source;
         private State state;
@@ -425,6 +521,21 @@ public class DistributedClusterStore
                         newMinStandardDeviationMillis);
                 }
             }
+            if ("localPauseThresholdMillis".equals(property.name())) {
+                String s = property.value();
+                if (s == null) {
+                    setLocalPauseThresholdMillis(DEFAULT_LOCAL_PAUSE_THRESHOLD_MILLIS);
+                    log.info("Local pause threshold is not configured, default value is {}",
+                        DEFAULT_LOCAL_PAUSE_THRESHOLD_MILLIS);
+                } else {
+                    long newLocalPauseThresholdMillis = isNullOrEmpty(s)
+                        ? DEFAULT_LOCAL_PAUSE_THRESHOLD_MILLIS
+                        : Long.parseLong(s.trim());
+                    setLocalPauseThresholdMillis(newLocalPauseThresholdMillis);
+                    log.info("Configured. Local pause threshold is configured to {}",
+                        localPauseThresholdMillis);
+                }
+            }
         }
     }
 
@@ -470,6 +581,21 @@ public class DistributedClusterStore
         }
     }
 
+    /**
+     * Sets the delay of the local heartbeat sender beyond which failure
+     * detection is temporarily suspended.
+     *
+     * @param localPauseThresholdMillis the updated local pause threshold
+     */
+    private void setLocalPauseThresholdMillis(long localPauseThresholdMillis) {
+        if (localPauseThresholdMillis > 0) {
+            this.localPauseThresholdMillis = localPauseThresholdMillis;
+        } else {
+            log.warn("Local pause threshold must be greater than zero");
+            this.localPauseThresholdMillis = DEFAULT_LOCAL_PAUSE_THRESHOLD_MILLIS;
+        }
+    }
+
     /**
      * Restarts heartbeatSender executor.
      */
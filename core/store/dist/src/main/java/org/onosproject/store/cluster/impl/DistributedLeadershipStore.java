@@ -18,11 +18,17 @@ package org.onosproject.store.cluster.impl;
 import java.util.Dictionary;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
@@ -43,9 +49,12 @@ import org.onosproject.core.Version;
 import org.onosproject.core.VersionService;
 import org.onosproject.event.Change;
 import org.onosproject.store.AbstractStore;
+import org.onosproject.store.service.AsyncLeaderElector;
+import org.onosproject.store.service.DistributedPrimitive;
 import org.onosproject.store.service.DistributedPrimitive.Status;
 import org.onosproject.store.service.CoordinationService;
 import org.onosproject.store.service.LeaderElector;
+import org.onosproject.store.service.StorageException;
 import org.onosproject.upgrade.UpgradeEvent;
 import org.onosproject.upgrade.UpgradeEventListener;
 import org.onosproject.upgrade.UpgradeService;
@@ -69,6 +78,7 @@ public class DistributedLeadershipStore
     implements LeadershipStore {
 
     private static final char VERSION_SEP = '|';
+    private static final int OPERATIONS_PER_TIMEOUT = 100;
 
     private final Logger log = getLogger(getClass());
 
@@ -94,6 +104,7 @@ public class DistributedLeadershipStore
 
     private ExecutorService statusChangeHandler;
     private NodeId localNodeId;
+    private AsyncLeaderElector asyncLeaderElector;
     private LeaderElector leaderElector;
     private final Map<String, Leadership> localLeaderCache = Maps.newConcurrentMap();
     private final UpgradeEventListener upgradeListener = new InternalUpgradeEventListener();
@@ -169,12 +180,12 @@ public class DistributedLeadershipStore
         statusChangeHandler = Executors.newSingleThreadExecutor(
                 groupedThreads("onos/store/dist/cluster/leadership", "status-change-handler", log));
         localNodeId = clusterService.getLocalNode().id();
-        leaderElector = storageService.leaderElectorBuilder()
+        asyncLeaderElector = storageService.leaderElectorBuilder()
                       .withName("onos-leadership-elections")
                       .withElectionTimeout(electionTimeoutMillis)
                       .withRelaxedReadConsistency()
-                      .build()
-                      .asLeaderElector();
+                      .build();
+        leaderElector = asyncLeaderElector.asLeaderElector();
         leaderElector.addChangeListener(leadershipChangeListener);
         leaderElector.addStatusChangeListener(clientStatusListener);
         upgradeService.addListener(upgradeListener);
@@ -199,12 +210,12 @@ public class DistributedLeadershipStore
 
         if (newElectionTimeoutMillis != electionTimeoutMillis) {
             electionTimeoutMillis = newElectionTimeoutMillis;
-            leaderElector = storageService.leaderElectorBuilder()
+            asyncLeaderElector = storageService.leaderElectorBuilder()
                     .withName("onos-leadership-elections")
                     .withElectionTimeout(electionTimeoutMillis)
                     .withRelaxedReadConsistency()
-                    .build()
-                    .asLeaderElector();
+                    .build();
+            leaderElector = asyncLeaderElector.asLeaderElector();
         }
     }
 
@@ -229,6 +240,32 @@ public class DistributedLeadershipStore
         leaderElector.withdraw(getLocalTopic(topic));
     }
 
+    @Override
+    public Map<String, Leadership> addRegistrations(Set<String> topics) {
+        // Issue all elections before waiting on any of them so that they are
+        // pipelined to the partition rather than run one round trip at a time.
+        Map<String, CompletableFuture<Leadership>> futures = Maps.newHashMap();
+        topics.forEach(topic -> futures.put(topic, asyncLeaderElector.run(getLocalTopic(topic), localNodeId)));
+        Map<String, Leadership> elected = complete(futures);
+        if (!versionService.version().equals(upgradeService.getVersion())) {
+            // While upgrading, the contests entered are not the active ones;
+            // read the active leaderships at once rather than topic by topic.
+            return ImmutableMap.copyOf(Maps.filterKeys(getLeaderships(), elected::containsKey));
+        }
+        return ImmutableMap.copyOf(Maps.transformValues(elected, leadership -> new Leadership(
+                parseTopic(leadership.topic()),
+                leadership.leader(),
+                leadership.candidates())));
+    }
+
+    @Override
+    public void removeRegistrations(Set<String> topics) {
+        Map<String, CompletableFuture<Boolean>> futures = Maps.newHashMap();
+        topics.forEach(topic -> futures.put(topic,
+                asyncLeaderElector.withdraw(getLocalTopic(topic)).thenApply(v -> true)));
+        complete(futures);
+    }
+
     @Override
     public void removeRegistration(NodeId nodeId) {
         leaderElector.evict(nodeId);
@@ -239,6 +276,15 @@ public class DistributedLeadershipStore
         return leaderElector.anoint(getTopicFor(topic, toNodeId), toNodeId);
     }
 
+    @Override
+    public Map<String, Boolean> moveLeaderships(Map<String, NodeId> transfers) {
+        Map<String, CompletableFuture<Boolean>> futures = Maps.newHashMap();
+        transfers.forEach((topic, toNodeId) ->
+                futures.put(topic, asyncLeaderElector.anoint(getTopicFor(topic, toNodeId), toNodeId)));
+        Map<String, Boolean> moved = complete(futures);
+        return ImmutableMap.copyOf(Maps.toMap(transfers.keySet(), topic -> moved.getOrDefault(topic, false)));
+    }
+
     @Override
     public boolean makeTopCandidate(String topic, NodeId nodeId) {
         return leaderElector.promote(getTopicFor(topic, nodeId), nodeId);
@@ -262,6 +308,41 @@ public class DistributedLeadershipStore
                         e -> new Leadership(parseTopic(e.getKey()), e.getValue().leader(), e.getValue().candidates())));
     }
 
+    /**
+     * Waits for a batch of leader elector operations, all issued beforehand,
+     * to complete. The batch is given one operation timeout per
+     * {@value #OPERATIONS_PER_TIMEOUT} operations. The operations that fail
+     * or do not complete in time are logged and left out of the results, so
+     * that the outcome of the others is still reported.
+     *
+     * @param futures future of the operation on each topic
+     * @param <T> operation result type
+     * @return results of the operations that completed, by topic
+     */
+    private <T> Map<String, T> complete(Map<String, CompletableFuture<T>> futures) {
+        long batches = (futures.size() + OPERATIONS_PER_TIMEOUT - 1) / OPERATIONS_PER_TIMEOUT;
+        long deadline = System.currentTimeMillis() +
+                Math.max(1, batches) * DistributedPrimitive.DEFAULT_OPERATION_TIMEOUT_MILLIS;
+        Map<String, T> results = Maps.newHashMap();
+        for (Map.Entry<String, CompletableFuture<T>> entry : futures.entrySet()) {
+            try {
+                long remaining = Math.max(0, deadline - System.currentTimeMillis());
+                T result = entry.getValue().get(remaining, TimeUnit.MILLISECONDS);
+                if (result != null) {
+                    results.put(entry.getKey(), result);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new StorageException.Interrupted();
+            } catch (TimeoutException e) {
+                log.warn("Leadership operation on {} timed out", entry.getKey());
+            } catch (ExecutionException e) {
+                log.warn("Leadership operation on {} failed", entry.getKey(), e.getCause());
+            }
+        }
+        return results;
+    }
+
     /**
      * Returns a leader elector topic namespaced with the local node's version.
      *
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.device.impl;
+
+import java.util.Map;
+import java.util.Objects;
+
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.PortStatistics;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Latest port statistics of a device, replicated together with the delta
+ * statistics computed against the previous sample by the instance that
+ * received them.
+ */
+public final class DevicePortStats {
+    private final Map<PortNumber, PortStatistics> stats;
+    private final Map<PortNumber, PortStatistics> deltas;
+
+    /**
+     * Creates the port statistics of a device.
+     *
+     * @param stats  latest port statistics, keyed by port number
+     * @param deltas delta statistics against the previous sample, keyed by port number
+     */
+    public DevicePortStats(Map<PortNumber, PortStatistics> stats,
+                           Map<PortNumber, PortStatistics> deltas) {
+        this.stats = stats;
+        this.deltas = deltas;
+    }
+
+    /**
+     * Returns the latest port statistics.
+     *
+     * @return port statistics keyed by port number
+     */
+    public Map<PortNumber, PortStatistics> stats() {
+        return stats;
+    }
+
+    /**
+     * Returns the delta statistics against the previous sample.
+     *
+     * @return delta statistics keyed by port number
+     */
+    public Map<PortNumber, PortStatistics> deltas() {
+        return deltas;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(stats, deltas);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DevicePortStats)) {
+            return false;
+        }
+        DevicePortStats that = (DevicePortStats) obj;
+        return Objects.equals(this.stats, that.stats) &&
+               Objects.equals(this.deltas, that.deltas);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(getClass())
+                .add("stats", stats)
+                .add("deltas", deltas)
+                .toString();
+    }
+}
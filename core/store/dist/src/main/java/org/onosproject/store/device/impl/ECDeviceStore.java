@@ -108,6 +108,8 @@ public class ECDeviceStore
 
     private final Logger log = getLogger(getClass());
 
+    private static final PortStatistics EMPTY_PORT_STATISTICS = DefaultPortStatistics.builder().build();
+
     private static final String DEVICE_NOT_FOUND = "Device with ID %s not found";
 
     private final Map<DeviceId, Device> devices = Maps.newConcurrentMap();
@@ -116,8 +118,9 @@ public class ECDeviceStore
 
     private EventuallyConsistentMap<DeviceKey, DeviceDescription> deviceDescriptions;
     private EventuallyConsistentMap<PortKey, PortDescription> portDescriptions;
-    private EventuallyConsistentMap<DeviceId, Map<PortNumber, PortStatistics>> devicePortStats;
-    private EventuallyConsistentMap<DeviceId, Map<PortNumber, PortStatistics>> devicePortDeltaStats;
+    // Delta statistics are computed by the instance receiving the statistics
+    // and replicated along with them, so that every instance reports the same.
+    private EventuallyConsistentMap<DeviceId, DevicePortStats> devicePortStats;
 
     private DistributedSet<DeviceId> availableDevices;
 
@@ -144,7 +147,7 @@ public class ECDeviceStore
             new InternalDeviceChangeEventListener();
     private EventuallyConsistentMapListener<PortKey, PortDescription> portUpdateListener =
             new InternalPortChangeEventListener();
-    private final EventuallyConsistentMapListener<DeviceId, Map<PortNumber, PortStatistics>> portStatsListener =
+    private final EventuallyConsistentMapListener<DeviceId, DevicePortStats> portStatsListener =
             new InternalPortStatsListener();
     private final SetEventListener<DeviceId> deviceStatusTracker =
             new InternalDeviceStatusTracker();
@@ -161,7 +164,8 @@ public class ECDeviceStore
             .register(PortKey.class)
             .register(DeviceKey.class)
             .register(PortKey.class)
-            .register(MastershipBasedTimestamp.class);
+            .register(MastershipBasedTimestamp.class)
+            .register(DevicePortStats.class);
 
     @Activate
     public void activate() {
@@ -189,7 +193,7 @@ public class ECDeviceStore
                     }
                 }).build();
 
-        devicePortStats = storageService.<DeviceId, Map<PortNumber, PortStatistics>>eventuallyConsistentMapBuilder()
+        devicePortStats = storageService.<DeviceId, DevicePortStats>eventuallyConsistentMapBuilder()
                 .withName("onos-port-stats")
                 .withSerializer(SERIALIZER_BUILDER)
                 .withAntiEntropyPeriod(5, TimeUnit.SECONDS)
@@ -197,15 +201,6 @@ public class ECDeviceStore
                 .withTombstonesDisabled()
                 .build();
 
-        devicePortDeltaStats = storageService.<DeviceId, Map<PortNumber, PortStatistics>>
-                eventuallyConsistentMapBuilder()
-                .withName("onos-port-stats-delta")
-                .withSerializer(SERIALIZER_BUILDER)
-                .withAntiEntropyPeriod(5, TimeUnit.SECONDS)
-                .withTimestampProvider((k, v) -> new WallClockTimestamp())
-                .withTombstonesDisabled()
-                .build();
-
         availableDevices = storageService.<DeviceId>setBuilder()
                 .withName("onos-online-devices")
                 .withSerializer(Serializer.using(KryoNamespaces.API))
@@ -227,7 +222,6 @@ public class ECDeviceStore
         portDescriptions.removeListener(portUpdateListener);
         availableDevices.removeListener(deviceStatusTracker);
         devicePortStats.destroy();
-        devicePortDeltaStats.destroy();
         deviceDescriptions.destroy();
         portDescriptions.destroy();
         devices.clear();
@@ -355,6 +349,7 @@ public class ECDeviceStore
 
     private DeviceEvent purgeDeviceCache(DeviceId deviceId) {
         Device removedDevice = devices.remove(deviceId);
+        devicePortStats.remove(deviceId);
         if (removedDevice != null) {
             getAllProviders(deviceId).forEach(p -> deviceDescriptions.remove(new DeviceKey(p, deviceId)));
             return new DeviceEvent(DEVICE_REMOVED, removedDevice);
@@ -531,34 +526,40 @@ public class ECDeviceStore
             DeviceId deviceId,
             Collection<PortStatistics> newStatsCollection) {
 
-        Map<PortNumber, PortStatistics> prvStatsMap = devicePortStats.get(deviceId);
-        Map<PortNumber, PortStatistics> newStatsMap = Maps.newHashMap();
-        Map<PortNumber, PortStatistics> deltaStatsMap = Maps.newHashMap();
-
-        if (prvStatsMap != null) {
-            for (PortStatistics newStats : newStatsCollection) {
-                PortNumber port = PortNumber.portNumber(newStats.port());
-                PortStatistics prvStats = prvStatsMap.get(port);
-                DefaultPortStatistics.Builder builder = DefaultPortStatistics.builder();
-                PortStatistics deltaStats = builder.build();
-                if (prvStats != null) {
-                    deltaStats = calcDeltaStats(deviceId, prvStats, newStats);
-                }
-                deltaStatsMap.put(port, deltaStats);
-                newStatsMap.put(port, newStats);
-            }
-        } else {
-            for (PortStatistics newStats : newStatsCollection) {
-                PortNumber port = PortNumber.portNumber(newStats.port());
-                newStatsMap.put(port, newStats);
-            }
+        Map<PortNumber, PortStatistics> newStatsMap = Maps.newHashMapWithExpectedSize(newStatsCollection.size());
+        for (PortStatistics newStats : newStatsCollection) {
+            newStatsMap.put(PortNumber.portNumber(newStats.port()), newStats);
         }
-        devicePortDeltaStats.put(deviceId, deltaStatsMap);
-        devicePortStats.put(deviceId, newStatsMap);
+        DevicePortStats prvPortStats = devicePortStats.get(deviceId);
+        devicePortStats.put(deviceId, new DevicePortStats(newStatsMap,
+                calcDeltaStatsMap(deviceId, prvPortStats, newStatsMap)));
         // DeviceEvent returns null because of InternalPortStatsListener usage
         return null;
     }
 
+    /**
+     * Calculates the delta statistics of a device against its previous sample.
+     *
+     * @param deviceId     device identifier
+     * @param prvPortStats previous port statistics of the device, may be null
+     * @param newStatsMap  new port statistics of the device
+     * @return delta statistics keyed by port number
+     */
+    private Map<PortNumber, PortStatistics> calcDeltaStatsMap(DeviceId deviceId,
+                                                              DevicePortStats prvPortStats,
+                                                              Map<PortNumber, PortStatistics> newStatsMap) {
+        Map<PortNumber, PortStatistics> deltaStatsMap = Maps.newHashMapWithExpectedSize(newStatsMap.size());
+        if (prvPortStats != null) {
+            Map<PortNumber, PortStatistics> prvStatsMap = prvPortStats.stats();
+            newStatsMap.forEach((port, newStats) -> {
+                PortStatistics prvStats = prvStatsMap.get(port);
+                deltaStatsMap.put(port, prvStats != null ?
+                        calcDeltaStats(deviceId, prvStats, newStats) : EMPTY_PORT_STATISTICS);
+            });
+        }
+        return deltaStatsMap;
+    }
+
     /**
      * Calculate delta statistics by subtracting previous from new statistics.
      *
@@ -596,40 +597,38 @@ public class ECDeviceStore
 
     @Override
     public List<PortStatistics> getPortStatistics(DeviceId deviceId) {
-        Map<PortNumber, PortStatistics> portStats = devicePortStats.get(deviceId);
+        DevicePortStats portStats = devicePortStats.get(deviceId);
         if (portStats == null) {
             return Collections.emptyList();
         }
-        return ImmutableList.copyOf(portStats.values());
+        return ImmutableList.copyOf(portStats.stats().values());
     }
 
     @Override
     public PortStatistics getStatisticsForPort(DeviceId deviceId, PortNumber portNumber) {
-        Map<PortNumber, PortStatistics> portStatsMap = devicePortStats.get(deviceId);
-        if (portStatsMap == null) {
+        DevicePortStats portStats = devicePortStats.get(deviceId);
+        if (portStats == null) {
             return null;
         }
-        PortStatistics portStats = portStatsMap.get(portNumber);
-        return portStats;
+        return portStats.stats().get(portNumber);
     }
 
     @Override
     public List<PortStatistics> getPortDeltaStatistics(DeviceId deviceId) {
-        Map<PortNumber, PortStatistics> portStats = devicePortDeltaStats.get(deviceId);
+        DevicePortStats portStats = devicePortStats.get(deviceId);
         if (portStats == null) {
             return Collections.emptyList();
         }
-        return ImmutableList.copyOf(portStats.values());
+        return ImmutableList.copyOf(portStats.deltas().values());
     }
 
     @Override
     public PortStatistics getDeltaStatisticsForPort(DeviceId deviceId, PortNumber portNumber) {
-        Map<PortNumber, PortStatistics> portStatsMap = devicePortDeltaStats.get(deviceId);
-        if (portStatsMap == null) {
+        DevicePortStats portStats = devicePortStats.get(deviceId);
+        if (portStats == null) {
             return null;
         }
-        PortStatistics portStats = portStatsMap.get(portNumber);
-        return portStats;
+        return portStats.deltas().get(portNumber);
     }
 
     @Override
@@ -755,9 +754,9 @@ public class ECDeviceStore
     }
 
     private class InternalPortStatsListener
-        implements EventuallyConsistentMapListener<DeviceId, Map<PortNumber, PortStatistics>> {
+        implements EventuallyConsistentMapListener<DeviceId, DevicePortStats> {
         @Override
-        public void event(EventuallyConsistentMapEvent<DeviceId, Map<PortNumber, PortStatistics>> event) {
+        public void event(EventuallyConsistentMapEvent<DeviceId, DevicePortStats> event) {
             if (event.type() == PUT) {
                 Device device = devices.get(event.key());
                 if (device != null) {
@@ -27,6 +27,7 @@ import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
 import org.onlab.packet.ChassisId;
+import org.onlab.util.AbstractAccumulator;
 import org.onlab.util.KryoNamespace;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
@@ -77,12 +78,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Timer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
@@ -117,6 +120,8 @@ public class GossipDeviceStore
 
     private final Logger log = getLogger(getClass());
 
+    private static final PortStatistics EMPTY_PORT_STATISTICS = DefaultPortStatistics.builder().build();
+
     private static final String DEVICE_NOT_FOUND = "Device with ID %s not found";
     // Timeout in milliseconds to process device or ports on remote master node
     private static final int REMOTE_MASTER_TIMEOUT = 1000;
@@ -130,14 +135,15 @@ public class GossipDeviceStore
     private final ConcurrentMap<DeviceId, Device> devices = Maps.newConcurrentMap();
     private final ConcurrentMap<DeviceId, ConcurrentMap<PortNumber, Port>> devicePorts = Maps.newConcurrentMap();
 
-    private EventuallyConsistentMap<DeviceId, Map<PortNumber, PortStatistics>> devicePortStats;
-    private EventuallyConsistentMap<DeviceId, Map<PortNumber, PortStatistics>> devicePortDeltaStats;
-    private final EventuallyConsistentMapListener<DeviceId, Map<PortNumber, PortStatistics>>
+    // Delta statistics are computed by the instance receiving the statistics
+    // and replicated along with them, so that every instance reports the same.
+    private EventuallyConsistentMap<DeviceId, DevicePortStats> devicePortStats;
+    private final EventuallyConsistentMapListener<DeviceId, DevicePortStats>
             portStatsListener = new InternalPortStatsListener();
 
     // to be updated under Device lock
-    private final Map<DeviceId, Timestamp> offline = Maps.newHashMap();
-    private final Map<DeviceId, Timestamp> removalRequest = Maps.newHashMap();
+    private final Map<DeviceId, Timestamp> offline = Maps.newConcurrentMap();
+    private final Map<DeviceId, Timestamp> removalRequest = Maps.newConcurrentMap();
 
     // available(=UP) devices
     private final Set<DeviceId> availableDevices = Sets.newConcurrentHashSet();
@@ -162,6 +168,14 @@ public class GossipDeviceStore
 
     private static final Timestamp DEFAULT_TIMESTAMP = new MastershipBasedTimestamp(0, 0);
 
+    // port status deltas are gossiped in batches, keeping the latest per port
+    private static final int PORT_STATUS_BATCH_MAX_EVENTS = 1000;
+    private static final int PORT_STATUS_BATCH_MAX_MS = 50;
+    private static final int PORT_STATUS_BATCH_MAX_IDLE_MS = 10;
+    private static final Timer PORT_STATUS_TIMER = new Timer("onos-device-port-status-gossip");
+
+    PortStatusAccumulator portStatusGossip;
+
     protected static final Serializer SERIALIZER = Serializer.using(KryoNamespace.newBuilder()
                     .register(DistributedStoreSerializers.STORE_COMMON)
                     .nextId(DistributedStoreSerializers.STORE_CUSTOM_BEGIN)
@@ -196,9 +210,12 @@ public class GossipDeviceStore
         addSubscriber(DEVICE_REMOVED, this::handleDeviceRemovedEvent);
         addSubscriber(PORT_UPDATE, this::handlePortEvent);
         addSubscriber(PORT_STATUS_UPDATE, this::handlePortStatusEvent);
+        addSubscriber(PORT_STATUS_UPDATE_BATCH, this::handlePortStatusEvents);
         addSubscriber(DEVICE_ADVERTISE, this::handleDeviceAdvertisement);
 
         // start anti-entropy thread
+        portStatusGossip = new PortStatusAccumulator();
+
         backgroundExecutor.scheduleAtFixedRate(new SendAdvertisementTask(),
                                                initialDelaySec, periodSec, TimeUnit.SECONDS);
 
@@ -206,23 +223,16 @@ public class GossipDeviceStore
         KryoNamespace.Builder deviceDataSerializer = KryoNamespace.newBuilder()
                 .register(KryoNamespaces.API)
                 .nextId(KryoNamespaces.BEGIN_USER_CUSTOM_ID)
-                .register(MultiValuedTimestamp.class);
+                .register(MultiValuedTimestamp.class)
+                .register(DevicePortStats.class);
 
-        devicePortStats = storageService.<DeviceId, Map<PortNumber, PortStatistics>>eventuallyConsistentMapBuilder()
+        devicePortStats = storageService.<DeviceId, DevicePortStats>eventuallyConsistentMapBuilder()
                 .withName("port-stats")
                 .withSerializer(deviceDataSerializer)
                 .withAntiEntropyPeriod(5, TimeUnit.SECONDS)
                 .withTimestampProvider((k, v) -> new WallClockTimestamp())
                 .withTombstonesDisabled()
                 .build();
-        devicePortDeltaStats = storageService.<DeviceId, Map<PortNumber, PortStatistics>>
-                eventuallyConsistentMapBuilder()
-                .withName("port-stats-delta")
-                .withSerializer(deviceDataSerializer)
-                .withAntiEntropyPeriod(5, TimeUnit.SECONDS)
-                .withTimestampProvider((k, v) -> new WallClockTimestamp())
-                .withTombstonesDisabled()
-                .build();
         devicePortStats.addListener(portStatsListener);
         log.info("Started");
     }
@@ -235,7 +245,7 @@ public class GossipDeviceStore
     public void deactivate() {
         devicePortStats.removeListener(portStatsListener);
         devicePortStats.destroy();
-        devicePortDeltaStats.destroy();
+        portStatusGossip.flush();
         executor.shutdownNow();
 
         backgroundExecutor.shutdownNow();
@@ -258,6 +268,7 @@ public class GossipDeviceStore
         clusterCommunicator.removeSubscriber(DEVICE_REMOVED);
         clusterCommunicator.removeSubscriber(PORT_UPDATE);
         clusterCommunicator.removeSubscriber(PORT_STATUS_UPDATE);
+        clusterCommunicator.removeSubscriber(PORT_STATUS_UPDATE_BATCH);
         clusterCommunicator.removeSubscriber(DEVICE_ADVERTISE);
         log.info("Stopped");
     }
@@ -289,9 +300,9 @@ public class GossipDeviceStore
     }
 
     @Override
-    public synchronized DeviceEvent createOrUpdateDevice(ProviderId providerId,
-                                                         DeviceId deviceId,
-                                                         DeviceDescription deviceDescription) {
+    public DeviceEvent createOrUpdateDevice(ProviderId providerId,
+                                            DeviceId deviceId,
+                                            DeviceDescription deviceDescription) {
         NodeId localNode = clusterService.getLocalNode().id();
         NodeId deviceNode = mastershipService.getMasterFor(deviceId);
         boolean isMaster = localNode.equals(deviceNode);
@@ -300,22 +311,23 @@ public class GossipDeviceStore
         // otherwise signal the actual master.
         DeviceEvent deviceEvent = null;
 
-        // If this node is the master for the device, acquire a new timestamp. Otherwise,
-        // use a 0,0 or tombstone timestamp to create the device if it doesn't already exist.
-        Timestamp newTimestamp;
-        try {
-            newTimestamp = isMaster
-                    ? deviceClockService.getTimestamp(deviceId)
-                    : removalRequest.getOrDefault(deviceId, DEFAULT_TIMESTAMP);
-        } catch (IllegalStateException e) {
-            newTimestamp = removalRequest.getOrDefault(deviceId, DEFAULT_TIMESTAMP);
-            isMaster = false;
-        }
-        final Timestamped<DeviceDescription> deltaDesc = new Timestamped<>(deviceDescription, newTimestamp);
         final Timestamped<DeviceDescription> mergedDesc;
         final Map<ProviderId, DeviceDescriptions> device = getOrCreateDeviceDescriptionsMap(deviceId);
 
+        // locking per device, so that timestamps are applied in the order acquired
         synchronized (device) {
+            // If this node is the master for the device, acquire a new timestamp. Otherwise,
+            // use a 0,0 or tombstone timestamp to create the device if it doesn't already exist.
+            Timestamp newTimestamp;
+            try {
+                newTimestamp = isMaster
+                        ? deviceClockService.getTimestamp(deviceId)
+                        : removalRequest.getOrDefault(deviceId, DEFAULT_TIMESTAMP);
+            } catch (IllegalStateException e) {
+                newTimestamp = removalRequest.getOrDefault(deviceId, DEFAULT_TIMESTAMP);
+                isMaster = false;
+            }
+            final Timestamped<DeviceDescription> deltaDesc = new Timestamped<>(deviceDescription, newTimestamp);
             deviceEvent = createOrUpdateDeviceInternal(providerId, deviceId, deltaDesc);
             if (deviceEvent == null) {
                 return null;
@@ -550,9 +562,9 @@ public class GossipDeviceStore
     }
 
     @Override
-    public synchronized List<DeviceEvent> updatePorts(ProviderId providerId,
-                                                      DeviceId deviceId,
-                                                      List<PortDescription> portDescriptions) {
+    public List<DeviceEvent> updatePorts(ProviderId providerId,
+                                         DeviceId deviceId,
+                                         List<PortDescription> portDescriptions) {
 
         NodeId localNode = clusterService.getLocalNode().id();
         // TODO: It might be negligible, but this will have negative impact to topology discovery performance,
@@ -567,33 +579,34 @@ public class GossipDeviceStore
         List<DeviceEvent> deviceEvents = null;
         if (localNode.equals(deviceNode)) {
 
-            final Timestamp newTimestamp;
-            try {
-                newTimestamp = deviceClockService.getTimestamp(deviceId);
-            } catch (IllegalStateException e) {
-                log.info("Timestamp was not available for device {}", deviceId);
-                log.debug("  discarding {}", portDescriptions);
-                // Failed to generate timestamp.
+            final Timestamped<List<PortDescription>> merged;
 
-                // Possible situation:
-                //  Device connected and became master for short period of time,
-                // but lost mastership before this instance had the chance to
-                // retrieve term information.
+            final Map<ProviderId, DeviceDescriptions> device = getOrCreateDeviceDescriptionsMap(deviceId);
 
-                // Information dropped here is expected to be recoverable by
-                // device probing after mastership change
+            // locking per device, so that timestamps are applied in the order acquired
+            synchronized (device) {
+                final Timestamp newTimestamp;
+                try {
+                    newTimestamp = deviceClockService.getTimestamp(deviceId);
+                } catch (IllegalStateException e) {
+                    log.info("Timestamp was not available for device {}", deviceId);
+                    log.debug("  discarding {}", portDescriptions);
+                    // Failed to generate timestamp.
 
-                return Collections.emptyList();
-            }
-            log.debug("timestamp for {} {}", deviceId, newTimestamp);
+                    // Possible situation:
+                    //  Device connected and became master for short period of time,
+                    // but lost mastership before this instance had the chance to
+                    // retrieve term information.
 
-            final Timestamped<List<PortDescription>> timestampedInput
-                    = new Timestamped<>(portDescriptions, newTimestamp);
-            final Timestamped<List<PortDescription>> merged;
+                    // Information dropped here is expected to be recoverable by
+                    // device probing after mastership change
 
-            final Map<ProviderId, DeviceDescriptions> device = getOrCreateDeviceDescriptionsMap(deviceId);
+                    return Collections.emptyList();
+                }
+                log.debug("timestamp for {} {}", deviceId, newTimestamp);
 
-            synchronized (device) {
+                final Timestamped<List<PortDescription>> timestampedInput
+                        = new Timestamped<>(portDescriptions, newTimestamp);
                 deviceEvents = updatePortsInternal(providerId, deviceId, timestampedInput);
                 final DeviceDescriptions descs = device.get(providerId);
                 List<PortDescription> mergedList =
@@ -776,25 +789,26 @@ public class GossipDeviceStore
     }
 
     @Override
-    public synchronized DeviceEvent updatePortStatus(ProviderId providerId,
-                                                     DeviceId deviceId,
-                                                     PortDescription portDescription) {
-        final Timestamp newTimestamp;
-        try {
-            newTimestamp = deviceClockService.getTimestamp(deviceId);
-        } catch (IllegalStateException e) {
-            log.info("Timestamp was not available for device {}", deviceId);
-            log.debug("  discarding {}", portDescription);
-            // Failed to generate timestamp. Ignoring.
-            // See updatePorts comment
-            return null;
-        }
-        final Timestamped<PortDescription> deltaDesc
-                = new Timestamped<>(portDescription, newTimestamp);
+    public DeviceEvent updatePortStatus(ProviderId providerId,
+                                        DeviceId deviceId,
+                                        PortDescription portDescription) {
         final DeviceEvent event;
         final Timestamped<PortDescription> mergedDesc;
         final Map<ProviderId, DeviceDescriptions> device = getOrCreateDeviceDescriptionsMap(deviceId);
+        // locking per device, so that timestamps are applied in the order acquired
         synchronized (device) {
+            final Timestamp newTimestamp;
+            try {
+                newTimestamp = deviceClockService.getTimestamp(deviceId);
+            } catch (IllegalStateException e) {
+                log.info("Timestamp was not available for device {}", deviceId);
+                log.debug("  discarding {}", portDescription);
+                // Failed to generate timestamp. Ignoring.
+                // See updatePorts comment
+                return null;
+            }
+            final Timestamped<PortDescription> deltaDesc
+                    = new Timestamped<>(portDescription, newTimestamp);
             event = updatePortStatusInternal(providerId, deviceId, deltaDesc);
             mergedDesc = device.get(providerId)
                     .getPortDesc(portDescription.portNumber());
@@ -802,7 +816,7 @@ public class GossipDeviceStore
         if (event != null) {
             log.debug("Notifying peers of a port status update topology event for providerId: {} and deviceId: {}",
                      providerId, deviceId);
-            notifyPeers(new InternalPortStatusEvent(providerId, deviceId, mergedDesc));
+            portStatusGossip.add(new InternalPortStatusEvent(providerId, deviceId, mergedDesc));
         }
         return event;
     }
@@ -888,34 +902,40 @@ public class GossipDeviceStore
     public DeviceEvent updatePortStatistics(ProviderId providerId, DeviceId deviceId,
                                             Collection<PortStatistics> newStatsCollection) {
 
-        Map<PortNumber, PortStatistics> prvStatsMap = devicePortStats.get(deviceId);
-        Map<PortNumber, PortStatistics> newStatsMap = Maps.newHashMap();
-        Map<PortNumber, PortStatistics> deltaStatsMap = Maps.newHashMap();
-
-        if (prvStatsMap != null) {
-            for (PortStatistics newStats : newStatsCollection) {
-                PortNumber port = PortNumber.portNumber(newStats.port());
-                PortStatistics prvStats = prvStatsMap.get(port);
-                DefaultPortStatistics.Builder builder = DefaultPortStatistics.builder();
-                PortStatistics deltaStats = builder.build();
-                if (prvStats != null) {
-                    deltaStats = calcDeltaStats(deviceId, prvStats, newStats);
-                }
-                deltaStatsMap.put(port, deltaStats);
-                newStatsMap.put(port, newStats);
-            }
-        } else {
-            for (PortStatistics newStats : newStatsCollection) {
-                PortNumber port = PortNumber.portNumber(newStats.port());
-                newStatsMap.put(port, newStats);
-            }
+        Map<PortNumber, PortStatistics> newStatsMap = Maps.newHashMapWithExpectedSize(newStatsCollection.size());
+        for (PortStatistics newStats : newStatsCollection) {
+            newStatsMap.put(PortNumber.portNumber(newStats.port()), newStats);
         }
-        devicePortDeltaStats.put(deviceId, deltaStatsMap);
-        devicePortStats.put(deviceId, newStatsMap);
+        DevicePortStats prvPortStats = devicePortStats.get(deviceId);
+        devicePortStats.put(deviceId, new DevicePortStats(newStatsMap,
+                calcDeltaStatsMap(deviceId, prvPortStats, newStatsMap)));
         // DeviceEvent returns null because of InternalPortStatsListener usage
         return null;
     }
 
+    /**
+     * Calculates the delta statistics of a device against its previous sample.
+     *
+     * @param deviceId     device identifier
+     * @param prvPortStats previous port statistics of the device, may be null
+     * @param newStatsMap  new port statistics of the device
+     * @return delta statistics keyed by port number
+     */
+    private Map<PortNumber, PortStatistics> calcDeltaStatsMap(DeviceId deviceId,
+                                                              DevicePortStats prvPortStats,
+                                                              Map<PortNumber, PortStatistics> newStatsMap) {
+        Map<PortNumber, PortStatistics> deltaStatsMap = Maps.newHashMapWithExpectedSize(newStatsMap.size());
+        if (prvPortStats != null) {
+            Map<PortNumber, PortStatistics> prvStatsMap = prvPortStats.stats();
+            newStatsMap.forEach((port, newStats) -> {
+                PortStatistics prvStats = prvStatsMap.get(port);
+                deltaStatsMap.put(port, prvStats != null ?
+                        calcDeltaStats(deviceId, prvStats, newStats) : EMPTY_PORT_STATISTICS);
+            });
+        }
+        return deltaStatsMap;
+    }
+
     /**
      * Calculate delta statistics by subtracting previous from new statistics.
      *
@@ -953,40 +973,38 @@ public class GossipDeviceStore
 
     @Override
     public List<PortStatistics> getPortStatistics(DeviceId deviceId) {
-        Map<PortNumber, PortStatistics> portStats = devicePortStats.get(deviceId);
+        DevicePortStats portStats = devicePortStats.get(deviceId);
         if (portStats == null) {
             return Collections.emptyList();
         }
-        return ImmutableList.copyOf(portStats.values());
+        return ImmutableList.copyOf(portStats.stats().values());
     }
 
     @Override
     public PortStatistics getStatisticsForPort(DeviceId deviceId, PortNumber portNumber) {
-        Map<PortNumber, PortStatistics> portStatsMap = devicePortStats.get(deviceId);
-        if (portStatsMap == null) {
+        DevicePortStats portStats = devicePortStats.get(deviceId);
+        if (portStats == null) {
             return null;
         }
-        PortStatistics portStats = portStatsMap.get(portNumber);
-        return portStats;
+        return portStats.stats().get(portNumber);
     }
 
     @Override
     public List<PortStatistics> getPortDeltaStatistics(DeviceId deviceId) {
-        Map<PortNumber, PortStatistics> portStats = devicePortDeltaStats.get(deviceId);
+        DevicePortStats portStats = devicePortStats.get(deviceId);
         if (portStats == null) {
             return Collections.emptyList();
         }
-        return ImmutableList.copyOf(portStats.values());
+        return ImmutableList.copyOf(portStats.deltas().values());
     }
 
     @Override
     public PortStatistics getDeltaStatisticsForPort(DeviceId deviceId, PortNumber portNumber) {
-        Map<PortNumber, PortStatistics> portStatsMap = devicePortDeltaStats.get(deviceId);
-        if (portStatsMap == null) {
+        DevicePortStats portStats = devicePortStats.get(deviceId);
+        if (portStats == null) {
             return null;
         }
-        PortStatistics portStats = portStatsMap.get(portNumber);
-        return portStats;
+        return portStats.deltas().get(portNumber);
     }
 
     @Override
@@ -1021,7 +1039,7 @@ public class GossipDeviceStore
     }
 
     @Override
-    public synchronized DeviceEvent removeDevice(DeviceId deviceId) {
+    public DeviceEvent removeDevice(DeviceId deviceId) {
         final NodeId myId = clusterService.getLocalNode().id();
         NodeId master = mastershipService.getMasterFor(deviceId);
 
@@ -1054,10 +1072,16 @@ public class GossipDeviceStore
              */
         }
 
-        // If this node is the master, get a timestamp. Otherwise, default to the current device timestamp.
-        Timestamp timestamp = isMaster ? deviceClockService.getTimestamp(deviceId) : null;
-
-        DeviceEvent event = removeDeviceInternal(deviceId, timestamp);
+        final Timestamp timestamp;
+        final DeviceEvent event;
+        Map<ProviderId, DeviceDescriptions> descs = getOrCreateDeviceDescriptionsMap(deviceId);
+        // taking the timestamp under the device lock, like updates do, so that
+        // an update cannot acquire and apply a newer one in between
+        synchronized (descs) {
+            // If this node is the master, get a timestamp. Otherwise, default to the current device timestamp.
+            timestamp = isMaster ? deviceClockService.getTimestamp(deviceId) : null;
+            event = removeDeviceInternal(deviceId, timestamp);
+        }
 
         // If this node is the master, update peers.
         if (isMaster && event != null) {
@@ -1100,6 +1124,7 @@ public class GossipDeviceStore
             removalRequest.put(deviceId, timestamp);
 
             Device device = devices.remove(deviceId);
+            devicePortStats.remove(deviceId);
             // should DEVICE_REMOVED carry removed ports?
             Map<PortNumber, Port> ports = devicePorts.get(deviceId);
             if (ports != null) {
@@ -1285,6 +1310,10 @@ public class GossipDeviceStore
         broadcastMessage(GossipDeviceStoreMessageSubjects.PORT_STATUS_UPDATE, event);
     }
 
+    private void notifyPeers(List<InternalPortStatusEvent> events) {
+        broadcastMessage(GossipDeviceStoreMessageSubjects.PORT_STATUS_UPDATE_BATCH, events);
+    }
+
     private void notifyPeer(NodeId recipient, InternalDeviceEvent event) {
         try {
             unicastMessage(recipient, DEVICE_UPDATE, event);
@@ -1645,6 +1674,10 @@ public class GossipDeviceStore
         }
     }
 
+    private void handlePortStatusEvents(List<InternalPortStatusEvent> events) {
+        events.forEach(this::handlePortStatusEvent);
+    }
+
     private void handleDeviceAdvertisement(DeviceAntiEntropyAdvertisement advertisement) {
         try {
             handleAdvertisement(advertisement);
@@ -1653,10 +1686,37 @@ public class GossipDeviceStore
         }
     }
 
+    /**
+     * Gossips port status deltas in batches. Changes to the same port within
+     * a batch are coalesced into the latest one.
+     */
+    final class PortStatusAccumulator extends AbstractAccumulator<InternalPortStatusEvent> {
+
+        private PortStatusAccumulator() {
+            super(PORT_STATUS_TIMER, PORT_STATUS_BATCH_MAX_EVENTS,
+                  PORT_STATUS_BATCH_MAX_MS, PORT_STATUS_BATCH_MAX_IDLE_MS);
+        }
+
+        @Override
+        public void processItems(List<InternalPortStatusEvent> items) {
+            Map<PortFragmentId, InternalPortStatusEvent> latest = new LinkedHashMap<>();
+            items.forEach(item -> latest.merge(
+                    new PortFragmentId(item.deviceId(), item.providerId(),
+                                       item.portDescription().value().portNumber()),
+                    item, (existing, update) ->
+                            update.portDescription().isNewer(existing.portDescription()) ? update : existing));
+            if (latest.size() == 1) {
+                notifyPeers(latest.values().iterator().next());
+            } else {
+                notifyPeers(ImmutableList.copyOf(latest.values()));
+            }
+        }
+    }
+
     private class InternalPortStatsListener
-            implements EventuallyConsistentMapListener<DeviceId, Map<PortNumber, PortStatistics>> {
+            implements EventuallyConsistentMapListener<DeviceId, DevicePortStats> {
         @Override
-        public void event(EventuallyConsistentMapEvent<DeviceId, Map<PortNumber, PortStatistics>> event) {
+        public void event(EventuallyConsistentMapEvent<DeviceId, DevicePortStats> event) {
             if (event.type() == PUT) {
                 Device device = devices.get(event.key());
                 if (device != null) {
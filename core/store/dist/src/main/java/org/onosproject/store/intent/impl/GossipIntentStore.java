@@ -16,6 +16,8 @@
 package org.onosproject.store.intent.impl;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.apache.commons.lang.math.RandomUtils;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
@@ -56,10 +58,13 @@ import org.slf4j.Logger;
 
 import java.util.Collection;
 import java.util.Dictionary;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -91,6 +96,9 @@ public class GossipIntentStore
     // Map of intent key => pending intent operation
     private EventuallyConsistentMap<Key, IntentData> pendingMap;
 
+    // Index of intent state => keys of the intents in that state in currentMap
+    private final Map<IntentState, Set<Key>> currentKeysByState = createStateIndex();
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected ComponentConfigService configService;
 
@@ -190,6 +198,8 @@ public class GossipIntentStore
 
         currentMap.addListener(mapCurrentListener);
         pendingMap.addListener(mapPendingListener);
+        // the map may already hold entries bootstrapped from peers or disk
+        currentMap.keySet().forEach(this::updateStateIndex);
 
         log.info("Started");
     }
@@ -276,6 +286,50 @@ public class GossipIntentStore
         return currentMap.values();
     }
 
+    @Override
+    public Iterable<IntentData> getIntentData(boolean localOnly, long olderThan,
+                                              Set<IntentState> states) {
+        long now = System.currentTimeMillis();
+        final WallClockTimestamp time = new WallClockTimestamp(now - olderThan);
+        return states.stream()
+                .flatMap(state -> currentKeysByState.get(state).stream())
+                .distinct()
+                .map(currentMap::get)
+                // the index may briefly lag behind the map, so re-check the state
+                .filter(data -> data != null && states.contains(data.state()))
+                .filter(data -> (!localOnly && olderThan <= 0) ||
+                        (data.version().isOlderThan(time) &&
+                                (!localOnly || isMaster(data.key()))))
+                .collect(Collectors.toList());
+    }
+
+    private static Map<IntentState, Set<Key>> createStateIndex() {
+        Map<IntentState, Set<Key>> index = new EnumMap<>(IntentState.class);
+        for (IntentState state : IntentState.values()) {
+            index.put(state, Sets.newConcurrentHashSet());
+        }
+        return Maps.immutableEnumMap(index);
+    }
+
+    /**
+     * Updates the state index with the current state of the given intent.
+     *
+     * @param key intent key
+     */
+    private void updateStateIndex(Key key) {
+        synchronized (currentKeysByState) {
+            IntentData data = currentMap.get(key);
+            IntentState newState = data != null ? data.state() : null;
+            currentKeysByState.forEach((state, keys) -> {
+                if (state == newState) {
+                    keys.add(key);
+                } else {
+                    keys.remove(key);
+                }
+            });
+        }
+    }
+
     @Override
     public IntentState getIntentState(Key intentKey) {
         IntentData data = currentMap.get(intentKey);
@@ -460,6 +514,7 @@ public class GossipIntentStore
         @Override
         public void event(EventuallyConsistentMapEvent<Key, IntentData> event) {
             IntentData intentData = event.value();
+            updateStateIndex(event.key());
             if (event.type() == EventuallyConsistentMapEvent.Type.PUT) {
                 // The current intents map has been updated. If we are master for
                 // this intent's partition, notify the Manager that it should
@@ -483,6 +538,7 @@ public class GossipIntentStore
                 // some work.
                 if (isMaster(event.value().intent().key())) {
                     if (delegate != null) {
+                        partitionService.recordWork(event.key(), Key::hash);
                         delegate.process(IntentData.copy(event.value()));
                     }
                 }
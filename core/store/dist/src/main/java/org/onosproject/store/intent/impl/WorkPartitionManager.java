@@ -15,6 +15,7 @@
  */
 package org.onosproject.store.intent.impl;
 
+import com.google.common.collect.ImmutableMap;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
@@ -22,6 +23,7 @@ import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
 import org.onosproject.cluster.ClusterService;
+import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.Leadership;
 import org.onosproject.cluster.LeadershipEvent;
 import org.onosproject.cluster.LeadershipEventListener;
@@ -32,17 +34,26 @@ import org.onosproject.event.ListenerRegistry;
 import org.onosproject.net.intent.WorkPartitionEvent;
 import org.onosproject.net.intent.WorkPartitionEventListener;
 import org.onosproject.net.intent.WorkPartitionService;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.onosproject.store.service.EventuallyConsistentMap;
+import org.onosproject.store.service.StorageService;
+import org.onosproject.store.service.WallClockTimestamp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.onlab.util.Tools.groupedThreads;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -65,16 +76,27 @@ public class WorkPartitionManager implements WorkPartitionService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected EventDeliveryService eventDispatcher;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected StorageService storageService;
+
     protected final AtomicBoolean rebalanceScheduled = new AtomicBoolean(false);
 
     static final int NUM_PARTITIONS = 14;
     private static final int BACKOFF_TIME = 2;
     private static final int CHECK_PARTITION_BALANCE_PERIOD_SEC = 10;
     private static final int RETRY_AFTER_DELAY_SEC = 5;
+    // How far above the cluster average the local load may go before
+    // partitions are relinquished on account of load
+    private static final double LOAD_TOLERANCE = 0.2;
 
     private static final String ELECTION_PREFIX = "work-partition-";
 
     protected NodeId localNodeId;
+
+    // Work items handled locally per partition, decayed at every rebalance
+    private final AtomicLongArray partitionLoad = new AtomicLongArray(NUM_PARTITIONS);
+    // Load of the partitions led by each instance, as of its last rebalance
+    private EventuallyConsistentMap<NodeId, Long> nodeLoads;
     private ListenerRegistry<WorkPartitionEvent, WorkPartitionEventListener> listenerRegistry;
     private LeadershipEventListener leaderListener = new InternalLeadershipListener();
 
@@ -84,6 +106,11 @@ public class WorkPartitionManager implements WorkPartitionService {
     @Activate
     public void activate() {
         localNodeId = clusterService.getLocalNode().id();
+        nodeLoads = storageService.<NodeId, Long>eventuallyConsistentMapBuilder()
+                .withName("work-partition-loads")
+                .withSerializer(KryoNamespaces.API)
+                .withTimestampProvider((k, v) -> new WallClockTimestamp())
+                .build();
         leadershipService.addListener(leaderListener);
 
         listenerRegistry = new ListenerRegistry<>();
@@ -105,6 +132,7 @@ public class WorkPartitionManager implements WorkPartitionService {
 
         eventDispatcher.removeSink(WorkPartitionEvent.class);
         leadershipService.removeListener(leaderListener);
+        nodeLoads.destroy();
         log.info("Stopped");
     }
 
@@ -125,12 +153,38 @@ public class WorkPartitionManager implements WorkPartitionService {
 
     @Override
     public <K> boolean isMine(K id, Function<K, Long> hasher) {
-        return Objects.equals(localNodeId, getLeader(id, hasher));
+        return Objects.equals(localNodeId, getLeader(getPartition(id, hasher)));
+    }
+
+    @Override
+    public <K> void recordWork(K id, Function<K, Long> hasher) {
+        partitionLoad.incrementAndGet(getPartition(id, hasher));
+    }
+
+    @Override
+    public Map<NodeId, Long> getWorkLoads() {
+        return ImmutableMap.copyOf(nodeLoads.entrySet());
+    }
+
+    @Override
+    public double getLoadImbalance() {
+        Set<NodeId> activeNodes = getActiveNodes();
+        long maxLoad = activeNodes.stream().mapToLong(this::getNodeLoad).max().orElse(0);
+        double averageLoad = getAverageLoad(activeNodes);
+        return averageLoad > 0 ? maxLoad / averageLoad : 1.0;
     }
 
     @Override
     public <K> NodeId getLeader(K id, Function<K, Long> hasher) {
-        int partition = Math.abs(hasher.apply(id).intValue()) % NUM_PARTITIONS;
+        return getLeader(getPartition(id, hasher));
+    }
+
+    private <K> int getPartition(K id, Function<K, Long> hasher) {
+        // same as abs(hash) % NUM_PARTITIONS, without overflowing on MIN_VALUE
+        return Math.abs(hasher.apply(id).intValue() % NUM_PARTITIONS);
+    }
+
+    private NodeId getLeader(int partition) {
         PartitionId partitionId = new PartitionId(partition);
         return leadershipService.getLeadership(getPartitionPath(partitionId.value())).leaderNodeId();
     }
@@ -157,17 +211,15 @@ public class WorkPartitionManager implements WorkPartitionService {
     }
 
     /**
-     * Determine whether we have more than our fair share of partitions, and if
-     * so, relinquish leadership of some of them for a little while to let
-     * other instances take over.
+     * Determine whether we carry more than our fair share of the work, and if
+     * so, relinquish leadership of some partitions for a little while to let
+     * other instances take over. The load of the local partitions is compared
+     * against the average load of the active instances; the partition count
+     * is used to break ties when the load is even.
      */
     private void rebalance() {
-        int activeNodes = (int) clusterService.getNodes()
-                .stream()
-                .filter(node -> clusterService.getState(node.id()).isActive())
-                .count();
-
-        int myShare = (int) Math.ceil((double) NUM_PARTITIONS / activeNodes);
+        Set<NodeId> activeNodes = getActiveNodes();
+        int myShare = (int) Math.ceil((double) NUM_PARTITIONS / activeNodes.size());
 
         // First make sure this node is a candidate for all partitions.
         IntStream.range(0, NUM_PARTITIONS)
@@ -177,28 +229,102 @@ public class WorkPartitionManager implements WorkPartitionService {
                  .map(Leadership::topic)
                  .forEach(leadershipService::runForLeadership);
 
-        List<String> myPartitions = IntStream.range(0, NUM_PARTITIONS)
-                                             .mapToObj(this::getPartitionPath)
-                                             .map(leadershipService::getLeadership)
-                                             .filter(Objects::nonNull)
-                                             .filter(leadership -> localNodeId.equals(leadership.leaderNodeId()))
-                                             .map(Leadership::topic)
-                                             .collect(Collectors.toList());
-
-        int relinquish = myPartitions.size() - myShare;
-
+        long[] loads = new long[NUM_PARTITIONS];
+        for (int i = 0; i < NUM_PARTITIONS; i++) {
+            // halve the accumulated load so that recent work weighs the most
+            loads[i] = partitionLoad.getAndUpdate(i, load -> load / 2);
+        }
 
-        for (int i = 0; i < relinquish; i++) {
-            String topic = myPartitions.get(i);
+        List<Integer> myPartitions = IntStream.range(0, NUM_PARTITIONS)
+                                              .filter(i -> {
+                                                  Leadership leadership =
+                                                          leadershipService.getLeadership(getPartitionPath(i));
+                                                  return leadership != null &&
+                                                          localNodeId.equals(leadership.leaderNodeId());
+                                              })
+                                              .boxed()
+                                              .collect(Collectors.toList());
+
+        nodeLoads.put(localNodeId, myPartitions.stream().mapToLong(i -> loads[i]).sum());
+        double averageLoad = getAverageLoad(activeNodes);
+
+        List<Integer> relinquish = selectPartitionsToRelinquish(myPartitions, loads, myShare, averageLoad);
+        log.debug("Owning {} of {} partitions (share {}), load {} (average {}), relinquishing {}",
+                  myPartitions.size(), NUM_PARTITIONS, myShare, nodeLoads.get(localNodeId),
+                  averageLoad, relinquish);
+
+        for (int partition : relinquish) {
+            String topic = getPartitionPath(partition);
             // Wait till all active nodes are in contention for partition ownership.
             // This avoids too many relinquish/reclaim cycles.
-            if (leadershipService.getCandidates(topic).size() == activeNodes) {
+            if (leadershipService.getCandidates(topic).size() == activeNodes.size()) {
                 leadershipService.withdraw(topic);
                 executor.schedule(() -> recontest(topic), BACKOFF_TIME, TimeUnit.SECONDS);
             }
         }
     }
 
+    /**
+     * Selects the local partitions to relinquish.
+     * <p>
+     * When the local load exceeds the average load by more than the
+     * tolerance, the busiest partitions are relinquished as long as each of
+     * them fits in the remaining excess, so that the instance taking one over
+     * does not end up busier than this one. Partitions held beyond the fair
+     * share are then relinquished, idlest first.
+     *
+     * @param myPartitions partitions led by this instance
+     * @param loads        recent load of every partition
+     * @param myShare      fair share of partitions per instance
+     * @param averageLoad  average load of the active instances
+     * @return partitions to relinquish
+     */
+    static List<Integer> selectPartitionsToRelinquish(List<Integer> myPartitions, long[] loads,
+                                                      int myShare, double averageLoad) {
+        List<Integer> busiestFirst = myPartitions.stream()
+                .sorted(Comparator.comparingLong((Integer i) -> loads[i]).reversed())
+                .collect(Collectors.toList());
+        long myLoad = busiestFirst.stream().mapToLong(i -> loads[i]).sum();
+
+        List<Integer> relinquish = new ArrayList<>();
+        if (myLoad > averageLoad * (1 + LOAD_TOLERANCE)) {
+            double excess = myLoad - averageLoad;
+            for (int partition : busiestFirst) {
+                if (loads[partition] > 0 && loads[partition] <= excess) {
+                    relinquish.add(partition);
+                    excess -= loads[partition];
+                }
+            }
+        }
+
+        int surplus = myPartitions.size() - relinquish.size() - myShare;
+        for (int i = busiestFirst.size() - 1; i >= 0 && surplus > 0; i--) {
+            int partition = busiestFirst.get(i);
+            if (!relinquish.contains(partition)) {
+                relinquish.add(partition);
+                surplus--;
+            }
+        }
+        return relinquish;
+    }
+
+    private Set<NodeId> getActiveNodes() {
+        return clusterService.getNodes()
+                .stream()
+                .map(ControllerNode::id)
+                .filter(nodeId -> clusterService.getState(nodeId).isActive())
+                .collect(Collectors.toSet());
+    }
+
+    private long getNodeLoad(NodeId nodeId) {
+        Long load = nodeLoads.get(nodeId);
+        return load != null ? load : 0;
+    }
+
+    private double getAverageLoad(Set<NodeId> activeNodes) {
+        return activeNodes.stream().mapToLong(this::getNodeLoad).average().orElse(0);
+    }
+
     private void scheduleRebalance(int afterDelaySec) {
         if (rebalanceScheduled.compareAndSet(false, true)) {
             executor.schedule(this::doRebalance, afterDelaySec, TimeUnit.SECONDS);
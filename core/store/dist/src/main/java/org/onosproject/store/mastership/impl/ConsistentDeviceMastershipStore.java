@@ -23,6 +23,7 @@ import static org.slf4j.LoggerFactory.getLogger;
 import static com.google.common.base.Preconditions.checkArgument;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -36,6 +37,8 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
@@ -227,6 +230,27 @@ public class ConsistentDeviceMastershipStore
         return CompletableFuture.completedFuture(null);
     }
 
+    @Override
+    public CompletableFuture<List<MastershipEvent>> setMasters(Map<DeviceId, NodeId> masters) {
+        // Candidates are promoted topic by topic, but the hand-offs are all
+        // transferred in a single leadership batch.
+        Map<String, NodeId> transfers = Maps.newHashMap();
+        masters.forEach((deviceId, nodeId) -> {
+            checkArgument(nodeId != null, NODE_ID_NULL);
+            checkArgument(deviceId != null, DEVICE_ID_NULL);
+
+            String leadershipTopic = createDeviceMastershipTopic(deviceId);
+            if (leadershipAdminService.promoteToTopOfCandidateList(leadershipTopic, nodeId)) {
+                transfers.put(leadershipTopic, nodeId);
+            }
+        });
+        if (!transfers.isEmpty()) {
+            transferExecutor.schedule(() -> leadershipAdminService.transferLeaderships(transfers),
+                    WAIT_BEFORE_MASTERSHIP_HANDOFF_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return CompletableFuture.completedFuture(ImmutableList.of());
+    }
+
     @Override
     public MastershipTerm getTermFor(DeviceId deviceId) {
         checkArgument(deviceId != null, DEVICE_ID_NULL);
@@ -295,6 +319,34 @@ public class ConsistentDeviceMastershipStore
         return CompletableFuture.completedFuture(new MastershipEvent(eventType, deviceId, getMastership(deviceId)));
     }
 
+    @Override
+    public CompletableFuture<List<MastershipEvent>> relinquishRoles(NodeId nodeId, Set<DeviceId> deviceIds) {
+        checkArgument(nodeId != null, NODE_ID_NULL);
+
+        if (!nodeId.equals(localNodeId)) {
+            return MastershipStore.super.relinquishRoles(nodeId, deviceIds);
+        }
+
+        Map<DeviceId, MastershipEvent.Type> eventTypes = Maps.newHashMap();
+        Set<String> leadershipTopics = Sets.newHashSet();
+        for (DeviceId deviceId : deviceIds) {
+            checkArgument(deviceId != null, DEVICE_ID_NULL);
+
+            String leadershipTopic = createDeviceMastershipTopic(deviceId);
+            Leadership leadership = leadershipService.getLeadership(leadershipTopic);
+            if (leadership == null || !leadership.candidates().contains(localNodeId)) {
+                continue;
+            }
+            eventTypes.put(deviceId, localNodeId.equals(leadership.leaderNodeId()) ?
+                    MastershipEvent.Type.MASTER_CHANGED : MastershipEvent.Type.BACKUPS_CHANGED);
+            leadershipTopics.add(leadershipTopic);
+        }
+        leadershipService.withdrawAll(leadershipTopics);
+        return CompletableFuture.completedFuture(eventTypes.entrySet().stream()
+                .map(entry -> new MastershipEvent(entry.getValue(), entry.getKey(), getMastership(entry.getKey())))
+                .collect(Collectors.toList()));
+    }
+
     @Override
     public void relinquishAllRole(NodeId nodeId) {
         // Noop. LeadershipService already takes care of detecting and purging stale locks.
@@ -25,6 +25,7 @@ import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.util.KryoNamespace;
 import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
@@ -38,6 +39,7 @@ import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.instructions.Instruction;
 import org.onosproject.net.flow.instructions.Instructions;
 import org.onosproject.net.statistic.StatisticStore;
+import org.onosproject.net.statistic.StatisticSummary;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
 import org.onosproject.store.cluster.messaging.MessageSubject;
 import org.onosproject.store.serializers.KryoNamespaces;
@@ -91,6 +93,7 @@ public class DistributedStatisticStore implements StatisticStore {
 
     public static final MessageSubject GET_CURRENT = new MessageSubject("peer-return-current");
     public static final MessageSubject GET_PREVIOUS = new MessageSubject("peer-return-previous");
+    public static final MessageSubject GET_SUMMARY = new MessageSubject("peer-return-summary");
 
     private Map<ConnectPoint, InternalStatisticRepresentation> representations =
             new ConcurrentHashMap<>();
@@ -101,7 +104,13 @@ public class DistributedStatisticStore implements StatisticStore {
     private Map<ConnectPoint, Set<FlowEntry>> current =
             new ConcurrentHashMap<>();
 
-    protected static final Serializer SERIALIZER = Serializer.using(KryoNamespaces.API);
+    private Map<ConnectPoint, StatisticSummary> summaries =
+            new ConcurrentHashMap<>();
+
+    protected static final Serializer SERIALIZER = Serializer.using(KryoNamespace.newBuilder()
+            .register(KryoNamespaces.API)
+            .register(StatisticSummary.class)
+            .build());
 
     private ExecutorService messageHandlingExecutor;
 
@@ -134,12 +143,19 @@ public class DistributedStatisticStore implements StatisticStore {
                 SERIALIZER::encode,
                 messageHandlingExecutor);
 
+        clusterCommunicator.<ConnectPoint, StatisticSummary>addSubscriber(GET_SUMMARY,
+                SERIALIZER::decode,
+                this::getStatisticSummaryInternal,
+                SERIALIZER::encode,
+                messageHandlingExecutor);
+
         log.info("Started");
     }
 
     @Deactivate
     public void deactivate() {
         cfgService.unregisterProperties(getClass(), false);
+        clusterCommunicator.removeSubscriber(GET_SUMMARY);
         clusterCommunicator.removeSubscriber(GET_PREVIOUS);
         clusterCommunicator.removeSubscriber(GET_CURRENT);
         messageHandlingExecutor.shutdown();
@@ -204,7 +220,7 @@ public class DistributedStatisticStore implements StatisticStore {
         if (values != null) {
             values.remove(rule);
         }
-
+        updateSummary(cp);
     }
 
     @Override
@@ -227,7 +243,17 @@ public class DistributedStatisticStore implements StatisticStore {
         }
         previous.put(cp, curr);
         current.put(cp, flowEntries);
+        updateSummary(cp);
+    }
 
+    /**
+     * Recomputes the aggregated statistics of the given connect point so that
+     * load queries can be answered without walking the flow entries.
+     *
+     * @param cp connect point whose published statistics have changed
+     */
+    private synchronized void updateSummary(ConnectPoint cp) {
+        summaries.put(cp, StatisticSummary.of(current.get(cp), previous.get(cp)));
     }
 
     @Override
@@ -285,6 +311,33 @@ public class DistributedStatisticStore implements StatisticStore {
         return previous.get(connectPoint);
     }
 
+    @Override
+    public StatisticSummary getStatisticSummary(ConnectPoint connectPoint) {
+        final DeviceId deviceId = connectPoint.deviceId();
+        NodeId master = mastershipService.getMasterFor(deviceId);
+        if (master == null) {
+            log.warn("No master for {}", deviceId);
+            return StatisticSummary.empty();
+        }
+        if (master.equals(clusterService.getLocalNode().id())) {
+            return getStatisticSummaryInternal(connectPoint);
+        } else {
+            return Tools.futureGetOrElse(clusterCommunicator.sendAndReceive(
+                                        connectPoint,
+                                        GET_SUMMARY,
+                                        SERIALIZER::encode,
+                                        SERIALIZER::decode,
+                                        master),
+                                   STATISTIC_STORE_TIMEOUT_MILLIS,
+                                   TimeUnit.MILLISECONDS,
+                                   StatisticSummary.empty());
+        }
+    }
+
+    private StatisticSummary getStatisticSummaryInternal(ConnectPoint connectPoint) {
+        return summaries.getOrDefault(connectPoint, StatisticSummary.empty());
+    }
+
     private InternalStatisticRepresentation getOrCreateRepresentation(ConnectPoint cp) {
 
         if (representations.containsKey(cp)) {
@@ -32,10 +32,12 @@ import org.onosproject.core.VersionServiceAdapter;
 import org.onosproject.store.cluster.messaging.impl.NettyMessagingManager;
 
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Unit test for DistributedClusterStore.
@@ -125,4 +127,31 @@ public class DistributedClusterStoreTest {
         clusterStore.unsetDelegate(delegate);
         assertThat(clusterStore.hasDelegate(), is(false));
     }
+
+    @Test
+    public void localPauseSuspendsFailureDetection() {
+        DistributedClusterStore store = new DistributedClusterStore();
+        AtomicLong now = new AtomicLong(1000);
+        store.clock = now::get;
+
+        assertFalse(store.isLocallyPaused());
+        now.addAndGet(100);
+        assertFalse(store.isLocallyPaused());
+
+        // heartbeat round delayed by 300 ms beyond its 100 ms interval
+        now.addAndGet(400);
+        assertTrue(store.isLocallyPaused());
+        now.addAndGet(100);
+        assertTrue(store.isLocallyPaused());
+        now.addAndGet(100);
+        assertTrue(store.isLocallyPaused());
+
+        // the grace period lasts as long as the stall
+        now.addAndGet(100);
+        assertFalse(store.isLocallyPaused());
+
+        // a delay up to the threshold does not suspend failure detection
+        now.addAndGet(350);
+        assertFalse(store.isLocallyPaused());
+    }
 }
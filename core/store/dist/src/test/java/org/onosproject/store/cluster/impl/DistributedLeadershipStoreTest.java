@@ -0,0 +1,332 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.cluster.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.IpAddress;
+import org.onosproject.cfg.ComponentConfigAdapter;
+import org.onosproject.cluster.ClusterServiceAdapter;
+import org.onosproject.cluster.ControllerNode;
+import org.onosproject.cluster.DefaultControllerNode;
+import org.onosproject.cluster.Leader;
+import org.onosproject.cluster.Leadership;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.core.Version;
+import org.onosproject.core.VersionServiceAdapter;
+import org.onosproject.event.Change;
+import org.onosproject.store.service.AsyncLeaderElector;
+import org.onosproject.store.service.CoordinationServiceAdapter;
+import org.onosproject.store.service.LeaderElectorBuilder;
+import org.onosproject.upgrade.Upgrade;
+import org.onosproject.upgrade.UpgradeEventListener;
+import org.onosproject.upgrade.UpgradeService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Unit tests for the batch operations of the distributed leadership store.
+ */
+public class DistributedLeadershipStoreTest {
+
+    private static final NodeId NID1 = new NodeId("foo");
+    private static final NodeId NID2 = new NodeId("bar");
+    private static final Version VERSION = Version.version("1.14.0");
+    private static final Version NEXT_VERSION = Version.version("1.15.0");
+
+    private static final String TOPIC1 = "topic1";
+    private static final String TOPIC2 = "topic2";
+
+    private final TestLeaderElector elector = new TestLeaderElector();
+    private Version activeVersion = VERSION;
+    private DistributedLeadershipStore store;
+
+    @Before
+    public void setUp() {
+        store = new DistributedLeadershipStore();
+        store.clusterService = new ClusterServiceAdapter() {
+            @Override
+            public ControllerNode getLocalNode() {
+                return new DefaultControllerNode(NID1, IpAddress.valueOf("127.0.0.1"));
+            }
+
+            @Override
+            public Version getVersion(NodeId nodeId) {
+                return VERSION;
+            }
+        };
+        store.storageService = new CoordinationServiceAdapter() {
+            @Override
+            public LeaderElectorBuilder leaderElectorBuilder() {
+                return new LeaderElectorBuilder() {
+                    @Override
+                    public AsyncLeaderElector build() {
+                        return elector;
+                    }
+                };
+            }
+        };
+        store.configService = new ComponentConfigAdapter();
+        store.versionService = new VersionServiceAdapter() {
+            @Override
+            public Version version() {
+                return VERSION;
+            }
+        };
+        store.upgradeService = new TestUpgradeService();
+        store.activate();
+    }
+
+    @After
+    public void tearDown() {
+        store.deactivate();
+    }
+
+    private static String versioned(String topic, Version version) {
+        return topic + '|' + version;
+    }
+
+    /**
+     * Tests that a batch registration reports the leadership of each topic
+     * from the elections themselves.
+     */
+    @Test
+    public void testAddRegistrations() {
+        Map<String, Leadership> leaderships = store.addRegistrations(ImmutableSet.of(TOPIC1, TOPIC2));
+
+        assertThat(leaderships.keySet(), is(ImmutableSet.of(TOPIC1, TOPIC2)));
+        assertThat(leaderships.get(TOPIC1).topic(), is(TOPIC1));
+        assertThat(leaderships.get(TOPIC1).leaderNodeId(), is(NID1));
+        assertThat(leaderships.get(TOPIC2).leaderNodeId(), is(NID1));
+        assertThat(elector.reads, is(0));
+    }
+
+    /**
+     * Tests that a failed registration is left out of the batch results
+     * without failing the other registrations.
+     */
+    @Test
+    public void testAddRegistrationsPartialFailure() {
+        elector.failing.add(versioned(TOPIC2, VERSION));
+
+        Map<String, Leadership> leaderships = store.addRegistrations(ImmutableSet.of(TOPIC1, TOPIC2));
+
+        assertThat(leaderships.keySet(), is(ImmutableSet.of(TOPIC1)));
+        assertThat(store.getLeadership(TOPIC1).leaderNodeId(), is(NID1));
+    }
+
+    /**
+     * Tests that while upgrading, a batch registration reports the active
+     * leaderships with a single read.
+     */
+    @Test
+    public void testAddRegistrationsDuringUpgrade() {
+        activeVersion = NEXT_VERSION;
+        elector.run(versioned(TOPIC1, NEXT_VERSION), NID2);
+
+        Map<String, Leadership> leaderships = store.addRegistrations(ImmutableSet.of(TOPIC1, TOPIC2));
+
+        assertThat(leaderships.keySet(), is(ImmutableSet.of(TOPIC1)));
+        assertThat(leaderships.get(TOPIC1).leaderNodeId(), is(NID2));
+        assertThat(elector.reads, is(1));
+    }
+
+    /**
+     * Tests withdrawing from several contests at once.
+     */
+    @Test
+    public void testRemoveRegistrations() {
+        store.addRegistrations(ImmutableSet.of(TOPIC1, TOPIC2));
+        elector.failing.add(versioned(TOPIC2, VERSION));
+
+        store.removeRegistrations(ImmutableSet.of(TOPIC1, TOPIC2));
+
+        assertThat(store.getLeadership(TOPIC1).candidates().isEmpty(), is(true));
+        assertThat(store.getLeadership(TOPIC2).leaderNodeId(), is(NID1));
+    }
+
+    /**
+     * Tests transferring the leadership of several topics at once.
+     */
+    @Test
+    public void testMoveLeaderships() {
+        store.addRegistrations(ImmutableSet.of(TOPIC1, TOPIC2));
+        elector.run(versioned(TOPIC1, VERSION), NID2);
+
+        Map<String, Boolean> moved = store.moveLeaderships(ImmutableMap.of(TOPIC1, NID2, TOPIC2, NID2));
+
+        assertThat(moved, is(ImmutableMap.of(TOPIC1, true, TOPIC2, false)));
+        assertThat(store.getLeadership(TOPIC1).leaderNodeId(), is(NID2));
+        assertThat(store.getLeadership(TOPIC2).leaderNodeId(), is(NID1));
+
+        elector.failing.add(versioned(TOPIC1, VERSION));
+        moved = store.moveLeaderships(ImmutableMap.of(TOPIC1, NID1));
+        assertThat(moved, is(ImmutableMap.of(TOPIC1, false)));
+    }
+
+    /**
+     * In-memory leader elector completing every operation immediately.
+     */
+    private static class TestLeaderElector implements AsyncLeaderElector {
+        private final Map<String, Leadership> leaderships = Maps.newConcurrentMap();
+        private final Set<String> failing = Sets.newConcurrentHashSet();
+        private int reads;
+
+        private <T> CompletableFuture<T> result(String topic, T value) {
+            if (failing.contains(topic)) {
+                CompletableFuture<T> future = new CompletableFuture<>();
+                future.completeExceptionally(new IllegalStateException("failed on " + topic));
+                return future;
+            }
+            return CompletableFuture.completedFuture(value);
+        }
+
+        private Leadership update(String topic, List<NodeId> candidates) {
+            Leader leader = candidates.isEmpty() ? null : new Leader(candidates.get(0), 1, 0);
+            Leadership leadership = new Leadership(topic, leader, ImmutableList.copyOf(candidates));
+            leaderships.put(topic, leadership);
+            return leadership;
+        }
+
+        private List<NodeId> candidates(String topic) {
+            Leadership leadership = leaderships.get(topic);
+            return leadership != null ? Lists.newArrayList(leadership.candidates()) : Lists.newArrayList();
+        }
+
+        @Override
+        public String name() {
+            return "test";
+        }
+
+        @Override
+        public CompletableFuture<Leadership> run(String topic, NodeId nodeId) {
+            if (failing.contains(topic)) {
+                return result(topic, null);
+            }
+            List<NodeId> candidates = candidates(topic);
+            if (!candidates.contains(nodeId)) {
+                candidates.add(nodeId);
+            }
+            return result(topic, update(topic, candidates));
+        }
+
+        @Override
+        public CompletableFuture<Void> withdraw(String topic) {
+            if (failing.contains(topic)) {
+                return result(topic, null);
+            }
+            List<NodeId> candidates = candidates(topic);
+            candidates.remove(NID1);
+            update(topic, candidates);
+            return result(topic, null);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> anoint(String topic, NodeId nodeId) {
+            List<NodeId> candidates = candidates(topic);
+            if (failing.contains(topic) || !candidates.remove(nodeId)) {
+                return result(topic, false);
+            }
+            candidates.add(0, nodeId);
+            update(topic, candidates);
+            return result(topic, true);
+        }
+
+        @Override
+        public CompletableFuture<Void> evict(NodeId nodeId) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Boolean> promote(String topic, NodeId nodeId) {
+            return anoint(topic, nodeId);
+        }
+
+        @Override
+        public CompletableFuture<Leadership> getLeadership(String topic) {
+            reads++;
+            return CompletableFuture.completedFuture(leaderships.get(topic));
+        }
+
+        @Override
+        public CompletableFuture<Map<String, Leadership>> getLeaderships() {
+            reads++;
+            return CompletableFuture.completedFuture(ImmutableMap.copyOf(leaderships));
+        }
+
+        @Override
+        public CompletableFuture<Void> addChangeListener(Consumer<Change<Leadership>> consumer) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<Void> removeChangeListener(Consumer<Change<Leadership>> consumer) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Upgrade service reporting the active version chosen by the test.
+     */
+    private class TestUpgradeService implements UpgradeService {
+        @Override
+        public Upgrade getState() {
+            return null;
+        }
+
+        @Override
+        public boolean isUpgrading() {
+            return !activeVersion.equals(VERSION);
+        }
+
+        @Override
+        public Version getVersion() {
+            return activeVersion;
+        }
+
+        @Override
+        public boolean isLocalActive() {
+            return activeVersion.equals(VERSION);
+        }
+
+        @Override
+        public boolean isLocalUpgraded() {
+            return false;
+        }
+
+        @Override
+        public void addListener(UpgradeEventListener listener) {
+        }
+
+        @Override
+        public void removeListener(UpgradeEventListener listener) {
+        }
+    }
+}
@@ -42,6 +42,7 @@ import org.onosproject.net.PortNumber;
 import org.onosproject.net.SparseAnnotations;
 import org.onosproject.net.device.DefaultDeviceDescription;
 import org.onosproject.net.device.DefaultPortDescription;
+import org.onosproject.net.device.DefaultPortStatistics;
 import org.onosproject.net.device.DeviceClockService;
 import org.onosproject.net.device.DeviceClockServiceAdapter;
 import org.onosproject.net.device.DeviceDescription;
@@ -49,18 +50,24 @@ import org.onosproject.net.device.DeviceEvent;
 import org.onosproject.net.device.DeviceStore;
 import org.onosproject.net.device.DeviceStoreDelegate;
 import org.onosproject.net.device.PortDescription;
+import org.onosproject.net.device.PortStatistics;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.store.Timestamp;
 import org.onosproject.store.cluster.StaticClusterService;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
+import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
 import org.onosproject.store.cluster.messaging.ClusterMessage;
 import org.onosproject.store.cluster.messaging.MessageSubject;
 import org.onosproject.store.impl.MastershipBasedTimestamp;
+import org.onosproject.store.impl.Timestamped;
 import org.onosproject.store.service.EventuallyConsistentMap;
 import org.onosproject.store.service.EventuallyConsistentMapBuilder;
 import org.onosproject.store.service.StorageService;
+import org.onosproject.store.service.StorageServiceAdapter;
+import org.onosproject.store.service.TestEventuallyConsistentMap;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -69,6 +76,9 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
@@ -89,6 +99,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.onlab.junit.TestTools.assertAfter;
 import static org.onosproject.cluster.ControllerNode.State.ACTIVE;
 import static org.onosproject.net.DefaultAnnotations.union;
 import static org.onosproject.net.Device.Type.SWITCH;
@@ -222,6 +233,14 @@ public class GossipDeviceStoreTest {
         verify(clusterCommunicator);
     }
 
+    private DeviceEvent updatePortStatus(ProviderId providerId, DeviceId deviceId,
+                                         PortDescription portDescription) {
+        DeviceEvent event = deviceStore.updatePortStatus(providerId, deviceId, portDescription);
+        // port status deltas are gossiped in batches, push this one out now
+        gossipDeviceStore.portStatusGossip.flush();
+        return event;
+    }
+
     private void putDeviceAncillary(DeviceId deviceId, String swVersion,
                                     SparseAnnotations... annotations) {
         DeviceDescription description =
@@ -618,11 +637,12 @@ public class GossipDeviceStoreTest {
         resetCommunicatorExpectingSingleBroadcast(message, subject, encoder);
         final DefaultPortDescription desc = DefaultPortDescription.builder().withPortNumber(P1)
                 .isEnabled(false).build();
-        DeviceEvent event = deviceStore.updatePortStatus(PID, DID1, desc);
+        DeviceEvent event = updatePortStatus(PID, DID1, desc);
         assertEquals(PORT_UPDATED, event.type());
         assertDevice(DID1, SW1, event.subject());
         assertEquals(P1, event.port().number());
         assertFalse("Port is disabled", event.port().isEnabled());
+        assertAfter(500, () -> assertTrue(message.hasCaptured()));
         verify(clusterCommunicator);
         assertInternalPortStatusEvent(NID1, DID1, PID, desc, NO_ANNOTATION, message, subject, encoder);
         assertTrue(message.hasCaptured());
@@ -647,12 +667,13 @@ public class GossipDeviceStoreTest {
         final DefaultPortDescription desc1 = DefaultPortDescription.builder().withPortNumber(P1).isEnabled(false)
                 .annotations(A1_2).build();
 
-        DeviceEvent event = deviceStore.updatePortStatus(PID, DID1, desc1);
+        DeviceEvent event = updatePortStatus(PID, DID1, desc1);
         assertEquals(PORT_UPDATED, event.type());
         assertDevice(DID1, SW1, event.subject());
         assertEquals(P1, event.port().number());
         assertAnnotationsEquals(event.port().annotations(), A1, A1_2);
         assertFalse("Port is disabled", event.port().isEnabled());
+        assertAfter(500, () -> assertTrue(message.hasCaptured()));
         verify(clusterCommunicator);
         assertInternalPortStatusEvent(NID1, DID1, PID, desc1, asList(A1, A1_2), message, subject, encoder);
         assertTrue(message.hasCaptured());
@@ -661,7 +682,7 @@ public class GossipDeviceStoreTest {
         resetCommunicatorExpectingNoBroadcast(message, subject, encoder);
         final DefaultPortDescription desc2 = DefaultPortDescription.builder()
                 .withPortNumber(P1).isEnabled(true).build();
-        DeviceEvent event2 = deviceStore.updatePortStatus(PIDA, DID1, desc2);
+        DeviceEvent event2 = updatePortStatus(PIDA, DID1, desc2);
         assertNull("Ancillary is ignored if primary exists", event2);
         verify(clusterCommunicator);
         assertFalse(message.hasCaptured());
@@ -670,12 +691,13 @@ public class GossipDeviceStoreTest {
         resetCommunicatorExpectingSingleBroadcast(message, subject, encoder);
         final DefaultPortDescription desc3 = DefaultPortDescription.builder().withPortNumber(P1)
                 .isEnabled(true).annotations(A2).build();
-        DeviceEvent event3 = deviceStore.updatePortStatus(PIDA, DID1, desc3);
+        DeviceEvent event3 = updatePortStatus(PIDA, DID1, desc3);
         assertEquals(PORT_UPDATED, event3.type());
         assertDevice(DID1, SW1, event3.subject());
         assertEquals(P1, event3.port().number());
         assertAnnotationsEquals(event3.port().annotations(), A1, A1_2, A2);
         assertFalse("Port is disabled", event3.port().isEnabled());
+        assertAfter(500, () -> assertTrue(message.hasCaptured()));
         verify(clusterCommunicator);
         assertInternalPortStatusEvent(NID1, DID1, PIDA, desc3, asList(A2), message, subject, encoder);
         assertTrue(message.hasCaptured());
@@ -684,7 +706,7 @@ public class GossipDeviceStoreTest {
         resetCommunicatorExpectingSingleBroadcast(message, subject, encoder);
         final DefaultPortDescription desc4 = DefaultPortDescription.builder()
                 .withPortNumber(P2).isEnabled(true).build();
-        DeviceEvent event4 = deviceStore.updatePortStatus(PIDA, DID1, desc4);
+        DeviceEvent event4 = updatePortStatus(PIDA, DID1, desc4);
         assertEquals(PORT_ADDED, event4.type());
         assertDevice(DID1, SW1, event4.subject());
         assertEquals(P2, event4.port().number());
@@ -693,6 +715,7 @@ public class GossipDeviceStoreTest {
                         event4.port().isEnabled());
         verify(clusterCommunicator);
         // TODO: verify broadcast message content
+        assertAfter(500, () -> assertTrue(message.hasCaptured()));
         assertInternalPortStatusEvent(NID1, DID1, PIDA, desc4, NO_ANNOTATION, message, subject, encoder);
         assertTrue(message.hasCaptured());
     }
@@ -847,6 +870,125 @@ public class GossipDeviceStoreTest {
         assertAnnotationsEquals(deviceStore.getPort(DID1, P1).annotations());
     }
 
+    @Test
+    public final void testPortStatusGossipCoalesced() {
+        putDevice(DID1, SW1);
+        deviceStore.updatePorts(PID, DID1, Arrays.asList(
+                DefaultPortDescription.builder().withPortNumber(P1).isEnabled(true).build(),
+                DefaultPortDescription.builder().withPortNumber(P2).isEnabled(true).build()));
+
+        Capture<List<InternalPortStatusEvent>> message = new Capture<>();
+        Capture<MessageSubject> subject = new Capture<>();
+        Capture<Function<List<InternalPortStatusEvent>, byte[]>> encoder = new Capture<>();
+        resetCommunicatorExpectingSingleBroadcast(message, subject, encoder);
+
+        // flapping P1 and a change to P2 go out as one message with the
+        // latest state of each port
+        gossipDeviceStore.portStatusGossip.processItems(asList(
+                portStatusEvent(P1, false, 1),
+                portStatusEvent(P2, false, 2),
+                portStatusEvent(P1, true, 3)));
+
+        verify(clusterCommunicator);
+        assertEquals(GossipDeviceStoreMessageSubjects.PORT_STATUS_UPDATE_BATCH, subject.getValue());
+        List<InternalPortStatusEvent> events = message.getValue();
+        assertEquals(2, events.size());
+        assertEquals(P1, events.get(0).portDescription().value().portNumber());
+        assertTrue(events.get(0).portDescription().value().isEnabled());
+        assertEquals(P2, events.get(1).portDescription().value().portNumber());
+        assertFalse(events.get(1).portDescription().value().isEnabled());
+    }
+
+    private static InternalPortStatusEvent portStatusEvent(PortNumber port, boolean enabled, long sequence) {
+        PortDescription desc = DefaultPortDescription.builder().withPortNumber(port).isEnabled(enabled).build();
+        return new InternalPortStatusEvent(PID, DID1,
+                new Timestamped<>(desc, new MastershipBasedTimestamp(1, sequence)));
+    }
+
+    @Test
+    public final void testConcurrentPortUpdates() throws Exception {
+        putDevice(DID1, SW1);
+        putDevice(DID2, SW1);
+        reset(clusterCommunicator);
+        replay(clusterCommunicator);
+
+        final int numPorts = 32;
+        final int rounds = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> updates = new ArrayList<>();
+            // every port of both devices is updated from several threads at once
+            for (DeviceId did : asList(DID1, DID2)) {
+                for (int t = 0; t < 4; t++) {
+                    updates.add(pool.submit(() -> {
+                        for (int round = 0; round < rounds; round++) {
+                            for (int port = 1; port <= numPorts; port++) {
+                                deviceStore.updatePortStatus(PID, did, DefaultPortDescription.builder()
+                                        .withPortNumber(PortNumber.portNumber(port))
+                                        .isEnabled(round % 2 == 0).build());
+                            }
+                        }
+                    }));
+                }
+            }
+            for (Future<?> update : updates) {
+                update.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        for (DeviceId did : asList(DID1, DID2)) {
+            assertEquals(numPorts, deviceStore.getPorts(did).size());
+            // the composed ports match the latest applied descriptions
+            Map<PortNumber, PortDescription> descs = new HashMap<>();
+            deviceStore.getPortDescriptions(PID, did).forEach(d -> descs.put(d.portNumber(), d));
+            for (Port port : deviceStore.getPorts(did)) {
+                assertEquals(descs.get(port.number()).isEnabled(), port.isEnabled());
+            }
+        }
+    }
+
+    @Test
+    public final void testRemoveDeviceDuringPortUpdates() throws Exception {
+        putDevice(DID1, SW1);
+        deviceStore.updatePorts(PID, DID1, Arrays.asList(
+                DefaultPortDescription.builder().withPortNumber(P1).isEnabled(true).build()));
+        reset(clusterCommunicator);
+        replay(clusterCommunicator);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CountDownLatch updating = new CountDownLatch(1);
+        try {
+            Future<?> updates = pool.submit(() -> {
+                boolean enabled = false;
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        deviceStore.updatePortStatus(PID, DID1, DefaultPortDescription.builder()
+                                .withPortNumber(P1).isEnabled(enabled).build());
+                    } catch (IllegalArgumentException e) {
+                        // device is gone
+                        return;
+                    }
+                    enabled = !enabled;
+                    updating.countDown();
+                }
+            });
+            assertTrue(updating.await(1, TimeUnit.SECONDS));
+
+            // the removal takes its timestamp under the device lock, so a
+            // concurrent port update cannot make it look outdated
+            DeviceEvent event = deviceStore.removeDevice(DID1);
+            assertNotNull(event);
+            assertEquals(DEVICE_REMOVED, event.type());
+            updates.get(1, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertNull(deviceStore.getDevice(DID1));
+        assertEquals(0, deviceStore.getPorts(DID1).size());
+    }
+
     // If Delegates should be called only on remote events,
     // then Simple* should never call them, thus not test required.
     // TODO add test for Port events when we have them
@@ -894,6 +1036,79 @@ public class GossipDeviceStoreTest {
         assertTrue("Remove event fired", removeLatch.await(1, TimeUnit.SECONDS));
     }
 
+    @Test
+    public final void testPortDeltaStatisticsReplicated() {
+        ClusterCommunicationService communicator = new ClusterCommunicationServiceAdapter();
+        PortStatsStorageService localStorage = new PortStatsStorageService();
+        PortStatsStorageService remoteStorage = new PortStatsStorageService();
+        GossipDeviceStore localStore = portStatsStore(communicator, localStorage);
+        GossipDeviceStore remoteStore = portStatsStore(communicator, remoteStorage);
+        try {
+            localStore.createOrUpdateDevice(PID, DID1,
+                    new DefaultDeviceDescription(DID1.uri(), SWITCH, MFR, HW, SW1, SN, CID));
+
+            localStore.updatePortStatistics(PID, DID1, asList(portStatistics(P1, 10, 1), portStatistics(P2, 20, 1)));
+            assertNull(localStore.getDeltaStatisticsForPort(DID1, P1));
+
+            localStore.updatePortStatistics(PID, DID1, asList(portStatistics(P1, 15, 2), portStatistics(P2, 27, 2)));
+            PortStatistics delta = localStore.getDeltaStatisticsForPort(DID1, P1);
+            assertEquals(5, delta.packetsReceived());
+            assertEquals(1, delta.durationSec());
+            assertEquals(7, localStore.getDeltaStatisticsForPort(DID1, P2).packetsReceived());
+
+            // the remote instance only sees the last of the coalesced updates
+            remoteStorage.portStats.put(DID1, localStorage.portStats.get(DID1));
+            assertEquals(localStore.getPortStatistics(DID1), remoteStore.getPortStatistics(DID1));
+            assertEquals(localStore.getPortDeltaStatistics(DID1), remoteStore.getPortDeltaStatistics(DID1));
+            assertEquals(delta, remoteStore.getDeltaStatisticsForPort(DID1, P1));
+
+            localStore.removeDevice(DID1);
+            assertTrue(localStore.getPortStatistics(DID1).isEmpty());
+            assertTrue(localStore.getPortDeltaStatistics(DID1).isEmpty());
+        } finally {
+            localStore.deactivate();
+            remoteStore.deactivate();
+        }
+    }
+
+    private GossipDeviceStore portStatsStore(ClusterCommunicationService communicator,
+                                             StorageService storageService) {
+        TestGossipDeviceStore store = new TestGossipDeviceStore(deviceClockService,
+                                                                new TestClusterService(), communicator);
+        store.mastershipService = new TestMastershipService();
+        store.storageService = storageService;
+        store.activate();
+        return store;
+    }
+
+    private static PortStatistics portStatistics(PortNumber port, long packetsReceived, long durationSec) {
+        return DefaultPortStatistics.builder()
+                .setDeviceId(DID1)
+                .setPort(port)
+                .setPacketsReceived(packetsReceived)
+                .setDurationSec(durationSec)
+                .build();
+    }
+
+    /**
+     * Storage service handing out a port statistics map the test can access.
+     */
+    private static final class PortStatsStorageService extends StorageServiceAdapter {
+        private final EventuallyConsistentMap<DeviceId, DevicePortStats> portStats =
+                TestEventuallyConsistentMap.<DeviceId, DevicePortStats>builder().build();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <K, V> EventuallyConsistentMapBuilder<K, V> eventuallyConsistentMapBuilder() {
+            return new TestEventuallyConsistentMap.Builder<K, V>() {
+                @Override
+                public EventuallyConsistentMap<K, V> build() {
+                    return (EventuallyConsistentMap<K, V>) portStats;
+                }
+            };
+        }
+    }
+
     private final class TestMastershipService extends MastershipServiceAdapter {
         @Override
         public NodeId getMasterFor(DeviceId deviceId) {
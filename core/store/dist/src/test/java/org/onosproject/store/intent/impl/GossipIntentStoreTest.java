@@ -15,6 +15,7 @@
  */
 package org.onosproject.store.intent.impl;
 
+import com.google.common.collect.Iterables;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -29,13 +30,21 @@ import org.onosproject.net.intent.IntentData;
 import org.onosproject.net.intent.IntentState;
 import org.onosproject.net.intent.IntentTestsMocks;
 import org.onosproject.net.intent.WorkPartitionServiceAdapter;
+import org.onosproject.store.service.EventuallyConsistentMap;
+import org.onosproject.store.service.EventuallyConsistentMapBuilder;
+import org.onosproject.store.service.TestEventuallyConsistentMap;
 import org.onosproject.store.service.TestStorageService;
 
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.IntStream;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
@@ -189,6 +198,98 @@ public class GossipIntentStoreTest extends AbstractIntentTest {
         assertThat(queriedAfterWithdrawal, nullValue());
     }
 
+    /**
+     * Tests querying the intent data by intent state.
+     */
+    @Test
+    public void testGetIntentDataByState() {
+        generateIntentList(5).forEach(intentStore::write);
+
+        Intent intent = builder1.priority(100).build();
+        IntentData failed = new IntentData(
+                intent,
+                IntentState.FAILED,
+                new IntentTestsMocks.MockTimestamp(12));
+        intentStore.write(failed);
+
+        // only the failed intent is in the requested states
+        Set<IntentState> states = EnumSet.of(IntentState.FAILED, IntentState.CORRUPT);
+        assertThat(intentStore.getIntentData(true, 10L, states), contains(failed));
+        assertThat(intentStore.getIntentData(false, 0L, states), contains(failed));
+
+        // once the intent is installed, it is no longer returned
+        IntentData installed = new IntentData(
+                intent,
+                IntentState.INSTALLED,
+                new IntentTestsMocks.MockTimestamp(13));
+        intentStore.write(installed);
+        assertThat(intentStore.getIntentData(false, 0L, states), is(emptyIterable()));
+        assertThat(Iterables.size(intentStore.getIntentData(false, 0L, EnumSet.of(IntentState.INSTALLED))),
+                   is(6));
+    }
+
+    /**
+     * Tests that intents already present in the map when the store activates
+     * are returned by state queries.
+     */
+    @Test
+    public void testStateIndexSeededOnActivate() {
+        SharedStorageService storageService = new SharedStorageService();
+        GossipIntentStore peerStore = newStore(storageService);
+        Intent intent = builder1.priority(100).build();
+        IntentData failed = new IntentData(
+                intent,
+                IntentState.FAILED,
+                new IntentTestsMocks.MockTimestamp(12));
+        peerStore.write(failed);
+
+        GossipIntentStore store = newStore(storageService);
+        try {
+            assertThat(store.getIntentData(false, 0L, EnumSet.of(IntentState.FAILED)),
+                       contains(failed));
+        } finally {
+            store.deactivate();
+            peerStore.deactivate();
+        }
+    }
+
+    private GossipIntentStore newStore(TestStorageService storageService) {
+        GossipIntentStore store = new GossipIntentStore();
+        store.storageService = storageService;
+        store.partitionService = new WorkPartitionServiceAdapter();
+        store.clusterService = new ClusterServiceAdapter();
+        store.configService = new MockComponentConfigService();
+        store.activate(null);
+        return store;
+    }
+
+    /**
+     * Storage service handing out the same eventually consistent map for
+     * a given name, as if the stores were running on different nodes.
+     */
+    private static class SharedStorageService extends TestStorageService {
+        private final Map<String, EventuallyConsistentMap<?, ?>> maps = new HashMap<>();
+
+        @Override
+        public <K, V> EventuallyConsistentMapBuilder<K, V> eventuallyConsistentMapBuilder() {
+            return new TestEventuallyConsistentMap.Builder<K, V>() {
+                private String name;
+
+                @Override
+                public EventuallyConsistentMapBuilder<K, V> withName(String name) {
+                    this.name = name;
+                    return super.withName(name);
+                }
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public EventuallyConsistentMap<K, V> build() {
+                    return (EventuallyConsistentMap<K, V>) maps.computeIfAbsent(name, n -> super.build());
+                }
+            };
+        }
+    }
+
     /**
      * Tests the operation of the APIs for the pending map.
      */
@@ -31,6 +31,9 @@ import org.onosproject.cluster.LeadershipServiceAdapter;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.common.event.impl.TestEventDispatcher;
 import org.onosproject.net.intent.Key;
+import org.onosproject.store.service.TestStorageService;
+
+import com.google.common.collect.ImmutableList;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -47,6 +50,7 @@ import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.reset;
 import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -90,6 +94,7 @@ public class WorkPartitionManagerTest {
         partitionManager.localNodeId = MY_NODE_ID;
         partitionManager.leadershipService = leadershipService;
         partitionManager.eventDispatcher = new TestEventDispatcher();
+        partitionManager.storageService = new TestStorageService();
     }
 
     /**
@@ -245,6 +250,69 @@ public class WorkPartitionManagerTest {
         verify(leadershipService);
     }
 
+    /**
+     * Tests that an instance busier than the average relinquishes the busy
+     * partitions that fit in its excess load, even within its fair share.
+     */
+    @Test
+    public void testRelinquishByLoad() {
+        long[] loads = new long[WorkPartitionManager.NUM_PARTITIONS];
+        loads[0] = 40;
+        loads[1] = 30;
+        loads[2] = 20;
+        loads[3] = 10;
+        List<Integer> mine = ImmutableList.of(0, 1, 2, 3, 4, 5, 6);
+
+        // local load is 100, the other instance has none
+        assertEquals(ImmutableList.of(0, 3),
+                     WorkPartitionManager.selectPartitionsToRelinquish(mine, loads, 7, 50));
+
+        // a single hot partition is kept rather than moved to another instance
+        long[] hotLoads = new long[WorkPartitionManager.NUM_PARTITIONS];
+        hotLoads[0] = 100;
+        assertEquals(ImmutableList.of(),
+                     WorkPartitionManager.selectPartitionsToRelinquish(mine, hotLoads, 7, 50));
+    }
+
+    /**
+     * Tests that the partition count breaks the tie when the load is even,
+     * relinquishing the idlest partitions beyond the fair share.
+     */
+    @Test
+    public void testRelinquishByCount() {
+        long[] loads = new long[WorkPartitionManager.NUM_PARTITIONS];
+        loads[13] = 10;
+        List<Integer> mine = ImmutableList.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13);
+
+        assertEquals(ImmutableList.of(12, 11, 10, 9, 8, 7, 6),
+                     WorkPartitionManager.selectPartitionsToRelinquish(mine, loads, 7, 10));
+    }
+
+    /**
+     * Tests that the recorded work is reported as the load of the instance.
+     */
+    @Test
+    public void testWorkLoads() {
+        setUpLeadershipService(WorkPartitionManager.NUM_PARTITIONS / 2);
+        replay(leadershipService);
+
+        partitionManager.activate();
+
+        Key myKey = new ControllableHashKey(0);
+        partitionManager.recordWork(myKey, Key::hash);
+        partitionManager.recordWork(myKey, Key::hash);
+        partitionManager.recordWork(myKey, Key::hash);
+        partitionManager.recordWork(myKey, Key::hash);
+
+        // trigger rebalance, the single busy partition is not worth moving
+        partitionManager.doRebalance();
+
+        verify(leadershipService);
+        assertEquals(Long.valueOf(4), partitionManager.getWorkLoads().get(MY_NODE_ID));
+        // the other active instance has not reported any load
+        assertEquals(2.0, partitionManager.getLoadImbalance(), 0.001);
+    }
+
     /**
      * LeadershipService that allows us to grab a reference to
      * PartitionManager's LeadershipEventListener.
@@ -47,6 +47,7 @@ import org.onosproject.net.flow.instructions.Instruction;
 import org.onosproject.net.flow.instructions.Instructions;
 import org.onosproject.net.intent.IntentTestsMocks;
 import org.onosproject.net.statistic.StatisticStore;
+import org.onosproject.net.statistic.StatisticSummary;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
 import org.osgi.service.component.ComponentContext;
 
@@ -226,4 +227,35 @@ public class DistributedStatisticStoreTest {
         assertThat(store.getCurrentStatistic(cp1), is(empty()));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testStatisticSummary() {
+        cp1 = new ConnectPoint(deviceId, PortNumber.portNumber(0));
+        assertThat(store.getStatisticSummary(cp1).isValid(), is(false));
+
+        FlowEntry flowEntry1 = makeFlowEntry(1);
+        store.prepareForStatistics(flowEntry1);
+        store.addOrUpdateStatistic(flowEntry1);
+
+        StatisticSummary summary = store.getStatisticSummary(cp1);
+        assertThat(summary.currentBytes(), is(1L));
+        assertThat(summary.currentFlowCount(), is(1));
+        assertThat(summary.isValid(), is(false));
+        assertEquals(flowEntry1, summary.highestHitter());
+
+        FlowEntry flowEntry2 = makeFlowEntry(10);
+        store.addOrUpdateStatistic(flowEntry2);
+
+        summary = store.getStatisticSummary(cp1);
+        assertThat(summary.previousBytes(), is(1L));
+        assertThat(summary.currentBytes(), is(11L));
+        assertThat(summary.isValid(), is(true));
+        assertEquals(flowEntry2, summary.highestHitter());
+        assertThat(summary.load().latest(), is(11L));
+
+        store.removeFromStatistics(flowEntry2);
+        summary = store.getStatisticSummary(cp1);
+        assertThat(summary.currentBytes(), is(1L));
+        assertEquals(flowEntry1, summary.highestHitter());
+    }
+
+}
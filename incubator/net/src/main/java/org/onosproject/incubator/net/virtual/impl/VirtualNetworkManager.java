@@ -539,6 +539,9 @@ public class VirtualNetworkManager
 
         @Override
         public void topologyChanged(Set<Set<ConnectPoint>> clusters) {
+            Set<ConnectPoint> clusteredPoints = new HashSet<>();
+            clusters.forEach(clusteredPoints::addAll);
+
             Set<TenantId> tenantIds = getTenantIds();
             tenantIds.forEach(tenantId -> {
                 Set<VirtualNetwork> virtualNetworks = getVirtualNetworks(tenantId);
@@ -547,13 +550,12 @@ public class VirtualNetworkManager
                     Set<VirtualLink> virtualLinks = getVirtualLinks(virtualNetwork.id());
 
                     virtualLinks.forEach(virtualLink -> {
-                        if (isVirtualLinkInCluster(virtualNetwork.id(),
-                                                   virtualLink, clusters)) {
-                            store.updateLink(virtualLink, virtualLink.tunnelId(),
-                                             Link.State.ACTIVE);
-                        } else {
-                            store.updateLink(virtualLink, virtualLink.tunnelId(),
-                                             Link.State.INACTIVE);
+                        Link.State state = isVirtualLinkInCluster(virtualNetwork.id(),
+                                                                  virtualLink, clusteredPoints) ?
+                                Link.State.ACTIVE : Link.State.INACTIVE;
+                        // Only write back the links whose state actually changed
+                        if (virtualLink.state() != state) {
+                            store.updateLink(virtualLink, virtualLink.tunnelId(), state);
                         }
                     });
                 });
@@ -564,33 +566,21 @@ public class VirtualNetworkManager
          * Determines if the virtual link (both source and destination connect point)
          * is in a cluster.
          *
-         * @param networkId   virtual network identifier
-         * @param virtualLink virtual link
-         * @param clusters    topology clusters
+         * @param networkId       virtual network identifier
+         * @param virtualLink     virtual link
+         * @param clusteredPoints connect points of all topology clusters
          * @return true if the virtual link is in a cluster.
          */
         private boolean isVirtualLinkInCluster(NetworkId networkId, VirtualLink virtualLink,
-                                               Set<Set<ConnectPoint>> clusters) {
+                                               Set<ConnectPoint> clusteredPoints) {
             ConnectPoint srcPhysicalCp =
                     mapVirtualToPhysicalPort(networkId, virtualLink.src());
             ConnectPoint dstPhysicalCp =
                     mapVirtualToPhysicalPort(networkId, virtualLink.dst());
 
-            final boolean[] foundSrc = {false};
-            final boolean[] foundDst = {false};
-            clusters.forEach(connectPoints -> {
-                connectPoints.forEach(connectPoint -> {
-                    if (connectPoint.equals(srcPhysicalCp)) {
-                        foundSrc[0] = true;
-                    } else if (connectPoint.equals(dstPhysicalCp)) {
-                        foundDst[0] = true;
-                    }
-                });
-                if (foundSrc[0] && foundDst[0]) {
-                    return;
-                }
-            });
-            return foundSrc[0] && foundDst[0];
+            return srcPhysicalCp != null && dstPhysicalCp != null &&
+                    clusteredPoints.contains(srcPhysicalCp) &&
+                    clusteredPoints.contains(dstPhysicalCp);
         }
 
         @Override
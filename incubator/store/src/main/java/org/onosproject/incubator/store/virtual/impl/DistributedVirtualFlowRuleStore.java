@@ -52,7 +52,6 @@ import org.onosproject.net.flow.BatchOperationEntry;
 import org.onosproject.net.flow.CompletedBatchOperation;
 import org.onosproject.net.flow.DefaultFlowEntry;
 import org.onosproject.net.flow.FlowEntry;
-import org.onosproject.net.flow.FlowId;
 import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.oldbatch.FlowRuleBatchEntry;
 import org.onosproject.net.flow.oldbatch.FlowRuleBatchEvent;
@@ -89,7 +88,6 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -143,7 +141,9 @@ public class DistributedVirtualFlowRuleStore
             label = "Indicates whether or not changes in the flow table should be persisted to disk.")
     private boolean persistenceEnabled = DEFAULT_PERSISTENCE_ENABLED;
 
-    private InternalFlowTable flowTable = new InternalFlowTable();
+    // Flow tables sharded per virtual network and per virtual device
+    private final Map<NetworkId, Map<DeviceId, VirtualDeviceFlowTable>> flowTables =
+            Maps.newConcurrentMap();
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected CoreService coreService;
@@ -175,6 +175,9 @@ public class DistributedVirtualFlowRuleStore
     protected final Serializer serializer = Serializer.using(KryoNamespace.newBuilder()
                                                                      .register(KryoNamespaces.API)
                                                                      .register(NetworkId.class)
+                                                                     .register(VirtualDeviceId.class)
+                                                                     .register(VirtualFlowRule.class)
+                                                                     .register(VirtualFlowEntry.class)
                                                                      .register(VirtualFlowRuleBatchOperation.class)
                                                                      .register(VirtualFlowRuleBatchEvent.class)
                                                                      .build());
@@ -237,15 +240,20 @@ public class DistributedVirtualFlowRuleStore
         Dictionary properties = context.getProperties();
         int newPoolSize;
         int newBackupPeriod;
+        boolean newPersistenceEnabled;
         try {
             String s = get(properties, "msgHandlerPoolSize");
             newPoolSize = isNullOrEmpty(s) ? msgHandlerPoolSize : Integer.parseInt(s.trim());
 
             s = get(properties, "backupPeriod");
             newBackupPeriod = isNullOrEmpty(s) ? backupPeriod : Integer.parseInt(s.trim());
+
+            s = get(properties, "persistenceEnabled");
+            newPersistenceEnabled = isNullOrEmpty(s) ? persistenceEnabled : Boolean.parseBoolean(s.trim());
         } catch (NumberFormatException | ClassCastException e) {
             newPoolSize = MESSAGE_HANDLER_THREAD_POOL_SIZE;
             newBackupPeriod = DEFAULT_BACKUP_PERIOD_MILLIS;
+            newPersistenceEnabled = DEFAULT_PERSISTENCE_ENABLED;
         }
 
         boolean restartBackupTask = false;
@@ -257,6 +265,12 @@ public class DistributedVirtualFlowRuleStore
         if (restartBackupTask) {
             log.warn("Currently, backup tasks are not supported.");
         }
+        if (newPersistenceEnabled != persistenceEnabled) {
+            persistenceEnabled = newPersistenceEnabled;
+            if (persistenceEnabled) {
+                log.warn("Currently, persistence is not supported.");
+            }
+        }
         if (newPoolSize != msgHandlerPoolSize) {
             msgHandlerPoolSize = newPoolSize;
             ExecutorService oldMsgHandler = messageHandlingExecutor;
@@ -275,9 +289,17 @@ public class DistributedVirtualFlowRuleStore
     public int getFlowRuleCount(NetworkId networkId) {
         AtomicInteger sum = new AtomicInteger(0);
         DeviceService deviceService = vnaService.get(networkId, DeviceService.class);
-        deviceService.getDevices()
-                .forEach(device -> sum.addAndGet(
-                        Iterables.size(getFlowEntries(networkId, device.id()))));
+        MastershipService mastershipService =
+                vnaService.get(networkId, MastershipService.class);
+        Map<DeviceId, VirtualDeviceFlowTable> networkFlowTables = getFlowTables(networkId);
+        deviceService.getDevices().forEach(device -> {
+            if (Objects.equals(local, mastershipService.getMasterFor(device.id()))) {
+                VirtualDeviceFlowTable deviceFlowTable = networkFlowTables.get(device.id());
+                sum.addAndGet(deviceFlowTable != null ? deviceFlowTable.count() : 0);
+            } else {
+                sum.addAndGet(Iterables.size(getFlowEntries(networkId, device.id())));
+            }
+        });
         return sum.get();
     }
 
@@ -294,7 +316,7 @@ public class DistributedVirtualFlowRuleStore
         }
 
         if (Objects.equals(local, master)) {
-            return flowTable.getFlowEntry(networkId, rule);
+            return getFlowTable(networkId, rule.deviceId()).getFlowEntry(rule);
         }
 
         log.trace("Forwarding getFlowEntry to {}, which is the primary (master) " +
@@ -325,14 +347,14 @@ public class DistributedVirtualFlowRuleStore
         }
 
         if (Objects.equals(local, master)) {
-            return flowTable.getFlowEntries(networkId, deviceId);
+            return getFlowTable(networkId, deviceId).getFlowEntries();
         }
 
         log.trace("Forwarding getFlowEntries to {}, which is the primary (master) for device {}",
                   master, deviceId);
 
         return Tools.futureGetOrElse(
-                clusterCommunicator.sendAndReceive(deviceId,
+                clusterCommunicator.sendAndReceive(new VirtualDeviceId(networkId, deviceId),
                                                    GET_DEVICE_FLOW_ENTRIES,
                                                    serializer::encode,
                                                    serializer::decode,
@@ -435,7 +457,8 @@ public class DistributedVirtualFlowRuleStore
 
     private FlowRuleEvent addOrUpdateFlowRuleInternal(NetworkId networkId, FlowEntry rule) {
         // check if this new rule is an update to an existing entry
-        StoredFlowEntry stored = flowTable.getFlowEntry(networkId, rule);
+        VirtualDeviceFlowTable deviceFlowTable = getFlowTable(networkId, rule.deviceId());
+        StoredFlowEntry stored = deviceFlowTable.getFlowEntry(rule);
         if (stored != null) {
             //FIXME modification of "stored" flow entry outside of flow table
             stored.setBytes(rule.bytes());
@@ -452,7 +475,7 @@ public class DistributedVirtualFlowRuleStore
 
         // TODO: Confirm if this behavior is correct. See SimpleFlowRuleStore
         // TODO: also update backup if the behavior is correct.
-        flowTable.add(networkId, rule);
+        deviceFlowTable.add(rule);
         return null;
     }
 
@@ -491,7 +514,7 @@ public class DistributedVirtualFlowRuleStore
         MastershipService mastershipService =
                 vnaService.get(networkId, MastershipService.class);
         if (mastershipService.isLocalMaster(rule.deviceId())) {
-            StoredFlowEntry stored = flowTable.getFlowEntry(networkId, rule);
+            StoredFlowEntry stored = getFlowTable(networkId, rule.deviceId()).getFlowEntry(rule);
             if (stored != null &&
                     stored.state() != FlowEntry.FlowEntryState.PENDING_ADD) {
                 stored.setState(FlowEntry.FlowEntryState.PENDING_ADD);
@@ -503,7 +526,7 @@ public class DistributedVirtualFlowRuleStore
 
     @Override
     public void purgeFlowRules(NetworkId networkId) {
-        flowTable.purgeFlowRules(networkId);
+        flowTables.remove(networkId);
     }
 
     @Override
@@ -600,12 +623,15 @@ public class DistributedVirtualFlowRuleStore
                             entry = new DefaultFlowEntry(op.target());
                             // always add requested FlowRule
                             // Note: 2 equal FlowEntry may have different treatment
-                            flowTable.remove(networkId, entry.deviceId(), entry);
-                            flowTable.add(networkId, entry);
+                            VirtualDeviceFlowTable deviceFlowTable =
+                                    getFlowTable(networkId, entry.deviceId());
+                            deviceFlowTable.remove(entry);
+                            deviceFlowTable.add(entry);
 
                             return op;
                         case REMOVE:
-                            entry = flowTable.getFlowEntry(networkId, op.target());
+                            entry = getFlowTable(networkId, op.target().deviceId())
+                                    .getFlowEntry(op.target());
                             if (entry != null) {
                                 //FIXME modification of "stored" flow entry outside of flow table
                                 entry.setState(FlowEntry.FlowEntryState.PENDING_REMOVE);
@@ -627,7 +653,7 @@ public class DistributedVirtualFlowRuleStore
     private FlowRuleEvent removeFlowRuleInternal(VirtualFlowEntry rule) {
         final DeviceId deviceId = rule.flowEntry().deviceId();
         // This is where one could mark a rule as removed and still keep it in the store.
-        final FlowEntry removed = flowTable.remove(rule.networkId(), deviceId, rule.flowEntry());
+        final FlowEntry removed = getFlowTable(rule.networkId(), deviceId).remove(rule.flowEntry());
         // rule may be partial rule that is missing treatment, we should use rule from store instead
         return removed != null ? new FlowRuleEvent(RULE_REMOVED, removed) : null;
     }
@@ -670,7 +696,7 @@ public class DistributedVirtualFlowRuleStore
      * @param rule an encapsulated flow rule to be queried
      */
     private FlowEntry getFlowEntryByNetwork(VirtualFlowRule rule) {
-        return flowTable.getFlowEntry(rule.networkId(), rule.rule());
+        return getFlowTable(rule.networkId(), rule.rule().deviceId()).getFlowEntry(rule.rule());
     }
 
     /**
@@ -680,7 +706,7 @@ public class DistributedVirtualFlowRuleStore
      * @return a set of flow entries
      */
     private Set<FlowEntry> getFlowEntriesByNetwork(VirtualDeviceId deviceId) {
-        return flowTable.getFlowEntries(deviceId.networkId(), deviceId.deviceId());
+        return getFlowTable(deviceId.networkId(), deviceId.deviceId()).getFlowEntries();
     }
 
     /**
@@ -692,142 +718,26 @@ public class DistributedVirtualFlowRuleStore
         batchOperationComplete(event.networkId(), event.event());
     }
 
-    private class InternalFlowTable {
-        //TODO replace the Map<V,V> with ExtendedSet
-        //TODO: support backup mechanism
-        private final Map<NetworkId, Map<DeviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>>
-                flowEntriesMap = Maps.newConcurrentMap();
-        private final Map<NetworkId, Map<DeviceId, Long>> lastUpdateTimesMap = Maps.newConcurrentMap();
-
-        private Map<DeviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>
-        getFlowEntriesByNetwork(NetworkId networkId) {
-            return flowEntriesMap.computeIfAbsent(networkId, k -> Maps.newConcurrentMap());
-        }
-
-        private Map<DeviceId, Long> getLastUpdateTimesByNetwork(NetworkId networkId) {
-            return lastUpdateTimesMap.computeIfAbsent(networkId, k -> Maps.newConcurrentMap());
-        }
-
-        /**
-         * Returns the flow table for specified device.
-         *
-         * @param networkId virtual network identifier
-         * @param deviceId identifier of the device
-         * @return Map representing Flow Table of given device.
-         */
-        private Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>
-        getFlowTable(NetworkId networkId, DeviceId deviceId) {
-            Map<DeviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>
-                    flowEntries = getFlowEntriesByNetwork(networkId);
-            if (persistenceEnabled) {
-                //TODO: support persistent
-                log.warn("Persistent is not supported");
-                return null;
-            } else {
-                return flowEntries.computeIfAbsent(deviceId, id -> Maps.newConcurrentMap());
-            }
-        }
-
-        private Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>
-        getFlowTableCopy(NetworkId networkId, DeviceId deviceId) {
-
-            Map<DeviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>
-                    flowEntries = getFlowEntriesByNetwork(networkId);
-            Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> copy = Maps.newHashMap();
-
-            if (persistenceEnabled) {
-                //TODO: support persistent
-                log.warn("Persistent is not supported");
-                return null;
-            } else {
-                flowEntries.computeIfAbsent(deviceId, id -> Maps.newConcurrentMap()).forEach((k, v) -> {
-                    copy.put(k, Maps.newHashMap(v));
-                });
-                return copy;
-            }
-        }
-
-        private Map<StoredFlowEntry, StoredFlowEntry>
-        getFlowEntriesInternal(NetworkId networkId, DeviceId deviceId, FlowId flowId) {
-
-            return getFlowTable(networkId, deviceId)
-                    .computeIfAbsent(flowId, id -> Maps.newConcurrentMap());
-        }
-
-        private StoredFlowEntry getFlowEntryInternal(NetworkId networkId, FlowRule rule) {
-
-            return getFlowEntriesInternal(networkId, rule.deviceId(), rule.id()).get(rule);
-        }
-
-        private Set<FlowEntry> getFlowEntriesInternal(NetworkId networkId, DeviceId deviceId) {
-
-            return getFlowTable(networkId, deviceId).values().stream()
-                    .flatMap(m -> m.values().stream())
-                    .collect(Collectors.toSet());
-        }
-
-        public StoredFlowEntry getFlowEntry(NetworkId networkId, FlowRule rule) {
-            return getFlowEntryInternal(networkId, rule);
-        }
-
-        public Set<FlowEntry> getFlowEntries(NetworkId networkId, DeviceId deviceId) {
-
-            return getFlowEntriesInternal(networkId, deviceId);
-        }
-
-        public void add(NetworkId networkId, FlowEntry rule) {
-            Map<DeviceId, Long> lastUpdateTimes = getLastUpdateTimesByNetwork(networkId);
-
-            getFlowEntriesInternal(networkId, rule.deviceId(), rule.id())
-                    .compute((StoredFlowEntry) rule, (k, stored) -> {
-                        //TODO compare stored and rule timestamps
-                        //TODO the key is not updated
-                        return (StoredFlowEntry) rule;
-                    });
-            lastUpdateTimes.put(rule.deviceId(), System.currentTimeMillis());
-        }
-
-        public FlowEntry remove(NetworkId networkId, DeviceId deviceId, FlowEntry rule) {
-            final AtomicReference<FlowEntry> removedRule = new AtomicReference<>();
-            Map<DeviceId, Long> lastUpdateTimes = getLastUpdateTimesByNetwork(networkId);
-
-            getFlowEntriesInternal(networkId, rule.deviceId(), rule.id())
-                    .computeIfPresent((StoredFlowEntry) rule, (k, stored) -> {
-                        if (rule instanceof DefaultFlowEntry) {
-                            DefaultFlowEntry toRemove = (DefaultFlowEntry) rule;
-                            if (stored instanceof DefaultFlowEntry) {
-                                DefaultFlowEntry storedEntry = (DefaultFlowEntry) stored;
-                                if (toRemove.created() < storedEntry.created()) {
-                                    log.debug("Trying to remove more recent flow entry {} (stored: {})",
-                                              toRemove, stored);
-                                    // the key is not updated, removedRule remains null
-                                    return stored;
-                                }
-                            }
-                        }
-                        removedRule.set(stored);
-                        return null;
-                    });
-
-            if (removedRule.get() != null) {
-                lastUpdateTimes.put(deviceId, System.currentTimeMillis());
-                return removedRule.get();
-            } else {
-                return null;
-            }
-        }
-
-        public void purgeFlowRule(NetworkId networkId, DeviceId deviceId) {
-            Map<DeviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>
-                    flowEntries = getFlowEntriesByNetwork(networkId);
-            flowEntries.remove(deviceId);
-        }
+    /**
+     * Returns the flow tables of the given virtual network.
+     *
+     * @param networkId virtual network identifier
+     * @return flow tables of the network's devices
+     */
+    private Map<DeviceId, VirtualDeviceFlowTable> getFlowTables(NetworkId networkId) {
+        return flowTables.computeIfAbsent(networkId, id -> Maps.newConcurrentMap());
+    }
 
-        public void purgeFlowRules(NetworkId networkId) {
-            Map<DeviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>
-                    flowEntries = getFlowEntriesByNetwork(networkId);
-            flowEntries.clear();
-        }
+    /**
+     * Returns the flow table of the given virtual device.
+     *
+     * @param networkId virtual network identifier
+     * @param deviceId virtual device identifier
+     * @return flow table of the device
+     */
+    private VirtualDeviceFlowTable getFlowTable(NetworkId networkId, DeviceId deviceId) {
+        return getFlowTables(networkId).computeIfAbsent(
+                deviceId, id -> new VirtualDeviceFlowTable());
     }
 
     private class InternalTableStatsListener
@@ -16,6 +16,10 @@
 package org.onosproject.incubator.store.virtual.impl;
 
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SetMultimap;
 import com.google.common.collect.Sets;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
@@ -50,6 +54,7 @@ import org.onosproject.incubator.net.virtual.VirtualPort;
 import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
+import org.onosproject.net.ElementId;
 import org.onosproject.net.HostId;
 import org.onosproject.net.HostLocation;
 import org.onosproject.net.Link;
@@ -66,6 +71,7 @@ import org.onosproject.store.service.Serializer;
 import org.onosproject.store.service.SetEvent;
 import org.onosproject.store.service.SetEventListener;
 import org.onosproject.store.service.StorageService;
+import org.onosproject.store.service.Versioned;
 import org.onosproject.store.service.WallClockTimestamp;
 import org.slf4j.Logger;
 
@@ -76,6 +82,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
@@ -161,10 +168,20 @@ public class DistributedVirtualNetworkStore
     private ConsistentMap<NetworkId, Set<VirtualLink>> networkIdVirtualLinkSetConsistentMap;
     private Map<NetworkId, Set<VirtualLink>> networkIdVirtualLinkSetMap;
 
+    // Local per network indexes of the virtual link sets
+    private final Map<NetworkId, LinkIndex> linkIndexes = Maps.newConcurrentMap();
+    private final MapEventListener<NetworkId, Set<VirtualLink>> virtualLinkSetMapListener =
+            event -> updateIndex(linkIndexes, event, LinkIndex::new);
+
     // Track virtual ports by network Id
     private ConsistentMap<NetworkId, Set<VirtualPort>> networkIdVirtualPortSetConsistentMap;
     private Map<NetworkId, Set<VirtualPort>> networkIdVirtualPortSetMap;
 
+    // Local per network indexes of the virtual port sets
+    private final Map<NetworkId, PortIndex> portIndexes = Maps.newConcurrentMap();
+    private final MapEventListener<NetworkId, Set<VirtualPort>> virtualPortSetMapListener =
+            event -> updateIndex(portIndexes, event, PortIndex::new);
+
     // Track intent ID to TunnelIds
     private ConsistentMap<Key, Set<TunnelId>> intentKeyTunnelIdSetConsistentMap;
     private Map<Key, Set<TunnelId>> intentKeyTunnelIdSetMap;
@@ -255,6 +272,7 @@ public class DistributedVirtualNetworkStore
                 .withName("onos-networkId-virtuallinks")
                 .withRelaxedReadConsistency()
                 .build();
+        networkIdVirtualLinkSetConsistentMap.addListener(virtualLinkSetMapListener);
         networkIdVirtualLinkSetMap = networkIdVirtualLinkSetConsistentMap.asJavaMap();
 
         networkIdVirtualPortSetConsistentMap = storageService.<NetworkId, Set<VirtualPort>>consistentMapBuilder()
@@ -262,6 +280,7 @@ public class DistributedVirtualNetworkStore
                 .withName("onos-networkId-virtualports")
                 .withRelaxedReadConsistency()
                 .build();
+        networkIdVirtualPortSetConsistentMap.addListener(virtualPortSetMapListener);
         networkIdVirtualPortSetMap = networkIdVirtualPortSetConsistentMap.asJavaMap();
 
         intentKeyTunnelIdSetConsistentMap = storageService.<Key, Set<TunnelId>>consistentMapBuilder()
@@ -282,6 +301,10 @@ public class DistributedVirtualNetworkStore
         tenantIdSet.removeListener(setListener);
         networkIdVirtualNetworkConsistentMap.removeListener(virtualNetworkMapListener);
         deviceIdVirtualDeviceConsistentMap.removeListener(virtualDeviceMapListener);
+        networkIdVirtualLinkSetConsistentMap.removeListener(virtualLinkSetMapListener);
+        networkIdVirtualPortSetConsistentMap.removeListener(virtualPortSetMapListener);
+        portIndexes.clear();
+        linkIndexes.clear();
         log.info("Stopped");
     }
 
@@ -482,14 +505,7 @@ public class DistributedVirtualNetworkStore
      * @return true if the virtual port exists, false otherwise.
      */
     private boolean virtualPortExists(NetworkId networkId, DeviceId deviceId, PortNumber portNumber) {
-        Set<VirtualPort> virtualPortSet = networkIdVirtualPortSetMap.get(networkId);
-        if (virtualPortSet != null) {
-            return virtualPortSet.stream().anyMatch(
-                    p -> p.element().id().equals(deviceId) &&
-                            p.number().equals(portNumber));
-        } else {
-            return false;
-        }
+        return portIndex(networkId).portsByConnectPoint.containsKey(new ConnectPoint(deviceId, portNumber));
     }
 
     @Override
@@ -523,6 +539,7 @@ public class DistributedVirtualNetworkStore
 
         virtualLinkSet.add(virtualLink);
         networkIdVirtualLinkSetMap.put(networkId, virtualLinkSet);
+        refreshLinkIndex(networkId);
         return virtualLink;
     }
 
@@ -533,6 +550,7 @@ public class DistributedVirtualNetworkStore
         if (virtualLinkSet == null) {
             virtualLinkSet = new HashSet<>();
             networkIdVirtualLinkSetMap.put(virtualLink.networkId(), virtualLinkSet);
+            refreshLinkIndex(virtualLink.networkId());
             log.warn("The updated virtual link {} has not been added", virtualLink);
             return;
         }
@@ -551,6 +569,7 @@ public class DistributedVirtualNetworkStore
 
         virtualLinkSet.add(newVirtualLink);
         networkIdVirtualLinkSetMap.put(newVirtualLink.networkId(), virtualLinkSet);
+        refreshLinkIndex(newVirtualLink.networkId());
     }
 
     @Override
@@ -572,6 +591,7 @@ public class DistributedVirtualNetworkStore
                 return new HashSet<>(Sets.difference(existingVirtualLinks, virtualLinkSet));
             }
         });
+        refreshLinkIndex(networkId);
         return virtualLink;
     }
 
@@ -595,6 +615,7 @@ public class DistributedVirtualNetworkStore
                                                          portNumber, realizedBy);
         virtualPortSet.add(virtualPort);
         networkIdVirtualPortSetMap.put(networkId, virtualPortSet);
+        refreshPortIndex(networkId);
         notifyDelegate(new VirtualNetworkEvent(VirtualNetworkEvent.Type.VIRTUAL_PORT_ADDED,
                                                networkId, device, virtualPort));
         return virtualPort;
@@ -621,6 +642,7 @@ public class DistributedVirtualNetworkStore
         vPort = new DefaultVirtualPort(networkId, device, portNumber, realizedBy);
         virtualPortSet.add(vPort);
         networkIdVirtualPortSetMap.put(networkId, virtualPortSet);
+        refreshPortIndex(networkId);
         notifyDelegate(new VirtualNetworkEvent(VirtualNetworkEvent.Type.VIRTUAL_PORT_UPDATED,
                                                networkId, device, vPort));
     }
@@ -651,6 +673,7 @@ public class DistributedVirtualNetworkStore
         virtualPortSet.remove(oldPort);
         virtualPortSet.add(newPort);
         networkIdVirtualPortSetMap.put(networkId, virtualPortSet);
+        refreshPortIndex(networkId);
         notifyDelegate(new VirtualNetworkEvent(VirtualNetworkEvent.Type.VIRTUAL_PORT_UPDATED,
                                                networkId, device, newPort));
         log.debug("port state changed from {} to {}", oldPort.isEnabled(), isEnabled);
@@ -663,17 +686,14 @@ public class DistributedVirtualNetworkStore
         checkNotNull(device, "The device has not been created for deviceId: "
                 + deviceId);
 
-        if (networkIdVirtualPortSetMap.get(networkId) == null) {
+        PortIndex portIndex = portIndex(networkId);
+        if (portIndex.ports.isEmpty()) {
             log.warn("No port has been created for NetworkId: {}", networkId);
             return;
         }
 
-        Set<VirtualPort> virtualPortSet = new HashSet<>();
-        networkIdVirtualPortSetMap.get(networkId).forEach(port -> {
-            if (port.element().id().equals(deviceId) && port.number().equals(portNumber)) {
-                virtualPortSet.add(port);
-            }
-        });
+        ConnectPoint cp = new ConnectPoint(deviceId, portNumber);
+        Set<VirtualPort> virtualPortSet = new HashSet<>(portIndex.portsByConnectPoint.get(cp));
 
         if (!virtualPortSet.isEmpty()) {
             AtomicBoolean portRemoved = new AtomicBoolean(false);
@@ -685,6 +705,7 @@ public class DistributedVirtualNetworkStore
                     return new HashSet<>(Sets.difference(existingVirtualPorts, virtualPortSet));
                 }
             });
+            refreshPortIndex(networkId);
             if (portRemoved.get()) {
                 virtualPortSet.forEach(virtualPort -> notifyDelegate(
                         new VirtualNetworkEvent(VirtualNetworkEvent.Type.VIRTUAL_PORT_REMOVED,
@@ -692,27 +713,25 @@ public class DistributedVirtualNetworkStore
                 ));
 
                 //Remove all the virtual links connected to this virtual port
-                Set<VirtualLink> existingVirtualLinks = networkIdVirtualLinkSetMap.get(networkId);
-                if (existingVirtualLinks != null && !existingVirtualLinks.isEmpty()) {
-                    Set<VirtualLink> virtualLinkSet = new HashSet<>();
-                    ConnectPoint cp = new ConnectPoint(deviceId, portNumber);
-                    existingVirtualLinks.forEach(virtualLink -> {
-                        if (virtualLink.src().equals(cp) || virtualLink.dst().equals(cp)) {
-                            virtualLinkSet.add(virtualLink);
+                LinkIndex linkIndex = linkIndex(networkId);
+                Set<VirtualLink> virtualLinkSet = new HashSet<>(linkIndex.linksBySrc.get(cp));
+                virtualLinkSet.addAll(linkIndex.linksByDst.get(cp));
+                virtualLinkSet.forEach(virtualLink ->
+                        removeLink(networkId, virtualLink.src(), virtualLink.dst()));
+
+                //Remove all the hosts of this network connected to this virtual port
+                Set<HostId> hostIdSet = new HashSet<>();
+                Set<HostId> networkHostIds = networkIdHostIdSetMap.get(networkId);
+                if (networkHostIds != null) {
+                    networkHostIds.forEach(hostId -> {
+                        VirtualHost virtualHost = hostIdVirtualHostMap.get(hostId);
+                        if (virtualHost != null &&
+                                virtualHost.location().deviceId().equals(deviceId) &&
+                                virtualHost.location().port().equals(portNumber)) {
+                            hostIdSet.add(hostId);
                         }
                     });
-                    virtualLinkSet.forEach(virtualLink ->
-                            removeLink(networkId, virtualLink.src(), virtualLink.dst()));
                 }
-
-                //Remove all the hosts connected to this virtual port
-                Set<HostId> hostIdSet = new HashSet<>();
-                hostIdVirtualHostMap.forEach((hostId, virtualHost) -> {
-                    if (virtualHost.location().deviceId().equals(deviceId) &&
-                            virtualHost.location().port().equals(portNumber)) {
-                        hostIdSet.add(hostId);
-                    }
-                });
                 hostIdSet.forEach(hostId -> removeHost(networkId, hostId));
             }
         }
@@ -763,55 +782,27 @@ public class DistributedVirtualNetworkStore
     @Override
     public Set<VirtualLink> getLinks(NetworkId networkId) {
         checkState(networkExists(networkId), "The network has not been added.");
-        Set<VirtualLink> virtualLinkSet = networkIdVirtualLinkSetMap.get(networkId);
-        if (virtualLinkSet == null) {
-            virtualLinkSet = new HashSet<>();
-        }
-        return ImmutableSet.copyOf(virtualLinkSet);
+        return linkIndex(networkId).links;
     }
 
     @Override
     public VirtualLink getLink(NetworkId networkId, ConnectPoint src, ConnectPoint dst) {
-        Set<VirtualLink> virtualLinkSet = networkIdVirtualLinkSetMap.get(networkId);
-        if (virtualLinkSet == null) {
-            return null;
+        LinkIndex linkIndex = linkIndex(networkId);
+        if (src == null) {
+            return dst == null ? null : Iterables.getFirst(linkIndex.linksByDst.get(dst), null);
         }
 
-        VirtualLink virtualLink = null;
-        for (VirtualLink link : virtualLinkSet) {
-            if (src == null && link.dst().equals(dst)) {
-                virtualLink = link;
-                break;
-            } else if (dst == null && link.src().equals(src)) {
-                virtualLink = link;
-                break;
-            } else if (link.src().equals(src) && link.dst().equals(dst)) {
-                virtualLink = link;
-                break;
-            }
-        }
-        return virtualLink;
+        return linkIndex.linksBySrc.get(src).stream()
+                .filter(link -> dst == null || link.dst().equals(dst))
+                .findFirst()
+                .orElse(null);
     }
 
     @Override
     public Set<VirtualPort> getPorts(NetworkId networkId, DeviceId deviceId) {
         checkState(networkExists(networkId), "The network has not been added.");
-        Set<VirtualPort> virtualPortSet = networkIdVirtualPortSetMap.get(networkId);
-        if (virtualPortSet == null) {
-            virtualPortSet = new HashSet<>();
-        }
-
-        if (deviceId == null) {
-            return ImmutableSet.copyOf(virtualPortSet);
-        }
-
-        Set<VirtualPort> portSet = new HashSet<>();
-        virtualPortSet.forEach(virtualPort -> {
-            if (virtualPort.element().id().equals(deviceId)) {
-                portSet.add(virtualPort);
-            }
-        });
-        return ImmutableSet.copyOf(portSet);
+        PortIndex portIndex = portIndex(networkId);
+        return deviceId == null ? portIndex.ports : portIndex.portsByDevice.get(deviceId);
     }
 
     @Override
@@ -851,6 +842,82 @@ public class DistributedVirtualNetworkStore
         }
     }
 
+    /**
+     * Returns the local index of the virtual ports of the given network,
+     * loading it from the distributed map on first use.
+     *
+     * @param networkId network identifier
+     * @return virtual port index
+     */
+    private PortIndex portIndex(NetworkId networkId) {
+        PortIndex portIndex = portIndexes.get(networkId);
+        return portIndex != null ? portIndex : refreshPortIndex(networkId);
+    }
+
+    /**
+     * Reloads the local index of the virtual ports of the given network so
+     * that it reflects the writes made by this instance.
+     *
+     * @param networkId network identifier
+     * @return virtual port index
+     */
+    private PortIndex refreshPortIndex(NetworkId networkId) {
+        return portIndexes.merge(networkId,
+                                 new PortIndex(networkIdVirtualPortSetConsistentMap.get(networkId)),
+                                 DistributedVirtualNetworkStore::newer);
+    }
+
+    /**
+     * Returns the local index of the virtual links of the given network,
+     * loading it from the distributed map on first use.
+     *
+     * @param networkId network identifier
+     * @return virtual link index
+     */
+    private LinkIndex linkIndex(NetworkId networkId) {
+        LinkIndex linkIndex = linkIndexes.get(networkId);
+        return linkIndex != null ? linkIndex : refreshLinkIndex(networkId);
+    }
+
+    /**
+     * Reloads the local index of the virtual links of the given network so
+     * that it reflects the writes made by this instance.
+     *
+     * @param networkId network identifier
+     * @return virtual link index
+     */
+    private LinkIndex refreshLinkIndex(NetworkId networkId) {
+        return linkIndexes.merge(networkId,
+                                 new LinkIndex(networkIdVirtualLinkSetConsistentMap.get(networkId)),
+                                 DistributedVirtualNetworkStore::newer);
+    }
+
+    /**
+     * Applies a change of a per network set to the local index of that
+     * network only. Out of order updates are discarded by their version.
+     *
+     * @param indexes per network indexes
+     * @param event map event for the per network set
+     * @param indexer function building an index from a versioned set
+     * @param <T> type of the set elements
+     * @param <I> type of the index
+     */
+    private static <T, I extends NetworkIndex> void updateIndex(
+            Map<NetworkId, I> indexes, MapEvent<NetworkId, Set<T>> event,
+            Function<Versioned<Set<T>>, I> indexer) {
+        Versioned<Set<T>> newValue = event.newValue();
+        if (event.type() != MapEvent.Type.REMOVE && newValue != null && newValue.value() != null) {
+            indexes.merge(event.key(), indexer.apply(newValue), DistributedVirtualNetworkStore::newer);
+        } else {
+            long version = event.oldValue() != null ? event.oldValue().version() : Long.MAX_VALUE;
+            indexes.computeIfPresent(event.key(), (id, index) -> index.version <= version ? null : index);
+        }
+    }
+
+    private static <I extends NetworkIndex> I newer(I current, I update) {
+        return update.version >= current.version ? update : current;
+    }
+
     /**
      * Listener class to map listener set events to the virtual network events.
      */
@@ -953,4 +1020,62 @@ public class DistributedVirtualNetworkStore
             return false;
         }
     }
+
+    /**
+     * Immutable local view of a replicated per network set, tagged with the
+     * version of the map entry it was built from.
+     */
+    private abstract static class NetworkIndex {
+        final long version;
+
+        NetworkIndex(Versioned<?> versioned) {
+            this.version = versioned == null ? 0 : versioned.version();
+        }
+    }
+
+    /**
+     * Virtual ports of a network indexed by device and by connect point.
+     */
+    private static final class PortIndex extends NetworkIndex {
+        private final Set<VirtualPort> ports;
+        private final SetMultimap<ElementId, VirtualPort> portsByDevice;
+        private final SetMultimap<ConnectPoint, VirtualPort> portsByConnectPoint;
+
+        PortIndex(Versioned<Set<VirtualPort>> versioned) {
+            super(versioned);
+            Set<VirtualPort> virtualPorts = Versioned.valueOrElse(versioned, ImmutableSet.of());
+            ImmutableSetMultimap.Builder<ElementId, VirtualPort> byDevice = ImmutableSetMultimap.builder();
+            ImmutableSetMultimap.Builder<ConnectPoint, VirtualPort> byConnectPoint = ImmutableSetMultimap.builder();
+            virtualPorts.forEach(port -> {
+                byDevice.put(port.element().id(), port);
+                byConnectPoint.put(new ConnectPoint(port.element().id(), port.number()), port);
+            });
+            this.ports = ImmutableSet.copyOf(virtualPorts);
+            this.portsByDevice = byDevice.build();
+            this.portsByConnectPoint = byConnectPoint.build();
+        }
+    }
+
+    /**
+     * Virtual links of a network indexed by source and destination.
+     */
+    private static final class LinkIndex extends NetworkIndex {
+        private final Set<VirtualLink> links;
+        private final SetMultimap<ConnectPoint, VirtualLink> linksBySrc;
+        private final SetMultimap<ConnectPoint, VirtualLink> linksByDst;
+
+        LinkIndex(Versioned<Set<VirtualLink>> versioned) {
+            super(versioned);
+            Set<VirtualLink> virtualLinks = Versioned.valueOrElse(versioned, ImmutableSet.of());
+            ImmutableSetMultimap.Builder<ConnectPoint, VirtualLink> bySrc = ImmutableSetMultimap.builder();
+            ImmutableSetMultimap.Builder<ConnectPoint, VirtualLink> byDst = ImmutableSetMultimap.builder();
+            virtualLinks.forEach(link -> {
+                bySrc.put(link.src(), link);
+                byDst.put(link.dst(), link);
+            });
+            this.links = ImmutableSet.copyOf(virtualLinks);
+            this.linksBySrc = bySrc.build();
+            this.linksByDst = byDst.build();
+        }
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.incubator.store.virtual.impl;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.collect.Maps;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.FlowId;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.StoredFlowEntry;
+import org.slf4j.Logger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Flow table of a single device of a virtual network.
+ * <p>
+ * Flows are spread over a fixed number of buckets by flow identifier, in the
+ * same way as the physical device flow tables, so that concurrent updates of
+ * unrelated flows do not contend and the table size is tracked without
+ * walking the entries.
+ */
+class VirtualDeviceFlowTable {
+
+    private static final int NUM_BUCKETS = 32;
+
+    private final Logger log = getLogger(getClass());
+
+    private final Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>[] flowBuckets;
+    private final AtomicInteger count = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    VirtualDeviceFlowTable() {
+        this.flowBuckets = new Map[NUM_BUCKETS];
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            flowBuckets[i] = Maps.newConcurrentMap();
+        }
+    }
+
+    /**
+     * Counts the flows in the table.
+     *
+     * @return the total number of flows in the table
+     */
+    int count() {
+        return count.get();
+    }
+
+    /**
+     * Returns the flow entry for the given rule.
+     *
+     * @param rule the rule for which to lookup the flow entry
+     * @return the flow entry for the given rule or {@code null}
+     */
+    StoredFlowEntry getFlowEntry(FlowRule rule) {
+        Map<StoredFlowEntry, StoredFlowEntry> flowEntries = getBucket(rule.id()).get(rule.id());
+        return flowEntries != null ? flowEntries.get(rule) : null;
+    }
+
+    /**
+     * Returns the set of flow entries in the table.
+     *
+     * @return the set of flow entries in the table
+     */
+    Set<FlowEntry> getFlowEntries() {
+        return Stream.of(flowBuckets)
+                .flatMap(bucket -> bucket.values().stream())
+                .flatMap(entries -> entries.values().stream())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Adds the given flow rule to the table, replacing any equal entry.
+     *
+     * @param rule the rule to add
+     */
+    void add(FlowEntry rule) {
+        getBucket(rule.id()).compute(rule.id(), (id, flowEntries) -> {
+            Map<StoredFlowEntry, StoredFlowEntry> entries =
+                    flowEntries != null ? flowEntries : Maps.newConcurrentMap();
+            if (entries.put((StoredFlowEntry) rule, (StoredFlowEntry) rule) == null) {
+                count.incrementAndGet();
+            }
+            return entries;
+        });
+    }
+
+    /**
+     * Removes the given flow rule from the table unless the stored entry
+     * is more recent than the rule.
+     *
+     * @param rule the rule to remove
+     * @return the removed flow entry or {@code null} if nothing was removed
+     */
+    FlowEntry remove(FlowEntry rule) {
+        AtomicReference<FlowEntry> removedRule = new AtomicReference<>();
+        getBucket(rule.id()).computeIfPresent(rule.id(), (id, flowEntries) -> {
+            flowEntries.computeIfPresent((StoredFlowEntry) rule, (k, stored) -> {
+                if (rule instanceof DefaultFlowEntry && stored instanceof DefaultFlowEntry &&
+                        ((DefaultFlowEntry) rule).created() < ((DefaultFlowEntry) stored).created()) {
+                    log.debug("Trying to remove more recent flow entry {} (stored: {})", rule, stored);
+                    return stored;
+                }
+                removedRule.set(stored);
+                return null;
+            });
+            return flowEntries.isEmpty() ? null : flowEntries;
+        });
+
+        if (removedRule.get() != null) {
+            count.decrementAndGet();
+        }
+        return removedRule.get();
+    }
+
+    /**
+     * Returns the bucket for the given flow identifier.
+     *
+     * @param flowId the flow identifier
+     * @return the bucket for the given flow identifier
+     */
+    private Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> getBucket(FlowId flowId) {
+        return flowBuckets[Math.abs((int) (flowId.id() % NUM_BUCKETS))];
+    }
+}
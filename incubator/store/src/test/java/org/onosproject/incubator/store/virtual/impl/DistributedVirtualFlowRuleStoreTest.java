@@ -0,0 +1,245 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.incubator.store.virtual.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.cfg.ComponentConfigAdapter;
+import org.onosproject.cluster.ClusterServiceAdapter;
+import org.onosproject.cluster.ControllerNode;
+import org.onosproject.cluster.DefaultControllerNode;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.core.CoreServiceAdapter;
+import org.onosproject.core.IdGenerator;
+import org.onosproject.incubator.net.virtual.NetworkId;
+import org.onosproject.incubator.net.virtual.TenantId;
+import org.onosproject.incubator.net.virtual.VirtualNetwork;
+import org.onosproject.incubator.net.virtual.VirtualNetworkServiceAdapter;
+import org.onosproject.mastership.MastershipService;
+import org.onosproject.mastership.MastershipServiceAdapter;
+import org.onosproject.net.Device;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.device.DeviceService;
+import org.onosproject.net.device.DeviceServiceAdapter;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
+import org.onosproject.store.cluster.messaging.MessageSubject;
+import org.onosproject.store.service.TestStorageService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.onosproject.net.NetTestTools.APP_ID;
+import static org.onosproject.net.NetTestTools.device;
+import static org.onosproject.net.NetTestTools.emptySelector;
+import static org.onosproject.net.NetTestTools.emptyTreatment;
+
+/**
+ * Tests the distributed virtual flow rule store.
+ */
+public class DistributedVirtualFlowRuleStoreTest {
+
+    private static final NetworkId VNID1 = NetworkId.networkId(1);
+    private static final Device VDEV1 = device("vdev1");
+    private static final NodeId LOCAL = new NodeId("local");
+    private static final NodeId REMOTE = new NodeId("remote");
+
+    private DistributedVirtualFlowRuleStore store;
+    private TestClusterCommunicationService clusterCommunicator;
+    private TestMastershipService mastershipService;
+
+    @Before
+    public void setUp() {
+        clusterCommunicator = new TestClusterCommunicationService();
+        mastershipService = new TestMastershipService();
+
+        store = new DistributedVirtualFlowRuleStore();
+        store.coreService = new TestCoreService();
+        store.clusterService = new TestClusterService();
+        store.clusterCommunicator = clusterCommunicator;
+        store.configService = new ComponentConfigAdapter();
+        store.storageService = new TestStorageService();
+        store.vnaService = new TestVirtualNetworkService();
+        store.activate(null);
+    }
+
+    @After
+    public void tearDown() {
+        store.deactivate(null);
+    }
+
+    private static FlowEntry entry(int priority) {
+        return new DefaultFlowEntry(DefaultFlowRule.builder()
+                                            .forDevice(VDEV1.id())
+                                            .withSelector(emptySelector())
+                                            .withTreatment(emptyTreatment())
+                                            .withPriority(priority)
+                                            .fromApp(APP_ID)
+                                            .makePermanent()
+                                            .build());
+    }
+
+    /**
+     * Tests counting the flows of a locally mastered device.
+     */
+    @Test
+    public void testLocalFlowRuleCount() {
+        mastershipService.master = LOCAL;
+        store.addOrUpdateFlowRule(VNID1, entry(1));
+        store.addOrUpdateFlowRule(VNID1, entry(2));
+        store.addOrUpdateFlowRule(VNID1, entry(2));
+
+        assertEquals(2, store.getFlowRuleCount(VNID1));
+        assertEquals(ImmutableList.of(), clusterCommunicator.destinations);
+
+        store.removeFlowRule(VNID1, entry(1));
+        assertEquals(1, store.getFlowRuleCount(VNID1));
+
+        store.purgeFlowRules(VNID1);
+        assertEquals(0, store.getFlowRuleCount(VNID1));
+    }
+
+    /**
+     * Tests fetching the flows of a device mastered by another instance.
+     */
+    @Test
+    public void testRemoteFlowEntries() {
+        mastershipService.master = LOCAL;
+        FlowEntry entry1 = entry(1);
+        FlowEntry entry2 = entry(2);
+        store.addOrUpdateFlowRule(VNID1, entry1);
+        store.addOrUpdateFlowRule(VNID1, entry2);
+
+        // the request loops back to this store, now seen as the remote master
+        mastershipService.master = REMOTE;
+        assertEquals(ImmutableSet.of(entry1, entry2),
+                     ImmutableSet.copyOf(store.getFlowEntries(VNID1, VDEV1.id())));
+        assertEquals(2, store.getFlowRuleCount(VNID1));
+        assertEquals(ImmutableList.of(REMOTE, REMOTE), clusterCommunicator.destinations);
+    }
+
+    /**
+     * Cluster communicator delivering requests to the local subscribers.
+     */
+    private static class TestClusterCommunicationService extends ClusterCommunicationServiceAdapter {
+        private final Map<MessageSubject, Function<byte[], byte[]>> handlers = Maps.newConcurrentMap();
+        private final List<NodeId> destinations = Lists.newArrayList();
+
+        @Override
+        public <M, R> void addSubscriber(MessageSubject subject,
+                                         Function<byte[], M> decoder, Function<M, R> handler,
+                                         Function<R, byte[]> encoder, Executor executor) {
+            handlers.put(subject, bytes -> encoder.apply(handler.apply(decoder.apply(bytes))));
+        }
+
+        @Override
+        public void removeSubscriber(MessageSubject subject) {
+            handlers.remove(subject);
+        }
+
+        @Override
+        public <M, R> CompletableFuture<R> sendAndReceive(M message,
+                                                          MessageSubject subject, Function<M, byte[]> encoder,
+                                                          Function<byte[], R> decoder, NodeId toNodeId) {
+            destinations.add(toNodeId);
+            CompletableFuture<R> future = new CompletableFuture<>();
+            try {
+                future.complete(decoder.apply(handlers.get(subject).apply(encoder.apply(message))));
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+    }
+
+    private static class TestMastershipService extends MastershipServiceAdapter {
+        private NodeId master;
+
+        @Override
+        public NodeId getMasterFor(DeviceId deviceId) {
+            return master;
+        }
+
+        @Override
+        public boolean isLocalMaster(DeviceId deviceId) {
+            return LOCAL.equals(master);
+        }
+    }
+
+    private class TestVirtualNetworkService extends VirtualNetworkServiceAdapter {
+        private final DeviceService deviceService = new DeviceServiceAdapter() {
+            @Override
+            public Iterable<Device> getDevices() {
+                return ImmutableList.of(VDEV1);
+            }
+        };
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(NetworkId networkId, Class<T> serviceClass) {
+            if (serviceClass.equals(MastershipService.class)) {
+                return (T) mastershipService;
+            } else if (serviceClass.equals(DeviceService.class)) {
+                return (T) deviceService;
+            }
+            return null;
+        }
+
+        @Override
+        public VirtualNetwork getVirtualNetwork(NetworkId networkId) {
+            return null;
+        }
+
+        @Override
+        public TenantId getTenantId(NetworkId networkId) {
+            return null;
+        }
+    }
+
+    private static class TestClusterService extends ClusterServiceAdapter {
+        @Override
+        public ControllerNode getLocalNode() {
+            return new DefaultControllerNode(LOCAL, null);
+        }
+    }
+
+    private static class TestCoreService extends CoreServiceAdapter {
+        @Override
+        public IdGenerator getIdGenerator(String topic) {
+            return new IdGenerator() {
+                private AtomicLong counter = new AtomicLong(0);
+
+                @Override
+                public long getNewId() {
+                    return counter.getAndIncrement();
+                }
+            };
+        }
+    }
+}
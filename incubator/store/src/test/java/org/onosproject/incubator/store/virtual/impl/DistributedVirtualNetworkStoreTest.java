@@ -0,0 +1,215 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.incubator.store.virtual.impl;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.junit.TestUtils;
+import org.onosproject.core.CoreServiceAdapter;
+import org.onosproject.core.IdGenerator;
+import org.onosproject.incubator.net.virtual.DefaultVirtualLink;
+import org.onosproject.incubator.net.virtual.DefaultVirtualPort;
+import org.onosproject.incubator.net.virtual.NetworkId;
+import org.onosproject.incubator.net.virtual.TenantId;
+import org.onosproject.incubator.net.virtual.VirtualLink;
+import org.onosproject.incubator.net.virtual.VirtualPort;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.Device;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Link;
+import org.onosproject.net.PortNumber;
+import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.MapEvent;
+import org.onosproject.store.service.MapEventListener;
+import org.onosproject.store.service.TestStorageService;
+import org.onosproject.store.service.Versioned;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the local virtual link index of the distributed virtual network store.
+ */
+public class DistributedVirtualNetworkStoreTest {
+
+    private static final TenantId TID1 = TenantId.tenantId("tenant1");
+    private static final DeviceId VDID1 = DeviceId.deviceId("of:01");
+    private static final DeviceId VDID2 = DeviceId.deviceId("of:02");
+
+    private static final ConnectPoint CP1 = new ConnectPoint(VDID1, PortNumber.portNumber(1));
+    private static final ConnectPoint CP2 = new ConnectPoint(VDID2, PortNumber.portNumber(1));
+    private static final ConnectPoint CP3 = new ConnectPoint(VDID2, PortNumber.portNumber(2));
+
+    private DistributedVirtualNetworkStore store;
+    private ConsistentMap<NetworkId, Set<VirtualLink>> linkSetMap;
+    private NetworkId networkId;
+
+    @Before
+    public void setUp() throws Exception {
+        store = new DistributedVirtualNetworkStore();
+        TestUtils.setField(store, "coreService", new TestCoreService());
+        TestUtils.setField(store, "storageService", new TestStorageService());
+        store.activate();
+        linkSetMap = TestUtils.getField(store, "networkIdVirtualLinkSetConsistentMap");
+
+        store.addTenantId(TID1);
+        networkId = store.addNetwork(TID1).id();
+        store.addDevice(networkId, VDID1);
+        store.addDevice(networkId, VDID2);
+        store.addPort(networkId, CP1.deviceId(), CP1.port(), CP1);
+        store.addPort(networkId, CP2.deviceId(), CP2.port(), CP2);
+        store.addPort(networkId, CP3.deviceId(), CP3.port(), CP3);
+    }
+
+    @After
+    public void tearDown() {
+        store.deactivate();
+    }
+
+    /**
+     * Tests looking up links by source, destination or both.
+     */
+    @Test
+    public void testGetLink() {
+        VirtualLink link1 = store.addLink(networkId, CP1, CP2, Link.State.ACTIVE, null);
+        VirtualLink link2 = store.addLink(networkId, CP2, CP1, Link.State.ACTIVE, null);
+
+        assertEquals(ImmutableSet.of(link1, link2), store.getLinks(networkId));
+        assertEquals(link1, store.getLink(networkId, CP1, CP2));
+        assertEquals(link1, store.getLink(networkId, CP1, null));
+        assertEquals(link1, store.getLink(networkId, null, CP2));
+        assertEquals(link2, store.getLink(networkId, CP2, CP1));
+        assertNull(store.getLink(networkId, CP1, CP3));
+        assertNull(store.getLink(networkId, null, CP3));
+        assertNull(store.getLink(networkId, null, null));
+    }
+
+    /**
+     * Tests that writes made by another instance are applied to the index.
+     */
+    @Test
+    public void testRemoteUpdate() {
+        VirtualLink link1 = store.addLink(networkId, CP1, CP2, Link.State.ACTIVE, null);
+        VirtualLink link2 = link(CP1, CP3);
+
+        // a peer adds a second link sharing the source of the first one
+        linkSetMap.put(networkId, ImmutableSet.of(link1, link2));
+
+        assertEquals(ImmutableSet.of(link1, link2), store.getLinks(networkId));
+        assertEquals(link1, store.getLink(networkId, CP1, CP2));
+        assertEquals(link2, store.getLink(networkId, CP1, CP3));
+        assertEquals(link2, store.getLink(networkId, null, CP3));
+
+        linkSetMap.remove(networkId);
+        assertTrue(store.getLinks(networkId).isEmpty());
+        assertNull(store.getLink(networkId, CP1, CP2));
+    }
+
+    /**
+     * Tests that an update older than the indexed version is discarded.
+     */
+    @Test
+    public void testStaleUpdateDiscarded() {
+        VirtualLink link1 = store.addLink(networkId, CP1, CP2, Link.State.ACTIVE, null);
+        Versioned<Set<VirtualLink>> current = linkSetMap.get(networkId);
+        Versioned<Set<VirtualLink>> stale =
+                new Versioned<>(ImmutableSet.of(), current.version() - 1);
+
+        MapEventListener<NetworkId, Set<VirtualLink>> listener =
+                TestUtils.getField(store, "virtualLinkSetMapListener");
+        listener.event(new MapEvent<>("links", networkId, stale, current));
+        assertEquals(ImmutableSet.of(link1), store.getLinks(networkId));
+
+        // a removal of an older version must not drop the index either
+        listener.event(new MapEvent<>("links", networkId, null, stale));
+        assertEquals(ImmutableSet.of(link1), store.getLinks(networkId));
+    }
+
+    /**
+     * Tests that removing a port removes every link attached to it.
+     */
+    @Test
+    public void testRemovePortRemovesLinks() {
+        VirtualLink link1 = store.addLink(networkId, CP1, CP2, Link.State.ACTIVE, null);
+        VirtualLink link2 = store.addLink(networkId, CP2, CP1, Link.State.ACTIVE, null);
+        VirtualLink link3 = link(CP1, CP3);
+        linkSetMap.put(networkId, ImmutableSet.of(link1, link2, link3));
+
+        store.removePort(networkId, CP1.deviceId(), CP1.port());
+        assertTrue(store.getLinks(networkId).isEmpty());
+    }
+
+    /**
+     * Tests that removing a port removes every port indexed at its connect point.
+     */
+    @Test
+    public void testRemovePortRemovesAllMatchingPorts() {
+        ConsistentMap<NetworkId, Set<VirtualPort>> portSetMap =
+                TestUtils.getField(store, "networkIdVirtualPortSetConsistentMap");
+        VirtualPort port = store.getPorts(networkId, CP1.deviceId()).iterator().next();
+        VirtualPort enabledPort = new DefaultVirtualPort(networkId, (Device) port.element(),
+                                                                  CP1.port(), true, CP1);
+        VirtualPort otherPort = store.getPorts(networkId, CP2.deviceId()).stream()
+                .filter(p -> p.number().equals(CP2.port()))
+                .findFirst().get();
+
+        // a peer stores a second version of the port at the same connect point
+        Set<VirtualPort> ports = new HashSet<>(portSetMap.get(networkId).value());
+        ports.add(enabledPort);
+        portSetMap.put(networkId, ports);
+        assertEquals(2, store.getPorts(networkId, CP1.deviceId()).size());
+
+        store.removePort(networkId, CP1.deviceId(), CP1.port());
+        assertTrue(store.getPorts(networkId, CP1.deviceId()).isEmpty());
+        assertTrue(store.getPorts(networkId, null).contains(otherPort));
+        assertEquals(2, store.getPorts(networkId, null).size());
+    }
+
+    private VirtualLink link(ConnectPoint src, ConnectPoint dst) {
+        return DefaultVirtualLink.builder()
+                .networkId(networkId)
+                .src(src)
+                .dst(dst)
+                .state(Link.State.ACTIVE)
+                .build();
+    }
+
+    /**
+     * Core service test class.
+     */
+    private class TestCoreService extends CoreServiceAdapter {
+
+        @Override
+        public IdGenerator getIdGenerator(String topic) {
+            return new IdGenerator() {
+                private AtomicLong counter = new AtomicLong(0);
+
+                @Override
+                public long getNewId() {
+                    return counter.getAndIncrement();
+                }
+            };
+        }
+    }
+}
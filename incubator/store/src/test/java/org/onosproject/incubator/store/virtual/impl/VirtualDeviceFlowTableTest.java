@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.incubator.store.virtual.impl;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.FlowRule;
+
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.onosproject.net.NetTestTools.APP_ID;
+import static org.onosproject.net.NetTestTools.did;
+import static org.onosproject.net.NetTestTools.emptySelector;
+import static org.onosproject.net.NetTestTools.emptyTreatment;
+
+/**
+ * Tests the flow table of a virtual device.
+ */
+public class VirtualDeviceFlowTableTest {
+
+    private VirtualDeviceFlowTable flowTable;
+
+    @Before
+    public void setUp() {
+        flowTable = new VirtualDeviceFlowTable();
+    }
+
+    private static FlowRule rule(int priority) {
+        return DefaultFlowRule.builder()
+                .forDevice(did("vdev1"))
+                .withSelector(emptySelector())
+                .withTreatment(emptyTreatment())
+                .withPriority(priority)
+                .fromApp(APP_ID)
+                .makePermanent()
+                .build();
+    }
+
+    /**
+     * Tests that flows spread over the buckets are counted and returned.
+     */
+    @Test
+    public void testAdd() {
+        IntStream.range(0, 100).forEach(i -> flowTable.add(new DefaultFlowEntry(rule(i))));
+
+        assertEquals(100, flowTable.count());
+        assertEquals(100, flowTable.getFlowEntries().size());
+    }
+
+    /**
+     * Tests that adding an entry for a stored rule replaces it without
+     * changing the count.
+     */
+    @Test
+    public void testReplace() {
+        DefaultFlowEntry entry = new DefaultFlowEntry(rule(1));
+        DefaultFlowEntry replacement = new DefaultFlowEntry(rule(1));
+        flowTable.add(entry);
+        flowTable.add(replacement);
+
+        assertEquals(1, flowTable.count());
+        assertSame(replacement, flowTable.getFlowEntry(rule(1)));
+        assertEquals(ImmutableSet.of(replacement), flowTable.getFlowEntries());
+    }
+
+    /**
+     * Tests that only removals of stored entries change the count.
+     */
+    @Test
+    public void testRemove() {
+        DefaultFlowEntry entry1 = new DefaultFlowEntry(rule(1));
+        DefaultFlowEntry entry2 = new DefaultFlowEntry(rule(2));
+        flowTable.add(entry1);
+        flowTable.add(entry2);
+
+        assertSame(entry1, flowTable.remove(entry1));
+        assertEquals(1, flowTable.count());
+        assertNull(flowTable.getFlowEntry(rule(1)));
+
+        assertNull(flowTable.remove(entry1));
+        assertEquals(1, flowTable.count());
+
+        assertSame(entry2, flowTable.remove(entry2));
+        assertEquals(0, flowTable.count());
+        assertEquals(ImmutableSet.of(), flowTable.getFlowEntries());
+    }
+}
@@ -102,6 +102,11 @@ public class PathAttrNlriDetails {
             int countOtherSubTlv = 0;
             boolean isCommonSubTlv = true;
             PathAttrNlriDetails other = (PathAttrNlriDetails) obj;
+            if (pathAttributes == other.pathAttributes) {
+                // NLRIs of the same UPDATE share a single attribute list
+                return Objects.equals(identifier, other.identifier)
+                        && Objects.equals(protocolID, other.protocolID);
+            }
             Iterator<BgpValueType> objListIterator = other.pathAttributes.iterator();
             countOtherSubTlv = other.pathAttributes.size();
             countObjSubTlv = pathAttributes.size();
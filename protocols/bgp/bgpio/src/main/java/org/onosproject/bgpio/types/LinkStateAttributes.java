@@ -17,6 +17,7 @@ package org.onosproject.bgpio.types;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.onosproject.bgpio.exceptions.BgpParseException;
@@ -300,6 +301,23 @@ public class LinkStateAttributes implements BgpValueType {
         return 0;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hash(linkStateAttribList);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof LinkStateAttributes) {
+            LinkStateAttributes other = (LinkStateAttributes) obj;
+            return Objects.equals(linkStateAttribList, other.linkStateAttribList);
+        }
+        return false;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(getClass()).omitNullValues()
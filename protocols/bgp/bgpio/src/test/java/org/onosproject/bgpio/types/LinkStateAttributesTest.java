@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.bgpio.types;
+
+import com.google.common.collect.Lists;
+import com.google.common.testing.EqualsTester;
+import org.junit.Test;
+import org.onlab.packet.Ip4Address;
+import org.onosproject.bgpio.types.attr.BgpAttrRouterIdV4;
+import org.onosproject.bgpio.types.attr.BgpLinkAttrIgpMetric;
+
+/**
+ * Test for BGP link-state path attribute.
+ */
+public class LinkStateAttributesTest {
+    private final BgpAttrRouterIdV4 routerId = BgpAttrRouterIdV4.of(Ip4Address.valueOf("1.1.1.1"),
+                                                                    LinkStateAttributes.ATTR_NODE_IPV4_LOCAL_ROUTER_ID);
+    private final BgpLinkAttrIgpMetric metric = BgpLinkAttrIgpMetric.of(10, 3);
+    private final BgpLinkAttrIgpMetric diffMetric = BgpLinkAttrIgpMetric.of(20, 3);
+
+    private final LinkStateAttributes attr1 = new LinkStateAttributes(Lists.newArrayList(routerId, metric));
+    private final LinkStateAttributes sameAsAttr1 = new LinkStateAttributes(Lists.newArrayList(routerId, metric));
+    private final LinkStateAttributes attr2 = new LinkStateAttributes(Lists.newArrayList(routerId, diffMetric));
+
+    @Test
+    public void basics() {
+        new EqualsTester()
+        .addEqualityGroup(attr1, sameAsAttr1)
+        .addEqualityGroup(attr2)
+        .testEquals();
+    }
+}
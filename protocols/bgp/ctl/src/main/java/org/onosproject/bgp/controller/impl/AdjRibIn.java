@@ -74,25 +74,13 @@ public class AdjRibIn {
     public void add(BgpLSNlri nlri, PathAttrNlriDetails details) {
         if (nlri instanceof BgpNodeLSNlriVer4) {
             BgpNodeLSIdentifier nodeLSIdentifier = ((BgpNodeLSNlriVer4) nlri).getLocalNodeDescriptors();
-            if (nodeTree.containsKey(nodeLSIdentifier)) {
-                nodeTree.replace(nodeLSIdentifier, details);
-            } else {
-                nodeTree.put(nodeLSIdentifier, details);
-            }
+            nodeTree.put(nodeLSIdentifier, details);
         } else if (nlri instanceof BgpLinkLsNlriVer4) {
             BgpLinkLSIdentifier linkLSIdentifier = ((BgpLinkLsNlriVer4) nlri).getLinkIdentifier();
-            if (linkTree.containsKey(linkLSIdentifier)) {
-                linkTree.replace(linkLSIdentifier, details);
-            } else {
-                linkTree.put(linkLSIdentifier, details);
-            }
+            linkTree.put(linkLSIdentifier, details);
         } else if (nlri instanceof BgpPrefixIPv4LSNlriVer4) {
             BgpPrefixLSIdentifier prefixIdentifier = ((BgpPrefixIPv4LSNlriVer4) nlri).getPrefixIdentifier();
-            if (prefixTree.containsKey(prefixIdentifier)) {
-                prefixTree.replace(prefixIdentifier, details);
-            } else {
-                prefixTree.put(prefixIdentifier, details);
-            }
+            prefixTree.put(prefixIdentifier, details);
         }
     }
 
@@ -104,19 +92,13 @@ public class AdjRibIn {
     public void remove(BgpLSNlri nlri) {
         if (nlri instanceof BgpNodeLSNlriVer4) {
             BgpNodeLSIdentifier nodeLSIdentifier = ((BgpNodeLSNlriVer4) nlri).getLocalNodeDescriptors();
-            if (nodeTree.containsKey(nodeLSIdentifier)) {
-                nodeTree.remove(nodeLSIdentifier);
-            }
+            nodeTree.remove(nodeLSIdentifier);
         } else if (nlri instanceof BgpLinkLsNlriVer4) {
             BgpLinkLSIdentifier linkLSIdentifier = ((BgpLinkLsNlriVer4) nlri).getLinkIdentifier();
-            if (linkTree.containsKey(linkLSIdentifier)) {
-                linkTree.remove(linkLSIdentifier);
-            }
+            linkTree.remove(linkLSIdentifier);
         } else if (nlri instanceof BgpPrefixIPv4LSNlriVer4) {
             BgpPrefixLSIdentifier prefixIdentifier = ((BgpPrefixIPv4LSNlriVer4) nlri).getPrefixIdentifier();
-            if (prefixTree.containsKey(prefixIdentifier)) {
-                prefixTree.remove(prefixIdentifier);
-            }
+            prefixTree.remove(prefixIdentifier);
         }
     }
 
@@ -137,15 +137,16 @@ public class BgpLocalRibImpl implements BgpLocalRib {
                                                                sessionInfo.isIbgpSession(), details);
         if (nlri instanceof BgpNodeLSNlriVer4) {
             BgpNodeLSIdentifier nodeLsIdentifier = ((BgpNodeLSNlriVer4) nlri).getLocalNodeDescriptors();
-            if (nodeTree.containsKey(nodeLsIdentifier)) {
+            PathAttrNlriDetailsLocalRib current = nodeTree.get(nodeLsIdentifier);
+            if (current != null) {
                 BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
                 // Compare local RIB entry with the current attribute
-                decisionResult = selectionAlgo.compare(nodeTree.get(nodeLsIdentifier), detailsLocRib);
+                decisionResult = selectionAlgo.compare(current, detailsLocRib);
                 if (decisionResult <= 0) {
                     for (BgpNodeListener l : bgpController.listener()) {
                         l.addNode((BgpNodeLSNlriVer4) nlri, details);
                     }
-                    nodeTree.replace(nodeLsIdentifier, detailsLocRib);
+                    nodeTree.put(nodeLsIdentifier, detailsLocRib);
                     log.debug("Local RIB update node: {}", detailsLocRib.toString());
                 }
             } else {
@@ -157,12 +158,13 @@ public class BgpLocalRibImpl implements BgpLocalRib {
             }
         } else if (nlri instanceof BgpLinkLsNlriVer4) {
             BgpLinkLSIdentifier linkLsIdentifier = ((BgpLinkLsNlriVer4) nlri).getLinkIdentifier();
-            if (linkTree.containsKey(linkLsIdentifier)) {
+            PathAttrNlriDetailsLocalRib current = linkTree.get(linkLsIdentifier);
+            if (current != null) {
                 BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
                 // Compare local RIB entry with the current attribute
-                decisionResult = selectionAlgo.compare(linkTree.get(linkLsIdentifier), detailsLocRib);
+                decisionResult = selectionAlgo.compare(current, detailsLocRib);
                 if (decisionResult <= 0) {
-                    linkTree.replace(linkLsIdentifier, detailsLocRib);
+                    linkTree.put(linkLsIdentifier, detailsLocRib);
                     for (BgpLinkListener l : bgpController.linkListener()) {
                         l.addLink((BgpLinkLsNlriVer4) nlri, details);
                     }
@@ -177,12 +179,13 @@ public class BgpLocalRibImpl implements BgpLocalRib {
             }
         } else if (nlri instanceof BgpPrefixIPv4LSNlriVer4) {
             BgpPrefixLSIdentifier prefixIdentifier = ((BgpPrefixIPv4LSNlriVer4) nlri).getPrefixIdentifier();
-            if (prefixTree.containsKey(prefixIdentifier)) {
+            PathAttrNlriDetailsLocalRib current = prefixTree.get(prefixIdentifier);
+            if (current != null) {
                 BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
                 // Compare local RIB entry with the current attribute
-                decisionResult = selectionAlgo.compare(prefixTree.get(prefixIdentifier), detailsLocRib);
+                decisionResult = selectionAlgo.compare(current, detailsLocRib);
                 if (decisionResult <= 0) {
-                    prefixTree.replace(prefixIdentifier, detailsLocRib);
+                    prefixTree.put(prefixIdentifier, detailsLocRib);
                     log.debug("Local RIB update prefix: {}", detailsLocRib.toString());
                 }
             } else {
@@ -261,7 +264,6 @@ public class BgpLocalRibImpl implements BgpLocalRib {
         BgpPeerImpl peer;
         BgpSessionInfo sessionInfo;
         int decisionResult;
-        boolean containsKey;
 
         BgpNodeLSIdentifier nodeLsIdentifier = ((BgpNodeLSNlriVer4) nlri).getLocalNodeDescriptors();
 
@@ -276,40 +278,29 @@ public class BgpLocalRibImpl implements BgpLocalRib {
         for (BgpId bgpId : bgpController.connectedPeers().keySet()) {
             peer = (BgpPeerImpl) (bgpController.getPeer(bgpId));
 
-            if (nodeTree.containsKey(nodeLsIdentifier)) {
-                containsKey = (!isVpnRib) ? (peer.adjacencyRib().nodeTree().containsKey(nodeLsIdentifier)) :
-                                            (peer.vpnAdjacencyRib().nodeTree().containsKey(nodeLsIdentifier));
+            PathAttrNlriDetails peerDetails = (!isVpnRib) ? peer.adjacencyRib().nodeTree().get(nodeLsIdentifier) :
+                                                            peer.vpnAdjacencyRib().nodeTree().get(nodeLsIdentifier);
+            if (peerDetails == null) {
+                continue;
+            }
 
-                if (!containsKey) {
-                    continue;
-                }
+            PathAttrNlriDetailsLocalRib current = nodeTree.get(nodeLsIdentifier);
+            if (current != null) {
                 sessionInfo = peer.sessionInfo();
                 PathAttrNlriDetailsLocalRib detailsLocRib = new PathAttrNlriDetailsLocalRib(
                                                                 sessionInfo.remoteBgpId().ipAddress(),
                                                                 sessionInfo.remoteBgpIdentifier(),
                                                                 sessionInfo.remoteBgpASNum(),
                                                                 sessionInfo.isIbgpSession(),
-                                                                (!isVpnRib) ?
-                                                                (peer.adjacencyRib().nodeTree()
-                                                                                    .get(nodeLsIdentifier)) :
-                                                                (peer.vpnAdjacencyRib().nodeTree()
-                                                                                        .get(nodeLsIdentifier)));
+                                                                peerDetails);
                 BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
-                decisionResult = selectionAlgo.compare(nodeTree.get(nodeLsIdentifier), detailsLocRib);
+                decisionResult = selectionAlgo.compare(current, detailsLocRib);
                 if (decisionResult < 0) {
-                    nodeTree.replace(nodeLsIdentifier, detailsLocRib);
+                    nodeTree.put(nodeLsIdentifier, detailsLocRib);
                     log.debug("Local RIB node updated: {}", detailsLocRib.toString());
                 }
             } else {
-                if (!isVpnRib) {
-                    if (peer.adjacencyRib().nodeTree().containsKey(nodeLsIdentifier)) {
-                        add(peer.sessionInfo(), nlri, peer.adjacencyRib().nodeTree().get(nodeLsIdentifier));
-                    }
-                } else {
-                    if (peer.vpnAdjacencyRib().nodeTree().containsKey(nodeLsIdentifier)) {
-                        add(peer.sessionInfo(), nlri, peer.vpnAdjacencyRib().nodeTree().get(nodeLsIdentifier));
-                    }
-                }
+                add(peer.sessionInfo(), nlri, peerDetails);
             }
         }
     }
@@ -325,7 +316,6 @@ public class BgpLocalRibImpl implements BgpLocalRib {
         BgpPeerImpl peer;
         BgpSessionInfo sessionInfo;
         int decisionResult;
-        boolean containsKey;
 
         BgpLinkLSIdentifier linkLsIdentifier = ((BgpLinkLsNlriVer4) nlri).getLinkIdentifier();
 
@@ -340,43 +330,29 @@ public class BgpLocalRibImpl implements BgpLocalRib {
         for (BgpId bgpId : bgpController.connectedPeers().keySet()) {
             peer = (BgpPeerImpl) (bgpController.getPeer(bgpId));
 
-            if (linkTree.containsKey(linkLsIdentifier)) {
-
-                containsKey = (!isVpnRib) ? (peer.adjacencyRib().linkTree().containsKey(linkLsIdentifier)) :
-                                            (peer.vpnAdjacencyRib().linkTree().containsKey(linkLsIdentifier));
-
-                if (!containsKey) {
-                    continue;
-                }
+            PathAttrNlriDetails peerDetails = (!isVpnRib) ? peer.adjacencyRib().linkTree().get(linkLsIdentifier) :
+                                                            peer.vpnAdjacencyRib().linkTree().get(linkLsIdentifier);
+            if (peerDetails == null) {
+                continue;
+            }
 
+            PathAttrNlriDetailsLocalRib current = linkTree.get(linkLsIdentifier);
+            if (current != null) {
                 sessionInfo = peer.sessionInfo();
-
                 PathAttrNlriDetailsLocalRib detailsLocRib = new PathAttrNlriDetailsLocalRib(
-                                                            sessionInfo.remoteBgpId().ipAddress(),
-                                                            sessionInfo.remoteBgpIdentifier(),
-                                                            sessionInfo.remoteBgpASNum(),
-                                                            sessionInfo.isIbgpSession(),
-                                                            ((!isVpnRib) ?
-                                                            (peer.adjacencyRib().linkTree().get(linkLsIdentifier)) :
-                                                            (peer.vpnAdjacencyRib().linkTree()
-                                                                                   .get(linkLsIdentifier))));
-
+                                                                sessionInfo.remoteBgpId().ipAddress(),
+                                                                sessionInfo.remoteBgpIdentifier(),
+                                                                sessionInfo.remoteBgpASNum(),
+                                                                sessionInfo.isIbgpSession(),
+                                                                peerDetails);
                 BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
-                decisionResult = selectionAlgo.compare(linkTree.get(linkLsIdentifier), detailsLocRib);
+                decisionResult = selectionAlgo.compare(current, detailsLocRib);
                 if (decisionResult < 0) {
-                    linkTree.replace(linkLsIdentifier, detailsLocRib);
+                    linkTree.put(linkLsIdentifier, detailsLocRib);
                     log.debug("Local RIB link updated: {}", detailsLocRib.toString());
                 }
             } else {
-                if (!isVpnRib) {
-                    if (peer.adjacencyRib().linkTree().containsKey(linkLsIdentifier)) {
-                        add(peer.sessionInfo(), nlri, peer.adjacencyRib().linkTree().get(linkLsIdentifier));
-                    }
-                } else {
-                    if (peer.vpnAdjacencyRib().linkTree().containsKey(linkLsIdentifier)) {
-                        add(peer.sessionInfo(), nlri, peer.vpnAdjacencyRib().linkTree().get(linkLsIdentifier));
-                    }
-                }
+                add(peer.sessionInfo(), nlri, peerDetails);
             }
         }
     }
@@ -392,7 +368,6 @@ public class BgpLocalRibImpl implements BgpLocalRib {
         BgpPeerImpl peer;
         BgpSessionInfo sessionInfo;
         int decisionResult;
-        boolean containsKey;
 
         BgpPrefixLSIdentifier prefixIdentifier = ((BgpPrefixIPv4LSNlriVer4) nlri).getPrefixIdentifier();
         if (prefixTree.containsKey(prefixIdentifier)) {
@@ -403,42 +378,29 @@ public class BgpLocalRibImpl implements BgpLocalRib {
         for (BgpId bgpId : bgpController.connectedPeers().keySet()) {
             peer = (BgpPeerImpl) (bgpController.getPeer(bgpId));
 
-            if (prefixTree.containsKey(prefixIdentifier)) {
+            PathAttrNlriDetails peerDetails = (!isVpnRib) ? peer.adjacencyRib().prefixTree().get(prefixIdentifier) :
+                                                            peer.vpnAdjacencyRib().prefixTree().get(prefixIdentifier);
+            if (peerDetails == null) {
+                continue;
+            }
 
-                containsKey = (!isVpnRib) ? (peer.adjacencyRib().prefixTree().containsKey(prefixIdentifier)) :
-                                            (peer.vpnAdjacencyRib().prefixTree().containsKey(prefixIdentifier));
-                if (!containsKey) {
-                    continue;
-                }
+            PathAttrNlriDetailsLocalRib current = prefixTree.get(prefixIdentifier);
+            if (current != null) {
                 sessionInfo = peer.sessionInfo();
-
                 PathAttrNlriDetailsLocalRib detailsLocRib = new PathAttrNlriDetailsLocalRib(
                                                                 sessionInfo.remoteBgpId().ipAddress(),
                                                                 sessionInfo.remoteBgpIdentifier(),
                                                                 sessionInfo.remoteBgpASNum(),
                                                                 sessionInfo.isIbgpSession(),
-                                                                ((!isVpnRib) ?
-                                                                (peer.adjacencyRib().prefixTree()
-                                                                                    .get(prefixIdentifier)) :
-                                                                (peer.vpnAdjacencyRib().prefixTree()
-                                                                                       .get(prefixIdentifier))));
-
+                                                                peerDetails);
                 BgpSelectionAlgo selectionAlgo = new BgpSelectionAlgo();
-                decisionResult = selectionAlgo.compare(prefixTree.get(prefixIdentifier), detailsLocRib);
+                decisionResult = selectionAlgo.compare(current, detailsLocRib);
                 if (decisionResult < 0) {
-                    prefixTree.replace(prefixIdentifier, detailsLocRib);
+                    prefixTree.put(prefixIdentifier, detailsLocRib);
                     log.debug("Local RIB prefix updated: {}", detailsLocRib.toString());
                 }
             } else {
-                    if (!isVpnRib) {
-                        if (peer.adjacencyRib().prefixTree().containsKey(prefixIdentifier)) {
-                            add(peer.sessionInfo(), nlri, peer.adjacencyRib().prefixTree().get(prefixIdentifier));
-                    } else {
-                        if (peer.vpnAdjacencyRib().prefixTree().containsKey(prefixIdentifier)) {
-                            add(peer.sessionInfo(), nlri, peer.vpnAdjacencyRib().prefixTree().get(prefixIdentifier));
-                        }
-                    }
-                }
+                add(peer.sessionInfo(), nlri, peerDetails);
             }
         }
     }
@@ -18,6 +18,8 @@ package org.onosproject.bgp.controller.impl;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 
 import org.jboss.netty.channel.Channel;
 import org.onlab.packet.IpAddress;
@@ -70,6 +72,8 @@ public class BgpPeerImpl implements BgpPeer {
     protected final Logger log = LoggerFactory.getLogger(BgpPeerImpl.class);
 
     private static final String SHUTDOWN_MSG = "Worker has already been shutdown";
+    // Path attributes held by the RIBs, shared by content across UPDATEs and peers
+    private static final Interner<BgpValueType> PATH_ATTRIBUTES = Interners.newWeakInterner();
 
     private BgpController bgpController;
     private Channel channel;
@@ -346,10 +350,12 @@ public class BgpPeerImpl implements BgpPeer {
     public void callAdd(BgpPeerImpl peerImpl, List<BgpLSNlri> nlri, List<BgpValueType> pathAttr)
             throws BgpParseException {
         ListIterator<BgpLSNlri> listIterator = nlri.listIterator();
+        PathAttrNlriDetails details = null;
+        pathAttr = internPathAttributes(pathAttr);
         while (listIterator.hasNext()) {
             BgpLSNlri nlriInfo = listIterator.next();
             if (nlriInfo instanceof BgpNodeLSNlriVer4) {
-                PathAttrNlriDetails details = setPathAttrDetails(nlriInfo, pathAttr);
+                details = sharedPathAttrDetails(details, nlriInfo, pathAttr);
                 if (!((BgpNodeLSNlriVer4) nlriInfo).isVpnPresent()) {
                     adjRib.add(nlriInfo, details);
                     bgplocalRib.add(sessionInfo(), nlriInfo, details);
@@ -359,7 +365,7 @@ public class BgpPeerImpl implements BgpPeer {
                                        ((BgpNodeLSNlriVer4) nlriInfo).getRouteDistinguisher());
                 }
             } else if (nlriInfo instanceof BgpLinkLsNlriVer4) {
-                PathAttrNlriDetails details = setPathAttrDetails(nlriInfo, pathAttr);
+                details = sharedPathAttrDetails(details, nlriInfo, pathAttr);
                 if (!((BgpLinkLsNlriVer4) nlriInfo).isVpnPresent()) {
                     adjRib.add(nlriInfo, details);
                     bgplocalRib.add(sessionInfo(), nlriInfo, details);
@@ -369,7 +375,7 @@ public class BgpPeerImpl implements BgpPeer {
                                        ((BgpLinkLsNlriVer4) nlriInfo).getRouteDistinguisher());
                 }
             } else if (nlriInfo instanceof BgpPrefixIPv4LSNlriVer4) {
-                PathAttrNlriDetails details = setPathAttrDetails(nlriInfo, pathAttr);
+                details = sharedPathAttrDetails(details, nlriInfo, pathAttr);
                 if (!((BgpPrefixIPv4LSNlriVer4) nlriInfo).isVpnPresent()) {
                     adjRib.add(nlriInfo, details);
                     bgplocalRib.add(sessionInfo(), nlriInfo, details);
@@ -399,6 +405,49 @@ public class BgpPeerImpl implements BgpPeer {
         return details;
     }
 
+    /**
+     * Returns a copy of the given path attributes in which every attribute,
+     * except the MP reach and unreach NLRI that are specific to an UPDATE, is
+     * replaced by an equal instance shared across UPDATEs and peers. The
+     * RIBs then hold a single copy of the attributes that many UPDATEs have
+     * in common, such as origin, AS path or link-state attributes.
+     *
+     * @param pathAttr list of BGP path attributes
+     * @return list of shared BGP path attributes
+     */
+    static List<BgpValueType> internPathAttributes(List<BgpValueType> pathAttr) {
+        List<BgpValueType> interned = new ArrayList<>(pathAttr.size());
+        for (BgpValueType attr : pathAttr) {
+            if (attr instanceof MpReachNlri || attr instanceof MpUnReachNlri) {
+                interned.add(attr);
+            } else {
+                interned.add(PATH_ATTRIBUTES.intern(attr));
+            }
+        }
+        return interned;
+    }
+
+    /**
+     * Returns the previous details if they describe the same protocol and
+     * identifier as the given NLRI, otherwise builds new details. All NLRIs
+     * of an UPDATE carry the same path attributes, so this keeps a single
+     * details object per UPDATE in the RIBs instead of one per NLRI.
+     *
+     * @param previous details built for the previous NLRI, may be null
+     * @param nlriInfo MpReachNlri path attribute
+     * @param pathAttr list of BGP path attributes
+     * @return details object of PathAttrNlriDetails
+     * @throws BgpParseException throw exception
+     */
+    private PathAttrNlriDetails sharedPathAttrDetails(PathAttrNlriDetails previous, BgpLSNlri nlriInfo,
+                                                      List<BgpValueType> pathAttr) throws BgpParseException {
+        if (previous != null && previous.protocolID() == nlriInfo.getProtocolId()
+                && previous.identifier() == nlriInfo.getIdentifier()) {
+            return previous;
+        }
+        return setPathAttrDetails(nlriInfo, pathAttr);
+    }
+
     /**
      * Removes NLRI identifier node in a tree separately based on afi and safi.
      *
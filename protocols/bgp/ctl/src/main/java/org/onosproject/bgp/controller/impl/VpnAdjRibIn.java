@@ -108,25 +108,13 @@ public class VpnAdjRibIn {
     public void add(BgpLSNlri nlri, PathAttrNlriDetails details) {
         if (nlri instanceof BgpNodeLSNlriVer4) {
             BgpNodeLSIdentifier nodeLSIdentifier = ((BgpNodeLSNlriVer4) nlri).getLocalNodeDescriptors();
-            if (nodeTree.containsKey(nodeLSIdentifier)) {
-                nodeTree.replace(nodeLSIdentifier, details);
-            } else {
-                nodeTree.put(nodeLSIdentifier, details);
-            }
+            nodeTree.put(nodeLSIdentifier, details);
         } else if (nlri instanceof BgpLinkLsNlriVer4) {
             BgpLinkLSIdentifier linkLSIdentifier = ((BgpLinkLsNlriVer4) nlri).getLinkIdentifier();
-            if (linkTree.containsKey(linkLSIdentifier)) {
-                linkTree.replace(linkLSIdentifier, details);
-            } else {
-                linkTree.put(linkLSIdentifier, details);
-            }
+            linkTree.put(linkLSIdentifier, details);
         } else if (nlri instanceof BgpPrefixIPv4LSNlriVer4) {
             BgpPrefixLSIdentifier prefixIdentifier = ((BgpPrefixIPv4LSNlriVer4) nlri).getPrefixIdentifier();
-            if (prefixTree.containsKey(prefixIdentifier)) {
-                prefixTree.replace(prefixIdentifier, details);
-            } else {
-                prefixTree.put(prefixIdentifier, details);
-            }
+            prefixTree.put(prefixIdentifier, details);
         }
     }
 
@@ -165,9 +153,7 @@ public class VpnAdjRibIn {
         if (nlri instanceof BgpNodeLSNlriVer4) {
             if (vpnNodeTree.containsKey(routeDistinguisher)) {
                 BgpNodeLSIdentifier nodeLSIdentifier = ((BgpNodeLSNlriVer4) nlri).getLocalNodeDescriptors();
-                if (nodeTree.containsKey(nodeLSIdentifier)) {
-                    nodeTree.remove(nodeLSIdentifier);
-                }
+                nodeTree.remove(nodeLSIdentifier);
                 if ((vpnNodeTree.get(routeDistinguisher)).isEmpty()) {
                     vpnNodeTree.remove(routeDistinguisher);
                 }
@@ -175,9 +161,7 @@ public class VpnAdjRibIn {
         } else if (nlri instanceof BgpLinkLsNlriVer4) {
             if (vpnLinkTree.containsKey(routeDistinguisher)) {
                 BgpLinkLSIdentifier linkLSIdentifier = ((BgpLinkLsNlriVer4) nlri).getLinkIdentifier();
-                if (linkTree.containsKey(linkLSIdentifier)) {
-                    linkTree.remove(linkLSIdentifier);
-                }
+                linkTree.remove(linkLSIdentifier);
                 if ((vpnLinkTree.get(routeDistinguisher)).isEmpty()) {
                     vpnLinkTree.remove(routeDistinguisher);
                 }
@@ -185,9 +169,7 @@ public class VpnAdjRibIn {
         } else if (nlri instanceof BgpPrefixIPv4LSNlriVer4) {
             if (vpnPrefixTree.containsKey(routeDistinguisher)) {
                 BgpPrefixLSIdentifier prefixIdentifier = ((BgpPrefixIPv4LSNlriVer4) nlri).getPrefixIdentifier();
-                if (prefixTree.containsKey(prefixIdentifier)) {
-                    prefixTree.remove(prefixIdentifier);
-                }
+                prefixTree.remove(prefixIdentifier);
                 if ((vpnPrefixTree.get(routeDistinguisher)).isEmpty()) {
                     vpnPrefixTree.remove(routeDistinguisher);
                 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.bgp.controller.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.onlab.packet.Ip4Address;
+import org.onosproject.bgpio.types.AsPath;
+import org.onosproject.bgpio.types.BgpValueType;
+import org.onosproject.bgpio.types.MpReachNlri;
+import org.onosproject.bgpio.types.Origin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Test for the sharing of path attributes across BGP UPDATEs.
+ */
+public class BgpPeerImplTest {
+
+    private List<BgpValueType> update(Origin origin, MpReachNlri reach) {
+        return ImmutableList.of(origin, new AsPath(), reach);
+    }
+
+    private MpReachNlri reach() {
+        return new MpReachNlri(new ArrayList<>(), (short) 16388, (byte) 71, Ip4Address.valueOf("1.1.1.1"), 0);
+    }
+
+    @Test
+    public void testInternPathAttributes() {
+        MpReachNlri reach1 = reach();
+        MpReachNlri reach2 = reach();
+        List<BgpValueType> first = BgpPeerImpl.internPathAttributes(update(new Origin((byte) 0), reach1));
+        List<BgpValueType> second = BgpPeerImpl.internPathAttributes(update(new Origin((byte) 0), reach2));
+
+        // equal attributes of different UPDATEs are shared
+        assertThat(second.get(0), sameInstance(first.get(0)));
+        assertThat(second.get(1), sameInstance(first.get(1)));
+        // the NLRI of each UPDATE is kept as is
+        assertThat(first.get(2), sameInstance(reach1));
+        assertThat(second.get(2), sameInstance(reach2));
+
+        List<BgpValueType> other = BgpPeerImpl.internPathAttributes(update(new Origin((byte) 1), reach()));
+        assertThat(other.get(0).equals(first.get(0)), is(false));
+    }
+}
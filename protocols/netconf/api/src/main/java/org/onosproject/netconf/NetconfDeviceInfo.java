@@ -49,6 +49,7 @@ public class NetconfDeviceInfo {
     private OptionalInt connectTimeoutSec;
     private OptionalInt replyTimeoutSec;
     private OptionalInt idleTimeoutSec;
+    private OptionalInt maxOutstandingRpcs;
     private DeviceId deviceId;
 
 
@@ -73,6 +74,7 @@ public class NetconfDeviceInfo {
         this.connectTimeoutSec = OptionalInt.empty();
         this.replyTimeoutSec = OptionalInt.empty();
         this.idleTimeoutSec = OptionalInt.empty();
+        this.maxOutstandingRpcs = OptionalInt.empty();
     }
 
     /**
@@ -99,6 +101,7 @@ public class NetconfDeviceInfo {
         this.connectTimeoutSec = OptionalInt.empty();
         this.replyTimeoutSec = OptionalInt.empty();
         this.idleTimeoutSec = OptionalInt.empty();
+        this.maxOutstandingRpcs = OptionalInt.empty();
     }
 
     /**
@@ -125,6 +128,7 @@ public class NetconfDeviceInfo {
         this.connectTimeoutSec = netconfConfig.connectTimeout();
         this.replyTimeoutSec = netconfConfig.replyTimeout();
         this.idleTimeoutSec = netconfConfig.idleTimeout();
+        this.maxOutstandingRpcs = netconfConfig.maxOutstandingRpcs();
     }
 
     /**
@@ -163,6 +167,15 @@ public class NetconfDeviceInfo {
         this.idleTimeoutSec = idleTimeoutSec;
     }
 
+    /**
+     * Allows the maximum number of RPCs outstanding on the NETCONF session to be set.
+     *
+     * @param maxOutstandingRpcs number of RPCs
+     */
+    public void setMaxOutstandingRpcs(OptionalInt maxOutstandingRpcs) {
+        this.maxOutstandingRpcs = maxOutstandingRpcs;
+    }
+
     /**
      * Exposes the name of the controller.
      *
@@ -246,6 +259,15 @@ public class NetconfDeviceInfo {
         return idleTimeoutSec;
     }
 
+    /**
+     * Exposes the device specific maximum number of outstanding RPCs.
+     *
+     * @return The number of RPCs
+     */
+    public OptionalInt getMaxOutstandingRpcs() {
+        return maxOutstandingRpcs;
+    }
+
     /**
      * Return the info about the device in a string.
      * String format: "netconf:name@ip:port"
@@ -47,11 +47,12 @@ public class NetconfDeviceConfig extends Config<DeviceId> {
     public static final String CONNECT_TIMEOUT = "connect-timeout";
     public static final String REPLY_TIMEOUT = "reply-timeout";
     public static final String IDLE_TIMEOUT = "idle-timeout";
+    public static final String MAX_OUTSTANDING_RPCS = "max-outstanding-rpcs";
 
     @Override
     public boolean isValid() {
         return hasOnlyFields(IP, PORT, USERNAME, PASSWORD, SSHKEY, SSHCLIENT,
-                CONNECT_TIMEOUT, REPLY_TIMEOUT, IDLE_TIMEOUT) && ip() != null;
+                CONNECT_TIMEOUT, REPLY_TIMEOUT, IDLE_TIMEOUT, MAX_OUTSTANDING_RPCS) && ip() != null;
     }
 
     /**
@@ -140,6 +141,16 @@ public class NetconfDeviceConfig extends Config<DeviceId> {
         return (idleTimeout == 0) ? OptionalInt.empty() : OptionalInt.of(idleTimeout);
     }
 
+    /**
+     * Gets the maximum number of RPCs outstanding on the NETCONF session.
+     *
+     * @return maxOutstandingRpcs
+     */
+    public OptionalInt maxOutstandingRpcs() {
+        int maxOutstandingRpcs = get(MAX_OUTSTANDING_RPCS, 0);
+        return (maxOutstandingRpcs == 0) ? OptionalInt.empty() : OptionalInt.of(maxOutstandingRpcs);
+    }
+
     /**
      * Sets the Ip for the Device.
      *
@@ -242,6 +253,19 @@ public class NetconfDeviceConfig extends Config<DeviceId> {
         return (NetconfDeviceConfig) setOrClear(IDLE_TIMEOUT, idleTimeout);
     }
 
+    /**
+     * Sets the maximum number of RPCs outstanding on the NETCONF session.
+     * Further RPCs are queued until replies arrive
+     * Minimum 1
+     * When specified, overrides NetconfControllerImpl.netconfMaxOutstandingRpcs for this device
+     *
+     * @param maxOutstandingRpcs maxOutstandingRpcs as int
+     * @return instance for chaining
+     */
+    public NetconfDeviceConfig setMaxOutstandingRpcs(Integer maxOutstandingRpcs) {
+        return (NetconfDeviceConfig) setOrClear(MAX_OUTSTANDING_RPCS, maxOutstandingRpcs);
+    }
+
 
     private Pair<String, Integer> extractIpPort() {
         // Assuming one of
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.netconf.cli.impl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Comparator;
+
+import org.apache.karaf.shell.commands.Argument;
+import org.apache.karaf.shell.commands.Command;
+import org.onosproject.cli.AbstractShellCommand;
+import org.onosproject.net.DeviceId;
+import org.onosproject.netconf.NetconfController;
+import org.onosproject.netconf.NetconfDevice;
+import org.onosproject.netconf.NetconfSession;
+import org.onosproject.netconf.ctl.impl.NetconfSessionMinaImpl;
+
+/**
+ * Command that lists the RPC request window usage of NETCONF sessions.
+ */
+@Command(scope = "onos", name = "netconf-rpc-stats",
+        description = "Lists outstanding and queued RPCs and the average "
+                + "reply latency of NETCONF sessions.")
+public class NetconfRpcStatsCommand extends AbstractShellCommand {
+
+    private static final String FORMAT =
+            "deviceId=%s, window=%d, outstanding=%d, queued=%d, avgLatencyMs=%d";
+
+    @Argument(index = 0, name = "deviceId", description = "Device ID",
+            required = false, multiValued = false)
+    String uri = null;
+
+    @Override
+    protected void execute() {
+        NetconfController controller = get(NetconfController.class);
+        checkNotNull(controller, "Netconf controller is null");
+
+        DeviceId filter = uri == null ? null : DeviceId.deviceId(uri);
+        controller.getDevicesMap().values().stream()
+                .filter(device -> filter == null || device.getDeviceInfo().getDeviceId().equals(filter))
+                .sorted(Comparator.comparing(device -> device.getDeviceInfo().getDeviceId().toString()))
+                .forEach(this::printStats);
+    }
+
+    private void printStats(NetconfDevice device) {
+        DeviceId deviceId = device.getDeviceInfo().getDeviceId();
+        NetconfSession session = device.getSession();
+        if (!(session instanceof NetconfSessionMinaImpl)) {
+            print("deviceId=%s, no request window", deviceId);
+            return;
+        }
+        NetconfSessionMinaImpl minaSession = (NetconfSessionMinaImpl) session;
+        print(FORMAT, deviceId, minaSession.maxOutstandingRpcs(), minaSession.outstandingRpcs(),
+              minaSession.queuedRpcs(), minaSession.averageReplyLatencyMillis());
+    }
+}
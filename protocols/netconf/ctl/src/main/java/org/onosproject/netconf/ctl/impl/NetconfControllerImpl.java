@@ -92,6 +92,13 @@ public class NetconfControllerImpl implements NetconfController {
             label = "Time (in seconds) SSH session will close if no traffic seen")
     protected static int netconfIdleTimeout = DEFAULT_IDLE_TIMEOUT_SECONDS;
 
+    private static final String PROP_NETCONF_MAX_OUTSTANDING_RPCS = "netconfMaxOutstandingRpcs";
+    protected static final int DEFAULT_MAX_OUTSTANDING_RPCS = 16;
+    @Property(name = PROP_NETCONF_MAX_OUTSTANDING_RPCS, intValue = DEFAULT_MAX_OUTSTANDING_RPCS,
+            label = "Maximum number of RPCs pipelined on a NETCONF session, " +
+                    "unless set for the device with max-outstanding-rpcs")
+    protected static int netconfMaxOutstandingRpcs = DEFAULT_MAX_OUTSTANDING_RPCS;
+
     private static final String SSH_LIBRARY = "sshLibrary";
     private static final String APACHE_MINA_STR = "apache-mina";
     @Property(name = SSH_LIBRARY, value = APACHE_MINA_STR,
@@ -151,6 +158,7 @@ public class NetconfControllerImpl implements NetconfController {
             netconfReplyTimeout = DEFAULT_REPLY_TIMEOUT_SECONDS;
             netconfConnectTimeout = DEFAULT_CONNECT_TIMEOUT_SECONDS;
             netconfIdleTimeout = DEFAULT_IDLE_TIMEOUT_SECONDS;
+            netconfMaxOutstandingRpcs = DEFAULT_MAX_OUTSTANDING_RPCS;
             sshLibrary = NetconfSshClientLib.APACHE_MINA;
             log.info("No component configuration");
             return;
@@ -166,6 +174,8 @@ public class NetconfControllerImpl implements NetconfController {
                 properties, PROP_NETCONF_CONNECT_TIMEOUT, netconfConnectTimeout);
         int newNetconfIdleTimeout = getIntegerProperty(
                 properties, PROP_NETCONF_IDLE_TIMEOUT, netconfIdleTimeout);
+        int newNetconfMaxOutstandingRpcs = getIntegerProperty(
+                properties, PROP_NETCONF_MAX_OUTSTANDING_RPCS, netconfMaxOutstandingRpcs);
 
         newSshLibrary = get(properties, SSH_LIBRARY);
 
@@ -178,18 +188,23 @@ public class NetconfControllerImpl implements NetconfController {
         } else if (newNetconfIdleTimeout <= 0) {
             log.warn("netconfIdleTimeout is invalid - 0 or less.");
             return;
+        } else if (newNetconfMaxOutstandingRpcs <= 0) {
+            log.warn("netconfMaxOutstandingRpcs is invalid - 0 or less.");
+            return;
         }
 
         netconfReplyTimeout = newNetconfReplyTimeout;
         netconfConnectTimeout = newNetconfConnectTimeout;
         netconfIdleTimeout = newNetconfIdleTimeout;
+        netconfMaxOutstandingRpcs = newNetconfMaxOutstandingRpcs;
         if (newSshLibrary != null) {
             sshLibrary = NetconfSshClientLib.getEnum(newSshLibrary);
         }
-        log.info("Settings: {} = {}, {} = {}, {} = {}, {} = {}",
+        log.info("Settings: {} = {}, {} = {}, {} = {}, {} = {}, {} = {}",
                  PROP_NETCONF_REPLY_TIMEOUT, netconfReplyTimeout,
                  PROP_NETCONF_CONNECT_TIMEOUT, netconfConnectTimeout,
                  PROP_NETCONF_IDLE_TIMEOUT, netconfIdleTimeout,
+                 PROP_NETCONF_MAX_OUTSTANDING_RPCS, netconfMaxOutstandingRpcs,
                  SSH_LIBRARY, sshLibrary);
     }
 
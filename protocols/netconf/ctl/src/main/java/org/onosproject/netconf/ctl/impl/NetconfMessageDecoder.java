@@ -0,0 +1,252 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf.ctl.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Byte level decoder splitting the device output into NETCONF messages.
+ * <p>
+ * Supports both the end-of-message framing ({@code ]]>]]>}) and the chunked
+ * framing of RFC 6242. The framing is detected at the start of each message:
+ * a message starting with {@code LF #} is chunked, anything else is delimited
+ * by the end-of-message marker. Chunk data is copied in bulk and each message
+ * is decoded to a string only once it is complete.
+ */
+final class NetconfMessageDecoder {
+
+    private static final byte[] END_OF_MESSAGE = "]]>]]>".getBytes(StandardCharsets.UTF_8);
+    private static final byte LF = '\n';
+    private static final byte HASH = '#';
+    private static final byte GREATER = '>';
+    // chunk-size is at most 4294967295, i.e. 10 digits
+    private static final int MAX_CHUNK_SIZE_DIGITS = 10;
+
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int INITIAL_MESSAGE_SIZE = 1024;
+    // larger message buffers are released once the message is decoded
+    private static final int MAX_RETAINED_MESSAGE_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+    private int readPos;
+    private int readLimit;
+
+    private byte[] message = new byte[INITIAL_MESSAGE_SIZE];
+    private int length;
+
+    /**
+     * Creates a decoder reading from the given stream.
+     *
+     * @param in stream of the device output
+     */
+    NetconfMessageDecoder(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next message, blocking until it has been fully received.
+     *
+     * @return the message without its framing, empty for a lone end-of-message
+     * marker, or null if the stream ended
+     * @throws FramingException if the device sent a badly framed message
+     * @throws IOException if reading from the stream fails
+     */
+    String readMessage() throws IOException {
+        length = 0;
+        int b = next();
+        int leadingLf = 0;
+        while (b == LF) {
+            leadingLf++;
+            b = next();
+        }
+        if (b == -1) {
+            return null;
+        }
+        if (b == HASH && leadingLf > 0) {
+            return readChunkedMessage();
+        }
+        for (int i = 0; i < leadingLf; i++) {
+            append((byte) LF);
+        }
+        return readEndOfMessage((byte) b);
+    }
+
+    private String readEndOfMessage(byte first) throws IOException {
+        byte b = first;
+        while (true) {
+            append(b);
+            if (b == GREATER && endsWithEndOfMessage()) {
+                return decode(length - END_OF_MESSAGE.length);
+            }
+            int next = next();
+            if (next == -1) {
+                return null;
+            }
+            b = (byte) next;
+        }
+    }
+
+    // invoked after the leading LF # of the first chunk has been consumed
+    private String readChunkedMessage() throws IOException {
+        while (true) {
+            int b = next();
+            if (b == HASH) {
+                // end-of-chunks is LF # # LF
+                expect(LF);
+                return decode(length);
+            }
+            long chunkSize = readChunkSize(b);
+            readChunkData(chunkSize);
+            expect(LF);
+            expect(HASH);
+        }
+    }
+
+    private long readChunkSize(int first) throws IOException {
+        if (first < '1' || first > '9') {
+            throw malformed("invalid chunk-size", first);
+        }
+        long size = first - '0';
+        int digits = 1;
+        int b;
+        while ((b = next()) != LF) {
+            if (b < '0' || b > '9' || ++digits > MAX_CHUNK_SIZE_DIGITS) {
+                throw malformed("invalid chunk-size", b);
+            }
+            size = size * 10 + (b - '0');
+        }
+        return size;
+    }
+
+    private void readChunkData(long chunkSize) throws IOException {
+        if (chunkSize > Integer.MAX_VALUE - length) {
+            throw malformed("chunk too large", -1);
+        }
+        int remaining = (int) chunkSize;
+        ensureCapacity(length + remaining);
+        while (remaining > 0) {
+            if (readPos == readLimit && !fill()) {
+                throw malformed("stream ended in chunk-data", -1);
+            }
+            int n = Math.min(remaining, readLimit - readPos);
+            System.arraycopy(readBuffer, readPos, message, length, n);
+            readPos += n;
+            length += n;
+            remaining -= n;
+        }
+    }
+
+    private void expect(byte expected) throws IOException {
+        int b = next();
+        if (b != expected) {
+            throw malformed("expected '" + (char) expected + "'", b);
+        }
+    }
+
+    private boolean endsWithEndOfMessage() {
+        if (length < END_OF_MESSAGE.length) {
+            return false;
+        }
+        int offset = length - END_OF_MESSAGE.length;
+        for (int i = 0; i < END_OF_MESSAGE.length; i++) {
+            if (message[offset + i] != END_OF_MESSAGE[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private FramingException malformed(String reason, int b) {
+        String found = b == -1 ? "end of data" : "'" + (char) b + "'";
+        return new FramingException(reason + ", found " + found, decode(length));
+    }
+
+    private String decode(int len) {
+        String decoded = new String(message, 0, len, StandardCharsets.UTF_8);
+        if (message.length > MAX_RETAINED_MESSAGE_SIZE) {
+            // do not hold on to the largest reply for the lifetime of the session
+            message = new byte[INITIAL_MESSAGE_SIZE];
+        }
+        return decoded;
+    }
+
+    /**
+     * Returns the current capacity of the message buffer.
+     *
+     * @return capacity in bytes
+     */
+    int bufferCapacity() {
+        return message.length;
+    }
+
+    private void append(byte b) {
+        ensureCapacity(length + 1);
+        message[length++] = b;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > message.length) {
+            int newCapacity = Math.max(capacity, message.length << 1);
+            message = Arrays.copyOf(message, newCapacity < 0 ? Integer.MAX_VALUE : newCapacity);
+        }
+    }
+
+    private int next() throws IOException {
+        if (readPos == readLimit && !fill()) {
+            return -1;
+        }
+        return readBuffer[readPos++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(readBuffer, 0, readBuffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        readPos = 0;
+        readLimit = n;
+        return true;
+    }
+
+    /**
+     * Signals a message that does not respect the NETCONF framing.
+     */
+    static final class FramingException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String partialMessage;
+
+        FramingException(String reason, String partialMessage) {
+            super(reason);
+            this.partialMessage = partialMessage;
+        }
+
+        /**
+         * Returns the part of the message received before the framing error.
+         *
+         * @return partial message
+         */
+        String partialMessage() {
+            return partialMessage;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf.ctl.impl;
+
+import org.onlab.util.OrderedExecutor;
+import org.onlab.util.SharedScheduledExecutors;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of RPCs outstanding on a NETCONF session.
+ * <p>
+ * Requests are sent right away while fewer than {@code window} replies are
+ * pending; the following ones are queued and sent in submission order as
+ * replies arrive, so that a session keeps the ordering its callers rely on
+ * (a lock before the edit it protects, a read after the write it checks).
+ * Sends are done in order on the given executor, never on the thread
+ * completing a reply.
+ * <p>
+ * The timeout starts when a request is submitted and covers both the time
+ * spent queued and the wait for the reply: a request still unanswered then
+ * is failed with a {@link TimeoutException} and releases its slot, so that
+ * neither lost replies nor a stalled device can block callers for longer than
+ * the timeout. A request whose reply future is completed or cancelled while
+ * still queued is dropped without being sent.
+ */
+final class NetconfRequestScheduler {
+
+    private final int window;
+    private final long replyTimeoutMillis;
+    private final Executor sendExecutor;
+
+    private final Queue<Request> queue = new ArrayDeque<>();
+    private int inFlight;
+
+    private long completed;
+    private long totalLatencyNanos;
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param window             maximum number of outstanding requests
+     * @param replyTimeoutMillis time after which a submitted request is failed
+     *                           and stops counting as outstanding
+     * @param executor           executor on which requests are sent
+     */
+    NetconfRequestScheduler(int window, long replyTimeoutMillis, Executor executor) {
+        this.window = window;
+        this.replyTimeoutMillis = replyTimeoutMillis;
+        this.sendExecutor = new OrderedExecutor(executor);
+    }
+
+    /**
+     * Schedules a request.
+     * <p>
+     * Cancelling or completing the returned future before the request was
+     * sent removes it from the queue.
+     *
+     * @param sender sends the request and returns the future of its reply
+     * @return future completed with the reply
+     */
+    CompletableFuture<String> submit(Supplier<CompletableFuture<String>> sender) {
+        Request request = new Request(sender);
+        ScheduledFuture<?> timeout = SharedScheduledExecutors.newTimeout(
+                () -> request.reply.completeExceptionally(new TimeoutException(
+                        "No reply after " + replyTimeoutMillis + " ms")),
+                replyTimeoutMillis, TimeUnit.MILLISECONDS);
+        request.reply.whenComplete((r, e) -> timeout.cancel(false));
+        synchronized (this) {
+            if (inFlight < window) {
+                inFlight++;
+                dispatch(request);
+            } else {
+                queue.add(request);
+            }
+        }
+        request.reply.whenComplete((r, e) -> dequeue(request));
+        return request.reply;
+    }
+
+    /**
+     * Returns the maximum number of outstanding requests.
+     *
+     * @return request window
+     */
+    int window() {
+        return window;
+    }
+
+    /**
+     * Returns the number of requests sent and not yet answered.
+     *
+     * @return number of outstanding requests
+     */
+    synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Returns the number of requests waiting to be sent.
+     *
+     * @return number of queued requests
+     */
+    synchronized int queued() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the average time between sending a request and receiving its reply.
+     *
+     * @return average latency in milliseconds, 0 if no reply was received yet
+     */
+    synchronized long averageLatencyMillis() {
+        return completed == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos / completed);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "inFlight=" + inFlight + ", queued=" + queued() +
+                ", avgLatencyMs=" + averageLatencyMillis();
+    }
+
+    // must be called holding the lock, so that requests are sent in dispatch order
+    private void dispatch(Request request) {
+        request.dispatched = true;
+        sendExecutor.execute(request::send);
+    }
+
+    private synchronized void dequeue(Request request) {
+        if (!request.dispatched) {
+            queue.remove(request);
+        }
+    }
+
+    private synchronized void release(long latencyNanos) {
+        if (latencyNanos >= 0) {
+            completed++;
+            totalLatencyNanos += latencyNanos;
+        }
+        Request next = queue.poll();
+        if (next == null) {
+            inFlight--;
+        } else {
+            // the slot is handed over to the next request
+            dispatch(next);
+        }
+    }
+
+    private final class Request {
+        private final Supplier<CompletableFuture<String>> sender;
+        private final CompletableFuture<String> reply = new CompletableFuture<>();
+        private final AtomicBoolean released = new AtomicBoolean();
+        // guarded by the scheduler lock
+        private boolean dispatched;
+
+        private Request(Supplier<CompletableFuture<String>> sender) {
+            this.sender = sender;
+        }
+
+        private void send() {
+            long start = System.nanoTime();
+            reply.whenComplete((r, e) -> {
+                if (released.compareAndSet(false, true)) {
+                    release(e == null ? System.nanoTime() - start : -1);
+                }
+            });
+            if (reply.isDone()) {
+                // given up on by the caller before it could be sent
+                return;
+            }
+            CompletableFuture<String> sent;
+            try {
+                sent = sender.get();
+            } catch (RuntimeException e) {
+                reply.completeExceptionally(e);
+                return;
+            }
+            sent.whenComplete((r, e) -> {
+                if (e != null) {
+                    reply.completeExceptionally(e);
+                } else {
+                    reply.complete(r);
+                }
+            });
+        }
+    }
+}
@@ -119,6 +119,7 @@ public class NetconfSessionMinaImpl extends AbstractNetconfSession {
 
     private final Set<String> deviceCapabilities = new LinkedHashSet<>();
     private NetconfStreamHandler streamHandler;
+    private NetconfRequestScheduler scheduler;
     // FIXME ONOS-7019 key type should be revised to a String, see RFC6241
     /**
      * Message-ID and corresponding Future waiting for response.
@@ -170,6 +171,11 @@ public class NetconfSessionMinaImpl extends AbstractNetconfSession {
                                 NetconfControllerImpl.netconfReplyTimeout);
         idleTimeout = deviceInfo.getIdleTimeoutSec().orElse(
                                 NetconfControllerImpl.netconfIdleTimeout);
+        int maxOutstandingRpcs = deviceInfo.getMaxOutstandingRpcs().orElse(
+                                NetconfControllerImpl.netconfMaxOutstandingRpcs);
+        scheduler = new NetconfRequestScheduler(maxOutstandingRpcs,
+                                                TimeUnit.SECONDS.toMillis(replyTimeout),
+                                                SharedExecutors.getPoolThreadExecutor());
         log.info("Connecting to {} with timeouts C:{}, R:{}, I:{}", deviceInfo,
                 connectTimeout, replyTimeout, idleTimeout);
 
@@ -484,8 +490,9 @@ public class NetconfSessionMinaImpl extends AbstractNetconfSession {
 
         // TODO session liveness check & recovery
 
-        log.debug("Sending {} to {}", rpc, this.deviceInfo.getDeviceId());
-        return streamHandler.sendMessage(rpc, msgId)
+        log.debug("Sending {} to {} ({})", rpc, this.deviceInfo.getDeviceId(), scheduler);
+        final String message = rpc;
+        return scheduler.submit(() -> streamHandler.sendMessage(message, msgId))
                     .handleAsync((reply, t) -> {
                         if (t != null) {
                             // secure transport-layer error
@@ -534,20 +541,39 @@ public class NetconfSessionMinaImpl extends AbstractNetconfSession {
         // FIXME potentially re-writing chunked encoded String?
         request = formatXmlHeader(request);
         request = formatRequestMessageId(request, messageId);
-        log.debug("Sending request to NETCONF with timeout {} for {}",
-                  replyTimeout, deviceInfo.name());
-        CompletableFuture<String> futureReply = request(request, messageId);
+        log.debug("Sending request to NETCONF with timeout {} for {} ({})",
+                  replyTimeout, deviceInfo.name(), scheduler);
+        CompletableFuture<String> futureReply;
+        if (isHello) {
+            futureReply = request(request, messageId);
+        } else {
+            final String message = request;
+            final int msgId = messageId;
+            futureReply = scheduler.submit(() -> request(message, msgId));
+        }
         String rp;
         try {
+            // bounds the whole wait, time spent queued behind the window included
             rp = futureReply.get(replyTimeout, TimeUnit.SECONDS);
             replies.remove(messageId); // Why here???
         } catch (InterruptedException e) {
+            // drops the request if it is still queued
+            futureReply.cancel(true);
+            replies.remove(messageId);
             Thread.currentThread().interrupt();
             throw new NetconfException("Interrupted waiting for reply for request" + request, e);
         } catch (TimeoutException e) {
+            // drops the request if it is still queued and frees its slot otherwise
+            futureReply.cancel(true);
+            replies.remove(messageId);
             throw new NetconfException("Timed out waiting for reply for request " +
                     request + " after " + replyTimeout + " sec.", e);
         } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                replies.remove(messageId);
+                throw new NetconfException("Timed out waiting for reply for request " +
+                        request + " after " + replyTimeout + " sec.", e.getCause());
+            }
             log.warn("Closing session {} for {} due to unexpected Error", sessionID, deviceInfo, e);
             try {
                 session.close();
@@ -571,6 +597,42 @@ public class NetconfSessionMinaImpl extends AbstractNetconfSession {
         return rp.trim();
     }
 
+    /**
+     * Returns the maximum number of RPCs outstanding on this session.
+     *
+     * @return request window size
+     */
+    public int maxOutstandingRpcs() {
+        return scheduler.window();
+    }
+
+    /**
+     * Returns the number of RPCs sent on this session and not yet answered.
+     *
+     * @return number of outstanding RPCs
+     */
+    public int outstandingRpcs() {
+        return scheduler.inFlight();
+    }
+
+    /**
+     * Returns the number of RPCs waiting for a free slot in the request window.
+     *
+     * @return number of queued RPCs
+     */
+    public int queuedRpcs() {
+        return scheduler.queued();
+    }
+
+    /**
+     * Returns the average time between sending an RPC and receiving its reply.
+     *
+     * @return average reply latency in milliseconds
+     */
+    public long averageReplyLatencyMillis() {
+        return scheduler.averageLatencyMillis();
+    }
+
     private String formatRequestMessageId(String request, int messageId) {
         if (request.contains(MESSAGE_ID_STRING)) {
             //FIXME if application provides his own counting of messages this fails that count
@@ -21,26 +21,20 @@ import org.onosproject.netconf.NetconfDeviceInfo;
 import org.onosproject.netconf.NetconfDeviceOutputEvent;
 import org.onosproject.netconf.NetconfDeviceOutputEventListener;
 import org.onosproject.netconf.NetconfException;
+import org.onosproject.netconf.ctl.impl.NetconfMessageDecoder.FramingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
-import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
-import java.io.InputStreamReader;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.util.List;
 import java.util.Map;
-import java.util.ArrayList;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Thread that gets spawned each time a session is established and handles all the input
@@ -57,23 +51,13 @@ public class NetconfStreamThread extends Thread implements NetconfStreamHandler
     private static final String RPC_ERROR = "rpc-error";
     private static final String NOTIFICATION_LABEL = "<notification";
     private static final String MESSAGE_ID = "message-id=";
-    private static final Pattern MSGID_PATTERN = Pattern.compile(MESSAGE_ID + "\"(\\d+)\"");
-    private static final String MSGLEN_REGEX_PATTERN = "\n#\\d+\n";
-    // pattern to verify whole Chunked-Message format
-    private static final Pattern CHUNKED_FRAMING_PATTERN =
-            Pattern.compile("(\\n#([1-9][0-9]*)\\n(.+))+\\n##\\n", Pattern.DOTALL);
-    private static final String CHUNKED_END_REGEX_PATTERN = "\n##\n";
-    // pattern to parse each chunk-size in ChunkedMessage chunk
-    private static final Pattern CHUNKED_SIZE_PATTERN = Pattern.compile("\\n#([1-9][0-9]*)\\n");
-    private static final char HASH_CHAR = '#';
-    private static final char LF_CHAR = '\n';
+    private static final char QUOTE_CHAR = '"';
 
     private OutputStreamWriter outputStream;
     private final InputStream err;
     private final InputStream in;
     private NetconfDeviceInfo netconfDeviceInfo;
     private NetconfSessionDelegate sessionDelegate;
-    private NetconfMessageState state;
     private List<NetconfDeviceOutputEventListener> netconfDeviceEventListeners
             = Lists.newCopyOnWriteArrayList();
     private boolean enableNotifications = true;
@@ -87,7 +71,6 @@ public class NetconfStreamThread extends Thread implements NetconfStreamHandler
         this.err = err;
         outputStream = new OutputStreamWriter(out, StandardCharsets.UTF_8);
         netconfDeviceInfo = deviceInfo;
-        state = NetconfMessageState.NO_MATCHING_PATTERN;
         sessionDelegate = delegate;
         this.replies = replies;
         log.debug("Stream thread for device {} session started", deviceInfo);
@@ -119,137 +102,22 @@ public class NetconfStreamThread extends Thread implements NetconfStreamHandler
         return cf;
     }
 
-    public enum NetconfMessageState {
-
-        NO_MATCHING_PATTERN {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == ']') {
-                    return FIRST_BRACKET;
-                } else if (c == '\n') {
-                    return FIRST_LF;
-                } else {
-                    return this;
-                }
-            }
-        },
-        FIRST_BRACKET {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == ']') {
-                    return SECOND_BRACKET;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        SECOND_BRACKET {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == '>') {
-                    return FIRST_BIGGER;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        FIRST_BIGGER {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == ']') {
-                    return THIRD_BRACKET;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        THIRD_BRACKET {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == ']') {
-                    return ENDING_BIGGER;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        ENDING_BIGGER {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == '>') {
-                    return END_PATTERN;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        FIRST_LF {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == '#') {
-                    return FIRST_HASH;
-                } else if (c == ']') {
-                    return FIRST_BRACKET;
-                } else if (c == '\n') {
-                    return this;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        FIRST_HASH {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == '#') {
-                    return SECOND_HASH;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        SECOND_HASH {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == '\n') {
-                    return END_CHUNKED_PATTERN;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        END_CHUNKED_PATTERN {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                return NO_MATCHING_PATTERN;
-            }
-        },
-        END_PATTERN {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                return NO_MATCHING_PATTERN;
-            }
-        };
-
-        abstract NetconfMessageState evaluateChar(char c);
-    }
-
     @Override
     public void run() {
-        BufferedReader bufferReader = null;
-        while (bufferReader == null) {
-            try {
-                bufferReader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
-            } catch (UnsupportedEncodingException e) {
-                throw new IllegalStateException(e);
-            }
-        }
-
+        NetconfMessageDecoder decoder = new NetconfMessageDecoder(in);
         try {
             boolean socketClosed = false;
-            StringBuilder deviceReplyBuilder = new StringBuilder();
             while (!socketClosed) {
-                int cInt = bufferReader.read();
-                if (cInt == -1) {
+                String deviceReply;
+                try {
+                    deviceReply = decoder.readMessage();
+                } catch (FramingException e) {
+                    log.debug("Netconf device {} send badly framed message ({}) {}",
+                            netconfDeviceInfo, e.getMessage(), e.partialMessage());
+                    close(e.partialMessage());
+                    break;
+                }
+                if (deviceReply == null) {
                     log.debug("Netconf device {}  sent error char in session," +
                             " will need to be reopend", netconfDeviceInfo);
                     NetconfDeviceOutputEvent event = new NetconfDeviceOutputEvent(
@@ -259,33 +127,12 @@ public class NetconfStreamThread extends Thread implements NetconfStreamHandler
                             listener -> listener.event(event));
                     socketClosed = true;
                     log.debug("Netconf device {} ERROR cInt == -1 socketClosed = true", netconfDeviceInfo);
-                }
-                char c = (char) cInt;
-                state = state.evaluateChar(c);
-                deviceReplyBuilder.append(c);
-                if (state == NetconfMessageState.END_PATTERN) {
-                    String deviceReply = deviceReplyBuilder.toString();
-                    if (deviceReply.equals(END_PATTERN)) {
-                        socketClosed = true;
-                        close(deviceReply);
-                    } else {
-                        deviceReply = deviceReply.replace(END_PATTERN, "");
-                        dealWithReply(deviceReply);
-                        deviceReplyBuilder.setLength(0);
-                    }
-                } else if (state == NetconfMessageState.END_CHUNKED_PATTERN) {
-                    String deviceReply = deviceReplyBuilder.toString();
-                    if (!validateChunkedFraming(deviceReply)) {
-                        log.debug("Netconf device {} send badly framed message {}",
-                                netconfDeviceInfo, deviceReply);
-                        socketClosed = true;
-                        close(deviceReply);
-                    } else {
-                        deviceReply = deviceReply.replaceAll(MSGLEN_REGEX_PATTERN, "");
-                        deviceReply = deviceReply.replaceAll(CHUNKED_END_REGEX_PATTERN, "");
-                        dealWithReply(deviceReply);
-                        deviceReplyBuilder.setLength(0);
-                    }
+                } else if (deviceReply.isEmpty()) {
+                    // lone end-of-message marker
+                    socketClosed = true;
+                    close(END_PATTERN);
+                } else {
+                    dealWithReply(deviceReply);
                 }
             }
         } catch (IOException e) {
@@ -337,49 +184,25 @@ public class NetconfStreamThread extends Thread implements NetconfStreamHandler
         }
     }
 
-    static boolean validateChunkedFraming(String reply) {
-        Matcher matcher = CHUNKED_FRAMING_PATTERN.matcher(reply);
-        if (!matcher.matches()) {
-            log.debug("Error on reply {}", reply);
-            return false;
-        }
-        Matcher chunkM = CHUNKED_SIZE_PATTERN.matcher(reply);
-        List<MatchResult> chunks = new ArrayList<>();
-        String chunkdataStr = "";
-        while (chunkM.find()) {
-            chunks.add(chunkM.toMatchResult());
-            // extract chunk-data (and later) in bytes
-            int bytes = Integer.parseInt(chunkM.group(1));
-            byte[] chunkdata = reply.substring(chunkM.end()).getBytes(StandardCharsets.UTF_8);
-            if (bytes > chunkdata.length) {
-                log.debug("Error on reply - wrong chunk size {}", reply);
-                return false;
-            }
-            //check if after chunk-size bytes there is next chunk or message ending
-            if (chunkdata[bytes] != LF_CHAR || chunkdata[bytes + 1] != HASH_CHAR) {
-                log.debug("Error on reply - wrong chunk size {}", reply);
-                return false;
-            }
-            // convert (only) chunk-data part into String
-            chunkdataStr = new String(chunkdata, 0, bytes, StandardCharsets.UTF_8);
-            // skip chunk-data part from next match
-            chunkM.region(chunkM.end() + chunkdataStr.length(), reply.length());
-        }
-        if (!"\n##\n".equals(reply.substring(chunks.get(chunks.size() - 1).end() + chunkdataStr.length()))) {
-            log.debug("Error on reply {}", reply);
-            return false;
-        }
-        return true;
-    }
-
     protected static Optional<Integer> getMsgId(String reply) {
-        Matcher matcher = MSGID_PATTERN.matcher(reply);
-        if (matcher.find()) {
-            try {
-                return Optional.of(Integer.valueOf(matcher.group(1)));
-            } catch (NumberFormatException e) {
-                log.warn("Failed to parse message-id from {}", matcher.group(), e);
+        // looks for the first message-id="<digits>" attribute
+        int index = reply.indexOf(MESSAGE_ID);
+        while (index >= 0) {
+            int start = index + MESSAGE_ID.length() + 1;
+            int end = start;
+            while (end < reply.length() && reply.charAt(end) >= '0' && reply.charAt(end) <= '9') {
+                end++;
+            }
+            if (end > start && end < reply.length()
+                    && reply.charAt(start - 1) == QUOTE_CHAR && reply.charAt(end) == QUOTE_CHAR) {
+                try {
+                    return Optional.of(Integer.valueOf(reply.substring(start, end)));
+                } catch (NumberFormatException e) {
+                    log.warn("Failed to parse message-id from {}", reply.substring(index, end + 1), e);
+                    break;
+                }
             }
+            index = reply.indexOf(MESSAGE_ID, index + MESSAGE_ID.length());
         }
         if (reply.contains(HELLO)) {
             return Optional.of(-1);
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf.ctl.impl;
+
+import org.junit.Test;
+import org.onosproject.netconf.ctl.impl.NetconfMessageDecoder.FramingException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for the NETCONF message decoder.
+ */
+public class NetconfMessageDecoderTest {
+
+    private static final String REPLY =
+            "<rpc-reply message-id=\"7\" xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">" +
+            "<data>caf\u00e9</data></rpc-reply>";
+
+    private static NetconfMessageDecoder decoder(String data) {
+        return new NetconfMessageDecoder(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String chunked(String message, int chunkSize) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        StringBuilder framed = new StringBuilder();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+            int len = Math.min(chunkSize, bytes.length - offset);
+            framed.append("\n#").append(len).append('\n')
+                    .append(new String(bytes, offset, len, StandardCharsets.ISO_8859_1));
+        }
+        return framed.append("\n##\n").toString();
+    }
+
+    @Test
+    public void testEndOfMessageFraming() throws IOException {
+        NetconfMessageDecoder decoder = decoder(REPLY + "]]>]]>" + REPLY + "]]]>]]>");
+        assertEquals(REPLY, decoder.readMessage());
+        assertEquals(REPLY + "]", decoder.readMessage());
+        assertNull(decoder.readMessage());
+    }
+
+    @Test
+    public void testLoneEndOfMessage() throws IOException {
+        assertEquals("", decoder("]]>]]>").readMessage());
+    }
+
+    @Test
+    public void testChunkedFraming() throws IOException {
+        // chunk boundaries fall in the middle of multi-byte characters
+        String framed = chunked(REPLY, 3) + chunked(REPLY, 1000);
+        byte[] raw = framed.getBytes(StandardCharsets.ISO_8859_1);
+        NetconfMessageDecoder decoder = new NetconfMessageDecoder(new ByteArrayInputStream(raw));
+        assertEquals(REPLY, decoder.readMessage());
+        assertEquals(REPLY, decoder.readMessage());
+        assertNull(decoder.readMessage());
+    }
+
+    @Test
+    public void testBufferShrinksAfterLargeMessage() throws IOException {
+        StringBuilder large = new StringBuilder();
+        while (large.length() < 1024 * 1024) {
+            large.append(REPLY);
+        }
+        byte[] raw = (chunked(large.toString(), 4096) + chunked(REPLY, 1000))
+                .getBytes(StandardCharsets.ISO_8859_1);
+        NetconfMessageDecoder decoder = new NetconfMessageDecoder(new ByteArrayInputStream(raw));
+        assertEquals(large.toString(), decoder.readMessage());
+        assertEquals("buffer should be released after a large message", 1024, decoder.bufferCapacity());
+        assertEquals(REPLY, decoder.readMessage());
+        assertEquals(1024, decoder.bufferCapacity());
+    }
+
+    @Test
+    public void testBadChunkSize() throws IOException {
+        NetconfMessageDecoder decoder = decoder("\n#5\n<rpc-reply>\n##\n");
+        try {
+            decoder.readMessage();
+            fail("Badly framed message should be rejected");
+        } catch (FramingException e) {
+            assertEquals("<rpc-", e.partialMessage());
+        }
+    }
+
+    @Test
+    public void testGetMsgId() {
+        assertEquals(Optional.of(7), NetconfStreamThread.getMsgId(REPLY));
+        assertEquals(Optional.of(12), NetconfStreamThread.getMsgId(
+                "<rpc-reply message-id=x message-id=\"12\"/>"));
+        assertEquals(Optional.of(-1), NetconfStreamThread.getMsgId("<hello/>"));
+        assertEquals(Optional.empty(), NetconfStreamThread.getMsgId("<notification/>"));
+    }
+}
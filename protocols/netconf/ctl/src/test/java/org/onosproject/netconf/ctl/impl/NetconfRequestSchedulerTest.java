@@ -0,0 +1,135 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf.ctl.impl;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.net.intent.TestTools.assertAfter;
+
+/**
+ * Unit tests for the NETCONF request scheduler.
+ */
+public class NetconfRequestSchedulerTest {
+
+    private static final long NO_RELEASE = 60_000;
+    private static final Executor DIRECT = Runnable::run;
+
+    private final List<String> sent = new ArrayList<>();
+    private final List<CompletableFuture<String>> pending = new ArrayList<>();
+
+    private Supplier<CompletableFuture<String>> sender(String name) {
+        return () -> {
+            CompletableFuture<String> reply = new CompletableFuture<>();
+            synchronized (sent) {
+                sent.add(name);
+                pending.add(reply);
+            }
+            return reply;
+        };
+    }
+
+    @Test
+    public void testWindow() {
+        NetconfRequestScheduler scheduler = new NetconfRequestScheduler(2, NO_RELEASE, DIRECT);
+        CompletableFuture<String> first = scheduler.submit(sender("get1"));
+        scheduler.submit(sender("get2"));
+        scheduler.submit(sender("edit"));
+        scheduler.submit(sender("get3"));
+
+        assertEquals(2, sent.size());
+        assertEquals(2, scheduler.inFlight());
+        assertEquals(2, scheduler.queued());
+
+        pending.get(0).complete("reply1");
+        assertEquals("reply1", first.join());
+        // queued requests are sent in submission order
+        assertEquals("edit", sent.get(2));
+        assertEquals(2, scheduler.inFlight());
+        assertEquals(1, scheduler.queued());
+
+        pending.get(1).complete("reply2");
+        pending.get(2).complete("reply3");
+        pending.get(3).complete("reply4");
+        assertEquals(4, sent.size());
+        assertEquals("get3", sent.get(3));
+        assertEquals(0, scheduler.inFlight());
+        assertEquals(0, scheduler.queued());
+    }
+
+    @Test
+    public void testReleaseOnTimeout() throws InterruptedException {
+        NetconfRequestScheduler scheduler = new NetconfRequestScheduler(1, 400, DIRECT);
+        CompletableFuture<String> lost = scheduler.submit(sender("lost"));
+        // submitted later, so that it is still waiting when the first one times out
+        Thread.sleep(200);
+        scheduler.submit(sender("next"));
+        assertEquals(1, sent.size());
+
+        // an unanswered request fails and stops holding the window after the timeout
+        assertAfter(200, 1000, () -> assertEquals(2, sent.size()));
+        assertTrue(lost.isCompletedExceptionally());
+        lost.exceptionally(e -> {
+            assertTrue(e instanceof TimeoutException);
+            return null;
+        });
+    }
+
+    @Test
+    public void testTimeoutCoversQueueing() {
+        NetconfRequestScheduler scheduler = new NetconfRequestScheduler(1, 300, DIRECT);
+        scheduler.submit(sender("stalled"));
+        CompletableFuture<String> queued = scheduler.submit(sender("queued"));
+
+        // a request stuck behind an unanswered one times out on schedule,
+        // whether or not it was sent in the meantime
+        assertAfter(300, 10, 2000, () -> assertTrue(queued.isCompletedExceptionally()));
+        queued.exceptionally(e -> {
+            assertTrue(e instanceof TimeoutException);
+            return null;
+        });
+        assertAfter(1000, () -> assertEquals(0, scheduler.inFlight()));
+        assertEquals(0, scheduler.queued());
+    }
+
+    @Test
+    public void testCancelQueued() {
+        NetconfRequestScheduler scheduler = new NetconfRequestScheduler(1, NO_RELEASE, DIRECT);
+        scheduler.submit(sender("get"));
+        CompletableFuture<String> edit = scheduler.submit(sender("edit"));
+        scheduler.submit(sender("next"));
+        assertEquals(2, scheduler.queued());
+
+        // a request given up on while queued is never sent
+        edit.cancel(true);
+        assertEquals(1, scheduler.queued());
+        pending.get(0).complete("reply");
+        assertEquals(2, sent.size());
+        assertEquals("next", sent.get(1));
+        pending.get(1).complete("reply");
+        assertEquals(0, scheduler.inFlight());
+    }
+}
@@ -15,19 +15,30 @@
  */
 package org.onosproject.ovsdb.controller;
 
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 
+import org.onosproject.ovsdb.rfc.notation.Column;
 import org.onosproject.ovsdb.rfc.notation.Row;
 
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  * The class representing a table data.
  */
 public class OvsdbRowStore {
 
+    private static final String NAME = "name";
+
     private final ConcurrentMap<String, Row> rowStore = Maps.newConcurrentMap();
 
+    // Index of row uuids by the value of their name column, if any. Names are
+    // not unique in every table, so all uuids are kept in insertion order.
+    private final ConcurrentMap<String, Set<String>> nameIndex = Maps.newConcurrentMap();
+
     /**
      * Gets the row.
      *
@@ -38,6 +49,39 @@ public class OvsdbRowStore {
         return rowStore.get(uuid);
     }
 
+    /**
+     * Gets the uuid of the row with the given name. If several rows have that
+     * name, the one inserted first is returned.
+     *
+     * @param name value of the name column
+     * @return uuid of the row, null if no row has that name
+     */
+    public String getRowUuid(String name) {
+        return Iterables.getFirst(getRowUuids(name), null);
+    }
+
+    /**
+     * Gets the uuids of all the rows with the given name.
+     *
+     * @param name value of the name column
+     * @return uuids of the rows in insertion order, empty if no row has that name
+     */
+    public Set<String> getRowUuids(String name) {
+        return nameIndex.getOrDefault(name, ImmutableSet.of());
+    }
+
+    /**
+     * Gets the row with the given name. If several rows have that name, the
+     * one inserted first is returned.
+     *
+     * @param name value of the name column
+     * @return row with that name, null if there is none
+     */
+    public Row getRowByName(String name) {
+        String uuid = getRowUuid(name);
+        return uuid == null ? null : rowStore.get(uuid);
+    }
+
     /**
      * Inserts a row to rowStore.
      *
@@ -45,7 +89,15 @@ public class OvsdbRowStore {
      * @param row a row of the table
      */
     public void insertRow(String uuid, Row row) {
-        rowStore.put(uuid, row);
+        Row oldRow = rowStore.put(uuid, row);
+        String name = name(row);
+        String oldName = name(oldRow);
+        if (oldName != null && !oldName.equals(name)) {
+            unindex(oldName, uuid);
+        }
+        if (name != null) {
+            index(name, uuid);
+        }
     }
 
     /**
@@ -54,7 +106,10 @@ public class OvsdbRowStore {
      * @param uuid key of the row
      */
     public void deleteRow(String uuid) {
-        rowStore.remove(uuid);
+        String oldName = name(rowStore.remove(uuid));
+        if (oldName != null) {
+            unindex(oldName, uuid);
+        }
     }
 
     /**
@@ -66,4 +121,34 @@ public class OvsdbRowStore {
         return rowStore;
     }
 
+    private void index(String name, String uuid) {
+        nameIndex.compute(name, (n, uuids) -> {
+            if (uuids == null) {
+                return ImmutableSet.of(uuid);
+            }
+            if (uuids.contains(uuid)) {
+                return uuids;
+            }
+            return ImmutableSet.<String>builder().addAll(uuids).add(uuid).build();
+        });
+    }
+
+    private void unindex(String name, String uuid) {
+        nameIndex.computeIfPresent(name, (n, uuids) -> {
+            Set<String> remaining = ImmutableSet.copyOf(Sets.filter(uuids, u -> !u.equals(uuid)));
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    private static String name(Row row) {
+        if (row == null) {
+            return null;
+        }
+        Column column = row.getColumn(NAME);
+        if (column == null || !(column.data() instanceof String)) {
+            return null;
+        }
+        return (String) column.data();
+    }
+
 }
@@ -377,6 +377,13 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
                 return null;
             }
 
+            // Exact name matches are served from the port name index
+            OvsdbRowStore portRowStore = getRowStore(DATABASENAME, PORT);
+            String portUuid = portRowStore == null ? null : portRowStore.getRowUuid(portName);
+            if (portUuid != null && ports.contains(Uuid.uuid(portUuid))) {
+                return portUuid;
+            }
+
             for (Uuid uuid : ports) {
                 Row portRow = getRow(DATABASENAME, PORT, uuid.value());
                 Port port = (Port) TableGenerator.getTable(dbSchema, portRow,
@@ -391,27 +398,12 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
 
     @Override
     public String getBridgeUuid(String bridgeName) {
-        DatabaseSchema dbSchema = schema.get(DATABASENAME);
         OvsdbRowStore rowStore = getRowStore(DATABASENAME, BRIDGE);
         if (rowStore == null) {
             log.debug("The bridge uuid is null");
             return null;
         }
-
-        ConcurrentMap<String, Row> bridgeTableRows = rowStore.getRowStore();
-        if (bridgeTableRows == null) {
-            log.debug("The bridge uuid is null");
-            return null;
-        }
-
-        for (String uuid : bridgeTableRows.keySet()) {
-            Bridge bridge = (Bridge) TableGenerator
-                    .getTable(dbSchema, bridgeTableRows.get(uuid), OvsdbTable.BRIDGE);
-            if (bridge.getName().equals(bridgeName)) {
-                return uuid;
-            }
-        }
-        return null;
+        return rowStore.getRowUuid(bridgeName);
     }
 
     private String getOvsUuid(String dbName) {
@@ -599,15 +591,12 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
         // general, put qos name in external_ids column of Qos Table if this qos
         // created by onos.
         ConcurrentMap<String, Row> qosTableRows = qosRowStore.getRowStore();
-        ConcurrentMap<String, Row> portTableRows = portRowStore.getRowStore();
         Row qosRow = qosTableRows.values().stream().filter(r -> {
             OvsdbMap ovsdbMap = (OvsdbMap) (r.getColumn(EXTERNAL_ID).data());
             return qosName.equals(ovsdbMap.map().get(QOS_EXTERNAL_ID_KEY));
         }).findFirst().orElse(null);
 
-        Row portRow = portTableRows.values().stream()
-                .filter(r -> r.getColumn("name").data().equals(portNumber.name()))
-                .findFirst().orElse(null);
+        Row portRow = portRowStore.getRowByName(portNumber.name());
         if (portRow != null && qosRow != null) {
             String qosId = qosRow.uuid().value();
             Uuid portUuid = portRow.uuid();
@@ -629,10 +618,7 @@ public class DefaultOvsdbClient implements OvsdbProviderService, OvsdbClientServ
             return;
         }
 
-        ConcurrentMap<String, Row> ovsTableRows = rowStore.getRowStore();
-        Row portRow = ovsTableRows.values().stream()
-                .filter(r -> r.getColumn("name").data().equals(portNumber.name()))
-                .findFirst().orElse(null);
+        Row portRow = rowStore.getRowByName(portNumber.name());
         if (portRow == null) {
             log.warn("Couldn't find port {} in ovsdb port table.", portNumber.name());
             return;
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.ovsdb.controller;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.ovsdb.rfc.notation.Column;
+import org.onosproject.ovsdb.rfc.notation.Row;
+import org.onosproject.ovsdb.rfc.notation.Uuid;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests of the row store and of its name index.
+ */
+public class OvsdbRowStoreTest {
+
+    private static final String PORT = "Port";
+
+    private OvsdbRowStore store;
+
+    @Before
+    public void setUp() {
+        store = new OvsdbRowStore();
+    }
+
+    private static Row row(String uuid, String name) {
+        return new Row(PORT, Uuid.uuid(uuid), ImmutableMap.of("name", new Column("name", name)));
+    }
+
+    /**
+     * Tests lookups by name of inserted rows.
+     */
+    @Test
+    public void testInsert() {
+        Row row1 = row("u1", "eth1");
+        Row row2 = row("u2", "eth2");
+        store.insertRow("u1", row1);
+        store.insertRow("u2", row2);
+
+        assertThat(store.getRowUuid("eth1"), is("u1"));
+        assertThat(store.getRowByName("eth1"), sameInstance(row1));
+        assertThat(store.getRowUuid("eth2"), is("u2"));
+        assertThat(store.getRowByName("eth2"), sameInstance(row2));
+        assertThat(store.getRowUuid("eth3"), nullValue());
+        assertThat(store.getRowByName("eth3"), nullValue());
+        assertThat(store.getRowUuids("eth3"), empty());
+    }
+
+    /**
+     * Tests that the index follows a row whose name is modified.
+     */
+    @Test
+    public void testUpdate() {
+        store.insertRow("u1", row("u1", "eth1"));
+        Row renamed = row("u1", "eth9");
+        store.insertRow("u1", renamed);
+
+        assertThat(store.getRowUuid("eth1"), nullValue());
+        assertThat(store.getRowUuid("eth9"), is("u1"));
+        assertThat(store.getRowByName("eth9"), sameInstance(renamed));
+
+        // an update keeping the name does not duplicate the entry
+        store.insertRow("u1", row("u1", "eth9"));
+        assertThat(store.getRowUuids("eth9"), is(ImmutableSet.of("u1")));
+    }
+
+    /**
+     * Tests that deleted rows are removed from the index.
+     */
+    @Test
+    public void testDelete() {
+        store.insertRow("u1", row("u1", "eth1"));
+        store.deleteRow("u1");
+
+        assertThat(store.getRow("u1"), nullValue());
+        assertThat(store.getRowUuid("eth1"), nullValue());
+        assertThat(store.getRowByName("eth1"), nullValue());
+
+        // deleting an unknown row is harmless
+        store.deleteRow("u2");
+    }
+
+    /**
+     * Tests that rows sharing a name are all indexed, and that the first one
+     * inserted is returned while it exists.
+     */
+    @Test
+    public void testDuplicateNames() {
+        Row row1 = row("u1", "vxlan");
+        store.insertRow("u1", row1);
+        store.insertRow("u2", row("u2", "vxlan"));
+
+        assertThat(store.getRowUuids("vxlan"), is(ImmutableSet.of("u1", "u2")));
+        assertThat(store.getRowUuid("vxlan"), is("u1"));
+        assertThat(store.getRowByName("vxlan"), sameInstance(row1));
+
+        // updating the second row must not take over the name
+        Row updated = row("u2", "vxlan");
+        store.insertRow("u2", updated);
+        assertThat(store.getRowUuid("vxlan"), is("u1"));
+
+        store.deleteRow("u1");
+        assertThat(store.getRowUuids("vxlan"), is(ImmutableSet.of("u2")));
+        assertThat(store.getRowByName("vxlan"), sameInstance(updated));
+
+        store.deleteRow("u2");
+        assertThat(store.getRowUuids("vxlan"), empty());
+    }
+
+    /**
+     * Tests that rows without a name column are stored but not indexed.
+     */
+    @Test
+    public void testRowWithoutName() {
+        Row row = new Row(PORT, Uuid.uuid("u1"), ImmutableMap.of());
+        store.insertRow("u1", row);
+
+        assertThat(store.getRow("u1"), sameInstance(row));
+        assertThat(store.getRowUuid("u1"), nullValue());
+    }
+}
@@ -34,6 +34,9 @@ import org.apache.felix.scr.annotations.Modified;
 import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.packet.Ethernet;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterMetadataService;
@@ -74,6 +77,7 @@ import org.onosproject.provider.lldpcommon.LinkDiscoveryContext;
 import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
+import com.codahale.metrics.Meter;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
@@ -106,6 +110,10 @@ public class LldpLinkProvider extends AbstractProvider implements ProbedLinkProv
     // When a Device/Port has this annotation, do not send out LLDP/BDDP
     public static final String NO_LLDP = "no-lldp";
 
+    private static final String METRICS_COMPONENT = "LldpLinkProvider";
+    private static final String METRICS_FEATURE = "probes";
+    private static final String METRIC_SENT = "sent";
+
     private static final int MAX_RETRIES = 5;
     private static final int RETRY_DELAY = 1_000; // millis
 
@@ -141,8 +149,14 @@ public class LldpLinkProvider extends AbstractProvider implements ProbedLinkProv
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected ClusterMetadataService clusterMetadataService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
+
     private LinkProviderService providerService;
 
+    // Rate of the LLDP and BDDP probes emitted by this instance
+    private Meter probeMeter;
+
     private ScheduledExecutorService executor;
     protected ExecutorService eventExecutor;
 
@@ -254,6 +268,8 @@ public class LldpLinkProvider extends AbstractProvider implements ProbedLinkProv
     public void activate(ComponentContext context) {
         eventExecutor = newSingleThreadScheduledExecutor(groupedThreads("onos/linkevents", "events-%d", log));
         shuttingDown = false;
+        MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+        probeMeter = metricsService.createMeter(component, component.registerFeature(METRICS_FEATURE), METRIC_SENT);
         cfgService.registerProperties(getClass());
         appId = coreService.registerApplication(PROVIDER_NAME);
 
@@ -289,6 +305,9 @@ public class LldpLinkProvider extends AbstractProvider implements ProbedLinkProv
         disable();
         eventExecutor.shutdownNow();
         eventExecutor = null;
+        MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+        MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+        metricsService.removeMetric(component, feature, METRIC_SENT);
         log.info("Stopped");
     }
 
@@ -795,6 +814,11 @@ public class LldpLinkProvider extends AbstractProvider implements ProbedLinkProv
         public String fingerprint() {
             return buildSrcMac();
         }
+
+        @Override
+        public void probesSent(int count) {
+            probeMeter.mark(count);
+        }
     }
 
     static final EnumSet<NetworkConfigEvent.Type> CONFIG_CHANGED
@@ -24,6 +24,7 @@ import com.google.common.util.concurrent.MoreExecutors;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.onlab.metrics.MetricsManager;
 import org.onlab.packet.ChassisId;
 import org.onlab.packet.Ethernet;
 import org.onlab.packet.MacAddress;
@@ -144,6 +145,7 @@ public class LldpLinkProviderTest {
         provider.providerRegistry = linkRegistry;
         provider.masterService = masterService;
         provider.clusterMetadataService = new ClusterMetadataServiceAdapter();
+        provider.metricsService = new MetricsManager();
 
         provider.activate(null);
 
@@ -33,14 +33,16 @@ import org.onosproject.net.Port;
 import org.onosproject.net.PortNumber;
 import org.onosproject.net.link.DefaultLinkDescription;
 import org.onosproject.net.link.LinkDescription;
+import org.onosproject.net.flow.TrafficTreatment;
 import org.onosproject.net.link.ProbedLinkProvider;
 import org.onosproject.net.packet.DefaultOutboundPacket;
-import org.onosproject.net.packet.OutboundPacket;
 import org.onosproject.net.packet.PacketContext;
 import org.slf4j.Logger;
 
 import java.nio.ByteBuffer;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -63,14 +65,15 @@ public class LinkDiscovery implements TimerTask {
     private final Device device;
     private final LinkDiscoveryContext context;
 
-    private final Ethernet ethPacket;
-    private final Ethernet bddpEth;
-
     private Timeout timeout;
     private volatile boolean isStopped;
+    // Random offset added once to the probe schedule, so that the probe
+    // rounds of all devices are spread over the probe interval
+    private volatile long phase;
+
+    // Set of ports to be probed, along with their serialized probes
+    private final Map<Long, ProbedPort> portMap = Maps.newConcurrentMap();
 
-    // Set of ports to be probed
-    private final Map<Long, String> portMap = Maps.newConcurrentMap();
     /**
      * Instantiates discovery manager for the given physical switch. Creates a
      * generic LLDP packet that will be customized for the port it is sent out on.
@@ -83,16 +86,6 @@ public class LinkDiscovery implements TimerTask {
         this.device = device;
         this.context = context;
 
-        ethPacket = new Ethernet();
-        ethPacket.setEtherType(Ethernet.TYPE_LLDP);
-        ethPacket.setDestinationMACAddress(MacAddress.ONOS_LLDP);
-        ethPacket.setPad(true);
-
-        bddpEth = new Ethernet();
-        bddpEth.setEtherType(Ethernet.TYPE_BSN);
-        bddpEth.setDestinationMACAddress(MacAddress.BROADCAST);
-        bddpEth.setPad(true);
-
         isStopped = true;
         start();
         log.debug("Started discovery manager for switch {}", device.id());
@@ -111,6 +104,9 @@ public class LinkDiscovery implements TimerTask {
     public synchronized void start() {
         if (isStopped) {
             isStopped = false;
+            // Probe right away, and shift the following rounds by a random
+            // phase so that devices started together do not probe together
+            phase = ThreadLocalRandom.current().nextLong(Math.max(context.probeRate(), 1));
             timeout = Timer.newTimeout(this, 0, MILLISECONDS);
         } else {
             log.warn("LinkDiscovery started multiple times?");
@@ -134,13 +130,20 @@ public class LinkDiscovery implements TimerTask {
             portName = StringUtil.EMPTY_STRING;
         }
 
-        boolean newPort = !containsPort(portNum);
-        portMap.put(portNum, portName);
+        ProbedPort probedPort = portMap.get(portNum);
+        boolean newPort = probedPort == null;
+        if (newPort || !probedPort.name.equals(portName)) {
+            probedPort = new ProbedPort(portName);
+            portMap.put(portNum, probedPort);
+        }
 
         boolean isMaster = context.mastershipService().isLocalMaster(device.id());
         if (newPort && isMaster) {
             log.debug("Sending initial probe to port {}@{}", port.number().toLong(), device.id());
-            sendProbes(portNum, portName);
+            int sent = sendProbes(portNum, probedPort);
+            if (sent > 0) {
+                context.probesSent(sent);
+            }
         }
     }
 
@@ -223,69 +226,146 @@ public class LinkDiscovery implements TimerTask {
         }
 
         if (context.mastershipService().isLocalMaster(device.id())) {
-            log.trace("Sending probes from {}", device.id());
-            ImmutableMap.copyOf(portMap).forEach(this::sendProbes);
+            probeAllPorts();
         }
 
         if (!isStopped()) {
-            timeout = t.timer().newTimeout(this, context.probeRate(), MILLISECONDS);
+            long delay = context.probeRate() + phase;
+            phase = 0;
+            timeout = t.timer().newTimeout(this, delay, MILLISECONDS);
         }
     }
 
     /**
-     * Creates packet_out LLDP for specified output port.
+     * Sends probes out of all ports of the device.
+     */
+    void probeAllPorts() {
+        log.trace("Sending probes from {}", device.id());
+        int sent = 0;
+        for (Map.Entry<Long, ProbedPort> entry : ImmutableMap.copyOf(portMap).entrySet()) {
+            sent += sendProbes(entry.getKey(), entry.getValue());
+        }
+        if (sent > 0) {
+            context.probesSent(sent);
+        }
+    }
+
+    /**
+     * Serializes the LLDP probe for specified output port.
      *
      * @param portNumber the port
      * @param portDesc the port description
-     * @return Packet_out message with LLDP data
+     * @param fingerprint the cluster fingerprint
+     * @return LLDP frame
      */
-    private OutboundPacket createOutBoundLldp(Long portNumber, String portDesc) {
-        if (portNumber == null) {
-            return null;
-        }
-        ONOSLLDP lldp = getLinkProbe(portNumber, portDesc);
-        ethPacket.setSourceMACAddress(context.fingerprint()).setPayload(lldp);
-        return new DefaultOutboundPacket(device.id(),
-                                         builder().setOutput(portNumber(portNumber)).build(),
-                                         ByteBuffer.wrap(ethPacket.serialize()));
+    private byte[] createLldp(Long portNumber, String portDesc, String fingerprint) {
+        Ethernet ethPacket = new Ethernet();
+        ethPacket.setEtherType(Ethernet.TYPE_LLDP);
+        ethPacket.setDestinationMACAddress(MacAddress.ONOS_LLDP);
+        ethPacket.setPad(true);
+        ethPacket.setSourceMACAddress(fingerprint).setPayload(getLinkProbe(portNumber, portDesc));
+        return ethPacket.serialize();
     }
 
     /**
-     * Creates packet_out BDDP for specified output port.
+     * Serializes the BDDP probe for specified output port.
      *
      * @param portNumber the port
      * @param portDesc the port description
-     * @return Packet_out message with LLDP data
+     * @param fingerprint the cluster fingerprint
+     * @return BDDP frame
      */
-    private OutboundPacket createOutBoundBddp(Long portNumber, String portDesc) {
-        if (portNumber == null) {
-            return null;
-        }
-        ONOSLLDP lldp = getLinkProbe(portNumber, portDesc);
-        bddpEth.setSourceMACAddress(context.fingerprint()).setPayload(lldp);
-        return new DefaultOutboundPacket(device.id(),
-                                         builder().setOutput(portNumber(portNumber)).build(),
-                                         ByteBuffer.wrap(bddpEth.serialize()));
+    private byte[] createBddp(Long portNumber, String portDesc, String fingerprint) {
+        Ethernet bddpEth = new Ethernet();
+        bddpEth.setEtherType(Ethernet.TYPE_BSN);
+        bddpEth.setDestinationMACAddress(MacAddress.BROADCAST);
+        bddpEth.setPad(true);
+        bddpEth.setSourceMACAddress(fingerprint).setPayload(getLinkProbe(portNumber, portDesc));
+        return bddpEth.serialize();
     }
 
     private ONOSLLDP getLinkProbe(Long portNumber, String portDesc) {
         return ONOSLLDP.onosLLDP(device.id().toString(), device.chassisId(), portNumber.intValue(), portDesc);
     }
 
-    private void sendProbes(Long portNumber, String portDesc) {
-        if (context.packetService() == null) {
-            return;
+    /**
+     * Returns the probes for specified output port, serializing them only
+     * if they have not been built yet or are out of date. The probes are
+     * cached on the port entry, so they go away with the port.
+     *
+     * @param portNumber the port
+     * @param probedPort the port entry
+     * @return probes for the port
+     */
+    private Probes getProbes(Long portNumber, ProbedPort probedPort) {
+        String fingerprint = context.fingerprint();
+        boolean useBddp = context.useBddp();
+        Probes current = probedPort.probes;
+        if (current != null && current.isValid(fingerprint, useBddp)) {
+            return current;
+        }
+        String portDesc = probedPort.name;
+        Probes built = new Probes(fingerprint,
+                                  builder().setOutput(portNumber(portNumber)).build(),
+                                  createLldp(portNumber, portDesc, fingerprint),
+                                  useBddp ? createBddp(portNumber, portDesc, fingerprint) : null);
+        probedPort.probes = built;
+        return built;
+    }
+
+    private int sendProbes(Long portNumber, ProbedPort probedPort) {
+        if (context.packetService() == null || portNumber == null) {
+            return 0;
         }
         log.trace("Sending probes out of {}@{}", portNumber, device.id());
-        OutboundPacket pkt = createOutBoundLldp(portNumber, portDesc);
-        context.packetService().emit(pkt);
-        if (context.useBddp()) {
-            OutboundPacket bpkt = createOutBoundBddp(portNumber, portDesc);
-            context.packetService().emit(bpkt);
+        Probes portProbes = getProbes(portNumber, probedPort);
+        context.packetService().emit(new DefaultOutboundPacket(device.id(), portProbes.treatment,
+                                                               ByteBuffer.wrap(portProbes.lldp)));
+        if (portProbes.bddp != null) {
+            context.packetService().emit(new DefaultOutboundPacket(device.id(), portProbes.treatment,
+                                                                   ByteBuffer.wrap(portProbes.bddp)));
+            return 2;
         }
+        return 1;
     }
 
     public boolean containsPort(long portNumber) {
         return portMap.containsKey(portNumber);
     }
+
+    /**
+     * Port to be probed. A renamed port gets a new entry, which drops the
+     * probes serialized with the old name.
+     */
+    private static final class ProbedPort {
+        private final String name;
+        private volatile Probes probes;
+
+        private ProbedPort(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Serialized LLDP and BDDP probes of a port.
+     */
+    private static final class Probes {
+        private final String fingerprint;
+        private final TrafficTreatment treatment;
+        private final byte[] lldp;
+        private final byte[] bddp;
+
+        private Probes(String fingerprint, TrafficTreatment treatment,
+                       byte[] lldp, byte[] bddp) {
+            this.fingerprint = fingerprint;
+            this.treatment = treatment;
+            this.lldp = lldp;
+            this.bddp = bddp;
+        }
+
+        private boolean isValid(String fingerprint, boolean useBddp) {
+            return Objects.equals(this.fingerprint, fingerprint) &&
+                    useBddp == (bddp != null);
+        }
+    }
 }
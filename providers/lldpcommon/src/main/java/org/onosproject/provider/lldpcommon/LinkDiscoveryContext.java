@@ -81,4 +81,12 @@ public interface LinkDiscoveryContext {
      * @return the cluster identifier
      */
     String fingerprint();
+
+    /**
+     * Records probe packets emitted by link discovery.
+     *
+     * @param count number of probe packets emitted
+     */
+    default void probesSent(int count) {
+    }
 }
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2018-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.provider.lldpcommon;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.ChassisId;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.MacAddress;
+import org.onosproject.mastership.MastershipService;
+import org.onosproject.mastership.MastershipServiceAdapter;
+import org.onosproject.net.DefaultAnnotations;
+import org.onosproject.net.DefaultDevice;
+import org.onosproject.net.DefaultPort;
+import org.onosproject.net.Device;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.LinkKey;
+import org.onosproject.net.Port;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.DeviceService;
+import org.onosproject.net.link.LinkProviderService;
+import org.onosproject.net.packet.OutboundPacket;
+import org.onosproject.net.packet.PacketService;
+import org.onosproject.net.packet.PacketServiceAdapter;
+import org.onosproject.net.provider.ProviderId;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.onlab.junit.TestTools.assertAfter;
+import static org.onosproject.net.AnnotationKeys.PORT_NAME;
+import static org.onosproject.net.DeviceId.deviceId;
+
+/**
+ * Tests of the probes sent by LinkDiscovery.
+ */
+public class LinkDiscoveryTest {
+
+    private static final DeviceId DID = deviceId("of:0000000000000001");
+    private static final PortNumber P1 = PortNumber.portNumber(1);
+    private static final PortNumber P2 = PortNumber.portNumber(2);
+    private static final String FINGERPRINT1 = "02:eb:00:00:00:01";
+    private static final String FINGERPRINT2 = "02:eb:00:00:00:02";
+
+    private final Device device = new DefaultDevice(ProviderId.NONE, DID, Device.Type.SWITCH,
+                                                    "TESTMF", "TESTHW", "TESTSW", "TESTSN",
+                                                    new ChassisId());
+    private final List<OutboundPacket> emitted = Lists.newCopyOnWriteArrayList();
+    private final TestContext context = new TestContext();
+    private LinkDiscovery discovery;
+
+    @Before
+    public void setUp() {
+        discovery = new LinkDiscovery(device, context);
+        // probe rounds are triggered by the tests
+        discovery.stop();
+    }
+
+    @After
+    public void tearDown() {
+        emitted.clear();
+    }
+
+    @Test
+    public void probesReusedBetweenRounds() {
+        discovery.addPort(port(P1, "eth1"));
+        discovery.probeAllPorts();
+        assertEquals(2, emitted.size());
+        assertSame(data(0), data(1));
+    }
+
+    @Test
+    public void probesRebuiltOnPortRename() {
+        discovery.addPort(port(P1, "eth1"));
+        discovery.addPort(port(P1, "uplink1"));
+        discovery.probeAllPorts();
+        assertEquals(2, emitted.size());
+        assertNotSame(data(0), data(1));
+        assertTrue(new String(data(1), ISO_8859_1).contains("uplink1"));
+    }
+
+    @Test
+    public void probesRebuiltOnFingerprintChange() {
+        discovery.addPort(port(P1, "eth1"));
+        context.fingerprint = FINGERPRINT2;
+        discovery.probeAllPorts();
+        assertEquals(2, emitted.size());
+        assertEquals(MacAddress.valueOf(FINGERPRINT1), ethernet(0).getSourceMAC());
+        assertEquals(MacAddress.valueOf(FINGERPRINT2), ethernet(1).getSourceMAC());
+    }
+
+    @Test
+    public void probesRebuiltOnBddpChange() {
+        discovery.addPort(port(P1, "eth1"));
+        assertEquals(1, emitted.size());
+
+        context.useBddp = true;
+        discovery.probeAllPorts();
+        assertEquals(3, emitted.size());
+        assertEquals(Ethernet.TYPE_LLDP, ethernet(1).getEtherType());
+        assertEquals(Ethernet.TYPE_BSN, ethernet(2).getEtherType());
+
+        context.useBddp = false;
+        discovery.probeAllPorts();
+        assertEquals(4, emitted.size());
+        assertEquals(Ethernet.TYPE_LLDP, ethernet(3).getEtherType());
+    }
+
+    @Test
+    public void firstRoundSentOnStart() {
+        discovery.addPort(port(P1, "eth1"));
+        assertEquals(1, emitted.size());
+
+        // the next rounds are far away, so only the first one can be seen
+        context.probeRate = TimeUnit.HOURS.toMillis(1);
+        discovery.start();
+        assertAfter(1000, () -> assertEquals(2, emitted.size()));
+        discovery.stop();
+    }
+
+    @Test
+    public void sentProbesReported() {
+        context.useBddp = true;
+        discovery.addPort(port(P1, "eth1"));
+        discovery.addPort(port(P2, "eth2"));
+        discovery.probeAllPorts();
+        assertEquals(8, emitted.size());
+        assertEquals(ImmutableList.of(2, 2, 4), context.probesSent);
+    }
+
+    @Test
+    public void removedPortNotProbed() {
+        discovery.addPort(port(P1, "eth1"));
+        discovery.removePort(P1);
+        discovery.probeAllPorts();
+        assertEquals(1, emitted.size());
+        assertFalse(discovery.containsPort(P1.toLong()));
+    }
+
+    private Port port(PortNumber number, String name) {
+        return new DefaultPort(device, number, true,
+                               DefaultAnnotations.builder().set(PORT_NAME, name).build());
+    }
+
+    private byte[] data(int index) {
+        return emitted.get(index).data().array();
+    }
+
+    private Ethernet ethernet(int index) {
+        byte[] data = data(index);
+        try {
+            return Ethernet.deserializer().deserialize(data, 0, data.length);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private final class TestContext implements LinkDiscoveryContext {
+        private volatile String fingerprint = FINGERPRINT1;
+        private volatile boolean useBddp = false;
+        private volatile long probeRate = 3000;
+        private final List<Integer> probesSent = Lists.newCopyOnWriteArrayList();
+
+        private final MastershipService mastershipService = new MastershipServiceAdapter() {
+            @Override
+            public boolean isLocalMaster(DeviceId deviceId) {
+                return true;
+            }
+        };
+
+        private final PacketService packetService = new PacketServiceAdapter() {
+            @Override
+            public void emit(OutboundPacket packet) {
+                emitted.add(packet);
+            }
+        };
+
+        @Override
+        public MastershipService mastershipService() {
+            return mastershipService;
+        }
+
+        @Override
+        public LinkProviderService providerService() {
+            return null;
+        }
+
+        @Override
+        public PacketService packetService() {
+            return packetService;
+        }
+
+        @Override
+        public DeviceService deviceService() {
+            return null;
+        }
+
+        @Override
+        public long probeRate() {
+            return probeRate;
+        }
+
+        @Override
+        public boolean useBddp() {
+            return useBddp;
+        }
+
+        @Override
+        public void touchLink(LinkKey key) {
+        }
+
+        @Override
+        public String fingerprint() {
+            return fingerprint;
+        }
+
+        @Override
+        public void probesSent(int count) {
+            probesSent.add(count);
+        }
+    }
+}
@@ -170,6 +170,18 @@ public abstract class AbstractAccumulator<T> implements Accumulator<T> {
         }
     }
 
+    /**
+     * Processes the items accumulated so far on the calling thread, without
+     * waiting for any of the thresholds to trigger. Intended for draining
+     * the accumulator before its timer is cancelled.
+     */
+    public void flush() {
+        List<T> batch = finalizeCurrentBatch();
+        if (!batch.isEmpty()) {
+            processItems(batch);
+        }
+    }
+
     /**
      * Returns an immutable copy of the existing items and clear the list.
      *